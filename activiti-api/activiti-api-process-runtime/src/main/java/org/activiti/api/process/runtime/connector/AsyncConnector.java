@@ -0,0 +1,32 @@
+/*
+ * Copyright 2018 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.api.process.runtime.connector;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import org.activiti.api.process.model.IntegrationContext;
+
+/**
+ * A connector that performs its work asynchronously. The service task executing it becomes a wait state: the connector
+ * is only invoked once the transaction that reached the service task has been committed, and the process continues in
+ * a new transaction when the returned stage completes with the integration context holding the outbound variables.
+ * No engine thread or database connection is held while the stage is pending.
+ */
+public interface AsyncConnector extends Function<IntegrationContext, CompletionStage<IntegrationContext>> {
+
+}
@@ -22,6 +22,14 @@ public interface Page<T> {
 
     List<T> getContent();
 
+    /**
+     * @return the total number of items, or -1 when they were not counted, see {@link Pageable#withoutTotalItems()}
+     */
     int getTotalItems();
 
+    /**
+     * @return the token to get the next page with, see {@link Pageable#after(String, int)}, or null when the page is not full, so no items come after it
+     */
+    String getContinuationToken();
+
 }
@@ -21,6 +21,8 @@ public class Pageable {
     private int startIndex;
     private int maxItems;
     private Order order;
+    private String continuationToken;
+    private boolean totalItemsCounted = true;
 
     private Pageable(int startIndex,
                     int maxItems,
@@ -41,6 +43,28 @@ public class Pageable {
         return new Pageable(startIndex, maxItems, order);
     }
 
+    /**
+     * The page after the one the given continuation token was returned with, see {@link Page#getContinuationToken()}.
+     * Unlike a start index, the continuation token doesn't make the database read and skip the items of the pages before,
+     * so getting a deep page costs as much as getting the first one.
+     */
+    public static Pageable after(String continuationToken,
+                                 int maxItems) {
+        Pageable pageable = new Pageable(0, maxItems, null);
+        pageable.continuationToken = continuationToken;
+        return pageable;
+    }
+
+    /**
+     * The same page, without counting the total number of items: {@link Page#getTotalItems()} returns -1 instead.
+     */
+    public Pageable withoutTotalItems() {
+        Pageable pageable = new Pageable(startIndex, maxItems, order);
+        pageable.continuationToken = continuationToken;
+        pageable.totalItemsCounted = false;
+        return pageable;
+    }
+
     public int getStartIndex() {
         return startIndex;
     }
@@ -53,4 +77,12 @@ public class Pageable {
         return order;
     }
 
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean isTotalItemsCounted() {
+        return totalItemsCounted;
+    }
+
 }
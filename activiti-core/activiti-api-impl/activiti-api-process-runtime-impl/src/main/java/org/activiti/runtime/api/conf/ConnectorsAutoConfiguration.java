@@ -16,6 +16,8 @@
 
 package org.activiti.runtime.api.conf;
 
+import java.util.concurrent.Executor;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.activiti.engine.impl.bpmn.parser.factory.DefaultActivityBehaviorFactory;
 import org.activiti.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
@@ -25,6 +27,8 @@ import org.activiti.runtime.api.connector.IntegrationContextBuilder;
 import org.activiti.runtime.api.impl.ExpressionResolver;
 import org.activiti.runtime.api.impl.VariablesMappingProvider;
 import org.activiti.spring.process.ProcessExtensionService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -33,6 +37,12 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class ConnectorsAutoConfiguration {
 
+    /**
+     * The name of an optional {@link Executor} bean the results of the async connectors are handled on. Without it the
+     * default service task behavior uses a pool of its own.
+     */
+    public static final String ASYNC_CONNECTOR_EXECUTOR_BEAN_NAME = "asyncConnectorExecutor";
+
     @Bean
     @ConditionalOnMissingBean
     public ExpressionManager expressionManager() {
@@ -55,10 +65,18 @@ public class ConnectorsAutoConfiguration {
     @ConditionalOnMissingBean(name = DefaultActivityBehaviorFactory.DEFAULT_SERVICE_TASK_BEAN_NAME)
     public DefaultServiceTaskBehavior defaultServiceTaskBehavior(ApplicationContext applicationContext,
                                                                  IntegrationContextBuilder integrationContextBuilder,
-                                                                 VariablesMappingProvider outboundVariablesProvider) {
+                                                                 VariablesMappingProvider outboundVariablesProvider,
+                                                                 @Qualifier(ASYNC_CONNECTOR_EXECUTOR_BEAN_NAME) ObjectProvider<Executor> asyncConnectorExecutor) {
+        Executor executor = asyncConnectorExecutor.getIfAvailable();
+        if (executor == null) {
+            return new DefaultServiceTaskBehavior(applicationContext,
+                                                  integrationContextBuilder,
+                                                  outboundVariablesProvider);
+        }
         return new DefaultServiceTaskBehavior(applicationContext,
                                               integrationContextBuilder,
-                                              outboundVariablesProvider);
+                                              outboundVariablesProvider,
+                                              executor);
     }
 
     @Bean
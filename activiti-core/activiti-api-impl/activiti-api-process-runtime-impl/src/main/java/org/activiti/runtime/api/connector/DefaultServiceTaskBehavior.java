@@ -16,28 +16,108 @@
 
 package org.activiti.runtime.api.connector;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.activiti.api.process.model.IntegrationContext;
+import org.activiti.api.process.runtime.connector.AsyncConnector;
 import org.activiti.api.process.runtime.connector.Connector;
 import org.activiti.bpmn.model.ServiceTask;
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.delegate.BpmnError;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
+import org.activiti.engine.impl.bpmn.helper.ErrorPropagation;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.cmd.TriggerCmd;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextManager;
+import org.activiti.engine.runtime.Job;
 import org.activiti.runtime.api.impl.VariablesMappingProvider;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 
 import static org.activiti.runtime.api.impl.MappingExecutionContext.buildMappingExecutionContext;
 
-public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior {
+public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior implements ApplicationListener<ContextRefreshedEvent>,
+                                                                                  DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultServiceTaskBehavior.class);
+
+    /**
+     * Transient variables the result or the error of an {@link AsyncConnector} is handed over with when triggering the
+     * execution.
+     */
+    public static final String ASYNC_CONNECTOR_INTEGRATION_CONTEXT = "_asyncConnectorIntegrationContext";
+    public static final String ASYNC_CONNECTOR_ERROR = "_asyncConnectorError";
+
+    /**
+     * How often triggering the execution with the result of an {@link AsyncConnector} is retried when the process
+     * instance was changed concurrently, like by the connector of a parallel branch, and the first wait in between.
+     * The wait grows five times with every retry, as in the engine's retry interceptor.
+     */
+    private static final int TRIGGER_RETRIES = 3;
+    private static final long TRIGGER_RETRY_WAIT_TIME_IN_MILLIS = 50L;
 
     private final ApplicationContext applicationContext;
     private final IntegrationContextBuilder integrationContextBuilder;
     private VariablesMappingProvider outboundVariablesProvider;
 
+    /**
+     * Runs the continuations of the {@link AsyncConnector} results. Shut down with this behavior when it created it.
+     */
+    private final Executor asyncConnectorExecutor;
+    private boolean shutdownAsyncConnectorExecutor;
+
+    /**
+     * The singleton connector beans by implementation name, empty for names that do not resolve to a connector. Cleared
+     * when the application context is refreshed.
+     */
+    private final Map<String, Optional<Object>> connectors = new ConcurrentHashMap<>();
+
     public DefaultServiceTaskBehavior(ApplicationContext applicationContext,
                                       IntegrationContextBuilder integrationContextBuilder,
                                       VariablesMappingProvider outboundVariablesProvider) {
+        this(applicationContext,
+             integrationContextBuilder,
+             outboundVariablesProvider,
+             Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                                          new BasicThreadFactory.Builder()
+                                                  .namingPattern("activiti-async-connector-thread-%d")
+                                                  .daemon(true)
+                                                  .build()));
+        this.shutdownAsyncConnectorExecutor = true;
+    }
+
+    public DefaultServiceTaskBehavior(ApplicationContext applicationContext,
+                                      IntegrationContextBuilder integrationContextBuilder,
+                                      VariablesMappingProvider outboundVariablesProvider,
+                                      Executor asyncConnectorExecutor) {
         this.applicationContext = applicationContext;
         this.integrationContextBuilder = integrationContextBuilder;
         this.outboundVariablesProvider = outboundVariablesProvider;
+        this.asyncConnectorExecutor = asyncConnectorExecutor;
     }
 
     /**
@@ -46,7 +126,15 @@ public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior {
      **/
     @Override
     public void execute(DelegateExecution execution) {
-        Connector connector = getConnector(getImplementation(execution));
+        String implementation = getImplementation(execution);
+        Object connectorBean = resolveConnector(implementation).orElse(null);
+        if (connectorBean instanceof AsyncConnector) {
+            executeAsync((AsyncConnector) connectorBean,
+                         execution);
+            return;
+        }
+
+        Connector connector = connectorBean instanceof Connector ? (Connector) connectorBean : getConnector(implementation);
         IntegrationContext integrationContext = connector.apply(integrationContextBuilder.from(execution));
 
         execution.setVariables(outboundVariablesProvider.calculateOutPutVariables(buildMappingExecutionContext(execution),
@@ -55,6 +143,194 @@ public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior {
         leave(execution);
     }
 
+    /**
+     * The service task waits for the connector: the integration context is persisted, the connector is applied once the
+     * current transaction has been committed and its result triggers the execution in a new transaction.
+     */
+    private void executeAsync(AsyncConnector connector,
+                              DelegateExecution execution) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+        IntegrationContextManager integrationContextManager = processEngineConfiguration.getIntegrationContextManager();
+        IntegrationContextEntity integrationContextEntity = integrationContextManager.create();
+        integrationContextEntity.setExecutionId(execution.getId());
+        integrationContextEntity.setProcessInstanceId(execution.getProcessInstanceId());
+        integrationContextEntity.setProcessDefinitionId(execution.getProcessDefinitionId());
+        integrationContextEntity.setFlowNodeId(execution.getCurrentActivityId());
+        integrationContextEntity.setCreatedDate(processEngineConfiguration.getClock().getCurrentTime());
+        integrationContextManager.insert(integrationContextEntity);
+
+        IntegrationContext integrationContext = integrationContextBuilder.from(integrationContextEntity,
+                                                                              execution);
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+        Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+                                                               commandContext -> applyAsync(connector,
+                                                                                            integrationContext,
+                                                                                            commandExecutor));
+    }
+
+    private void applyAsync(AsyncConnector connector,
+                            IntegrationContext integrationContext,
+                            CommandExecutor commandExecutor) {
+        CompletionStage<IntegrationContext> result;
+        try {
+            result = connector.apply(integrationContext);
+        } catch (RuntimeException e) {
+            CompletableFuture<IntegrationContext> failure = new CompletableFuture<>();
+            failure.completeExceptionally(e);
+            result = failure;
+        }
+
+        // completed on another thread, as the stage may already be complete while the committing command is still closing
+        result.whenCompleteAsync((completedIntegrationContext, error) -> triggerAsync(integrationContext,
+                                                                                      completedIntegrationContext,
+                                                                                      error,
+                                                                                      commandExecutor),
+                                 asyncConnectorExecutor);
+    }
+
+    /**
+     * Triggers the execution with the result or the error of an {@link AsyncConnector}, unless its integration context
+     * is gone because the execution was triggered or deleted in the meantime. The trigger is retried when the process
+     * instance was changed concurrently. When it still fails, the execution gets a dead letter job, as for a failed
+     * connector, so it does not wait for a result that is lost.
+     */
+    private void triggerAsync(IntegrationContext integrationContext,
+                              IntegrationContext completedIntegrationContext,
+                              Throwable error,
+                              CommandExecutor commandExecutor) {
+        Map<String, Object> transientVariables = new HashMap<>();
+        if (error != null) {
+            transientVariables.put(ASYNC_CONNECTOR_ERROR, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        } else {
+            transientVariables.put(ASYNC_CONNECTOR_INTEGRATION_CONTEXT, completedIntegrationContext);
+        }
+        Command<Object> trigger = commandContext -> {
+            if (commandContext.getProcessEngineConfiguration().getIntegrationContextManager().findById(integrationContext.getId()) == null) {
+                LOGGER.info("Integration context {} of connector {} is no longer pending, execution {} is not triggered",
+                            integrationContext.getId(), integrationContext.getConnectorType(), integrationContext.getExecutionId());
+                return null;
+            }
+            return new TriggerCmd(integrationContext.getExecutionId(),
+                                  null,
+                                  transientVariables).execute(commandContext);
+        };
+
+        long waitTime = TRIGGER_RETRY_WAIT_TIME_IN_MILLIS;
+        for (int retries = 0; ; retries++) {
+            try {
+                commandExecutor.execute(trigger);
+                return;
+            } catch (ActivitiOptimisticLockingException e) {
+                if (retries == TRIGGER_RETRIES) {
+                    deadLetterAsync(integrationContext, e, commandExecutor);
+                    return;
+                }
+                LOGGER.info("Execution {} was changed concurrently, triggering it again with the result of connector {} in {}ms",
+                            integrationContext.getExecutionId(), integrationContext.getConnectorType(), waitTime);
+            } catch (RuntimeException e) {
+                deadLetterAsync(integrationContext, e, commandExecutor);
+                return;
+            }
+            try {
+                Thread.sleep(waitTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            waitTime *= 5;
+        }
+    }
+
+    private void deadLetterAsync(IntegrationContext integrationContext,
+                                 RuntimeException error,
+                                 CommandExecutor commandExecutor) {
+        try {
+            commandExecutor.execute((Command<Object>) commandContext -> {
+                ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(integrationContext.getExecutionId());
+                if (execution == null || commandContext.getProcessEngineConfiguration().getIntegrationContextManager().findById(integrationContext.getId()) == null) {
+                    return null;
+                }
+                deletePendingIntegrationContexts(execution);
+                LOGGER.error("Could not trigger execution " + execution.getId() + " with the result of connector "
+                                     + integrationContext.getConnectorType() + ", creating a dead letter job for it", error);
+                createDeadLetterJob(execution,
+                                    error);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not trigger execution " + integrationContext.getExecutionId() + " with the result of connector "
+                                 + integrationContext.getConnectorType() + " (" + error.getMessage()
+                                 + "), nor create a dead letter job for it", e);
+        }
+    }
+
+    /**
+     * Continues the execution with the result of an {@link AsyncConnector}, see {@link #executeAsync}. When the connector
+     * failed with a {@link BpmnError}, the error is propagated. Any other failure is recorded as a dead letter job for the
+     * execution: moving it back to the executable jobs applies the connector again. A trigger without a result stops
+     * waiting for the connector and leaves the service task.
+     */
+    @Override
+    public void trigger(DelegateExecution execution,
+                        String signalName,
+                        Object signalData) {
+        deletePendingIntegrationContexts(execution);
+
+        Throwable error = (Throwable) execution.getTransientVariable(ASYNC_CONNECTOR_ERROR);
+        if (error != null) {
+            handleAsyncError(execution,
+                             error);
+            return;
+        }
+
+        IntegrationContext integrationContext = (IntegrationContext) execution.getTransientVariable(ASYNC_CONNECTOR_INTEGRATION_CONTEXT);
+        if (integrationContext != null) {
+            execution.setVariables(outboundVariablesProvider.calculateOutPutVariables(buildMappingExecutionContext(execution),
+                                                                                      integrationContext.getOutBoundVariables()));
+        }
+
+        leave(execution);
+    }
+
+    private void deletePendingIntegrationContexts(DelegateExecution execution) {
+        Context.getProcessEngineConfiguration().getIntegrationContextManager().deleteByExecutionId(execution.getId());
+    }
+
+    private void handleAsyncError(DelegateExecution execution,
+                                  Throwable error) {
+        if (error instanceof BpmnError) {
+            try {
+                ErrorPropagation.propagateError((BpmnError) error,
+                                                execution);
+                return;
+            } catch (BpmnError e) {
+                // no catching event
+                error = e;
+            }
+        }
+
+        LOGGER.error("Connector " + getImplementation(execution) + " failed for execution " + execution.getId()
+                             + ", creating a dead letter job for it", error);
+        createDeadLetterJob(execution,
+                            error);
+    }
+
+    private void createDeadLetterJob(DelegateExecution execution,
+                                     Throwable error) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+        DeadLetterJobEntity deadLetterJob = processEngineConfiguration.getDeadLetterJobEntityManager().create();
+        deadLetterJob.setJobType(Job.JOB_TYPE_MESSAGE);
+        deadLetterJob.setJobHandlerType(AsyncContinuationJobHandler.TYPE);
+        deadLetterJob.setExclusive(true);
+        deadLetterJob.setRetries(0);
+        deadLetterJob.setExecutionId(execution.getId());
+        deadLetterJob.setProcessInstanceId(execution.getProcessInstanceId());
+        deadLetterJob.setProcessDefinitionId(execution.getProcessDefinitionId());
+        deadLetterJob.setTenantId(execution.getTenantId());
+        deadLetterJob.setExceptionMessage(error.getMessage());
+        deadLetterJob.setExceptionStacktrace(ExceptionUtils.getStackTrace(error));
+        processEngineConfiguration.getDeadLetterJobEntityManager().insert(deadLetterJob);
+    }
+
     private String getImplementation(DelegateExecution execution) {
         return ((ServiceTask) execution.getCurrentFlowElement()).getImplementation();
     }
@@ -69,7 +345,40 @@ public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior {
     }
 
     public boolean hasConnectorBean(DelegateExecution execution) {
-        String implementation = getServiceTaskImplementation(execution);
-        return applicationContext.containsBean(implementation) && applicationContext.getBean(implementation) instanceof Connector;
+        return resolveConnector(getServiceTaskImplementation(execution)).isPresent();
+    }
+
+    private Optional<Object> resolveConnector(String implementation) {
+        if (implementation == null) {
+            return Optional.empty();
+        }
+        Optional<Object> connector = connectors.get(implementation);
+        if (connector == null) {
+            connector = Optional.empty();
+            if (applicationContext.containsBean(implementation)) {
+                Object bean = applicationContext.getBean(implementation);
+                if (bean instanceof Connector || bean instanceof AsyncConnector) {
+                    connector = Optional.of(bean);
+                }
+            }
+            // a prototype or scoped bean has to be looked up for every execution
+            if (!connector.isPresent() || applicationContext.isSingleton(implementation)) {
+                connectors.put(implementation,
+                               connector);
+            }
+        }
+        return connector;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        connectors.clear();
+    }
+
+    @Override
+    public void destroy() {
+        if (shutdownAsyncConnectorExecutor) {
+            ((ExecutorService) asyncConnectorExecutor).shutdown();
+        }
     }
 }
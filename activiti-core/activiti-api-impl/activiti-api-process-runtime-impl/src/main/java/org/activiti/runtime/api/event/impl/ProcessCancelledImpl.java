@@ -26,6 +26,9 @@ public class ProcessCancelledImpl extends RuntimeEventImpl<ProcessInstance, Proc
 
     private String cause;
 
+    public ProcessCancelledImpl() {
+    }
+
     public ProcessCancelledImpl(ProcessInstance entity,
                                 String cause) {
         super(entity);
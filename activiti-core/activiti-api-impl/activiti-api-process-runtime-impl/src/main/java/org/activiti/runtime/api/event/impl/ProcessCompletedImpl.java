@@ -24,6 +24,9 @@ import org.activiti.api.runtime.event.impl.RuntimeEventImpl;
 public class ProcessCompletedImpl extends RuntimeEventImpl<ProcessInstance, ProcessRuntimeEvent.ProcessEvents>
         implements ProcessCompletedEvent {
 
+    public ProcessCompletedImpl() {
+    }
+
     public ProcessCompletedImpl(ProcessInstance entity) {
         super(entity);
         setProcessInstanceId(entity.getId());
@@ -24,6 +24,9 @@ import org.activiti.api.runtime.event.impl.RuntimeEventImpl;
 public class ProcessCreatedEventImpl extends RuntimeEventImpl<ProcessInstance, ProcessRuntimeEvent.ProcessEvents>
         implements ProcessCreatedEvent {
 
+    public ProcessCreatedEventImpl() {
+    }
+
     public ProcessCreatedEventImpl(ProcessInstance entity) {
         super(entity);
     }
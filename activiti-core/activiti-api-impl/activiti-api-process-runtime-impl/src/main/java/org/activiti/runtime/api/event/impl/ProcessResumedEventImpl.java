@@ -24,6 +24,9 @@ import org.activiti.api.runtime.event.impl.RuntimeEventImpl;
 public class ProcessResumedEventImpl extends RuntimeEventImpl<ProcessInstance, ProcessRuntimeEvent.ProcessEvents>
         implements ProcessResumedEvent {
 
+    public ProcessResumedEventImpl() {
+    }
+
     public ProcessResumedEventImpl(ProcessInstance entity) {
         super(entity);
     }
@@ -27,6 +27,9 @@ public class ProcessStartedEventImpl extends RuntimeEventImpl<ProcessInstance, P
     private String nestedProcessDefinitionId;
     private String nestedProcessInstanceId;
 
+    public ProcessStartedEventImpl() {
+    }
+
     public ProcessStartedEventImpl(ProcessInstance entity) {
         super(entity);
     }
@@ -24,6 +24,9 @@ import org.activiti.api.runtime.event.impl.RuntimeEventImpl;
 public class ProcessSuspendedEventImpl extends RuntimeEventImpl<ProcessInstance, ProcessRuntimeEvent.ProcessEvents>
         implements ProcessSuspendedEvent {
 
+    public ProcessSuspendedEventImpl() {
+    }
+
     public ProcessSuspendedEventImpl(ProcessInstance entity) {
         super(entity);
     }
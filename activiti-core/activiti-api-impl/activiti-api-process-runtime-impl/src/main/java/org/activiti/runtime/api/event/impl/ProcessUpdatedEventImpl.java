@@ -24,6 +24,9 @@ import org.activiti.api.runtime.event.impl.RuntimeEventImpl;
 public class ProcessUpdatedEventImpl extends RuntimeEventImpl<ProcessInstance, ProcessRuntimeEvent.ProcessEvents>
         implements ProcessUpdatedEvent {
 
+    public ProcessUpdatedEventImpl() {
+    }
+
     public ProcessUpdatedEventImpl(ProcessInstance entity) {
         super(entity);
     }
@@ -240,9 +240,15 @@ public class ProcessRuntimeImpl implements ProcessRuntime {
             internalQuery.superProcessInstanceId(getProcessInstancesPayload.getParentProcessInstanceId());
         }
 
-        return new PageImpl<>(processInstanceConverter.from(internalQuery.listPage(pageable.getStartIndex(),
+        int totalItems = pageable.isTotalItemsCounted() ? Math.toIntExact(internalQuery.count()) : -1;
+        if (pageable.getContinuationToken() != null) {
+            internalQuery.processInstanceIdAfter(pageable.getContinuationToken());
+        }
+        return PageImpl.of(processInstanceConverter.from(internalQuery.orderByProcessInstanceId().asc().listPage(pageable.getStartIndex(),
                 pageable.getMaxItems())),
-                Math.toIntExact(internalQuery.count()));
+                totalItems,
+                pageable,
+                ProcessInstance::getId);
     }
 
     @Override
@@ -16,6 +16,7 @@
 
 package org.activiti.runtime.api.connector;
 
+import org.activiti.api.process.runtime.connector.AsyncConnector;
 import org.activiti.api.process.runtime.connector.Connector;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.junit.Before;
@@ -23,10 +24,13 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class DefaultServiceTaskBehaviorTest {
@@ -57,6 +61,21 @@ public class DefaultServiceTaskBehaviorTest {
         assertThat(hasConnectorBean).isTrue();
     }
 
+    @Test
+    public void hasConnectorBeanShouldReturnTrueIfABeanOfAsyncConnectorTypeIsFound() {
+        //given
+        String connectorName = "connector";
+        DelegateExecution execution = ConnectorRuntimeApiTestHelper.buildExecution(connectorName);
+        given(context.containsBean(connectorName)).willReturn(true);
+        given(context.getBean(connectorName)).willReturn(mock(AsyncConnector.class));
+
+        //when
+        boolean hasConnectorBean = behavior.hasConnectorBean(execution);
+
+        //then
+        assertThat(hasConnectorBean).isTrue();
+    }
+
     @Test
     public void hasConnectorBeanShouldReturnFalseIfNoBeanIsFoundWithTheGivenName() {
         //given
@@ -87,4 +106,46 @@ public class DefaultServiceTaskBehaviorTest {
         assertThat(hasConnectorBean).isFalse();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void hasConnectorBeanShouldResolveSingletonConnectorOnceUntilContextIsRefreshed() {
+        //given
+        String connectorName = "connector";
+        DelegateExecution execution = ConnectorRuntimeApiTestHelper.buildExecution(connectorName);
+        given(context.containsBean(connectorName)).willReturn(true);
+        given(context.getBean(connectorName)).willReturn(mock(Connector.class));
+        given(context.isSingleton(connectorName)).willReturn(true);
+
+        //when
+        behavior.hasConnectorBean(execution);
+        boolean hasConnectorBean = behavior.hasConnectorBean(execution);
+
+        //then
+        assertThat(hasConnectorBean).isTrue();
+        verify(context, times(1)).getBean(connectorName);
+
+        //when
+        behavior.onApplicationEvent(mock(ContextRefreshedEvent.class));
+        behavior.hasConnectorBean(execution);
+
+        //then
+        verify(context, times(2)).getBean(connectorName);
+    }
+
+    @Test
+    public void hasConnectorBeanShouldResolvePrototypeConnectorEveryTime() {
+        //given
+        String connectorName = "connector";
+        DelegateExecution execution = ConnectorRuntimeApiTestHelper.buildExecution(connectorName);
+        given(context.containsBean(connectorName)).willReturn(true);
+        given(context.getBean(connectorName)).willReturn(mock(Connector.class));
+        given(context.isSingleton(connectorName)).willReturn(false);
+
+        //when
+        behavior.hasConnectorBean(execution);
+        behavior.hasConnectorBean(execution);
+
+        //then
+        verify(context, times(2)).getBean(connectorName);
+    }
+
+}
@@ -17,18 +17,46 @@
 package org.activiti.runtime.api.query.impl;
 
 import org.activiti.api.runtime.shared.query.Page;
+import org.activiti.api.runtime.shared.query.Pageable;
 
 import java.util.List;
+import java.util.function.Function;
 
 public class PageImpl<T> implements Page<T> {
 
     private List<T> content;
     private int totalItems;
+    private String continuationToken;
 
     public PageImpl(List<T> content,
                     int totalItems) {
+        this(content,
+             totalItems,
+             null);
+    }
+
+    public PageImpl(List<T> content,
+                    int totalItems,
+                    String continuationToken) {
         this.content = content;
         this.totalItems = totalItems;
+        this.continuationToken = continuationToken;
+    }
+
+    /**
+     * Creates a page of items ordered by id, with the id of the last item as continuation token when the page is full.
+     */
+    public static <T> PageImpl<T> of(List<T> content,
+                                     int totalItems,
+                                     Pageable pageable,
+                                     Function<T, String> idFunction) {
+        String continuationToken = null;
+        if (!content.isEmpty() && content.size() == pageable.getMaxItems()) {
+            continuationToken = idFunction.apply(content.get(content.size() - 1));
+        }
+        return new PageImpl<>(content,
+                              totalItems,
+                              continuationToken);
     }
 
     @Override
@@ -40,4 +68,9 @@ public class PageImpl<T> implements Page<T> {
     public int getTotalItems() {
         return totalItems;
     }
+
+    @Override
+    public String getContinuationToken() {
+        return continuationToken;
+    }
 }
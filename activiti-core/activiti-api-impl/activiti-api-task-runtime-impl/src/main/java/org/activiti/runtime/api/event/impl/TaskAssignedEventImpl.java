@@ -24,6 +24,9 @@ import org.activiti.api.task.runtime.events.TaskAssignedEvent;
 public class TaskAssignedEventImpl extends RuntimeEventImpl<Task, TaskRuntimeEvent.TaskEvents>
         implements TaskAssignedEvent {
 
+    public TaskAssignedEventImpl() {
+    }
+
     public TaskAssignedEventImpl(Task entity) {
         super(entity);
     }
@@ -23,7 +23,10 @@ import org.activiti.api.task.runtime.events.TaskCancelledEvent;
 
 public class TaskCancelledImpl extends RuntimeEventImpl<Task, TaskRuntimeEvent.TaskEvents> implements TaskCancelledEvent {
 
-    private final String reason;
+    private String reason;
+
+    public TaskCancelledImpl() {
+    }
 
     public TaskCancelledImpl(Task entity, String reason) {
         super(entity);
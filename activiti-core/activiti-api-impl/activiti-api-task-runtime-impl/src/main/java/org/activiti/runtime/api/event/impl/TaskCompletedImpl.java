@@ -24,6 +24,9 @@ import org.activiti.api.task.runtime.events.TaskCompletedEvent;
 public class TaskCompletedImpl extends RuntimeEventImpl<Task, TaskRuntimeEvent.TaskEvents>
         implements TaskCompletedEvent {
 
+    public TaskCompletedImpl() {
+    }
+
     public TaskCompletedImpl(Task entity) {
         super(entity);
     }
@@ -24,6 +24,9 @@ import org.activiti.api.task.runtime.events.TaskCreatedEvent;
 public class TaskCreatedEventImpl extends RuntimeEventImpl<Task, TaskRuntimeEvent.TaskEvents>
         implements TaskCreatedEvent {
 
+    public TaskCreatedEventImpl() {
+    }
+
     public TaskCreatedEventImpl(Task entity) {
         super(entity);
     }
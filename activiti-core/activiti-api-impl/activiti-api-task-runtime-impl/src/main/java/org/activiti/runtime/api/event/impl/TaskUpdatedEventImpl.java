@@ -24,6 +24,9 @@ import org.activiti.api.task.runtime.events.TaskUpdatedEvent;
 public class TaskUpdatedEventImpl extends RuntimeEventImpl<Task, TaskRuntimeEvent.TaskEvents>
         implements TaskUpdatedEvent {
 
+    public TaskUpdatedEventImpl() {
+    }
+
     public TaskUpdatedEventImpl(Task entity) {
         super(entity);
     }
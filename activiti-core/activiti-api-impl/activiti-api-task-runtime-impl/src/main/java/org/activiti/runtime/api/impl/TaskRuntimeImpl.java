@@ -129,10 +129,16 @@ public class TaskRuntimeImpl implements TaskRuntime {
         if (getTasksPayload.getParentTaskId() != null) {
             taskQuery = taskQuery.taskParentTaskId(getTasksPayload.getParentTaskId());
         }
-        List<Task> tasks = taskConverter.from(taskQuery.listPage(pageable.getStartIndex(),
+        int totalItems = pageable.isTotalItemsCounted() ? Math.toIntExact(taskQuery.count()) : -1;
+        if (pageable.getContinuationToken() != null) {
+            taskQuery = taskQuery.taskIdAfter(pageable.getContinuationToken());
+        }
+        List<Task> tasks = taskConverter.from(taskQuery.orderByTaskId().asc().listPage(pageable.getStartIndex(),
                 pageable.getMaxItems()));
-        return new PageImpl<>(tasks,
-                Math.toIntExact(taskQuery.count()));
+        return PageImpl.of(tasks,
+                totalItems,
+                pageable,
+                Task::getId);
     }
 
     @Override
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the end-to-end execution of async jobs through the
+ * {@link org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor}: a batch of process instances
+ * with an async service task is started and the invocation ends once all of them have completed.
+ * Scores are reported per job.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncJobExecutionBenchmark {
+
+    private static final int JOBS_PER_INVOCATION = 50;
+
+    private BenchmarkProcessEngine engine;
+
+    private volatile CountDownLatch completedProcesses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new BenchmarkProcessEngine(true,
+                                            "org/activiti/benchmark/asyncServiceTaskProcess.bpmn20.xml");
+        engine.getRuntimeService().addEventListener(new ProcessCompletedListener(),
+                                                    ActivitiEventType.PROCESS_COMPLETED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JOBS_PER_INVOCATION)
+    public void executeAsyncJobs() throws InterruptedException {
+        completedProcesses = new CountDownLatch(JOBS_PER_INVOCATION);
+        for (int i = 0; i < JOBS_PER_INVOCATION; i++) {
+            engine.getRuntimeService().startProcessInstanceByKey("asyncServiceTaskProcess");
+        }
+        if (!completedProcesses.await(1, TimeUnit.MINUTES)) {
+            throw new ActivitiException("Async jobs did not complete within one minute, "
+                                                + completedProcesses.getCount() + " process instances are still running");
+        }
+    }
+
+    private class ProcessCompletedListener implements ActivitiEventListener {
+
+        @Override
+        public void onEvent(ActivitiEvent event) {
+            completedProcesses.countDown();
+        }
+
+        @Override
+        public boolean isFailOnException() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.benchmark;
+
+import org.activiti.engine.HistoryService;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.repository.DeploymentBuilder;
+
+/**
+ * Boots an in-memory H2 process engine for a benchmark and deploys the given classpath resources.
+ * One engine is created per benchmark trial, so the schema creation and deployment cost is never measured.
+ */
+public class BenchmarkProcessEngine {
+
+    private final ProcessEngine processEngine;
+
+    public BenchmarkProcessEngine(boolean asyncExecutorActivate,
+                                  String... resources) {
+        ProcessEngineConfigurationImpl configuration = new StandaloneInMemProcessEngineConfiguration();
+        configuration.setJdbcUrl("jdbc:h2:mem:activiti-benchmark;DB_CLOSE_DELAY=-1");
+        configuration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+        configuration.setAsyncExecutorActivate(asyncExecutorActivate);
+        processEngine = configuration.buildProcessEngine();
+
+        if (resources.length > 0) {
+            DeploymentBuilder deploymentBuilder = getRepositoryService().createDeployment();
+            for (String resource : resources) {
+                deploymentBuilder.addClasspathResource(resource);
+            }
+            deploymentBuilder.deploy();
+        }
+    }
+
+    public ProcessEngine getProcessEngine() {
+        return processEngine;
+    }
+
+    public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
+        return (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+    }
+
+    public RepositoryService getRepositoryService() {
+        return processEngine.getRepositoryService();
+    }
+
+    public RuntimeService getRuntimeService() {
+        return processEngine.getRuntimeService();
+    }
+
+    public TaskService getTaskService() {
+        return processEngine.getTaskService();
+    }
+
+    public ManagementService getManagementService() {
+        return processEngine.getManagementService();
+    }
+
+    public HistoryService getHistoryService() {
+        return processEngine.getHistoryService();
+    }
+
+    public void close() {
+        processEngine.close();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link org.activiti.engine.impl.db.DbSqlSession#flush()} with large insert and update sets.
+ * Each invocation is a single command that inserts or updates {@link #entityCount} variable instances
+ * (plus their history), so the flush dominates the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DbSqlSessionFlushBenchmark {
+
+    @Param({"100", "1000"})
+    public int entityCount;
+
+    private BenchmarkProcessEngine engine;
+
+    private String processInstanceId;
+
+    private Map<String, Object> insertVariables;
+
+    private Map<String, Object> evenUpdateVariables;
+
+    private Map<String, Object> oddUpdateVariables;
+
+    private boolean odd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new BenchmarkProcessEngine(false,
+                                            "org/activiti/benchmark/oneTaskProcess.bpmn20.xml");
+        insertVariables = createVariables("value");
+        evenUpdateVariables = createVariables("even");
+        oddUpdateVariables = createVariables("odd");
+        processInstanceId = engine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess",
+                                                                                 insertVariables).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public String flushInserts() {
+        return engine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess",
+                                                                    insertVariables).getId();
+    }
+
+    @Benchmark
+    public void flushUpdates() {
+        // alternate the values so every invocation really changes every variable
+        odd = !odd;
+        engine.getRuntimeService().setVariables(processInstanceId,
+                                                odd ? oddUpdateVariables : evenUpdateVariables);
+    }
+
+    private Map<String, Object> createVariables(String valuePrefix) {
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < entityCount; i++) {
+            variables.put("var" + i,
+                          valuePrefix + i);
+        }
+        return variables;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.interceptor.DelegateInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures JUEL expression handling through {@link ExpressionManager#createExpression(String)}: parsing alone,
+ * evaluation of an already parsed expression, and both together as done for expressions created at runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionManagerBenchmark {
+
+    private static final String EXPRESSION_TEXT = "${order.amount > 100 && customer.vip == true}";
+
+    private ExpressionManager expressionManager;
+
+    private DelegateInterceptor delegateInterceptor;
+
+    private Map<String, Object> variables;
+
+    private Expression expression;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        expressionManager = new ExpressionManager();
+        delegateInterceptor = new DefaultDelegateInterceptor();
+
+        Map<String, Object> order = new HashMap<>();
+        order.put("amount", 250);
+        Map<String, Object> customer = new HashMap<>();
+        customer.put("vip", true);
+        variables = new HashMap<>();
+        variables.put("order", order);
+        variables.put("customer", customer);
+
+        expression = expressionManager.createExpression(EXPRESSION_TEXT);
+    }
+
+    @Benchmark
+    public Expression createExpression() {
+        return expressionManager.createExpression(EXPRESSION_TEXT);
+    }
+
+    @Benchmark
+    public Object evaluateExpression() {
+        return expression.getValue(expressionManager,
+                                   delegateInterceptor,
+                                   variables);
+    }
+
+    @Benchmark
+    public Object createAndEvaluateExpression() {
+        return expressionManager.createExpression(EXPRESSION_TEXT).getValue(expressionManager,
+                                                                            delegateInterceptor,
+                                                                            variables);
+    }
+}
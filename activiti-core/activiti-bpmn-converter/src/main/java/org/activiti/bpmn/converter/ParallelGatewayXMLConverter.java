@@ -39,12 +39,16 @@ public Class<? extends BaseElement> getBpmnElementType() {
   protected BaseElement convertXMLToElement(XMLStreamReader xtr, BpmnModel model) throws Exception {
     ParallelGateway gateway = new ParallelGateway();
     BpmnXMLUtil.addXMLLocation(gateway, xtr);
+    BpmnXMLUtil.addCustomAttributes(xtr, gateway, defaultElementAttributes, defaultActivityAttributes);
     parseChildElements(getXMLElementName(), gateway, model, xtr);
     return gateway;
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   protected void writeAdditionalAttributes(BaseElement element, BpmnModel model, XMLStreamWriter xtw) throws Exception {
+    ParallelGateway gateway = (ParallelGateway) element;
+    BpmnXMLUtil.writeCustomAttributes(gateway.getAttributes().values(), xtw, defaultElementAttributes, defaultActivityAttributes);
   }
 
   @Override
@@ -0,0 +1,67 @@
+package org.activiti.editor.language.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.bpmn.model.SubProcess;
+import org.activiti.bpmn.model.UserTask;
+import org.junit.Test;
+
+public class FlowElementIndexTest extends AbstractConverterTest {
+
+  @Test
+  public void indexedLookupsMatchTheTreeWalk() throws Exception {
+    Process process = readXMLFile().getMainProcess();
+    SubProcess subProcess = (SubProcess) process.getFlowElement("subprocess1");
+
+    List<FlowNode> flowNodes = process.findFlowElementsOfType(FlowNode.class);
+    List<StartEvent> startEvents = process.findFlowElementsOfType(StartEvent.class, false);
+    List<SequenceFlow> subProcessFlows = process.findFlowElementsInSubProcessOfType(subProcess, SequenceFlow.class);
+    FlowElement subUserTask = process.getFlowElement("subUserTask1", true);
+
+    process.buildFlowElementIndex();
+    assertNotNull(process.getFlowElementIndex());
+    assertEquals(flowNodes, process.findFlowElementsOfType(FlowNode.class));
+    assertSame(process.findFlowElementsOfType(FlowNode.class), process.findFlowElementsOfType(FlowNode.class));
+    assertEquals(startEvents, process.findFlowElementsOfType(StartEvent.class, false));
+    assertEquals(subProcessFlows, process.findFlowElementsInSubProcessOfType(subProcess, SequenceFlow.class));
+    assertSame(subProcess, process.findParent(subUserTask));
+    assertSame(subProcess, process.getFlowElementsContainer("subUserTask1"));
+    assertSame(process, process.getFlowElementsContainer("userTask1"));
+    assertNull(process.getFlowElementsContainer("unknown"));
+  }
+
+  @Test
+  public void indexIsDroppedWhenTheProcessChanges() throws Exception {
+    Process process = readXMLFile().getMainProcess();
+    SubProcess subProcess = (SubProcess) process.getFlowElement("subprocess1");
+    int userTaskCount = process.findFlowElementsOfType(UserTask.class).size();
+
+    process.buildFlowElementIndex();
+    UserTask userTask = new UserTask();
+    userTask.setId("subUserTask2");
+    subProcess.addFlowElement(userTask);
+
+    assertNull(process.getFlowElementIndex());
+    assertEquals(userTaskCount + 1, process.findFlowElementsOfType(UserTask.class).size());
+
+    process.buildFlowElementIndex();
+    process.removeFlowElement("userTask1");
+
+    assertNull(process.getFlowElementIndex());
+    assertEquals(userTaskCount, process.findFlowElementsOfType(UserTask.class).size());
+  }
+
+  protected String getResource() {
+    return "subprocessmodel.bpmn";
+  }
+}
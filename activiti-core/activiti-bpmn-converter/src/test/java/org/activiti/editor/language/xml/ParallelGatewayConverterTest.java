@@ -0,0 +1,44 @@
+package org.activiti.editor.language.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.activiti.bpmn.constants.BpmnXMLConstants;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.ParallelGateway;
+import org.junit.Test;
+
+public class ParallelGatewayConverterTest extends AbstractConverterTest {
+
+  @Test
+  public void convertXMLToModel() throws Exception {
+    BpmnModel bpmnModel = readXMLFile();
+    validateModel(bpmnModel);
+  }
+
+  @Test
+  public void convertModelToXML() throws Exception {
+    BpmnModel bpmnModel = readXMLFile();
+    BpmnModel parsedModel = exportAndReadXMLFile(bpmnModel);
+    validateModel(parsedModel);
+  }
+
+  protected String getResource() {
+    return "parallelgatewaymodel.bpmn";
+  }
+
+  private void validateModel(BpmnModel model) {
+    FlowElement flowElement = model.getMainProcess().getFlowElement("fork");
+    assertTrue(flowElement instanceof ParallelGateway);
+    assertEquals("true", flowElement.getAttributeValue(BpmnXMLConstants.ACTIVITI_EXTENSIONS_NAMESPACE,
+        BpmnXMLConstants.ATTRIBUTE_GATEWAY_PARALLEL_BRANCH_EXECUTION));
+
+    ParallelGateway join = (ParallelGateway) model.getMainProcess().getFlowElement("join");
+    assertTrue(join.isAsynchronous());
+    assertTrue(join.getAttributes().isEmpty());
+    assertNull(join.getAttributeValue(BpmnXMLConstants.ACTIVITI_EXTENSIONS_NAMESPACE,
+        BpmnXMLConstants.ATTRIBUTE_GATEWAY_PARALLEL_BRANCH_EXECUTION));
+  }
+}
@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.bpmn.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Snapshot of the flow elements of a {@link Process}, per container, used to answer the type lookups of the process
+ * without walking the element tree each time.
+ * <p>
+ * The index is built by {@link Process#buildFlowElementIndex()} and is never changed afterwards: when the process or one
+ * of its subprocesses is changed through its add and remove methods, the process drops the index and walks the element
+ * tree again. The result of a type lookup is computed on first use and then shared, so the returned lists are unmodifiable.
+ */
+public class FlowElementIndex {
+
+  protected final Map<FlowElementsContainer, List<FlowElement>> childElements = new IdentityHashMap<FlowElementsContainer, List<FlowElement>>();
+  protected final Map<FlowElementsContainer, List<FlowElement>> nestedElements = new IdentityHashMap<FlowElementsContainer, List<FlowElement>>();
+  protected final Map<String, FlowElementsContainer> containersByElementId = new HashMap<String, FlowElementsContainer>();
+  protected final ConcurrentMap<TypeLookup, List<? extends FlowElement>> typeLookups = new ConcurrentHashMap<TypeLookup, List<? extends FlowElement>>();
+
+  public FlowElementIndex(Process process) {
+    index(process);
+  }
+
+  /**
+   * Indexes the elements of the given container in the same order as the walk done by
+   * {@link Process#findFlowElementsOfType(Class, boolean)}, and returns all the elements nested in it.
+   */
+  protected List<FlowElement> index(FlowElementsContainer container) {
+    List<FlowElement> children = new ArrayList<FlowElement>(container.getFlowElements());
+    List<FlowElement> nested = new ArrayList<FlowElement>(children.size());
+    for (FlowElement flowElement : children) {
+      nested.add(flowElement);
+      if (flowElement.getId() != null && !containersByElementId.containsKey(flowElement.getId())) {
+        containersByElementId.put(flowElement.getId(), container);
+      }
+      if (flowElement instanceof SubProcess) {
+        nested.addAll(index((SubProcess) flowElement));
+      }
+    }
+    childElements.put(container, Collections.unmodifiableList(children));
+    nestedElements.put(container, Collections.unmodifiableList(nested));
+    return nested;
+  }
+
+  public boolean containsContainer(FlowElementsContainer container) {
+    return childElements.containsKey(container);
+  }
+
+  /**
+   * @return the direct children of the given container, or null when the container is not part of the indexed process
+   */
+  public List<FlowElement> getChildElements(FlowElementsContainer container) {
+    return childElements.get(container);
+  }
+
+  /**
+   * @return the container of the first element with the given id, searching the whole process
+   */
+  public FlowElementsContainer getFlowElementsContainer(String flowElementId) {
+    return flowElementId != null ? containersByElementId.get(flowElementId) : null;
+  }
+
+  /**
+   * @return the elements of the given type in the container, also those in nested subprocesses if goIntoSubprocesses is true,
+   *         or null when the container is not part of the indexed process
+   */
+  @SuppressWarnings("unchecked")
+  public <FlowElementType extends FlowElement> List<FlowElementType> findFlowElementsOfType(FlowElementsContainer container, Class<FlowElementType> type, boolean goIntoSubprocesses) {
+    if (!containsContainer(container)) {
+      return null;
+    }
+
+    TypeLookup typeLookup = new TypeLookup(container, type, goIntoSubprocesses);
+    List<? extends FlowElement> foundFlowElements = typeLookups.get(typeLookup);
+    if (foundFlowElements == null) {
+      List<FlowElementType> flowElementsOfType = new ArrayList<FlowElementType>();
+      for (FlowElement flowElement : goIntoSubprocesses ? nestedElements.get(container) : childElements.get(container)) {
+        if (type.isInstance(flowElement)) {
+          flowElementsOfType.add((FlowElementType) flowElement);
+        }
+      }
+      foundFlowElements = Collections.unmodifiableList(flowElementsOfType);
+      List<? extends FlowElement> existingFlowElements = typeLookups.putIfAbsent(typeLookup, foundFlowElements);
+      if (existingFlowElements != null) {
+        foundFlowElements = existingFlowElements;
+      }
+    }
+    return (List<FlowElementType>) foundFlowElements;
+  }
+
+  protected static class TypeLookup {
+
+    protected final FlowElementsContainer container;
+    protected final Class<?> type;
+    protected final boolean goIntoSubprocesses;
+
+    public TypeLookup(FlowElementsContainer container, Class<?> type, boolean goIntoSubprocesses) {
+      this.container = container;
+      this.type = type;
+      this.goIntoSubprocesses = goIntoSubprocesses;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = System.identityHashCode(container);
+      result = 31 * result + type.hashCode();
+      return 31 * result + (goIntoSubprocesses ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof TypeLookup)) {
+        return false;
+      }
+      TypeLookup other = (TypeLookup) obj;
+      return container == other.container && type == other.type && goIntoSubprocesses == other.goIntoSubprocesses;
+    }
+  }
+
+}
@@ -39,6 +39,9 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
   // Added during process definition parsing
   protected FlowElement initialFlowElement;
 
+  // Only set once the process is complete, see buildFlowElementIndex()
+  protected volatile FlowElementIndex flowElementIndex;
+
   public Process() {
 
   }
@@ -168,6 +171,10 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
    * Searches the whole process, including subprocesses
    */
   public FlowElementsContainer getFlowElementsContainer(String flowElementId) {
+    FlowElementIndex index = flowElementIndex;
+    if (index != null) {
+      return index.getFlowElementsContainer(flowElementId);
+    }
     return getFlowElementsContainer(this, flowElementId);
   }
 
@@ -199,6 +206,7 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
   }
 
   public void addFlowElement(FlowElement element) {
+    invalidateFlowElementIndex();
     flowElementList.add(element);
     element.setParentContainer(this);
     if (StringUtils.isNotEmpty(element.getId())) {
@@ -210,6 +218,7 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
   }
   
   public void addFlowElementToMap(FlowElement element) {
+    invalidateFlowElementIndex();
     if (element != null && StringUtils.isNotEmpty(element.getId())) {
       flowElementMap.put(element.getId(), element);
     }
@@ -218,12 +227,14 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
   public void removeFlowElement(String elementId) {
     FlowElement element = flowElementMap.get(elementId);
     if (element != null) {
+      invalidateFlowElementIndex();
       flowElementList.remove(element);
       flowElementMap.remove(element.getId());
     }
   }
   
   public void removeFlowElementFromMap(String elementId) {
+    invalidateFlowElementIndex();
     if (StringUtils.isNotEmpty(elementId)) {
       flowElementMap.remove(elementId);
     }
@@ -283,8 +294,16 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
     return findFlowElementsOfType(type, true);
   }
 
+  /**
+   * Returns an unmodifiable list when the {@link #buildFlowElementIndex() flow element index} is built.
+   */
   @SuppressWarnings("unchecked")
   public <FlowElementType extends FlowElement> List<FlowElementType> findFlowElementsOfType(Class<FlowElementType> type, boolean goIntoSubprocesses) {
+    FlowElementIndex index = flowElementIndex;
+    if (index != null) {
+      return index.findFlowElementsOfType(this, type, goIntoSubprocesses);
+    }
+
     List<FlowElementType> foundFlowElements = new ArrayList<FlowElementType>();
     for (FlowElement flowElement : this.getFlowElements()) {
       if (type.isInstance(flowElement)) {
@@ -303,8 +322,15 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
     return findFlowElementsInSubProcessOfType(subProcess, type, true);
   }
 
+  /**
+   * Returns an unmodifiable list when the {@link #buildFlowElementIndex() flow element index} is built and the subprocess is part of this process.
+   */
   @SuppressWarnings("unchecked")
   public <FlowElementType extends FlowElement> List<FlowElementType> findFlowElementsInSubProcessOfType(SubProcess subProcess, Class<FlowElementType> type, boolean goIntoSubprocesses) {
+    FlowElementIndex index = flowElementIndex;
+    if (index != null && index.containsContainer(subProcess)) {
+      return index.findFlowElementsOfType(subProcess, type, goIntoSubprocesses);
+    }
 
     List<FlowElementType> foundFlowElements = new ArrayList<FlowElementType>();
     for (FlowElement flowElement : subProcess.getFlowElements()) {
@@ -321,9 +347,32 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
   }
 
   public FlowElementsContainer findParent(FlowElement childElement) {
+    FlowElementIndex index = flowElementIndex;
+    if (index != null) {
+      return index.getFlowElementsContainer(childElement.getId());
+    }
     return findParent(childElement, this);
   }
 
+  /**
+   * Indexes the flow elements of this process, so the type and parent lookups no longer walk the element tree.
+   * To be called once the process is complete, as the index is dropped again by any change done through the add and remove
+   * methods of the process or its subprocesses. Changes done directly on the collections of flow elements are not detected.
+   */
+  public FlowElementIndex buildFlowElementIndex() {
+    FlowElementIndex index = new FlowElementIndex(this);
+    flowElementIndex = index;
+    return index;
+  }
+
+  public FlowElementIndex getFlowElementIndex() {
+    return flowElementIndex;
+  }
+
+  public void invalidateFlowElementIndex() {
+    flowElementIndex = null;
+  }
+
   public FlowElementsContainer findParent(FlowElement childElement, FlowElementsContainer flowElementsContainer) {
     for (FlowElement flowElement : flowElementsContainer.getFlowElements()) {
       if (childElement.getId() != null && childElement.getId().equals(flowElement.getId())) {
@@ -347,6 +396,7 @@ public class Process extends BaseElement implements FlowElementsContainer, HasEx
 
   public void setValues(Process otherElement) {
     super.setValues(otherElement);
+    invalidateFlowElementIndex();
 
 //    setBpmnModel(bpmnModel);
     setName(otherElement.getName());
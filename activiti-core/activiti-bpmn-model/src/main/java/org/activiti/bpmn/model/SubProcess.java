@@ -40,6 +40,7 @@ public class SubProcess extends Activity implements FlowElementsContainer {
   }
 
   public void addFlowElement(FlowElement element) {
+    invalidateFlowElementIndex();
     flowElementList.add(element);
     element.setParentContainer(this);
     if(element instanceof FlowElementsContainer){
@@ -54,6 +55,7 @@ public class SubProcess extends Activity implements FlowElementsContainer {
   }
 
   public void addFlowElementToMap(FlowElement element) {
+    invalidateFlowElementIndex();
     if (element != null && StringUtils.isNotEmpty(element.getId())) {
       flowElementMap.put(element.getId(), element);
       if (getParentContainer() != null) {
@@ -65,6 +67,7 @@ public class SubProcess extends Activity implements FlowElementsContainer {
   public void removeFlowElement(String elementId) {
     FlowElement element = getFlowElement(elementId);
     if (element != null) {
+      invalidateFlowElementIndex();
       flowElementList.remove(element);
       flowElementMap.remove(elementId);
       if (element.getParentContainer() != null) {
@@ -74,6 +77,7 @@ public class SubProcess extends Activity implements FlowElementsContainer {
   }
   
   public void removeFlowElementFromMap(String elementId) {
+    invalidateFlowElementIndex();
     if (StringUtils.isNotEmpty(elementId)) {
       flowElementMap.remove(elementId);
     }
@@ -117,6 +121,19 @@ public class SubProcess extends Activity implements FlowElementsContainer {
     }
   }
 
+  /**
+   * Drops the {@link FlowElementIndex} of the process this subprocess is part of, if any.
+   */
+  protected void invalidateFlowElementIndex() {
+    FlowElementsContainer container = getParentContainer();
+    while (container instanceof SubProcess) {
+      container = ((SubProcess) container).getParentContainer();
+    }
+    if (container instanceof Process) {
+      ((Process) container).invalidateFlowElementIndex();
+    }
+  }
+
   public SubProcess clone() {
     SubProcess clone = new SubProcess();
     clone.setValues(this);
@@ -157,6 +174,7 @@ public class SubProcess extends Activity implements FlowElementsContainer {
       }
     }
     
+    invalidateFlowElementIndex();
     flowElementList.clear();
     for (FlowElement flowElement : otherElement.getFlowElements()) {
       addFlowElement(flowElement);
@@ -14,6 +14,7 @@
 
 package org.activiti.engine;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
@@ -35,6 +36,7 @@ import org.activiti.engine.history.NativeHistoricTaskInstanceQuery;
 import org.activiti.engine.history.NativeHistoricVariableInstanceQuery;
 import org.activiti.engine.history.ProcessInstanceHistoryLog;
 import org.activiti.engine.history.ProcessInstanceHistoryLogQuery;
+import org.activiti.engine.runtime.Job;
 import org.activiti.engine.task.IdentityLink;
 
 /**
@@ -89,6 +91,28 @@ public interface HistoryService {
    */
   void deleteHistoricProcessInstance(String processInstanceId);
 
+  /**
+   * Deletes all historic process instances that ended before the given date, with their historic activities, tasks, details, variables,
+   * identity links, comments and attachments. The historic process instances are deleted in batches of the given size, each in its own
+   * transaction, with one delete statement per history table instead of one per historic entity.
+   *
+   * @return the number of historic process instances deleted
+   * @throws ActivitiIllegalArgumentException
+   *           when endedBefore is null or batchSize is less than 1
+   */
+  long deleteHistoricProcessInstancesEndedBefore(Date endedBefore, int batchSize);
+
+  /**
+   * Same as {@link #deleteHistoricProcessInstancesEndedBefore(Date, int)}, but deletes the historic process instances in the background,
+   * as a chain of jobs executed by the async executor: one job per batch. The number of historic process instances deleted so far is kept
+   * in the job handler configuration of the job of the next batch.
+   *
+   * @return the job that deletes the first batch
+   * @throws ActivitiIllegalArgumentException
+   *           when endedBefore is null or batchSize is less than 1
+   */
+  Job deleteHistoricProcessInstancesEndedBeforeAsync(Date endedBefore, int batchSize);
+
   /**
    * creates a native query to search for {@link HistoricProcessInstance}s via SQL
    */
@@ -24,6 +24,7 @@ import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntity;
 import org.activiti.engine.impl.persistence.entity.SuspendedJobEntity;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.management.ProcessDefinitionStatistics;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.management.TablePage;
 import org.activiti.engine.management.TablePageQuery;
@@ -57,6 +58,14 @@ public interface ManagementService {
    */
   TableMetaData getTableMetaData(String tableName);
 
+  /**
+   * Gets the mapping containing {process definition id, statistics} entries for all process definitions that have
+   * running or completed process instances, open tasks or jobs. The statistics are computed with one grouped query
+   * per table and are then reused for the configured processDefinitionStatisticsCacheTimeInMillis, so they can be
+   * slightly outdated.
+   */
+  Map<String, ProcessDefinitionStatistics> getProcessDefinitionStatistics();
+
   /**
    * Creates a {@link TablePageQuery} that can be used to fetch {@link TablePage} containing specific sections of table row data.
    */
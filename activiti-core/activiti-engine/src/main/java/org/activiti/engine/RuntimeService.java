@@ -29,6 +29,7 @@ import org.activiti.engine.impl.persistence.entity.VariableInstance;
 import org.activiti.engine.runtime.DataObject;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ExecutionQuery;
+import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.NativeExecutionQuery;
 import org.activiti.engine.runtime.NativeProcessInstanceQuery;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -1025,6 +1026,27 @@ public interface RuntimeService {
    */
   void signalEventReceivedAsyncWithTenantId(String signalName, String tenantId);
 
+  /**
+   * Notifies the process engine that a signal event of name 'signalName' has been received. Instead of loading all waiting executions in the calling transaction, the signal is recorded as a job
+   * which splits the subscriptions into batches of 'batchSize', and every batch is delivered in a job of its own. The batches are delivered in parallel by the async executor.
+   * <p/>
+   *
+   * Only the executions that were waiting on the signal when it was received are notified. The returned job keeps the number of batches and subscriptions scheduled so far in its handler
+   * configuration, and logs them while the subscriptions are being split.
+   *
+   * @param signalName
+   *          the name of the signal event
+   * @param batchSize
+   *          the maximum number of waiting executions notified in one transaction
+   * @return the job that splits the subscriptions into batches
+   */
+  Job signalEventReceivedInBatches(String signalName, int batchSize);
+
+  /**
+   * Similar to {@link #signalEventReceivedInBatches(String, int)}, but within the context of one tenant.
+   */
+  Job signalEventReceivedInBatchesWithTenantId(String signalName, int batchSize, String tenantId);
+
   /**
    * Notifies the process engine that a signal event of name 'signalName' has been received. This method delivers the signal to all executions waiting on the signal.
    * <p/>
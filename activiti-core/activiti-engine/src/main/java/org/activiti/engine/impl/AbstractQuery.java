@@ -14,6 +14,7 @@ package org.activiti.engine.impl;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
@@ -150,6 +151,22 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     return executeList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  public void forEach(final Consumer<? super U> consumer) {
+    if (consumer == null) {
+      throw new ActivitiIllegalArgumentException("consumer is null");
+    }
+    if (commandExecutor != null) {
+      commandExecutor.execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          executeForEach(commandContext, consumer);
+          return null;
+        }
+      });
+    } else {
+      executeForEach(Context.getCommandContext(), consumer);
+    }
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor != null) {
@@ -180,6 +197,16 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
    */
   public abstract List<U> executeList(CommandContext commandContext, Page page);
 
+  /**
+   * Executes the query and passes the results to the consumer one by one. Queries that can read their results with a database cursor
+   * override this, by default the results of {@link #executeList(CommandContext, Page)} are passed.
+   */
+  public void executeForEach(CommandContext commandContext, Consumer<? super U> consumer) {
+    for (U result : executeList(commandContext, null)) {
+      consumer.accept(result);
+    }
+  }
+
   public U executeSingleResult(CommandContext commandContext) {
     List<U> results = executeList(commandContext, null);
     if (results.size() == 1) {
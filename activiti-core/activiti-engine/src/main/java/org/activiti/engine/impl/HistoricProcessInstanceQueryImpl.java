@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
@@ -604,6 +605,25 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return results;
   }
 
+  @Override
+  public void executeForEach(CommandContext commandContext, Consumer<? super HistoricProcessInstance> consumer) {
+    if (includeProcessVariables) {
+      // the variables are outer joined, so the rows of a process instance can't be read one process instance at a time
+      super.executeForEach(commandContext, consumer);
+      return;
+    }
+
+    checkQueryOk();
+    ensureVariablesInitialized();
+    boolean enableLocalization = Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableLocalization();
+    commandContext.getHistoricProcessInstanceEntityManager().forEachHistoricProcessInstanceByQueryCriteria(this, processInstance -> {
+      if (enableLocalization) {
+        localize(processInstance, commandContext);
+      }
+      consumer.accept(processInstance);
+    });
+  }
+
   protected void localize(HistoricProcessInstance processInstance, CommandContext commandContext) {
     HistoricProcessInstanceEntity processInstanceEntity = (HistoricProcessInstanceEntity) processInstance;
     processInstanceEntity.setLocalizedName(null);
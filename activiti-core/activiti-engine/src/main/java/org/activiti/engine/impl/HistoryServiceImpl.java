@@ -14,6 +14,7 @@
 
 package org.activiti.engine.impl;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.HistoryService;
@@ -31,8 +32,13 @@ import org.activiti.engine.history.NativeHistoricVariableInstanceQuery;
 import org.activiti.engine.history.ProcessInstanceHistoryLogQuery;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
+import org.activiti.engine.impl.cmd.DeleteHistoricProcessInstancesEndedBeforeCmd;
 import org.activiti.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.activiti.engine.impl.cmd.GetHistoricIdentityLinksForTaskCmd;
+import org.activiti.engine.impl.cmd.ScheduleDeleteHistoricProcessInstancesEndedBeforeCmd;
+import org.activiti.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
 
@@ -41,6 +47,7 @@ import org.activiti.engine.impl.cmd.GetHistoricIdentityLinksForTaskCmd;
  */
 public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
 
+  private static Logger log = LoggerFactory.getLogger(HistoryServiceImpl.class);
 
   public HistoryServiceImpl(ProcessEngineConfigurationImpl processEngineConfiguration) {
     super(processEngineConfiguration);
@@ -84,6 +91,23 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     commandExecutor.execute(new DeleteHistoricProcessInstanceCmd(processInstanceId));
   }
 
+  public long deleteHistoricProcessInstancesEndedBefore(Date endedBefore, int batchSize) {
+    long deleted = 0;
+    int deletedInBatch;
+    do {
+      deletedInBatch = commandExecutor.execute(new DeleteHistoricProcessInstancesEndedBeforeCmd(endedBefore, batchSize));
+      deleted += deletedInBatch;
+      if (deletedInBatch > 0) {
+        log.info("Deleted {} historic process instances ended before {}", deleted, endedBefore);
+      }
+    } while (deletedInBatch == batchSize);
+    return deleted;
+  }
+
+  public Job deleteHistoricProcessInstancesEndedBeforeAsync(Date endedBefore, int batchSize) {
+    return commandExecutor.execute(new ScheduleDeleteHistoricProcessInstancesEndedBeforeCmd(endedBefore, batchSize));
+  }
+
   public NativeHistoricProcessInstanceQuery createNativeHistoricProcessInstanceQuery() {
     return new NativeHistoricProcessInstanceQueryImpl(commandExecutor);
   }
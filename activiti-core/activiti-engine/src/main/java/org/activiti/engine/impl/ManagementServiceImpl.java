@@ -13,6 +13,7 @@
 package org.activiti.engine.impl;
 
 import java.sql.Connection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +30,7 @@ import org.activiti.engine.impl.cmd.ExecuteCustomSqlCmd;
 import org.activiti.engine.impl.cmd.ExecuteJobCmd;
 import org.activiti.engine.impl.cmd.GetEventLogEntriesCmd;
 import org.activiti.engine.impl.cmd.GetJobExceptionStacktraceCmd;
+import org.activiti.engine.impl.cmd.GetProcessDefinitionStatisticsCmd;
 import org.activiti.engine.impl.cmd.GetPropertiesCmd;
 import org.activiti.engine.impl.cmd.GetTableCountCmd;
 import org.activiti.engine.impl.cmd.GetTableMetaDataCmd;
@@ -39,11 +41,13 @@ import org.activiti.engine.impl.cmd.MoveJobToDeadLetterJobCmd;
 import org.activiti.engine.impl.cmd.MoveTimerToExecutableJobCmd;
 import org.activiti.engine.impl.cmd.SetJobRetriesCmd;
 import org.activiti.engine.impl.cmd.SetTimerJobRetriesCmd;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.db.DbSqlSessionFactory;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.management.ProcessDefinitionStatistics;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.management.TablePageQuery;
 import org.activiti.engine.runtime.DeadLetterJobQuery;
@@ -60,6 +64,17 @@ import org.activiti.engine.runtime.TimerJobQuery;
  */
 public class ManagementServiceImpl extends ServiceImpl implements ManagementService {
 
+  protected Map<String, ProcessDefinitionStatistics> processDefinitionStatistics;
+  protected long processDefinitionStatisticsExpirationTime;
+
+  public ManagementServiceImpl() {
+
+  }
+
+  public ManagementServiceImpl(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super(processEngineConfiguration);
+  }
+
   public Map<String, Long> getTableCount() {
     return commandExecutor.execute(new GetTableCountCmd());
   }
@@ -72,6 +87,20 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     return commandExecutor.execute(new GetTableMetaDataCmd(tableName));
   }
 
+  public synchronized Map<String, ProcessDefinitionStatistics> getProcessDefinitionStatistics() {
+    int cacheTimeInMillis = processEngineConfiguration != null ? processEngineConfiguration.getProcessDefinitionStatisticsCacheTimeInMillis() : 0;
+    if (cacheTimeInMillis <= 0) {
+      return Collections.unmodifiableMap(commandExecutor.execute(new GetProcessDefinitionStatisticsCmd()));
+    }
+
+    long now = processEngineConfiguration.getClock().getCurrentTime().getTime();
+    if (processDefinitionStatistics == null || now >= processDefinitionStatisticsExpirationTime) {
+      processDefinitionStatistics = Collections.unmodifiableMap(commandExecutor.execute(new GetProcessDefinitionStatisticsCmd()));
+      processDefinitionStatisticsExpirationTime = now + cacheTimeInMillis;
+    }
+    return processDefinitionStatistics;
+  }
+
   public void executeJob(String jobId) {
     if (jobId == null) {
       throw new ActivitiIllegalArgumentException("JobId is null");
@@ -80,6 +80,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       asyncExecutor.start();
     }
 
+    if (processEngineConfiguration.getAsyncHistoryExecutor() != null && processEngineConfiguration.isAsyncHistoryExecutorActivate()) {
+      processEngineConfiguration.getAsyncHistoryExecutor().start();
+    }
+
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
       processEngineConfiguration.getProcessEngineLifecycleListener().onProcessEngineBuilt(this);
     }
@@ -92,6 +96,12 @@ public class ProcessEngineImpl implements ProcessEngine {
     if (asyncExecutor != null && asyncExecutor.isActive()) {
       asyncExecutor.shutdown();
     }
+    if (processEngineConfiguration.getAsyncHistoryExecutor() != null) {
+      processEngineConfiguration.getAsyncHistoryExecutor().shutdown();
+    }
+    if (processEngineConfiguration.getParallelBranchExecutor() != null) {
+      processEngineConfiguration.getParallelBranchExecutor().shutdown();
+    }
 
     commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), new SchemaOperationProcessEngineClose());
 
@@ -66,6 +66,7 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
   protected boolean includeProcessVariables;
   protected Integer processInstanceVariablesLimit;
   protected boolean withJobException;
+  protected String processInstanceIdAfter;
   protected String name;
   protected String nameLike;
   protected String nameLikeIgnoreCase;
@@ -385,6 +386,14 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     this.withJobException = true;
     return this;
   }
+
+  public ProcessInstanceQuery processInstanceIdAfter(String processInstanceId) {
+    if (processInstanceId == null) {
+      throw new ActivitiIllegalArgumentException("Process instance id is null");
+    }
+    this.processInstanceIdAfter = processInstanceId;
+    return this;
+  }
   
   @Override
   public ProcessInstanceQuery processInstanceName(String name) {
@@ -810,6 +819,10 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
   public boolean iswithException() {
     return withJobException;
   }
+
+  public String getProcessInstanceIdAfter() {
+    return processInstanceIdAfter;
+  }
   
   public String getNameLikeIgnoreCase() {
     return nameLikeIgnoreCase;
@@ -45,6 +45,7 @@ import org.activiti.engine.impl.cmd.GetEnabledActivitiesForAdhocSubProcessCmd;
 import org.activiti.engine.impl.cmd.GetIdentityLinksForProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.AddEventListenerCommand;
 import org.activiti.engine.impl.cmd.SignalEventReceivedCmd;
+import org.activiti.engine.impl.cmd.SignalEventReceivedInBatchesCmd;
 import org.activiti.engine.impl.cmd.MessageEventReceivedCmd;
 import org.activiti.engine.impl.cmd.DeleteIdentityLinkForProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.SetExecutionVariablesCmd;
@@ -63,6 +64,7 @@ import org.activiti.engine.impl.runtime.ProcessInstanceBuilderImpl;
 import org.activiti.engine.runtime.DataObject;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ExecutionQuery;
+import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.NativeExecutionQuery;
 import org.activiti.engine.runtime.NativeProcessInstanceQuery;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -439,6 +441,14 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
         commandExecutor.execute(new SignalEventReceivedCmd(signalName, null, true, tenantId));
     }
 
+    public Job signalEventReceivedInBatches(String signalName, int batchSize) {
+        return commandExecutor.execute(new SignalEventReceivedInBatchesCmd(signalName, null, batchSize));
+    }
+
+    public Job signalEventReceivedInBatchesWithTenantId(String signalName, int batchSize, String tenantId) {
+        return commandExecutor.execute(new SignalEventReceivedInBatchesCmd(signalName, tenantId, batchSize));
+    }
+
     public void signalEventReceived(String signalName, Map<String, Object> processVariables) {
         commandExecutor.execute(new SignalEventReceivedCmd(signalName, null, processVariables, null));
     }
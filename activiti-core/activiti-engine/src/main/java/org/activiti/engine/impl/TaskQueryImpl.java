@@ -15,6 +15,7 @@ package org.activiti.engine.impl;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -46,6 +47,7 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
   private static final Logger log = LoggerFactory.getLogger(TaskQueryImpl.class);
 
   protected String taskId;
+  protected String taskIdAfter;
   protected String name;
   protected String nameLike;
   protected String nameLikeIgnoreCase;
@@ -145,6 +147,14 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return this;
   }
 
+  public TaskQueryImpl taskIdAfter(String taskId) {
+    if (taskId == null) {
+      throw new ActivitiIllegalArgumentException("Task id is null");
+    }
+    this.taskIdAfter = taskId;
+    return this;
+  }
+
   public TaskQueryImpl taskName(String name) {
     if (name == null) {
       throw new ActivitiIllegalArgumentException("Task name is null");
@@ -1366,6 +1376,25 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return tasks;
   }
 
+  @Override
+  public void executeForEach(CommandContext commandContext, Consumer<? super Task> consumer) {
+    if (includeTaskLocalVariables || includeProcessVariables) {
+      // the variables are outer joined, so the rows of a task can't be read one task at a time
+      super.executeForEach(commandContext, consumer);
+      return;
+    }
+
+    ensureVariablesInitialized();
+    checkQueryOk();
+    boolean enableLocalization = Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableLocalization();
+    commandContext.getTaskEntityManager().forEachTaskByQueryCriteria(this, task -> {
+      if (enableLocalization) {
+        localize(task);
+      }
+      consumer.accept(task);
+    });
+  }
+
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
     checkQueryOk();
@@ -1457,6 +1486,10 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return taskId;
   }
 
+  public String getTaskIdAfter() {
+    return taskIdAfter;
+  }
+
   public String getDescription() {
     return description;
   }
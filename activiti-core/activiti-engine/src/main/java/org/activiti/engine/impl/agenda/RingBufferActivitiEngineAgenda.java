@@ -0,0 +1,258 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.agenda;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Agenda that keeps the planned operations in a ring buffer instead of a linked list, and that reuses
+ * the instances of the most frequently planned operations ({@link ContinueProcessOperation} and
+ * {@link TakeOutgoingSequenceFlowsOperation}) once they have been executed.
+ * <p>
+ * A straight-through process executing many steps in one transaction therefore only allocates a handful of
+ * operations, and no list nodes. Like any agenda, an instance is bound to one {@link CommandContext} and
+ * thus only used by one thread.
+ */
+public class RingBufferActivitiEngineAgenda extends DefaultActivitiEngineAgenda {
+
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferActivitiEngineAgenda.class);
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+    public static final int DEFAULT_OPERATION_POOL_SIZE = 8;
+
+    protected Runnable[] buffer;
+    protected int head;
+    protected int size;
+
+    protected PooledContinueProcessOperation[] continueProcessOperationPool;
+    protected int continueProcessOperationPoolSize;
+    protected PooledTakeOutgoingSequenceFlowsOperation[] takeOutgoingSequenceFlowsOperationPool;
+    protected int takeOutgoingSequenceFlowsOperationPoolSize;
+
+    public RingBufferActivitiEngineAgenda(CommandContext commandContext) {
+        this(commandContext, DEFAULT_INITIAL_CAPACITY, DEFAULT_OPERATION_POOL_SIZE);
+    }
+
+    /**
+     * @param initialCapacity the initial number of operations the ring buffer can hold; rounded up to a power of two
+     *                        and doubled whenever the buffer is full.
+     * @param operationPoolSize the maximum number of executed operations kept for reuse, per operation type.
+     */
+    public RingBufferActivitiEngineAgenda(CommandContext commandContext, int initialCapacity, int operationPoolSize) {
+        super(commandContext);
+        this.buffer = new Runnable[powerOfTwoCapacity(initialCapacity)];
+        this.continueProcessOperationPool = new PooledContinueProcessOperation[operationPoolSize];
+        this.takeOutgoingSequenceFlowsOperationPool = new PooledTakeOutgoingSequenceFlowsOperation[operationPoolSize];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Runnable getNextOperation() {
+        if (size == 0) {
+            return null;
+        }
+        Runnable operation = buffer[head];
+        buffer[head] = null;
+        head = (head + 1) & (buffer.length - 1);
+        size--;
+        return operation;
+    }
+
+    @Override
+    public void planOperation(Runnable operation) {
+        if (operation instanceof AbstractOperation) {
+            addOperation(operation, ((AbstractOperation) operation).getExecution());
+        } else {
+            addOperation(operation, null);
+        }
+    }
+
+    @Override
+    public void planContinueProcessOperation(ExecutionEntity execution) {
+        addOperation(obtainContinueProcessOperation(execution, false, false), execution);
+    }
+
+    @Override
+    public void planContinueProcessSynchronousOperation(ExecutionEntity execution) {
+        addOperation(obtainContinueProcessOperation(execution, true, false), execution);
+    }
+
+    @Override
+    public void planContinueProcessInCompensation(ExecutionEntity execution) {
+        addOperation(obtainContinueProcessOperation(execution, false, true), execution);
+    }
+
+    @Override
+    public void planTakeOutgoingSequenceFlowsOperation(ExecutionEntity execution, boolean evaluateConditions) {
+        addOperation(obtainTakeOutgoingSequenceFlowsOperation(execution, evaluateConditions), execution);
+    }
+
+    protected void addOperation(Runnable operation, ExecutionEntity execution) {
+        if (size == buffer.length) {
+            grow();
+        }
+        buffer[(head + size) & (buffer.length - 1)] = operation;
+        size++;
+
+        if (execution != null) {
+            commandContext.addInvolvedExecution(execution);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Operation {} added to agenda", operation.getClass());
+        }
+    }
+
+    protected void grow() {
+        Runnable[] newBuffer = new Runnable[buffer.length << 1];
+        for (int i = 0; i < size; i++) {
+            newBuffer[i] = buffer[(head + i) & (buffer.length - 1)];
+        }
+        buffer = newBuffer;
+        head = 0;
+    }
+
+    protected ContinueProcessOperation obtainContinueProcessOperation(ExecutionEntity execution,
+                                                                      boolean forceSynchronousOperation,
+                                                                      boolean inCompensation) {
+        if (continueProcessOperationPoolSize == 0) {
+            return new PooledContinueProcessOperation(this,
+                                                      commandContext,
+                                                      execution,
+                                                      forceSynchronousOperation,
+                                                      inCompensation);
+        }
+        PooledContinueProcessOperation operation = continueProcessOperationPool[--continueProcessOperationPoolSize];
+        continueProcessOperationPool[continueProcessOperationPoolSize] = null;
+        operation.reset(execution,
+                        forceSynchronousOperation,
+                        inCompensation);
+        return operation;
+    }
+
+    protected TakeOutgoingSequenceFlowsOperation obtainTakeOutgoingSequenceFlowsOperation(ExecutionEntity execution,
+                                                                                          boolean evaluateConditions) {
+        if (takeOutgoingSequenceFlowsOperationPoolSize == 0) {
+            return new PooledTakeOutgoingSequenceFlowsOperation(this,
+                                                                commandContext,
+                                                                execution,
+                                                                evaluateConditions);
+        }
+        PooledTakeOutgoingSequenceFlowsOperation operation = takeOutgoingSequenceFlowsOperationPool[--takeOutgoingSequenceFlowsOperationPoolSize];
+        takeOutgoingSequenceFlowsOperationPool[takeOutgoingSequenceFlowsOperationPoolSize] = null;
+        operation.reset(execution,
+                        evaluateConditions);
+        return operation;
+    }
+
+    protected void release(PooledContinueProcessOperation operation) {
+        if (continueProcessOperationPoolSize < continueProcessOperationPool.length) {
+            continueProcessOperationPool[continueProcessOperationPoolSize++] = operation;
+        }
+    }
+
+    protected void release(PooledTakeOutgoingSequenceFlowsOperation operation) {
+        if (takeOutgoingSequenceFlowsOperationPoolSize < takeOutgoingSequenceFlowsOperationPool.length) {
+            takeOutgoingSequenceFlowsOperationPool[takeOutgoingSequenceFlowsOperationPoolSize++] = operation;
+        }
+    }
+
+    protected static int powerOfTwoCapacity(int capacity) {
+        int powerOfTwo = 2;
+        while (powerOfTwo < capacity) {
+            powerOfTwo <<= 1;
+        }
+        return powerOfTwo;
+    }
+
+    /**
+     * {@link ContinueProcessOperation} that returns itself to the pool of its agenda when it has run.
+     * Operations whose execution has ended are not run and simply not returned to the pool.
+     */
+    protected static class PooledContinueProcessOperation extends ContinueProcessOperation {
+
+        protected final RingBufferActivitiEngineAgenda owner;
+
+        public PooledContinueProcessOperation(RingBufferActivitiEngineAgenda owner,
+                                              CommandContext commandContext,
+                                              ExecutionEntity execution,
+                                              boolean forceSynchronousOperation,
+                                              boolean inCompensation) {
+            super(commandContext,
+                  execution,
+                  forceSynchronousOperation,
+                  inCompensation);
+            this.owner = owner;
+        }
+
+        protected void reset(ExecutionEntity execution,
+                             boolean forceSynchronousOperation,
+                             boolean inCompensation) {
+            this.execution = execution;
+            this.forceSynchronousOperation = forceSynchronousOperation;
+            this.inCompensation = inCompensation;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                execution = null;
+                owner.release(this);
+            }
+        }
+    }
+
+    /**
+     * {@link TakeOutgoingSequenceFlowsOperation} that returns itself to the pool of its agenda when it has run.
+     */
+    protected static class PooledTakeOutgoingSequenceFlowsOperation extends TakeOutgoingSequenceFlowsOperation {
+
+        protected final RingBufferActivitiEngineAgenda owner;
+
+        public PooledTakeOutgoingSequenceFlowsOperation(RingBufferActivitiEngineAgenda owner,
+                                                        CommandContext commandContext,
+                                                        ExecutionEntity execution,
+                                                        boolean evaluateConditions) {
+            super(commandContext,
+                  execution,
+                  evaluateConditions);
+            this.owner = owner;
+        }
+
+        protected void reset(ExecutionEntity execution,
+                             boolean evaluateConditions) {
+            this.execution = execution;
+            this.evaluateConditions = evaluateConditions;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                execution = null;
+                owner.release(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.agenda;
+
+import org.activiti.engine.ActivitiEngineAgenda;
+import org.activiti.engine.ActivitiEngineAgendaFactory;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Creates {@link RingBufferActivitiEngineAgenda} instances. Set it as engine agenda factory on the process engine
+ * configuration to reduce the allocations done while executing processes.
+ */
+public class RingBufferActivitiEngineAgendaFactory implements ActivitiEngineAgendaFactory {
+
+  protected int initialCapacity = RingBufferActivitiEngineAgenda.DEFAULT_INITIAL_CAPACITY;
+  protected int operationPoolSize = RingBufferActivitiEngineAgenda.DEFAULT_OPERATION_POOL_SIZE;
+
+  @Override
+  public ActivitiEngineAgenda createAgenda(CommandContext commandContext) {
+    return new RingBufferActivitiEngineAgenda(commandContext, initialCapacity, operationPoolSize);
+  }
+
+  public int getInitialCapacity() {
+    return initialCapacity;
+  }
+
+  public void setInitialCapacity(int initialCapacity) {
+    this.initialCapacity = initialCapacity;
+  }
+
+  public int getOperationPoolSize() {
+    return operationPoolSize;
+  }
+
+  public void setOperationPoolSize(int operationPoolSize) {
+    this.operationPoolSize = operationPoolSize;
+  }
+
+}
@@ -21,6 +21,7 @@ import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.Condition;
 import org.activiti.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
 import org.activiti.engine.impl.bpmn.behavior.MultiInstanceActivityBehavior;
+import org.activiti.engine.impl.bpmn.helper.ParallelBranchExecutor;
 import org.activiti.engine.impl.bpmn.helper.SkipExpressionUtil;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.el.UelExpressionCondition;
@@ -202,6 +203,12 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
                 }
             }
 
+            ParallelBranchExecutor parallelBranchExecutor = commandContext.getProcessEngineConfiguration().getParallelBranchExecutor();
+            if (outgoingExecutions.size() > 1 && parallelBranchExecutor != null && parallelBranchExecutor.isParallelBranchExecutionEnabled(flowNode)) {
+                parallelBranchExecutor.executeBranches(commandContext,
+                                                       outgoingExecutions);
+            }
+
             // Leave (only done when all executions have been made, since some queries depend on this)
             for (ExecutionEntity outgoingExecution : outgoingExecutions) {
                 Context.getAgenda().planContinueProcessOperation(outgoingExecution);
@@ -12,11 +12,15 @@
  */
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.cmd.RebalanceJobPartitionsCmd;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.metrics.MetricsRecorder;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +41,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
   protected long millisToWait;
 
+  // Only used with partitioned acquisition
+  protected List<Integer> ownedPartitions;
+  protected long nextRebalanceTime;
+
   public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor) {
     this.asyncExecutor = asyncExecutor;
   }
@@ -46,11 +54,22 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     Thread.currentThread().setName("activiti-acquire-async-jobs");
 
     final CommandExecutor commandExecutor = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor();
+    final MetricsRecorder metricsRecorder = asyncExecutor.getProcessEngineConfiguration().getMetricsRecorder();
 
     while (!isInterrupted) {
 
       try {
-        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+        long acquisitionStart = System.nanoTime();
+        AcquiredJobEntities acquiredJobs;
+        if (asyncExecutor.getProcessEngineConfiguration().isAsyncExecutorPartitionedAcquisition()) {
+          rebalancePartitions(commandExecutor);
+          acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, ownedPartitions));
+        } else {
+          acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+        }
+        if (metricsRecorder != null) {
+          metricsRecorder.recordAsyncJobAcquisition(acquiredJobs.size(), System.nanoTime() - acquisitionStart);
+        }
 
         boolean allJobsSuccessfullyOffered = true; 
         for (JobEntity job : acquiredJobs.getJobs()) {
@@ -75,6 +94,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        if (metricsRecorder != null) {
+          metricsRecorder.recordAsyncJobAcquisitionCollision();
+        }
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during async job acquisition. If you have multiple async executors running against the same database, "
               + "this exception means that this thread tried to acquire a due async job, which already was acquired by another async executor acquisition thread."
@@ -115,6 +137,31 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  protected void rebalancePartitions(CommandExecutor commandExecutor) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = asyncExecutor.getProcessEngineConfiguration();
+    long now = processEngineConfiguration.getClock().getCurrentTime().getTime();
+    if (ownedPartitions != null && now < nextRebalanceTime) {
+      return;
+    }
+
+    try {
+      ownedPartitions = commandExecutor.execute(new RebalanceJobPartitionsCmd(asyncExecutor.getLockOwner(),
+          processEngineConfiguration.getAsyncExecutorNumberOfPartitions(), processEngineConfiguration.getAsyncExecutorPartitionLeaseTimeInMillis()));
+      if (log.isDebugEnabled()) {
+        log.debug("async job acquisition owns partitions {}", ownedPartitions);
+      }
+    } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+      // Another async executor changed the partitions concurrently, keep the current ones until the next rebalance
+      if (log.isDebugEnabled()) {
+        log.debug("Optimistic locking exception during job partition rebalancing: {}", optimisticLockingException.getMessage());
+      }
+      if (ownedPartitions == null) {
+        throw optimisticLockingException;
+      }
+    }
+    nextRebalanceTime = now + processEngineConfiguration.getAsyncExecutorPartitionRebalanceIntervalInMillis();
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
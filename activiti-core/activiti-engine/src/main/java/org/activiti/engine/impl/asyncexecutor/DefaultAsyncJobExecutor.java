@@ -17,7 +17,10 @@ import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -63,6 +66,19 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   /** The executor service used for job execution */
   protected ExecutorService executorService;
 
+  /**
+   * When true and running on Java 21 or later, every job is executed on its own virtual thread instead of on the thread pool.
+   * The number of jobs executed at the same time is then limited by {@link #maxConcurrentJobs} instead of by the pool and queue sizes.
+   * On older JVMs, the thread pool is used.
+   */
+  protected boolean useVirtualThreads;
+
+  /** The maximum number of jobs that are executed at the same time when jobs are executed on virtual threads */
+  protected int maxConcurrentJobs = 100;
+
+  /** Hands out a permit for every job executing on a virtual thread, null when no virtual threads are used */
+  protected Semaphore concurrentJobsSemaphore;
+
   /**
    * The time (in seconds) that is waited to gracefully shut down the threadpool used for job execution
    */
@@ -115,11 +131,16 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
       runnable = createRunnableForJob(job);
       
       try {
-        executorService.execute(runnable);
+        if (concurrentJobsSemaphore != null) {
+          executeWithConcurrencyLimit(runnable);
+        } else {
+          executorService.execute(runnable);
+        }
       } catch (RejectedExecutionException e) {
         
         // When a RejectedExecutionException is caught, this means that the queue for holding the jobs 
-        // that are to be executed is full and can't store more.
+        // that are to be executed is full and can't store more (or, with virtual threads, that
+        // the maximum number of concurrently executing jobs is reached).
         // The job is now 'unlocked', meaning that the lock owner/time is set to null,
         // so other executors can pick the job up (or this async executor, the next time the 
         // acquire query is executed.
@@ -152,6 +173,32 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     return true;
   }
 
+  /**
+   * Executes the runnable when a permit can be obtained without waiting, which is released again when the runnable is done.
+   * Throws a {@link RejectedExecutionException} otherwise, just like a full thread pool queue.
+   */
+  protected void executeWithConcurrencyLimit(final Runnable runnable) {
+    final Semaphore semaphore = concurrentJobsSemaphore;
+    if (!semaphore.tryAcquire()) {
+      throw new RejectedExecutionException("Maximum number of concurrently executing jobs (" + maxConcurrentJobs + ") reached");
+    }
+
+    try {
+      executorService.execute(new Runnable() {
+        public void run() {
+          try {
+            runnable.run();
+          } finally {
+            semaphore.release();
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      semaphore.release();
+      throw e;
+    }
+  }
+
   protected Runnable createRunnableForJob(final Job job) {
     if (executeAsyncRunnableFactory == null) {
       return new ExecuteAsyncRunnable(job, processEngineConfiguration);
@@ -230,6 +277,10 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   }
 
   protected void initAsyncJobExecutionThreadPool() {
+    if (useVirtualThreads && initVirtualThreadExecutorService()) {
+      return;
+    }
+
     if (threadPoolQueue == null) {
       log.info("Creating thread pool queue of size {}", queueSize);
       threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
@@ -243,6 +294,45 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  /**
+   * Creates the executor service that executes every job on a new virtual thread, unless an executor service was set.
+   * 
+   * @return true when jobs will be executed on virtual threads, false when the JVM doesn't support them.
+   */
+  protected boolean initVirtualThreadExecutorService() {
+    if (executorService == null) {
+      ExecutorService virtualThreadExecutorService = createVirtualThreadExecutorService();
+      if (virtualThreadExecutorService == null) {
+        log.warn("Virtual threads are not supported by this JVM (Java 21 or later is required), using a thread pool for job execution instead");
+        return false;
+      }
+
+      log.info("Creating virtual thread executor service with maxConcurrentJobs {}", maxConcurrentJobs);
+      executorService = virtualThreadExecutorService;
+      concurrentJobsSemaphore = new Semaphore(maxConcurrentJobs);
+    }
+    return concurrentJobsSemaphore != null;
+  }
+
+  /**
+   * The equivalent of <code>Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(...).factory())</code>.
+   * Reflection is used, as the engine is compiled against Java 8.
+   * 
+   * @return the executor service, or null when virtual threads are not available.
+   */
+  protected ExecutorService createVirtualThreadExecutorService() {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "activiti-async-job-executor-virtual-thread-", 0L);
+      ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+    } catch (ReflectiveOperationException e) {
+      log.debug("Could not create virtual thread executor service", e);
+      return null;
+    }
+  }
+
   protected void stopExecutingAsyncJobs() {
     if (executorService != null) {
       
@@ -259,6 +349,7 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
       }
   
       executorService = null;
+      concurrentJobsSemaphore = null;
     }
   }
 
@@ -362,6 +453,8 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     corePoolSize = processEngineConfiguration.getAsyncExecutorCorePoolSize();
     maxPoolSize = processEngineConfiguration.getAsyncExecutorMaxPoolSize();
     keepAliveTime = processEngineConfiguration.getAsyncExecutorThreadKeepAliveTime();
+    useVirtualThreads = processEngineConfiguration.isAsyncExecutorUseVirtualThreads();
+    maxConcurrentJobs = processEngineConfiguration.getAsyncExecutorMaxConcurrentJobs();
   }
 
   /* getters and setters */
@@ -475,6 +568,29 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.executorService = executorService;
   }
 
+  public boolean isUseVirtualThreads() {
+    return useVirtualThreads;
+  }
+
+  public void setUseVirtualThreads(boolean useVirtualThreads) {
+    this.useVirtualThreads = useVirtualThreads;
+  }
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  /**
+   * @return true when the executor has been started and executes jobs on virtual threads.
+   */
+  public boolean isVirtualThreadExecution() {
+    return concurrentJobsSemaphore != null;
+  }
+
   public String getLockOwner() {
     return lockOwner;
   }
@@ -24,6 +24,7 @@ import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.activiti.engine.impl.metrics.MetricsRecorder;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
@@ -73,11 +74,14 @@ public class ExecuteAsyncRunnable implements Runnable {
   }
 
   protected void executeJob() {
+    long start = System.nanoTime();
     try {
       processEngineConfiguration.getCommandExecutor().execute(new ExecuteAsyncJobCmd(jobId));
+      recordJobExecution(start, null);
 
     } catch (final ActivitiOptimisticLockingException e) {
 
+      recordJobExecution(start, e);
       handleFailedJob(e);
 
       if (log.isDebugEnabled()) {
@@ -88,6 +92,7 @@ public class ExecuteAsyncRunnable implements Runnable {
       }
 
     } catch (Throwable exception) {
+      recordJobExecution(start, exception);
       handleFailedJob(exception);
 
       // Finally, Throw the exception to indicate the ExecuteAsyncJobCmd failed
@@ -96,6 +101,13 @@ public class ExecuteAsyncRunnable implements Runnable {
     }
   }
   
+  protected void recordJobExecution(long start, Throwable exception) {
+    MetricsRecorder metricsRecorder = processEngineConfiguration.getMetricsRecorder();
+    if (metricsRecorder != null) {
+      metricsRecorder.recordAsyncJobExecution(job.getJobHandlerType(), System.nanoTime() - start, exception);
+    }
+  }
+
   protected void unlockJobIfNeeded() {
     try {
       if (job.isExclusive()) {
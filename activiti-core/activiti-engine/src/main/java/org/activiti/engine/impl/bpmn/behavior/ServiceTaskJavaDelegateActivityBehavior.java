@@ -16,6 +16,7 @@ package org.activiti.engine.impl.bpmn.behavior;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.ExecutionListener;
 import org.activiti.engine.delegate.JavaDelegate;
+import org.activiti.engine.impl.bpmn.helper.ParallelBranchExecutor;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.delegate.ActivityBehavior;
 import org.activiti.engine.impl.delegate.invocation.JavaDelegateInvocation;
@@ -37,11 +38,21 @@ public class ServiceTaskJavaDelegateActivityBehavior extends TaskActivityBehavio
   }
 
   public void execute(DelegateExecution execution) {
-    Context.getProcessEngineConfiguration().getDelegateInterceptor().handleInvocation(new JavaDelegateInvocation(javaDelegate, execution));
+    ParallelBranchExecutor.ParallelBranch executedBranch = ParallelBranchExecutor.takeExecutedBranch(execution, javaDelegate);
+    if (executedBranch != null) {
+      // Already executed concurrently with the other branches of a parallel gateway
+      executedBranch.applyTo(execution);
+    } else {
+      Context.getProcessEngineConfiguration().getDelegateInterceptor().handleInvocation(new JavaDelegateInvocation(javaDelegate, execution));
+    }
     leave(execution);
   }
 
   public void notify(DelegateExecution execution) {
     execute(execution);
   }
+
+  public JavaDelegate getJavaDelegate() {
+    return javaDelegate;
+  }
 }
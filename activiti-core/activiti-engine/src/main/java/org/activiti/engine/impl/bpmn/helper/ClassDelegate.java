@@ -269,6 +269,20 @@ public class ClassDelegate extends AbstractBpmnActivityBehavior implements TaskL
     }
   }
 
+  /**
+   * @return the {@link JavaDelegate} that is executed when this class delegate is used as activity behaviour,
+   *         or null if the referenced class is not a {@link JavaDelegate}.
+   */
+  public JavaDelegate getJavaDelegate() {
+    if (activityBehaviorInstance == null) {
+      activityBehaviorInstance = getActivityBehaviorInstance();
+    }
+    if (activityBehaviorInstance instanceof ServiceTaskJavaDelegateActivityBehavior) {
+      return ((ServiceTaskJavaDelegateActivityBehavior) activityBehaviorInstance).getJavaDelegate();
+    }
+    return null;
+  }
+
   protected ActivityBehavior getActivityBehaviorInstance() {
     Object delegateInstance = instantiateDelegate(className, fieldDeclarations);
 
@@ -0,0 +1,563 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.bpmn.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.activiti.bpmn.model.ActivitiListener;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.impl.persistence.entity.VariableInstance;
+
+/**
+ * {@link DelegateExecution} handed to a {@link org.activiti.engine.delegate.JavaDelegate} that is executed on another thread
+ * than the one executing the command, see {@link ParallelBranchExecutor}.
+ * <p>
+ * All data is copied from the real execution when this object is created, on the thread executing the command.
+ * Variables read by the delegate come from that copy, and variable changes are recorded and only applied to the
+ * real execution (by {@link #applyTo(DelegateExecution)}) once back on the thread executing the command.
+ * Everything that needs the database or the execution tree (variable instances, parent and child executions,
+ * changing the state of the execution) is not supported.
+ */
+public class ParallelBranchDelegateExecution implements DelegateExecution {
+
+  protected final String id;
+  protected final String processInstanceId;
+  protected final String rootProcessInstanceId;
+  protected final String processInstanceBusinessKey;
+  protected final String processDefinitionId;
+  protected final String parentId;
+  protected final String superExecutionId;
+  protected final String tenantId;
+  protected final FlowElement currentFlowElement;
+  protected final boolean concurrent;
+  protected final boolean processInstanceType;
+  protected final boolean scope;
+  protected final boolean multiInstanceRoot;
+  protected String eventName;
+
+  protected final Map<String, Object> variables;
+  protected final Map<String, Object> variablesLocal;
+  protected final Map<String, Object> transientVariables;
+  protected final Map<String, Object> transientVariablesLocal;
+
+  protected final List<Consumer<DelegateExecution>> changes = new ArrayList<Consumer<DelegateExecution>>();
+
+  /**
+   * @param execution the execution to copy, must be called on the thread executing the command.
+   * @param currentFlowElement the element the delegate is executed for.
+   */
+  public ParallelBranchDelegateExecution(DelegateExecution execution, FlowElement currentFlowElement) {
+    this.id = execution.getId();
+    this.processInstanceId = execution.getProcessInstanceId();
+    this.rootProcessInstanceId = execution.getRootProcessInstanceId();
+    this.processInstanceBusinessKey = execution.getProcessInstanceBusinessKey();
+    this.processDefinitionId = execution.getProcessDefinitionId();
+    this.parentId = execution.getParentId();
+    this.superExecutionId = execution.getSuperExecutionId();
+    this.tenantId = execution.getTenantId();
+    this.currentFlowElement = currentFlowElement;
+    this.concurrent = execution.isConcurrent();
+    this.processInstanceType = execution.isProcessInstanceType();
+    this.scope = execution.isScope();
+    this.multiInstanceRoot = execution.isMultiInstanceRoot();
+    this.eventName = execution.getEventName();
+
+    this.variables = new HashMap<String, Object>(execution.getVariables());
+    this.variablesLocal = new HashMap<String, Object>(execution.getVariablesLocal());
+    this.transientVariables = new HashMap<String, Object>(execution.getTransientVariables());
+    this.transientVariablesLocal = new HashMap<String, Object>(execution.getTransientVariablesLocal());
+  }
+
+  /**
+   * Applies the variable changes done by the delegate to the given execution, in the order they were done.
+   * Must be called on the thread executing the command.
+   */
+  public void applyTo(DelegateExecution execution) {
+    for (Consumer<DelegateExecution> change : changes) {
+      change.accept(execution);
+    }
+    changes.clear();
+  }
+
+  protected ActivitiException unsupported(String operation) {
+    return new ActivitiException(operation + " is not supported for service tasks executed in a parallel branch of parallel gateway with "
+        + "parallel branch execution enabled (execution " + id + ")");
+  }
+
+  // execution
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  @Override
+  public String getRootProcessInstanceId() {
+    return rootProcessInstanceId;
+  }
+
+  @Override
+  public String getEventName() {
+    return eventName;
+  }
+
+  @Override
+  public void setEventName(String eventName) {
+    this.eventName = eventName;
+  }
+
+  @Override
+  public String getProcessInstanceBusinessKey() {
+    return processInstanceBusinessKey;
+  }
+
+  @Override
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  @Override
+  public String getParentId() {
+    return parentId;
+  }
+
+  @Override
+  public String getSuperExecutionId() {
+    return superExecutionId;
+  }
+
+  @Override
+  public String getCurrentActivityId() {
+    return currentFlowElement.getId();
+  }
+
+  @Override
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  @Override
+  public FlowElement getCurrentFlowElement() {
+    return currentFlowElement;
+  }
+
+  @Override
+  public void setCurrentFlowElement(FlowElement flowElement) {
+    throw unsupported("Changing the current flow element");
+  }
+
+  @Override
+  public ActivitiListener getCurrentActivitiListener() {
+    return null;
+  }
+
+  @Override
+  public void setCurrentActivitiListener(ActivitiListener currentActivitiListener) {
+    throw unsupported("Changing the current listener");
+  }
+
+  @Override
+  public DelegateExecution getParent() {
+    throw unsupported("Fetching the parent execution");
+  }
+
+  @Override
+  public List<? extends DelegateExecution> getExecutions() {
+    throw unsupported("Fetching the child executions");
+  }
+
+  @Override
+  public void setActive(boolean isActive) {
+    throw unsupported("Changing the active state");
+  }
+
+  @Override
+  public boolean isActive() {
+    return true;
+  }
+
+  @Override
+  public boolean isEnded() {
+    return false;
+  }
+
+  @Override
+  public void setConcurrent(boolean isConcurrent) {
+    throw unsupported("Changing the concurrent state");
+  }
+
+  @Override
+  public boolean isConcurrent() {
+    return concurrent;
+  }
+
+  @Override
+  public boolean isProcessInstanceType() {
+    return processInstanceType;
+  }
+
+  @Override
+  public void inactivate() {
+    throw unsupported("Inactivating the execution");
+  }
+
+  @Override
+  public boolean isScope() {
+    return scope;
+  }
+
+  @Override
+  public void setScope(boolean isScope) {
+    throw unsupported("Changing the scope state");
+  }
+
+  @Override
+  public boolean isMultiInstanceRoot() {
+    return multiInstanceRoot;
+  }
+
+  @Override
+  public void setMultiInstanceRoot(boolean isMultiInstanceRoot) {
+    throw unsupported("Changing the multi instance root state");
+  }
+
+  // variables
+
+  @Override
+  public Map<String, Object> getVariables() {
+    Map<String, Object> result = new HashMap<String, Object>(variables);
+    result.putAll(transientVariables);
+    return result;
+  }
+
+  @Override
+  public Map<String, Object> getVariables(Collection<String> variableNames) {
+    return filter(getVariables(), variableNames);
+  }
+
+  @Override
+  public Map<String, Object> getVariables(Collection<String> variableNames, boolean fetchAllVariables) {
+    return getVariables(variableNames);
+  }
+
+  @Override
+  public Map<String, Object> getVariablesLocal() {
+    Map<String, Object> result = new HashMap<String, Object>(variablesLocal);
+    result.putAll(transientVariablesLocal);
+    return result;
+  }
+
+  @Override
+  public Map<String, Object> getVariablesLocal(Collection<String> variableNames) {
+    return filter(getVariablesLocal(), variableNames);
+  }
+
+  @Override
+  public Map<String, Object> getVariablesLocal(Collection<String> variableNames, boolean fetchAllVariables) {
+    return getVariablesLocal(variableNames);
+  }
+
+  @Override
+  public Object getVariable(String variableName) {
+    if (transientVariables.containsKey(variableName)) {
+      return transientVariables.get(variableName);
+    }
+    return variables.get(variableName);
+  }
+
+  @Override
+  public Object getVariable(String variableName, boolean fetchAllVariables) {
+    return getVariable(variableName);
+  }
+
+  @Override
+  public Object getVariableLocal(String variableName) {
+    if (transientVariablesLocal.containsKey(variableName)) {
+      return transientVariablesLocal.get(variableName);
+    }
+    return variablesLocal.get(variableName);
+  }
+
+  @Override
+  public Object getVariableLocal(String variableName, boolean fetchAllVariables) {
+    return getVariableLocal(variableName);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getVariable(String variableName, Class<T> variableClass) {
+    return (T) getVariable(variableName);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getVariableLocal(String variableName, Class<T> variableClass) {
+    return (T) getVariableLocal(variableName);
+  }
+
+  @Override
+  public Set<String> getVariableNames() {
+    return new HashSet<String>(getVariables().keySet());
+  }
+
+  @Override
+  public Set<String> getVariableNamesLocal() {
+    return new HashSet<String>(getVariablesLocal().keySet());
+  }
+
+  @Override
+  public Map<String, VariableInstance> getVariableInstances() {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public Map<String, VariableInstance> getVariableInstances(Collection<String> variableNames) {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public Map<String, VariableInstance> getVariableInstances(Collection<String> variableNames, boolean fetchAllVariables) {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public Map<String, VariableInstance> getVariableInstancesLocal() {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public Map<String, VariableInstance> getVariableInstancesLocal(Collection<String> variableNames) {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public Map<String, VariableInstance> getVariableInstancesLocal(Collection<String> variableNames, boolean fetchAllVariables) {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public VariableInstance getVariableInstance(String variableName) {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public VariableInstance getVariableInstance(String variableName, boolean fetchAllVariables) {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public VariableInstance getVariableInstanceLocal(String variableName) {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public VariableInstance getVariableInstanceLocal(String variableName, boolean fetchAllVariables) {
+    throw unsupported("Fetching variable instances");
+  }
+
+  @Override
+  public void setVariable(final String variableName, final Object value) {
+    setVariable(variableName, value, true);
+  }
+
+  @Override
+  public void setVariable(final String variableName, final Object value, final boolean fetchAllVariables) {
+    variables.put(variableName, value);
+    if (variablesLocal.containsKey(variableName)) {
+      variablesLocal.put(variableName, value);
+    }
+    changes.add(execution -> execution.setVariable(variableName, value, fetchAllVariables));
+  }
+
+  @Override
+  public Object setVariableLocal(String variableName, Object value) {
+    return setVariableLocal(variableName, value, true);
+  }
+
+  @Override
+  public Object setVariableLocal(final String variableName, final Object value, final boolean fetchAllVariables) {
+    variables.put(variableName, value);
+    Object previousValue = variablesLocal.put(variableName, value);
+    changes.add(execution -> execution.setVariableLocal(variableName, value, fetchAllVariables));
+    return previousValue;
+  }
+
+  @Override
+  public void setVariables(Map<String, ? extends Object> variables) {
+    for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+      setVariable(variable.getKey(), variable.getValue());
+    }
+  }
+
+  @Override
+  public void setVariablesLocal(Map<String, ? extends Object> variables) {
+    for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+      setVariableLocal(variable.getKey(), variable.getValue());
+    }
+  }
+
+  @Override
+  public boolean hasVariables() {
+    return !variables.isEmpty() || !transientVariables.isEmpty();
+  }
+
+  @Override
+  public boolean hasVariablesLocal() {
+    return !variablesLocal.isEmpty() || !transientVariablesLocal.isEmpty();
+  }
+
+  @Override
+  public boolean hasVariable(String variableName) {
+    return variables.containsKey(variableName) || transientVariables.containsKey(variableName);
+  }
+
+  @Override
+  public boolean hasVariableLocal(String variableName) {
+    return variablesLocal.containsKey(variableName) || transientVariablesLocal.containsKey(variableName);
+  }
+
+  @Override
+  public void removeVariable(final String variableName) {
+    variables.remove(variableName);
+    variablesLocal.remove(variableName);
+    changes.add(execution -> execution.removeVariable(variableName));
+  }
+
+  @Override
+  public void removeVariableLocal(final String variableName) {
+    variablesLocal.remove(variableName);
+    changes.add(execution -> execution.removeVariableLocal(variableName));
+  }
+
+  @Override
+  public void removeVariables(Collection<String> variableNames) {
+    for (String variableName : variableNames) {
+      removeVariable(variableName);
+    }
+  }
+
+  @Override
+  public void removeVariablesLocal(Collection<String> variableNames) {
+    for (String variableName : variableNames) {
+      removeVariableLocal(variableName);
+    }
+  }
+
+  @Override
+  public void removeVariables() {
+    removeVariables(new ArrayList<String>(variables.keySet()));
+  }
+
+  @Override
+  public void removeVariablesLocal() {
+    removeVariablesLocal(new ArrayList<String>(variablesLocal.keySet()));
+  }
+
+  @Override
+  public void setTransientVariable(final String variableName, final Object variableValue) {
+    transientVariables.put(variableName, variableValue);
+    changes.add(execution -> execution.setTransientVariable(variableName, variableValue));
+  }
+
+  @Override
+  public void setTransientVariableLocal(final String variableName, final Object variableValue) {
+    transientVariables.put(variableName, variableValue);
+    transientVariablesLocal.put(variableName, variableValue);
+    changes.add(execution -> execution.setTransientVariableLocal(variableName, variableValue));
+  }
+
+  @Override
+  public void setTransientVariables(Map<String, Object> transientVariables) {
+    for (Map.Entry<String, Object> transientVariable : transientVariables.entrySet()) {
+      setTransientVariable(transientVariable.getKey(), transientVariable.getValue());
+    }
+  }
+
+  @Override
+  public void setTransientVariablesLocal(Map<String, Object> transientVariables) {
+    for (Map.Entry<String, Object> transientVariable : transientVariables.entrySet()) {
+      setTransientVariableLocal(transientVariable.getKey(), transientVariable.getValue());
+    }
+  }
+
+  @Override
+  public Object getTransientVariable(String variableName) {
+    return transientVariables.get(variableName);
+  }
+
+  @Override
+  public Map<String, Object> getTransientVariables() {
+    return new HashMap<String, Object>(transientVariables);
+  }
+
+  @Override
+  public Object getTransientVariableLocal(String variableName) {
+    return transientVariablesLocal.get(variableName);
+  }
+
+  @Override
+  public Map<String, Object> getTransientVariablesLocal() {
+    return new HashMap<String, Object>(transientVariablesLocal);
+  }
+
+  @Override
+  public void removeTransientVariableLocal(final String variableName) {
+    transientVariablesLocal.remove(variableName);
+    changes.add(execution -> execution.removeTransientVariableLocal(variableName));
+  }
+
+  @Override
+  public void removeTransientVariable(final String variableName) {
+    transientVariables.remove(variableName);
+    transientVariablesLocal.remove(variableName);
+    changes.add(execution -> execution.removeTransientVariable(variableName));
+  }
+
+  @Override
+  public void removeTransientVariables() {
+    transientVariables.clear();
+    transientVariablesLocal.clear();
+    changes.add(execution -> execution.removeTransientVariables());
+  }
+
+  @Override
+  public void removeTransientVariablesLocal() {
+    transientVariablesLocal.clear();
+    changes.add(execution -> execution.removeTransientVariablesLocal());
+  }
+
+  protected Map<String, Object> filter(Map<String, Object> variables, Collection<String> variableNames) {
+    Map<String, Object> result = new HashMap<String, Object>();
+    for (String variableName : variableNames) {
+      if (variables.containsKey(variableName)) {
+        result.put(variableName, variables.get(variableName));
+      }
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,259 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.bpmn.helper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.activiti.bpmn.constants.BpmnXMLConstants;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.ParallelGateway;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.ServiceTask;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.JavaDelegate;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.delegate.invocation.JavaDelegateInvocation;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.DelegateInterceptor;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the service tasks that directly follow a parallel gateway concurrently, when the gateway has the
+ * <code>activiti:parallelBranchExecution="true"</code> attribute.
+ * <p>
+ * When such a gateway forks, the {@link JavaDelegate}s of the service tasks targeted by the outgoing sequence flows are
+ * executed at once on the {@link ExecutorService} of this executor, and the thread executing the command waits until all of them are done.
+ * The delegates work on a {@link ParallelBranchDelegateExecution}: they can read and write variables, but the changes are only applied
+ * to the real execution when the agenda reaches the service task, after which the process continues as usual. Exceptions thrown by a
+ * delegate are rethrown at that same moment, so boundary error events and exception mappings behave as with sequential execution.
+ * <p>
+ * Only service tasks with a class based {@link JavaDelegate}, that are not asynchronous nor multi instance, and without field injections,
+ * skip expression or execution listeners (on the task or on the sequence flow leading to it) are executed in parallel; other branches
+ * are executed as usual. Field injections are excluded as their expressions are evaluated by the delegate through the {@link Context}.
+ * The delegates must not use the {@link Context}, the database or the engine services, as they are not executed within the command context.
+ */
+public class ParallelBranchExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParallelBranchExecutor.class);
+
+  protected static final String EXECUTED_BRANCHES_ATTRIBUTE = ParallelBranchExecutor.class.getName() + ".executedBranches";
+
+  public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+  protected ExecutorService executorService;
+  protected boolean shutdownExecutorService;
+
+  /**
+   * Executes the branches on a dedicated pool of {@link #DEFAULT_POOL_SIZE} threads.
+   */
+  public ParallelBranchExecutor() {
+    this(DEFAULT_POOL_SIZE);
+  }
+
+  /**
+   * Executes the branches on a dedicated pool with the given number of threads, which is shut down by {@link #shutdown()}.
+   * The threads are only started when branches are executed.
+   */
+  public ParallelBranchExecutor(int poolSize) {
+    this(Executors.newFixedThreadPool(poolSize, new BasicThreadFactory.Builder()
+        .namingPattern("activiti-parallel-branch-thread-%d").daemon(true).build()));
+    this.shutdownExecutorService = true;
+  }
+
+  /**
+   * Executes the branches on the given executor service, which is left running by {@link #shutdown()}.
+   */
+  public ParallelBranchExecutor(ExecutorService executorService) {
+    this.executorService = executorService;
+  }
+
+  /**
+   * Shuts down the pool created by this executor, called when the process engine is closed.
+   */
+  public void shutdown() {
+    if (shutdownExecutorService) {
+      executorService.shutdown();
+    }
+  }
+
+  public boolean isParallelBranchExecutionEnabled(FlowNode flowNode) {
+    return flowNode instanceof ParallelGateway
+        && Boolean.parseBoolean(flowNode.getAttributeValue(BpmnXMLConstants.ACTIVITI_EXTENSIONS_NAMESPACE,
+            BpmnXMLConstants.ATTRIBUTE_GATEWAY_PARALLEL_BRANCH_EXECUTION));
+  }
+
+  /**
+   * Executes the delegates of the service tasks the given executions, created by a parallel gateway fork, are about to reach.
+   * The results are kept in the command context until the executions reach the service tasks.
+   */
+  public void executeBranches(CommandContext commandContext, List<ExecutionEntity> outgoingExecutions) {
+    DelegateInterceptor delegateInterceptor = commandContext.getProcessEngineConfiguration().getDelegateInterceptor();
+
+    List<ParallelBranch> branches = new ArrayList<ParallelBranch>(outgoingExecutions.size());
+    for (ExecutionEntity outgoingExecution : outgoingExecutions) {
+      ServiceTask serviceTask = findParallelizableServiceTask(outgoingExecution);
+      if (serviceTask != null) {
+        JavaDelegate javaDelegate = ((ClassDelegate) serviceTask.getBehavior()).getJavaDelegate();
+        if (javaDelegate != null) {
+          branches.add(new ParallelBranch(javaDelegate, new ParallelBranchDelegateExecution(outgoingExecution, serviceTask), delegateInterceptor));
+        }
+      }
+    }
+
+    if (branches.size() < 2) {
+      return; // Nothing to gain
+    }
+
+    logger.debug("Executing {} parallel branches concurrently", branches.size());
+
+    List<Future<?>> futures = new ArrayList<Future<?>>(branches.size());
+    for (ParallelBranch branch : branches) {
+      futures.add(executorService.submit(branch));
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ActivitiException("Interrupted while waiting for the parallel branches to complete", e);
+      } catch (ExecutionException e) {
+        throw new ActivitiException("Error while executing a parallel branch", e.getCause());
+      }
+    }
+
+    Map<String, ParallelBranch> executedBranches = commandContext.getGenericAttribute(EXECUTED_BRANCHES_ATTRIBUTE);
+    if (executedBranches == null) {
+      executedBranches = new HashMap<String, ParallelBranch>();
+      commandContext.addAttribute(EXECUTED_BRANCHES_ATTRIBUTE, executedBranches);
+    }
+    for (ParallelBranch branch : branches) {
+      executedBranches.put(branch.getDelegateExecution().getId(), branch);
+    }
+  }
+
+  protected ServiceTask findParallelizableServiceTask(ExecutionEntity execution) {
+    if (!(execution.getCurrentFlowElement() instanceof SequenceFlow)) {
+      return null;
+    }
+    SequenceFlow sequenceFlow = (SequenceFlow) execution.getCurrentFlowElement();
+    FlowElement targetFlowElement = sequenceFlow.getTargetFlowElement();
+    if (!sequenceFlow.getExecutionListeners().isEmpty() || !(targetFlowElement instanceof ServiceTask)) {
+      return null;
+    }
+
+    ServiceTask serviceTask = (ServiceTask) targetFlowElement;
+    if (serviceTask.isAsynchronous()
+        || serviceTask.getLoopCharacteristics() != null
+        || StringUtils.isNotEmpty(serviceTask.getSkipExpression())
+        || !serviceTask.getFieldExtensions().isEmpty()
+        || !serviceTask.getExecutionListeners().isEmpty()
+        || !(serviceTask.getBehavior() instanceof ClassDelegate)) {
+      return null;
+    }
+    return serviceTask;
+  }
+
+  /**
+   * Returns (and forgets) the branch that was executed in parallel for the given execution, if any.
+   * The javaDelegate is the one that is about to be executed, in case it doesn't match with the delegate
+   * that was executed in parallel, null is returned and the delegate must be executed as usual.
+   */
+  public static ParallelBranch takeExecutedBranch(DelegateExecution execution, JavaDelegate javaDelegate) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null) {
+      return null;
+    }
+    Map<String, ParallelBranch> executedBranches = commandContext.getGenericAttribute(EXECUTED_BRANCHES_ATTRIBUTE);
+    if (executedBranches == null) {
+      return null;
+    }
+    ParallelBranch branch = executedBranches.remove(execution.getId());
+    if (branch == null || branch.getJavaDelegate() != javaDelegate) {
+      return null;
+    }
+    return branch;
+  }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+  public void setExecutorService(ExecutorService executorService) {
+    shutdown();
+    this.executorService = executorService;
+    this.shutdownExecutorService = false;
+  }
+
+  /**
+   * The execution of one {@link JavaDelegate} on a {@link ParallelBranchDelegateExecution}.
+   */
+  public static class ParallelBranch implements Runnable {
+
+    protected final JavaDelegate javaDelegate;
+    protected final ParallelBranchDelegateExecution delegateExecution;
+    protected final DelegateInterceptor delegateInterceptor;
+    protected RuntimeException exception;
+
+    public ParallelBranch(JavaDelegate javaDelegate, ParallelBranchDelegateExecution delegateExecution, DelegateInterceptor delegateInterceptor) {
+      this.javaDelegate = javaDelegate;
+      this.delegateExecution = delegateExecution;
+      this.delegateInterceptor = delegateInterceptor;
+    }
+
+    @Override
+    public void run() {
+      try {
+        delegateInterceptor.handleInvocation(new JavaDelegateInvocation(javaDelegate, delegateExecution));
+      } catch (RuntimeException e) {
+        exception = e;
+      }
+    }
+
+    /**
+     * Applies the variable changes done by the delegate to the given execution and rethrows the exception
+     * thrown by the delegate, if any.
+     */
+    public void applyTo(DelegateExecution execution) {
+      delegateExecution.applyTo(execution);
+      if (exception != null) {
+        throw exception;
+      }
+    }
+
+    public JavaDelegate getJavaDelegate() {
+      return javaDelegate;
+    }
+
+    public ParallelBranchDelegateExecution getDelegateExecution() {
+      return delegateExecution;
+    }
+
+    public RuntimeException getException() {
+      return exception;
+    }
+  }
+
+}
@@ -50,6 +50,15 @@ public class PerformanceSettings {
    */
   protected boolean enableLocalization = true;
 
+  /**
+   * Experimental setting: when true, the entities that are updated most often (executions, tasks, variables and jobs)
+   * record which of their persistent properties are changed by their setters.
+   *
+   * When flushing, these entities are then checked for updates without building and comparing the maps
+   * of their persistent state, which otherwise are created once when the entity is loaded and once more on flush.
+   */
+  protected boolean enableEntityChangeTracking;
+
   public boolean isEnableEagerExecutionTreeFetching() {
     return enableEagerExecutionTreeFetching;
   }
@@ -82,4 +91,12 @@ public class PerformanceSettings {
     this.enableLocalization = enableLocalization;
   }
 
+  public boolean isEnableEntityChangeTracking() {
+    return enableEntityChangeTracking;
+  }
+
+  public void setEnableEntityChangeTracking(boolean enableEntityChangeTracking) {
+    this.enableEntityChangeTracking = enableEntityChangeTracking;
+  }
+
 }
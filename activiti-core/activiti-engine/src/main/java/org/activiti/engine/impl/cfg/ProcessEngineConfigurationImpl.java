@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -75,6 +76,7 @@ import org.activiti.engine.impl.bpmn.deployer.CachingAndArtifactsManager;
 import org.activiti.engine.impl.bpmn.deployer.EventSubscriptionManager;
 import org.activiti.engine.impl.bpmn.deployer.ParsedDeploymentBuilderFactory;
 import org.activiti.engine.impl.bpmn.deployer.TimerManager;
+import org.activiti.engine.impl.bpmn.helper.ParallelBranchExecutor;
 import org.activiti.engine.impl.bpmn.listener.ListenerNotificationHelper;
 import org.activiti.engine.impl.bpmn.parser.BpmnParseHandlers;
 import org.activiti.engine.impl.bpmn.parser.BpmnParser;
@@ -135,6 +137,9 @@ import org.activiti.engine.impl.event.logger.EventLogger;
 import org.activiti.engine.impl.history.DefaultHistoryManager;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.history.HistoryManager;
+import org.activiti.engine.impl.history.async.AsyncHistoryExecutor;
+import org.activiti.engine.impl.history.async.AsyncHistoryManager;
+import org.activiti.engine.impl.history.async.AsyncHistorySession;
 import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContextFactory;
 import org.activiti.engine.impl.interceptor.CommandContextInterceptor;
@@ -148,21 +153,27 @@ import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.activiti.engine.impl.interceptor.TransactionContextInterceptor;
 import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
 import org.activiti.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
+import org.activiti.engine.impl.jobexecutor.DeleteHistoricProcessInstancesJobHandler;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.JobHandler;
 import org.activiti.engine.impl.jobexecutor.ProcessEventJobHandler;
+import org.activiti.engine.impl.jobexecutor.ScheduleSignalEventBatchesJobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.activiti.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
+import org.activiti.engine.impl.jobexecutor.TriggerSignalEventBatchJobHandler;
 import org.activiti.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
-import org.activiti.engine.impl.persistence.GenericManagerFactory;
-import org.activiti.engine.impl.persistence.cache.EntityCache;
-import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
+import org.activiti.engine.impl.metrics.MetricsCommandInterceptor;
+import org.activiti.engine.impl.metrics.MetricsMybatisInterceptor;
+import org.activiti.engine.impl.metrics.MetricsRecorder;
+import org.activiti.engine.impl.persistence.cache.EntityCacheSessionFactory;
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.Deployer;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManager;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManagerImpl;
@@ -196,6 +207,8 @@ import org.activiti.engine.impl.persistence.entity.IdentityLinkEntityManager;
 import org.activiti.engine.impl.persistence.entity.IdentityLinkEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.JobEntityManager;
 import org.activiti.engine.impl.persistence.entity.JobEntityManagerImpl;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntityManager;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.ModelEntityManager;
 import org.activiti.engine.impl.persistence.entity.ModelEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntityManager;
@@ -232,6 +245,7 @@ import org.activiti.engine.impl.persistence.entity.data.HistoricTaskInstanceData
 import org.activiti.engine.impl.persistence.entity.data.HistoricVariableInstanceDataManager;
 import org.activiti.engine.impl.persistence.entity.data.IdentityLinkDataManager;
 import org.activiti.engine.impl.persistence.entity.data.JobDataManager;
+import org.activiti.engine.impl.persistence.entity.data.JobPartitionDataManager;
 import org.activiti.engine.impl.persistence.entity.data.ModelDataManager;
 import org.activiti.engine.impl.persistence.entity.data.ProcessDefinitionDataManager;
 import org.activiti.engine.impl.persistence.entity.data.ProcessDefinitionInfoDataManager;
@@ -257,6 +271,7 @@ import org.activiti.engine.impl.persistence.entity.data.impl.MybatisHistoricTask
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisHistoricVariableInstanceDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisIdentityLinkDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisJobDataManager;
+import org.activiti.engine.impl.persistence.entity.data.impl.MybatisJobPartitionDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisModelDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisProcessDefinitionDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisProcessDefinitionInfoDataManager;
@@ -345,7 +360,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected RuntimeService runtimeService = new RuntimeServiceImpl();
   protected HistoryService historyService = new HistoryServiceImpl(this);
   protected TaskService taskService = new TaskServiceImpl(this);
-  protected ManagementService managementService = new ManagementServiceImpl();
+  protected ManagementService managementService = new ManagementServiceImpl(this);
   protected DynamicBpmnService dynamicBpmnService = new DynamicBpmnServiceImpl(this);
   protected UserGroupManager userGroupManager;
   private IntegrationContextService integrationContextService;
@@ -368,6 +383,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   /** this will be initialized during the configurationComplete() */
   protected CommandExecutor commandExecutor;
 
+  /**
+   * When set, receives the execution times of commands, statements and async jobs, and the executed agenda operations.
+   * See {@link MetricsRecorder}.
+   */
+  protected MetricsRecorder metricsRecorder;
+
   // DATA MANAGERS /////////////////////////////////////////////////////////////
 
   protected AttachmentDataManager attachmentDataManager;
@@ -385,6 +406,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected HistoricVariableInstanceDataManager historicVariableInstanceDataManager;
   protected IdentityLinkDataManager identityLinkDataManager;
   protected JobDataManager jobDataManager;
+  protected JobPartitionDataManager jobPartitionDataManager;
   protected TimerJobDataManager timerJobDataManager;
   protected SuspendedJobDataManager suspendedJobDataManager;
   protected DeadLetterJobDataManager deadLetterJobDataManager;
@@ -415,6 +437,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected HistoricVariableInstanceEntityManager historicVariableInstanceEntityManager;
   protected IdentityLinkEntityManager identityLinkEntityManager;
   protected JobEntityManager jobEntityManager;
+  protected JobPartitionEntityManager jobPartitionEntityManager;
   protected TimerJobEntityManager timerJobEntityManager;
   protected SuspendedJobEntityManager suspendedJobEntityManager;
   protected DeadLetterJobEntityManager deadLetterJobEntityManager;
@@ -433,6 +456,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected HistoryManager historyManager;
 
+  /**
+   * When true, the historic activity instances and the variable history are not written in the transaction
+   * of the runtime change, but written as one entry per transaction in the ACT_EVT_LOG table and applied
+   * to the history tables in batches by the {@link AsyncHistoryExecutor}.
+   */
+  protected boolean asyncHistoryEnabled;
+  protected boolean asyncHistoryExecutorActivate = true;
+  protected AsyncHistoryExecutor asyncHistoryExecutor;
+
+  /**
+   * The ACT_EVT_LOG entry types the engine and its integrations use as a queue. They are left out of
+   * {@link ManagementService#getEventLogEntries(Long, Long)} and {@link ManagementService#getEventLogEntriesByProcessInstanceId(String)}.
+   */
+  protected Set<String> internalEventLogEntryTypes = new HashSet<String>(Collections.singleton(AsyncHistorySession.EVENT_LOG_ENTRY_TYPE));
+
   // Job Manager
 
   protected JobManager jobManager;
@@ -466,12 +504,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int processDefinitionCacheLimit = -1; // By default, no limit
   protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
+  /**
+   * Use a {@link ConcurrentDeploymentCache}, which doesn't lock on reads, as process definition cache instead of the {@link DefaultDeploymentCache}.
+   * Both honour the {@link #processDefinitionCacheLimit}.
+   */
+  protected boolean enableConcurrentProcessDefinitionCache;
+
+  /**
+   * Maximum total weight of the concurrent process definition cache, where the weight of a process definition is the number of
+   * flow elements of its BPMN model. Only used when {@link #enableConcurrentProcessDefinitionCache} is true. By default, no limit.
+   */
+  protected long processDefinitionCacheMaxWeight = -1;
+
   protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
   protected ProcessDefinitionInfoCache processDefinitionInfoCache;
 
   protected int knowledgeBaseCacheLimit = -1;
   protected DeploymentCache<Object> knowledgeBaseCache;
 
+  /**
+   * The time {@link ManagementService#getProcessDefinitionStatistics()} keeps returning the same statistics before
+   * querying them again. 0 disables the caching. Default value = 5 seconds.
+   */
+  protected int processDefinitionStatisticsCacheTimeInMillis = 5 * 1000;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -481,6 +537,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected ProcessInstanceHelper processInstanceHelper;
   protected ListenerNotificationHelper listenerNotificationHelper;
 
+  /**
+   * Executes the service tasks following a parallel gateway with the activiti:parallelBranchExecution attribute concurrently.
+   * By default, a dedicated pool of parallelBranchExecutorPoolSize threads is used.
+   */
+  protected ParallelBranchExecutor parallelBranchExecutor;
+
+  /**
+   * The number of threads of the pool the default {@link ParallelBranchExecutor} executes the branches on.
+   */
+  protected int parallelBranchExecutorPoolSize = ParallelBranchExecutor.DEFAULT_POOL_SIZE;
+
   // ASYNC EXECUTOR ///////////////////////////////////////////////////////////
 
   /**
@@ -536,6 +603,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected BlockingQueue<Runnable> asyncExecutorThreadPoolQueue;
 
+  /**
+   * When true, and running on Java 21 or later, every job is executed on its own virtual thread
+   * instead of on the async executor threadpool. The core/max pool size and queue settings are then
+   * not used: the number of jobs executed at the same time is limited by
+   * {@link #asyncExecutorMaxConcurrentJobs}. On older JVMs, the threadpool is used. Default value = false.
+   *
+   * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorUseVirtualThreads;
+
+  /**
+   * The maximum number of jobs executed at the same time when jobs are executed on virtual
+   * threads. When reached, newly acquired jobs are handed back just like when the queue is full.
+   * Default value = 100.
+   *
+   * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorMaxConcurrentJobs = 100;
+
   /**
    * The time (in seconds) that is waited to gracefully shut down the threadpool
    * used for job execution when the a shutdown on the executor (or process
@@ -670,6 +756,46 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean asyncExecutorMessageQueueMode;
 
+  /**
+   * When true, async and timer jobs are acquired with a 'SELECT ... FOR UPDATE SKIP LOCKED' query,
+   * so concurrent async executors running against the same database each lock a disjoint set
+   * of jobs instead of colliding on the same rows (which results in optimistic locking exceptions).
+   *
+   * Only used on PostgreSQL (9.5+), MySQL (8+) and Oracle. On other databases the regular acquisition
+   * query is used. Default value = false, as MySQL versions before 8 don't support SKIP LOCKED.
+   */
+  protected boolean asyncExecutorSkipLockedAcquisition;
+
+  /**
+   * When true, every async executor only acquires the async jobs of the partitions it owns, so async executors
+   * running against the same database no longer compete for the same jobs. A job is assigned to one of the
+   * {@link #asyncExecutorNumberOfPartitions} partitions based on its process instance id, so the jobs of one
+   * process instance are executed by the same async executor.
+   *
+   * The ownership of the partitions is kept in the ACT_RU_JOB_PARTITION table. Every async executor renews the lease
+   * of its partitions every {@link #asyncExecutorPartitionRebalanceIntervalInMillis}, and takes over the partitions of
+   * async executors that stopped renewing them, so the partitions stay evenly spread over the running async executors.
+   */
+  protected boolean asyncExecutorPartitionedAcquisition;
+
+  /**
+   * The number of partitions the async jobs are spread over. Must be the same for all engines sharing a database,
+   * and should be larger than the number of async executors. Default value = 16.
+   */
+  protected int asyncExecutorNumberOfPartitions = 16;
+
+  /**
+   * The time an async executor keeps a partition without renewing it, after which other async executors take it over.
+   * Default value = 1 minute.
+   */
+  protected int asyncExecutorPartitionLeaseTimeInMillis = 60 * 1000;
+
+  /**
+   * The interval in which an async executor renews the lease of its partitions and rebalances them with the other
+   * async executors. Default value = 10 seconds.
+   */
+  protected int asyncExecutorPartitionRebalanceIntervalInMillis = 10 * 1000;
+
  /**
   * Allows to define a custom factory for creating the {@link Runnable} that is executed by the async executor.
   *
@@ -732,6 +858,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
 
+  /**
+   * Maximum number of compiled scripts the default {@link ScriptingEngines} keeps,
+   * so script tasks and script conditions are not parsed again on every execution.
+   * Set to 0 or less to disable compiling and caching scripts.
+   */
+  protected int compiledScriptCacheLimit = ScriptingEngines.DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT;
+
   protected BusinessCalendarManager businessCalendarManager;
 
   protected int executionQueryLimit = 20000;
@@ -739,6 +872,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int historicTaskQueryLimit = 20000;
   protected int historicProcessInstancesQueryLimit = 20000;
 
+  /**
+   * The JDBC fetch size of the queries read with a cursor, see {@link org.activiti.engine.query.Query#forEach(java.util.function.Consumer)}.
+   * Note that the MySQL driver only reads the rows as they are needed when useCursorFetch=true is set on the JDBC url.
+   */
+  protected int queryCursorFetchSize = 1000;
+
   protected String wsSyncFactoryClassName = DEFAULT_WS_SYNC_FACTORY;
   protected ConcurrentMap<QName, URL> wsOverridenEndpointAddresses = new ConcurrentHashMap<QName, URL>();
 
@@ -812,6 +951,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int maxNrOfStatementsInBulkInsert = 100;
 
+  /**
+   * If set to true, the updates and deletes of entities done when flushing the DbSqlSession
+   * are sent as JDBC batches (one batch per statement) instead of one statement at a time.
+   * The update counts of the batch are checked afterwards, so optimistic locking keeps working,
+   * as long as the JDBC driver reports them (see {@link java.sql.Statement#SUCCESS_NO_INFO}).
+   * Default false.
+   */
+  protected boolean isBatchUpdatesAndDeletesEnabled;
+
   public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 70; // currently Execution has most params (28). 2000 / 28 = 71.
 
   protected ObjectMapper objectMapper = new ObjectMapper();
@@ -895,6 +1043,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDataManagers();
     initEntityManagers();
     initHistoryManager();
+    initAsyncHistoryExecutor();
     initJpa();
     initDeployers();
     initDelegateInterceptor();
@@ -951,6 +1100,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   public void initCommandInterceptors() {
     if (commandInterceptors == null) {
       commandInterceptors = new ArrayList<CommandInterceptor>();
+      if (metricsRecorder != null) {
+        commandInterceptors.add(new MetricsCommandInterceptor(metricsRecorder));
+      }
       if (customPreCommandInterceptors != null) {
         commandInterceptors.addAll(customPreCommandInterceptors);
       }
@@ -1189,6 +1341,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         properties.put("orderBy" , "order by ${orderByColumns}");
         properties.put("blobType" , "BLOB");
         properties.put("boolValue" , "TRUE");
+        properties.put("queryCursorFetchSize" , String.valueOf(queryCursorFetchSize));
 
         if (databaseType != null) {
             properties.load(getResourceAsStream("org/activiti/db/properties/"+databaseType+".properties"));
@@ -1217,6 +1370,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     initMybatisTypeHandlers(configuration);
     initCustomMybatisMappers(configuration);
+    if (metricsRecorder != null) {
+      configuration.addInterceptor(new MetricsMybatisInterceptor(metricsRecorder));
+    }
 
     configuration = parseMybatisConfiguration(configuration, parser);
     return configuration;
@@ -1320,6 +1476,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (jobDataManager == null) {
       jobDataManager = new MybatisJobDataManager(this);
     }
+    if (jobPartitionDataManager == null) {
+      jobPartitionDataManager = new MybatisJobPartitionDataManager(this);
+    }
     if (timerJobDataManager == null) {
       timerJobDataManager = new MybatisTimerJobDataManager(this);
     }
@@ -1401,6 +1560,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (jobEntityManager == null) {
       jobEntityManager = new JobEntityManagerImpl(this, jobDataManager);
     }
+    if (jobPartitionEntityManager == null) {
+      jobPartitionEntityManager = new JobPartitionEntityManagerImpl(this, jobPartitionDataManager);
+    }
     if (timerJobEntityManager == null) {
       timerJobEntityManager = new TimerJobEntityManagerImpl(this, timerJobDataManager);
     }
@@ -1440,7 +1602,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initHistoryManager() {
     if (historyManager == null) {
-      historyManager = new DefaultHistoryManager(this, historyLevel);
+      if (asyncHistoryEnabled) {
+        historyManager = new AsyncHistoryManager(this, historyLevel);
+      } else {
+        historyManager = new DefaultHistoryManager(this, historyLevel);
+      }
+    }
+  }
+
+  public void initAsyncHistoryExecutor() {
+    if (asyncHistoryEnabled) {
+      if (asyncHistoryExecutor == null) {
+        asyncHistoryExecutor = new AsyncHistoryExecutor();
+      }
+      asyncHistoryExecutor.setCommandExecutor(commandExecutor);
     }
   }
 
@@ -1464,7 +1639,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         initDbSqlSessionFactory();
       }
 
-      addSessionFactory(new GenericManagerFactory(EntityCache.class, EntityCacheImpl.class));
+      addSessionFactory(new EntityCacheSessionFactory());
     }
 
     if (customSessionFactories != null) {
@@ -1488,6 +1663,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
     dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+    dbSqlSessionFactory.setBatchUpdatesAndDeletesEnabled(isBatchUpdatesAndDeletesEnabled);
     addSessionFactory(dbSqlSessionFactory);
   }
 
@@ -1577,7 +1753,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDefinitionCache() {
     if (processDefinitionCache == null) {
-      if (processDefinitionCacheLimit <= 0) {
+      if (enableConcurrentProcessDefinitionCache) {
+        processDefinitionCache = new ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit,
+            processDefinitionCacheMaxWeight, new ProcessDefinitionCacheEntryWeigher());
+      } else if (processDefinitionCacheLimit <= 0) {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>();
       } else {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit);
@@ -1831,6 +2010,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
     jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+    DeleteHistoricProcessInstancesJobHandler deleteHistoricProcessInstancesJobHandler = new DeleteHistoricProcessInstancesJobHandler();
+    jobHandlers.put(deleteHistoricProcessInstancesJobHandler.getType(), deleteHistoricProcessInstancesJobHandler);
+
+    ScheduleSignalEventBatchesJobHandler scheduleSignalEventBatchesJobHandler = new ScheduleSignalEventBatchesJobHandler();
+    jobHandlers.put(scheduleSignalEventBatchesJobHandler.getType(), scheduleSignalEventBatchesJobHandler);
+
+    TriggerSignalEventBatchJobHandler triggerSignalEventBatchJobHandler = new TriggerSignalEventBatchJobHandler();
+    jobHandlers.put(triggerSignalEventBatchJobHandler.getType(), triggerSignalEventBatchJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers() != null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1915,6 +2103,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (listenerNotificationHelper == null) {
       listenerNotificationHelper = new ListenerNotificationHelper();
     }
+    if (parallelBranchExecutor == null) {
+      parallelBranchExecutor = new ParallelBranchExecutor(parallelBranchExecutorPoolSize);
+    }
   }
 
   public void initVariableTypes() {
@@ -1981,6 +2172,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
     if (scriptingEngines == null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(this, resolverFactories));
+      scriptingEngines.setCompiledScriptCacheLimit(compiledScriptCacheLimit);
     }
   }
 
@@ -2177,6 +2369,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public MetricsRecorder getMetricsRecorder() {
+    return metricsRecorder;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRecorder(MetricsRecorder metricsRecorder) {
+    this.metricsRecorder = metricsRecorder;
+    return this;
+  }
+
   public RepositoryService getRepositoryService() {
     return repositoryService;
   }
@@ -2426,6 +2627,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getCompiledScriptCacheLimit() {
+    return compiledScriptCacheLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+    this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+    return this;
+  }
+
   public VariableTypes getVariableTypes() {
     return variableTypes;
   }
@@ -2513,6 +2723,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getQueryCursorFetchSize() {
+    return queryCursorFetchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setQueryCursorFetchSize(int queryCursorFetchSize) {
+    this.queryCursorFetchSize = queryCursorFetchSize;
+    return this;
+  }
+
   public CommandContextFactory getCommandContextFactory() {
     return commandContextFactory;
   }
@@ -2576,6 +2795,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public ParallelBranchExecutor getParallelBranchExecutor() {
+    return parallelBranchExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setParallelBranchExecutor(ParallelBranchExecutor parallelBranchExecutor) {
+    this.parallelBranchExecutor = parallelBranchExecutor;
+    return this;
+  }
+
+  public int getParallelBranchExecutorPoolSize() {
+    return parallelBranchExecutorPoolSize;
+  }
+
+  public ProcessEngineConfigurationImpl setParallelBranchExecutorPoolSize(int parallelBranchExecutorPoolSize) {
+    this.parallelBranchExecutorPoolSize = parallelBranchExecutorPoolSize;
+    return this;
+  }
+
   public SqlSessionFactory getSqlSessionFactory() {
     return sqlSessionFactory;
   }
@@ -2814,6 +3051,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableConcurrentProcessDefinitionCache() {
+    return enableConcurrentProcessDefinitionCache;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableConcurrentProcessDefinitionCache(boolean enableConcurrentProcessDefinitionCache) {
+    this.enableConcurrentProcessDefinitionCache = enableConcurrentProcessDefinitionCache;
+    return this;
+  }
+
+  public long getProcessDefinitionCacheMaxWeight() {
+    return processDefinitionCacheMaxWeight;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+    this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+    return this;
+  }
+
   public DeploymentCache<ProcessDefinitionCacheEntry> getProcessDefinitionCache() {
     return processDefinitionCache;
   }
@@ -2841,6 +3096,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getProcessDefinitionStatisticsCacheTimeInMillis() {
+    return processDefinitionStatisticsCacheTimeInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionStatisticsCacheTimeInMillis(int processDefinitionStatisticsCacheTimeInMillis) {
+    this.processDefinitionStatisticsCacheTimeInMillis = processDefinitionStatisticsCacheTimeInMillis;
+    return this;
+  }
+
   public boolean isEnableSafeBpmnXml() {
     return enableSafeBpmnXml;
   }
@@ -2931,6 +3195,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isBatchUpdatesAndDeletesEnabled() {
+    return isBatchUpdatesAndDeletesEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchUpdatesAndDeletesEnabled(boolean isBatchUpdatesAndDeletesEnabled) {
+    this.isBatchUpdatesAndDeletesEnabled = isBatchUpdatesAndDeletesEnabled;
+    return this;
+  }
+
   public boolean isUsingRelationalDatabase() {
     return usingRelationalDatabase;
   }
@@ -2972,6 +3245,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public ProcessEngineConfigurationImpl setEnableEntityChangeTracking(boolean enableEntityChangeTracking) {
+    this.performanceSettings.setEnableEntityChangeTracking(enableEntityChangeTracking);
+    return this;
+  }
+
   public AttachmentDataManager getAttachmentDataManager() {
     return attachmentDataManager;
   }
@@ -3107,6 +3385,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public JobPartitionDataManager getJobPartitionDataManager() {
+    return jobPartitionDataManager;
+  }
+
+  public ProcessEngineConfigurationImpl setJobPartitionDataManager(JobPartitionDataManager jobPartitionDataManager) {
+    this.jobPartitionDataManager = jobPartitionDataManager;
+    return this;
+  }
+
   public TimerJobDataManager getTimerJobDataManager() {
     return timerJobDataManager;
   }
@@ -3337,6 +3624,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public JobPartitionEntityManager getJobPartitionEntityManager() {
+    return jobPartitionEntityManager;
+  }
+
+  public ProcessEngineConfigurationImpl setJobPartitionEntityManager(JobPartitionEntityManager jobPartitionEntityManager) {
+    this.jobPartitionEntityManager = jobPartitionEntityManager;
+    return this;
+  }
+
   public TimerJobEntityManager getTimerJobEntityManager() {
     return timerJobEntityManager;
   }
@@ -3446,6 +3742,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isAsyncHistoryEnabled() {
+    return asyncHistoryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEnabled(boolean asyncHistoryEnabled) {
+    this.asyncHistoryEnabled = asyncHistoryEnabled;
+    return this;
+  }
+
+  public boolean isAsyncHistoryExecutorActivate() {
+    return asyncHistoryExecutorActivate;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryExecutorActivate(boolean asyncHistoryExecutorActivate) {
+    this.asyncHistoryExecutorActivate = asyncHistoryExecutorActivate;
+    return this;
+  }
+
+  public AsyncHistoryExecutor getAsyncHistoryExecutor() {
+    return asyncHistoryExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryExecutor(AsyncHistoryExecutor asyncHistoryExecutor) {
+    this.asyncHistoryExecutor = asyncHistoryExecutor;
+    return this;
+  }
+
+  public Set<String> getInternalEventLogEntryTypes() {
+    return internalEventLogEntryTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setInternalEventLogEntryTypes(Set<String> internalEventLogEntryTypes) {
+    this.internalEventLogEntryTypes = internalEventLogEntryTypes;
+    return this;
+  }
+
   public JobManager getJobManager() {
     return jobManager;
   }
@@ -3534,6 +3866,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isAsyncExecutorUseVirtualThreads() {
+    return asyncExecutorUseVirtualThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorUseVirtualThreads(boolean asyncExecutorUseVirtualThreads) {
+    this.asyncExecutorUseVirtualThreads = asyncExecutorUseVirtualThreads;
+    return this;
+  }
+
+  public int getAsyncExecutorMaxConcurrentJobs() {
+    return asyncExecutorMaxConcurrentJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMaxConcurrentJobs(int asyncExecutorMaxConcurrentJobs) {
+    this.asyncExecutorMaxConcurrentJobs = asyncExecutorMaxConcurrentJobs;
+    return this;
+  }
+
   public BlockingQueue<Runnable> getAsyncExecutorThreadPoolQueue() {
     return asyncExecutorThreadPoolQueue;
   }
@@ -3660,6 +4010,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isAsyncExecutorSkipLockedAcquisition() {
+    return asyncExecutorSkipLockedAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorSkipLockedAcquisition(boolean asyncExecutorSkipLockedAcquisition) {
+    this.asyncExecutorSkipLockedAcquisition = asyncExecutorSkipLockedAcquisition;
+    return this;
+  }
+
+  public boolean isAsyncExecutorPartitionedAcquisition() {
+    return asyncExecutorPartitionedAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorPartitionedAcquisition(boolean asyncExecutorPartitionedAcquisition) {
+    this.asyncExecutorPartitionedAcquisition = asyncExecutorPartitionedAcquisition;
+    return this;
+  }
+
+  public int getAsyncExecutorNumberOfPartitions() {
+    return asyncExecutorNumberOfPartitions;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorNumberOfPartitions(int asyncExecutorNumberOfPartitions) {
+    this.asyncExecutorNumberOfPartitions = asyncExecutorNumberOfPartitions;
+    return this;
+  }
+
+  public int getAsyncExecutorPartitionLeaseTimeInMillis() {
+    return asyncExecutorPartitionLeaseTimeInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorPartitionLeaseTimeInMillis(int asyncExecutorPartitionLeaseTimeInMillis) {
+    this.asyncExecutorPartitionLeaseTimeInMillis = asyncExecutorPartitionLeaseTimeInMillis;
+    return this;
+  }
+
+  public int getAsyncExecutorPartitionRebalanceIntervalInMillis() {
+    return asyncExecutorPartitionRebalanceIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorPartitionRebalanceIntervalInMillis(int asyncExecutorPartitionRebalanceIntervalInMillis) {
+    this.asyncExecutorPartitionRebalanceIntervalInMillis = asyncExecutorPartitionRebalanceIntervalInMillis;
+    return this;
+  }
+
   public EventSubscriptionPayloadMappingProvider getEventSubscriptionPayloadMappingProvider() {
     return eventSubscriptionPayloadMappingProvider;
   }
@@ -13,6 +13,8 @@
 package org.activiti.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -29,28 +31,43 @@ import org.activiti.engine.impl.persistence.entity.JobEntity;
 public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
 
   private final AsyncExecutor asyncExecutor;
+  private final Collection<Integer> partitions;
 
   public AcquireJobsCmd(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, null);
+  }
+
+  /**
+   * Only acquires the jobs of the given partitions, see {@link RebalanceJobPartitionsCmd}.
+   */
+  public AcquireJobsCmd(AsyncExecutor asyncExecutor, Collection<Integer> partitions) {
     this.asyncExecutor = asyncExecutor;
+    this.partitions = partitions;
   }
 
   public AcquiredJobEntities execute(CommandContext commandContext) {
     AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
-    List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+    Page page = new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+    List<JobEntity> jobs = partitions != null
+        ? commandContext.getJobEntityManager().findJobsToExecute(partitions, page)
+        : commandContext.getJobEntityManager().findJobsToExecute(page);
+
+    // All jobs are locked with one statement. This will trigger an optimistic locking exception 
+    // when a concurrent executor locked one of them first, as the revision will not match.
+    commandContext.getJobEntityManager().lockJobs(jobs, asyncExecutor.getLockOwner(), 
+        calculateLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis()));
 
     for (JobEntity job : jobs) {
-      lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
       acquiredJobs.addJob(job);
     }
 
     return acquiredJobs;
   }
 
-  protected void lockJob(CommandContext commandContext, JobEntity job, int lockTimeInMillis) {
+  protected Date calculateLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
     GregorianCalendar gregorianCalendar = new GregorianCalendar();
     gregorianCalendar.setTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
     gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-    job.setLockOwner(asyncExecutor.getLockOwner());
-    job.setLockExpirationTime(gregorianCalendar.getTime());
+    return gregorianCalendar.getTime();
   }
 }
\ No newline at end of file
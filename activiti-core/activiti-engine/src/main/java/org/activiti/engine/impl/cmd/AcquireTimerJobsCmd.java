@@ -13,6 +13,7 @@
 package org.activiti.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -39,23 +40,22 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
     List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager()
         .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
 
+    // All timer jobs are locked with one statement. This will trigger an optimistic locking exception 
+    // when two concurrent executors try to lock, as the revision will not match.
+    commandContext.getTimerJobEntityManager().lockTimerJobs(timerJobs, asyncExecutor.getLockOwner(), 
+        calculateLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis()));
+
     for (TimerJobEntity job : timerJobs) {
-      lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
       acquiredJobs.addJob(job);
     }
 
     return acquiredJobs;
   }
 
-  protected void lockJob(CommandContext commandContext, TimerJobEntity job, int lockTimeInMillis) {
-    
-    // This will trigger an optimistic locking exception when two concurrent executors 
-    // try to lock, as the revision will not match.
-    
+  protected Date calculateLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
     GregorianCalendar gregorianCalendar = new GregorianCalendar();
     gregorianCalendar.setTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
     gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-    job.setLockOwner(asyncExecutor.getLockOwner());
-    job.setLockExpirationTime(gregorianCalendar.getTime());
+    return gregorianCalendar.getTime();
   }
 }
\ No newline at end of file
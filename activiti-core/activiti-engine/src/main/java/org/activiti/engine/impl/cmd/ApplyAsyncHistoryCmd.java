@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.history.async.AsyncHistoryEventApplier;
+import org.activiti.engine.impl.history.async.AsyncHistorySession;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Applies the oldest pending async history entries to the history tables, and deletes them.
+ * The entries are deleted first, so a concurrent executor applying the same entries fails on an optimistic lock instead of applying them twice.
+ * Entries locked by {@link MarkAsyncHistoryFailedCmd} are skipped until their lock is older than the lock time.
+ *
+ * @return the number of entries applied
+ */
+public class ApplyAsyncHistoryCmd implements Command<Integer> {
+
+  protected int maxEntries;
+  protected long lockTimeInMillis;
+  protected AsyncHistoryEventApplier eventApplier;
+  protected EventLogEntry currentEventLogEntry;
+
+  public ApplyAsyncHistoryCmd(int maxEntries, long lockTimeInMillis, AsyncHistoryEventApplier eventApplier) {
+    this.maxEntries = maxEntries;
+    this.lockTimeInMillis = lockTimeInMillis;
+    this.eventApplier = eventApplier;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    Date lockedBefore = new Date(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime().getTime() - lockTimeInMillis);
+    List<EventLogEntry> eventLogEntries = commandContext.getEventLogEntryEntityManager()
+        .findUnlockedEventLogEntriesByType(AsyncHistorySession.EVENT_LOG_ENTRY_TYPE, lockedBefore, maxEntries);
+    if (eventLogEntries.isEmpty()) {
+      return 0;
+    }
+
+    List<Long> logNrs = new ArrayList<Long>(eventLogEntries.size());
+    for (EventLogEntry eventLogEntry : eventLogEntries) {
+      logNrs.add(eventLogEntry.getLogNumber());
+    }
+    int deletedEntries = commandContext.getEventLogEntryEntityManager().deleteEventLogEntries(logNrs);
+    if (deletedEntries != logNrs.size()) {
+      throw new ActivitiOptimisticLockingException("Could only delete " + deletedEntries + " of " + logNrs.size() + " async history entries");
+    }
+
+    for (EventLogEntry eventLogEntry : eventLogEntries) {
+      currentEventLogEntry = eventLogEntry;
+      JsonNode events = readEvents(commandContext, eventLogEntry);
+      for (JsonNode event : events) {
+        eventApplier.apply(commandContext, event);
+      }
+    }
+    currentEventLogEntry = null;
+
+    return eventLogEntries.size();
+  }
+
+  protected JsonNode readEvents(CommandContext commandContext, EventLogEntry eventLogEntry) {
+    JsonNode events;
+    try {
+      events = commandContext.getProcessEngineConfiguration().getObjectMapper().readTree(eventLogEntry.getData()).get(AsyncHistorySession.FIELD_EVENTS);
+    } catch (Exception e) {
+      throw new ActivitiException("Could not read async history entry " + eventLogEntry.getLogNumber(), e);
+    }
+    if (events == null) {
+      throw new ActivitiException("Async history entry " + eventLogEntry.getLogNumber() + " has no events");
+    }
+    return events;
+  }
+
+  /**
+   * @return the entry that was being applied when the command failed, or null
+   */
+  public EventLogEntry getCurrentEventLogEntry() {
+    return currentEventLogEntry;
+  }
+
+}
@@ -0,0 +1,40 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.util.Collection;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Deletes the given event log entries, typically after they were processed.
+ *
+ * @return the number of deleted entries
+ */
+public class DeleteEventLogEntriesCmd implements Command<Integer> {
+
+  protected Collection<Long> logNrs;
+
+  public DeleteEventLogEntriesCmd(Collection<Long> logNrs) {
+    this.logNrs = logNrs;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    if (logNrs.isEmpty()) {
+      return 0;
+    }
+    return commandContext.getEventLogEntryEntityManager().deleteEventLogEntries(logNrs);
+  }
+
+}
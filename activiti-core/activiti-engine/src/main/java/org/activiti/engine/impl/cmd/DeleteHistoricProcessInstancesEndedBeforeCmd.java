@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Deletes one batch of finished historic process instances, with their historic activities, tasks, details, variables,
+ * identity links, comments and attachments, using one set based delete statement per history table.
+ *
+ * @return the number of historic process instances deleted, which is less than the batch size when none are left
+ */
+public class DeleteHistoricProcessInstancesEndedBeforeCmd implements Command<Integer>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected Date endedBefore;
+  protected int batchSize;
+
+  public DeleteHistoricProcessInstancesEndedBeforeCmd(Date endedBefore, int batchSize) {
+    this.endedBefore = endedBefore;
+    this.batchSize = batchSize;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    validateArguments(endedBefore, batchSize);
+    return commandContext.getHistoricProcessInstanceEntityManager().deleteFinishedHistoricProcessInstancesEndedBefore(endedBefore, batchSize);
+  }
+
+  public static void validateArguments(Date endedBefore, int batchSize) {
+    if (endedBefore == null) {
+      throw new ActivitiIllegalArgumentException("endedBefore is null");
+    }
+    if (batchSize < 1) {
+      throw new ActivitiIllegalArgumentException("batchSize must be at least 1");
+    }
+  }
+
+}
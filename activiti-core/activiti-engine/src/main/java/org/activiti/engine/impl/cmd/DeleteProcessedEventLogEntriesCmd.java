@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.util.Date;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Deletes the event log entries of the given type that were marked as processed, once they are older than the retention time.
+ *
+ * @return the number of deleted entries
+ */
+public class DeleteProcessedEventLogEntriesCmd implements Command<Integer> {
+
+  protected String type;
+  protected long retentionInMillis;
+
+  public DeleteProcessedEventLogEntriesCmd(String type, long retentionInMillis) {
+    this.type = type;
+    this.retentionInMillis = retentionInMillis;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    Date now = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
+    Date createdBefore = new Date(now.getTime() - retentionInMillis);
+    return commandContext.getEventLogEntryEntityManager().deleteProcessedEventLogEntriesByType(type, createdBefore);
+  }
+
+}
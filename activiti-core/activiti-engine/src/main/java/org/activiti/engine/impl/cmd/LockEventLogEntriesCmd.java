@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityManager;
+
+/**
+ * Locks the oldest unprocessed event log entries of a type for the given lock owner, so they can be processed outside of
+ * a transaction. Entries whose lock is older than the lock time are locked again, so the entries of a lock owner that
+ * stopped are processed by someone else after a while.
+ * <p>
+ * When the entries are locked in order, the locking stops at the first entry that is still locked, by another lock
+ * owner or by the same one for a retry. So an entry is never processed before the unprocessed entries that precede it.
+ *
+ * @return the locked entries, ordered by log number
+ */
+public class LockEventLogEntriesCmd implements Command<List<EventLogEntry>> {
+
+  protected String type;
+  protected String lockOwner;
+  protected long lockTimeInMillis;
+  protected int maxEntries;
+  protected boolean inOrder;
+
+  public LockEventLogEntriesCmd(String type, String lockOwner, long lockTimeInMillis, int maxEntries) {
+    this(type, lockOwner, lockTimeInMillis, maxEntries, false);
+  }
+
+  public LockEventLogEntriesCmd(String type, String lockOwner, long lockTimeInMillis, int maxEntries, boolean inOrder) {
+    this.type = type;
+    this.lockOwner = lockOwner;
+    this.lockTimeInMillis = lockTimeInMillis;
+    this.maxEntries = maxEntries;
+    this.inOrder = inOrder;
+  }
+
+  public List<EventLogEntry> execute(CommandContext commandContext) {
+    EventLogEntryEntityManager eventLogEntryEntityManager = commandContext.getEventLogEntryEntityManager();
+    Date lockTime = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
+    Date lockedBefore = new Date(lockTime.getTime() - lockTimeInMillis);
+
+    List<EventLogEntry> eventLogEntries = inOrder
+        ? eventLogEntryEntityManager.findUnprocessedEventLogEntriesByType(type, maxEntries)
+        : eventLogEntryEntityManager.findUnlockedEventLogEntriesByType(type, lockedBefore, maxEntries);
+
+    List<EventLogEntry> lockedEntries = new ArrayList<EventLogEntry>();
+    for (EventLogEntry eventLogEntry : eventLogEntries) {
+      // Another lock owner may have locked the entry since it was selected
+      if (eventLogEntryEntityManager.lockEventLogEntry(eventLogEntry.getLogNumber(), lockOwner, lockTime, lockedBefore) == 1) {
+        lockedEntries.add(eventLogEntry);
+      } else if (inOrder) {
+        break;
+      }
+    }
+    return lockedEntries;
+  }
+
+}
@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.util.Date;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.history.async.AsyncHistorySession;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Records a failed attempt to apply an async history entry. The entry is locked for the given lock owner, so it is
+ * applied again once the lock expires. After the maximum number of attempts, or when the entry can't be read at all,
+ * it is marked as processed: it is skipped from then on but kept for inspection.
+ *
+ * @return true if the entry is marked as processed
+ */
+public class MarkAsyncHistoryFailedCmd implements Command<Boolean> {
+
+  private static final Logger log = LoggerFactory.getLogger(MarkAsyncHistoryFailedCmd.class);
+
+  protected EventLogEntry eventLogEntry;
+  protected String lockOwner;
+  protected long lockTimeInMillis;
+  protected int maxAttempts;
+
+  public MarkAsyncHistoryFailedCmd(EventLogEntry eventLogEntry, String lockOwner, long lockTimeInMillis, int maxAttempts) {
+    this.eventLogEntry = eventLogEntry;
+    this.lockOwner = lockOwner;
+    this.lockTimeInMillis = lockTimeInMillis;
+    this.maxAttempts = maxAttempts;
+  }
+
+  public Boolean execute(CommandContext commandContext) {
+    EventLogEntryEntityManager eventLogEntryEntityManager = commandContext.getEventLogEntryEntityManager();
+    long logNr = eventLogEntry.getLogNumber();
+    ObjectMapper objectMapper = commandContext.getProcessEngineConfiguration().getObjectMapper();
+
+    ObjectNode data;
+    try {
+      JsonNode node = objectMapper.readTree(eventLogEntry.getData());
+      data = node instanceof ObjectNode ? (ObjectNode) node : null;
+    } catch (Exception e) {
+      data = null;
+    }
+    if (data == null) {
+      log.error("Async history entry {} can't be read, marking it as processed", logNr);
+      eventLogEntryEntityManager.markEventLogEntryProcessed(logNr);
+      return true;
+    }
+
+    Date lockTime = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
+    if (eventLogEntryEntityManager.lockEventLogEntry(logNr, lockOwner, lockTime, new Date(lockTime.getTime() - lockTimeInMillis)) == 0) {
+      // Another executor locked the entry in the meantime
+      return false;
+    }
+
+    int attempts = data.path(AsyncHistorySession.FIELD_ATTEMPTS).asInt() + 1;
+    data.put(AsyncHistorySession.FIELD_ATTEMPTS, attempts);
+    boolean givenUp = attempts >= maxAttempts;
+    if (givenUp) {
+      log.error("Giving up on async history entry {} after {} attempts, marking it as processed", logNr, attempts);
+    } else {
+      log.warn("Async history entry {} failed {} time(s), it is applied again once its lock expires", logNr, attempts);
+    }
+    try {
+      eventLogEntryEntityManager.updateLockedEventLogEntry(logNr, lockOwner, objectMapper.writeValueAsBytes(data), givenUp);
+    } catch (JsonProcessingException e) {
+      throw new ActivitiException("Could not write async history entry " + logNr, e);
+    }
+    return givenUp;
+  }
+
+}
@@ -0,0 +1,125 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntity;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntityManager;
+
+/**
+ * Renews the partitions owned by the given lock owner and rebalances the partitions over all async executors that
+ * renewed their lease in time, returning the partitions the lock owner owns afterwards.
+ * <p>
+ * Every lock owner keeps at most ceil(partitions / owners) partitions and takes free or expired partitions up to that
+ * number. When it still has less than floor(partitions / owners) partitions, it takes one partition over from the
+ * owner with the most partitions, so a newly started async executor gets its share within a few rebalance intervals.
+ * Concurrent changes of the same partition are detected by the revision of the partition.
+ */
+public class RebalanceJobPartitionsCmd implements Command<List<Integer>> {
+
+  protected final String lockOwner;
+  protected final int numberOfPartitions;
+  protected final int leaseTimeInMillis;
+
+  public RebalanceJobPartitionsCmd(String lockOwner, int numberOfPartitions, int leaseTimeInMillis) {
+    this.lockOwner = lockOwner;
+    this.numberOfPartitions = numberOfPartitions;
+    this.leaseTimeInMillis = leaseTimeInMillis;
+  }
+
+  public List<Integer> execute(CommandContext commandContext) {
+    JobPartitionEntityManager jobPartitionEntityManager = commandContext.getJobPartitionEntityManager();
+    Date now = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
+    Date leaseExpirationTime = new Date(now.getTime() + leaseTimeInMillis);
+
+    JobPartitionEntity[] partitions = new JobPartitionEntity[numberOfPartitions];
+    for (JobPartitionEntity partition : jobPartitionEntityManager.findAll()) {
+      if (partition.getPartition() < numberOfPartitions) {
+        partitions[partition.getPartition()] = partition;
+      } else if (lockOwner.equals(partition.getOwner())) {
+        release(partition);
+      }
+    }
+    for (int i = 0; i < numberOfPartitions; i++) {
+      if (partitions[i] == null) {
+        partitions[i] = jobPartitionEntityManager.create();
+        partitions[i].setPartition(i);
+        jobPartitionEntityManager.insert(partitions[i]);
+      }
+    }
+
+    Map<String, List<JobPartitionEntity>> partitionsByOwner = new HashMap<String, List<JobPartitionEntity>>();
+    partitionsByOwner.put(lockOwner, new ArrayList<JobPartitionEntity>());
+    List<JobPartitionEntity> freePartitions = new ArrayList<JobPartitionEntity>();
+    for (JobPartitionEntity partition : partitions) {
+      if (lockOwner.equals(partition.getOwner()) || isLeased(partition, now)) {
+        if (!partitionsByOwner.containsKey(partition.getOwner())) {
+          partitionsByOwner.put(partition.getOwner(), new ArrayList<JobPartitionEntity>());
+        }
+        partitionsByOwner.get(partition.getOwner()).add(partition);
+      } else {
+        freePartitions.add(partition);
+      }
+    }
+
+    int numberOfOwners = partitionsByOwner.size();
+    int maxPartitions = (numberOfPartitions + numberOfOwners - 1) / numberOfOwners;
+    int minPartitions = numberOfPartitions / numberOfOwners;
+
+    List<JobPartitionEntity> ownedPartitions = partitionsByOwner.get(lockOwner);
+    while (ownedPartitions.size() > maxPartitions) {
+      release(ownedPartitions.remove(ownedPartitions.size() - 1));
+    }
+    while (ownedPartitions.size() < maxPartitions && !freePartitions.isEmpty()) {
+      ownedPartitions.add(freePartitions.remove(0));
+    }
+    if (ownedPartitions.size() < minPartitions) {
+      List<JobPartitionEntity> largest = null;
+      for (Map.Entry<String, List<JobPartitionEntity>> entry : partitionsByOwner.entrySet()) {
+        if (!entry.getKey().equals(lockOwner) && (largest == null || entry.getValue().size() > largest.size())) {
+          largest = entry.getValue();
+        }
+      }
+      if (largest != null && largest.size() > ownedPartitions.size() + 1) {
+        ownedPartitions.add(largest.get(largest.size() - 1));
+      }
+    }
+
+    List<Integer> result = new ArrayList<Integer>();
+    for (JobPartitionEntity partition : ownedPartitions) {
+      partition.setOwner(lockOwner);
+      partition.setLeaseExpirationTime(leaseExpirationTime);
+      result.add(partition.getPartition());
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  protected boolean isLeased(JobPartitionEntity partition, Date now) {
+    return partition.getOwner() != null && partition.getLeaseExpirationTime() != null && partition.getLeaseExpirationTime().after(now);
+  }
+
+  protected void release(JobPartitionEntity partition) {
+    partition.setOwner(null);
+    partition.setLeaseExpirationTime(null);
+  }
+
+}
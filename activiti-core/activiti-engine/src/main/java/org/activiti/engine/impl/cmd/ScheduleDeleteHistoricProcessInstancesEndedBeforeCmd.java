@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.DeleteHistoricProcessInstancesJobHandler;
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Schedules the deletion of the finished historic process instances as a job, see {@link DeleteHistoricProcessInstancesJobHandler}.
+ */
+public class ScheduleDeleteHistoricProcessInstancesEndedBeforeCmd implements Command<Job>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected Date endedBefore;
+  protected int batchSize;
+
+  public ScheduleDeleteHistoricProcessInstancesEndedBeforeCmd(Date endedBefore, int batchSize) {
+    this.endedBefore = endedBefore;
+    this.batchSize = batchSize;
+  }
+
+  public Job execute(CommandContext commandContext) {
+    DeleteHistoricProcessInstancesEndedBeforeCmd.validateArguments(endedBefore, batchSize);
+    return DeleteHistoricProcessInstancesJobHandler.scheduleJob(commandContext, endedBefore, batchSize, 0L);
+  }
+
+}
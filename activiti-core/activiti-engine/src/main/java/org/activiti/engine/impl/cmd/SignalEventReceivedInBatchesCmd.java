@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.ScheduleSignalEventBatchesJobHandler;
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Records a received signal as a job that splits its subscriptions into batches, see {@link ScheduleSignalEventBatchesJobHandler}.
+ */
+public class SignalEventReceivedInBatchesCmd implements Command<Job> {
+
+  protected final String eventName;
+  protected final String tenantId;
+  protected final int batchSize;
+
+  public SignalEventReceivedInBatchesCmd(String eventName, String tenantId, int batchSize) {
+    this.eventName = eventName;
+    this.tenantId = tenantId;
+    this.batchSize = batchSize;
+  }
+
+  public Job execute(CommandContext commandContext) {
+    if (eventName == null) {
+      throw new ActivitiIllegalArgumentException("signalName is null");
+    }
+    if (batchSize < 1) {
+      throw new ActivitiIllegalArgumentException("batchSize must be at least 1");
+    }
+    return ScheduleSignalEventBatchesJobHandler.scheduleJob(commandContext, eventName, tenantId,
+        commandContext.getProcessEngineConfiguration().getClock().getCurrentTime(), batchSize, null, 0L, 0L);
+  }
+
+}
@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Updates an event log entry locked with {@link LockEventLogEntriesCmd} that was not processed completely. The entry
+ * gets the given data, with what is left to process, and is either processed again once its lock expires, or marked
+ * as processed when it is given up on.
+ *
+ * @return 1 if the entry is updated, 0 if it is locked by another lock owner by now
+ */
+public class UpdateLockedEventLogEntryCmd implements Command<Integer> {
+
+  protected long logNr;
+  protected String lockOwner;
+  protected byte[] data;
+  protected boolean processed;
+
+  public UpdateLockedEventLogEntryCmd(long logNr, String lockOwner, byte[] data, boolean processed) {
+    this.logNr = logNr;
+    this.lockOwner = lockOwner;
+    this.data = data;
+    this.processed = processed;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    return commandContext.getEventLogEntryEntityManager().updateLockedEventLogEntry(logNr, lockOwner, data, processed);
+  }
+
+}
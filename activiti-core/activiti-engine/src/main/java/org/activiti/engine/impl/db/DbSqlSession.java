@@ -32,6 +32,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiOptimisticLockingException;
@@ -62,7 +63,14 @@ import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.PropertyEntity;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -140,6 +148,7 @@ public class DbSqlSession implements Session {
     }
 
     protected SqlSession sqlSession;
+    protected SqlSession batchSqlSession; // lazily created, see getBatchSqlSession()
     protected DbSqlSessionFactory dbSqlSessionFactory;
     protected EntityCache entityCache;
 
@@ -150,6 +159,7 @@ public class DbSqlSession implements Session {
     protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations
             = new HashMap<Class<? extends Entity>, List<BulkDeleteOperation>>();
     protected List<Entity> updatedObjects = new ArrayList<Entity>();
+    protected Set<Entity> changeTrackedUpdatedObjects = new HashSet<Entity>(); // updated objects of which only the changed columns need to be updated
 
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
@@ -423,6 +433,54 @@ public class DbSqlSession implements Session {
                                      parameter);
     }
 
+    /**
+     * Selects a page of results without relying on the statement to limit them: no more rows of the result set are read
+     * than the page holds. For statements that can't be limited in SQL, like the Oracle 'for update skip locked' selects,
+     * where a ROWNUM limit is applied before the locked rows are skipped.
+     */
+    @SuppressWarnings({"rawtypes"})
+    public List selectListWithRowBounds(String statement,
+                                        Object parameter,
+                                        Page page,
+                                        boolean useCache) {
+        statement = dbSqlSessionFactory.mapStatement(statement);
+        List loadedObjects = sqlSession.selectList(statement,
+                                                   new ListQueryParameterObject(parameter,
+                                                                                page.getFirstResult(),
+                                                                                page.getMaxResults()),
+                                                   new RowBounds(0,
+                                                                 page.getMaxResults()));
+        if (useCache) {
+            return cacheLoadOrStore(loadedObjects);
+        } else {
+            return loadedObjects;
+        }
+    }
+
+    /**
+     * Reads the results of the given statement with a database cursor and passes them to the consumer one by one, so the
+     * results don't have to fit in memory. The results are not put in the entity cache: changes done to them are not flushed.
+     */
+    public <T> void selectForEach(String statement,
+                                  Object parameter,
+                                  Consumer<? super T> consumer) {
+        statement = dbSqlSessionFactory.mapStatement(statement);
+        Cursor<T> cursor = sqlSession.selectCursor(statement,
+                                                   parameter);
+        try {
+            for (T result : cursor) {
+                consumer.accept(result);
+            }
+        } finally {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                throw new ActivitiException("Could not close the cursor of statement " + statement,
+                                            e);
+            }
+        }
+    }
+
     public Object selectOne(String statement,
                             Object parameter) {
         statement = dbSqlSessionFactory.mapStatement(statement);
@@ -554,6 +612,7 @@ public class DbSqlSession implements Session {
 
     public void determineUpdatedObjects() {
         updatedObjects = new ArrayList<Entity>();
+        changeTrackedUpdatedObjects = new HashSet<Entity>();
         Map<Class<?>, Map<String, CachedEntity>> cachedObjects = entityCache.getAllCachedEntities();
         for (Class<?> clazz : cachedObjects.keySet()) {
 
@@ -571,6 +630,9 @@ public class DbSqlSession implements Session {
                         cachedObject.hasChanged()
                         ) {
                     updatedObjects.add(cachedEntity);
+                    if (cachedObject.isChangeTracked()) {
+                        changeTrackedUpdatedObjects.add(cachedEntity);
+                    }
                 }
             }
         }
@@ -830,28 +892,85 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
-        for (Entity updatedObject : updatedObjects) {
-            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
-            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+        if (dbSqlSessionFactory.isBatchUpdatesAndDeletesEnabled()) {
+            flushBatchUpdates();
+        } else {
+            for (Entity updatedObject : updatedObjects) {
+                String updateStatement = getMappedUpdateStatement(updatedObject);
+
+                log.debug("updating: {}",
+                          updatedObject);
+                int updatedRecords = sqlSession.update(updateStatement,
+                                                       updatedObject);
+                if (updatedRecords == 0) {
+                    throw new ActivitiOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+                }
 
-            if (updateStatement == null) {
-                throw new ActivitiException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+                incrementRevisionAfterUpdate(updatedObject);
             }
+        }
+        updatedObjects.clear();
+        changeTrackedUpdatedObjects.clear();
+    }
 
-            log.debug("updating: {}",
-                      updatedObject);
-            int updatedRecords = sqlSession.update(updateStatement,
-                                                   updatedObject);
-            if (updatedRecords == 0) {
-                throw new ActivitiOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+    /**
+     * Sends all updates as JDBC batches, one batch per update statement,
+     * and checks the update count of every entity afterwards.
+     */
+    protected void flushBatchUpdates() {
+        if (updatedObjects.isEmpty()) {
+            return;
+        }
+
+        // Group per statement: the batch executor starts a new JDBC batch whenever the statement changes
+        Map<String, List<Entity>> updatesPerStatement = new LinkedHashMap<String, List<Entity>>();
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = getMappedUpdateStatement(updatedObject);
+            if (!updatesPerStatement.containsKey(updateStatement)) {
+                updatesPerStatement.put(updateStatement,
+                                        new ArrayList<Entity>());
             }
+            updatesPerStatement.get(updateStatement).add(updatedObject);
+        }
 
-            // See https://activiti.atlassian.net/browse/ACT-1290
-            if (updatedObject instanceof HasRevision) {
-                ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+        SqlSession batchSqlSession = getBatchSqlSession();
+        for (Map.Entry<String, List<Entity>> updates : updatesPerStatement.entrySet()) {
+            for (Entity updatedObject : updates.getValue()) {
+                log.debug("updating (batched): {}",
+                          updatedObject);
+                batchSqlSession.update(updates.getKey(),
+                                       updatedObject);
             }
         }
-        updatedObjects.clear();
+        executeBatch(true);
+
+        for (Entity updatedObject : updatedObjects) {
+            incrementRevisionAfterUpdate(updatedObject);
+        }
+    }
+
+    protected String getMappedUpdateStatement(Entity updatedObject) {
+        if (changeTrackedUpdatedObjects.contains(updatedObject)) {
+            String partialUpdateStatement = dbSqlSessionFactory.getPartialUpdateStatement(updatedObject);
+            if (partialUpdateStatement != null) {
+                return partialUpdateStatement;
+            }
+        }
+
+        String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+        updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+        if (updateStatement == null) {
+            throw new ActivitiException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+        }
+        return updateStatement;
+    }
+
+    protected void incrementRevisionAfterUpdate(Entity updatedObject) {
+        // See https://activiti.atlassian.net/browse/ACT-1290
+        if (updatedObject instanceof HasRevision) {
+            ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+        }
     }
 
     protected void flushDeletes() {
@@ -893,6 +1012,11 @@ public class DbSqlSession implements Session {
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass,
                                        Collection<Entity> entitiesToDelete) {
+        if (dbSqlSessionFactory.isBatchUpdatesAndDeletesEnabled()) {
+            flushBatchDeleteEntities(entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
             String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
             deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
@@ -915,7 +1039,71 @@ public class DbSqlSession implements Session {
         }
     }
 
+    /**
+     * Sends the deletes of one entity type as a JDBC batch. The batch is executed before returning,
+     * so the deletes keep their place in the {@link EntityDependencyOrder} relative to the bulk deletes.
+     */
+    protected void flushBatchDeleteEntities(Collection<Entity> entitiesToDelete) {
+        if (entitiesToDelete.isEmpty()) {
+            return;
+        }
+
+        SqlSession batchSqlSession = getBatchSqlSession();
+        for (Entity entity : entitiesToDelete) {
+            String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+            deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+            if (deleteStatement == null) {
+                throw new ActivitiException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+            }
+            batchSqlSession.delete(deleteStatement,
+                                   entity);
+        }
+        executeBatch(false);
+    }
+
+    /**
+     * Executes the statements queued on the batch session and validates the returned update counts.
+     * <p>
+     * An update count of 0 means the revision did not match, which results in an {@link ActivitiOptimisticLockingException}.
+     * For deletes, this is only checked for entities that actually have a revision.
+     * Drivers returning {@link Statement#SUCCESS_NO_INFO} don't allow this check, in which case the statement is assumed successful.
+     */
+    protected void executeBatch(boolean checkAllEntities) {
+        List<BatchResult> batchResults = getBatchSqlSession().flushStatements();
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            for (int i = 0; i < updateCounts.length; i++) {
+                Object entity = parameterObjects.get(i);
+                if (updateCounts[i] == 0 && (checkAllEntities || entity instanceof HasRevision)) {
+                    throw new ActivitiOptimisticLockingException(entity + " was updated by another transaction concurrently");
+                }
+            }
+        }
+
+        // The statements bypassed the regular session, so its local cache could be stale
+        sqlSession.clearCache();
+    }
+
+    /**
+     * Returns a {@link SqlSession} using the batch executor on the same connection as the regular session.
+     */
+    protected SqlSession getBatchSqlSession() {
+        if (batchSqlSession == null) {
+            Configuration configuration = sqlSession.getConfiguration();
+            Executor batchExecutor = configuration.newExecutor(new SharedConnectionTransaction(sqlSession.getConnection()),
+                                                               ExecutorType.BATCH);
+            batchSqlSession = new DefaultSqlSession(configuration,
+                                                    batchExecutor,
+                                                    false);
+        }
+        return batchSqlSession;
+    }
+
     public void close() {
+        if (batchSqlSession != null) {
+            batchSqlSession.close();
+        }
         sqlSession.close();
     }
 
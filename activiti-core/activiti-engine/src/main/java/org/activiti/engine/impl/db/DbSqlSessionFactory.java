@@ -23,6 +23,7 @@ import org.activiti.engine.impl.cfg.IdGenerator;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.Session;
 import org.activiti.engine.impl.interceptor.SessionFactory;
+import org.activiti.engine.impl.persistence.entity.ChangeTrackingEntity;
 import org.activiti.engine.impl.persistence.entity.Entity;
 import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -63,9 +64,11 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected Map<Class<?>,String> deleteStatements = new ConcurrentHashMap<Class<?>, String>();
   protected Map<Class<?>,String> bulkDeleteStatements = new ConcurrentHashMap<Class<?>, String>();
   protected Map<Class<?>,String> selectStatements = new ConcurrentHashMap<Class<?>, String>();
+  protected Map<Class<?>,String> partialUpdateStatements = new ConcurrentHashMap<Class<?>, String>(); // empty string when there is no such statement
 
   protected boolean isDbHistoryUsed = true;
   protected int maxNrOfStatementsInBulkInsert = 100;
+  protected boolean isBatchUpdatesAndDeletesEnabled;
   
   public Class<?> getSessionType() {
     return DbSqlSession.class;
@@ -111,6 +114,22 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(object.getClass(), updateStatements, "update");
   }
 
+  /**
+   * @return the statement that only updates the changed columns of a {@link ChangeTrackingEntity},
+   *         or null if the mapping of the entity has no such statement.
+   */
+  public String getPartialUpdateStatement(Entity object) {
+    String statement = partialUpdateStatements.get(object.getClass());
+    if (statement == null) {
+      statement = mapStatement("updateChanged" + getUpdateStatement(object).substring("update".length()));
+      if (!sqlSessionFactory.getConfiguration().hasStatement(statement, false)) {
+        statement = "";
+      }
+      partialUpdateStatements.put(object.getClass(), statement);
+    }
+    return statement.isEmpty() ? null : statement;
+  }
+
   public String getDeleteStatement(Class<?> entityClass) {
     return getStatement(entityClass, deleteStatements, "delete");
   }
@@ -319,4 +338,12 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
   }
 
+  public boolean isBatchUpdatesAndDeletesEnabled() {
+    return isBatchUpdatesAndDeletesEnabled;
+  }
+
+  public void setBatchUpdatesAndDeletesEnabled(boolean isBatchUpdatesAndDeletesEnabled) {
+    this.isBatchUpdatesAndDeletesEnabled = isBatchUpdatesAndDeletesEnabled;
+  }
+
 }
@@ -27,6 +27,7 @@ import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntityImp
 import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.IdentityLinkEntityImpl;
 import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntityImpl;
 import org.activiti.engine.impl.persistence.entity.MessageEventSubscriptionEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ModelEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntityImpl;
@@ -38,6 +39,7 @@ import org.activiti.engine.impl.persistence.entity.SuspendedJobEntityImpl;
 import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityImpl;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntityImpl;
 
 
 /**
@@ -71,6 +73,9 @@ public class EntityDependencyOrder {
 		/* No FK */
 		DELETE_ORDER.add(EventLogEntryEntityImpl.class);
 		
+		/* No FK */
+		DELETE_ORDER.add(JobPartitionEntityImpl.class);
+		
 		/*
 		 * FK to Deployment
 		 * FK to ByteArray 
@@ -156,11 +161,18 @@ public class EntityDependencyOrder {
 		 */
 		DELETE_ORDER.add(TaskEntityImpl.class);
 		
+		/*
+		 * FK to Execution
+		 * FK to ProcessDefinition
+		 */
+		DELETE_ORDER.add(IntegrationContextEntityImpl.class);
+		
 		/*
 		 * FK from VariableInstance 
 		 * FK from EventSubscription
 		 * FK from IdentityLink
 		 * FK from Task
+		 * FK from IntegrationContext
 		 * 
 		 * FK to ProcessDefinition
 		 */
@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import java.sql.Connection;
+
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * MyBatis {@link Transaction} that hands out the connection of another, already open, transaction.
+ * <p>
+ * Used by the {@link DbSqlSession} to run a batch executor on the same connection as the regular
+ * {@link org.apache.ibatis.session.SqlSession}: committing, rolling back and closing the connection
+ * remains the responsibility of the transaction that owns it, hence all those operations are no-ops here.
+ */
+public class SharedConnectionTransaction implements Transaction {
+
+    protected Connection connection;
+
+    public SharedConnectionTransaction(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void commit() {
+        // The owning transaction commits
+    }
+
+    @Override
+    public void rollback() {
+        // The owning transaction rolls back
+    }
+
+    @Override
+    public void close() {
+        // The owning transaction closes the connection
+    }
+
+    @Override
+    public Integer getTimeout() {
+        return null;
+    }
+}
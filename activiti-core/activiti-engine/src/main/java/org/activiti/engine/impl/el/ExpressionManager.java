@@ -13,7 +13,9 @@
 
 package org.activiti.engine.impl.el;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.el.ArrayELResolver;
@@ -45,11 +47,32 @@ import org.activiti.engine.impl.persistence.entity.VariableScopeImpl;
  */
 public class ExpressionManager {
 
+    public static final int DEFAULT_EXPRESSION_CACHE_LIMIT = 4096;
+
     protected ExpressionFactory expressionFactory;
     // Default implementation (does nothing)
     protected ELContext parsingElContext = new ParsingElContext();
     protected Map<Object, Object> beans;
 
+    /**
+     * Parsed value expressions, keyed by expression text. As the parsing context has no functions or variables,
+     * a parsed expression only depends on its text and can be shared between threads.
+     * A limit of 0 or less disables the cache.
+     */
+    protected int expressionCacheLimit = DEFAULT_EXPRESSION_CACHE_LIMIT;
+    protected Map<String, ValueExpression> expressionCache = createExpressionCache(expressionCacheLimit);
+
+    /**
+     * The resolvers that don't depend on the variable scope, shared by all el contexts created by
+     * {@link #createElResolver(VariableScope)}. Rebuilt when the beans change.
+     */
+    protected volatile ELResolver sharedElResolver;
+    /**
+     * The resolvers for arrays, lists, maps, json nodes and beans, shared by all el contexts. Created on first use, so
+     * {@link #createBaseElResolver()} is never called before a subclass is fully initialized.
+     */
+    protected volatile ELResolver baseElResolver;
+
     public ExpressionManager() {
         this(null);
     }
@@ -75,15 +98,64 @@ public class ExpressionManager {
     }
 
     public Expression createExpression(String expression) {
-        ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext,
-                                                                                  expression.trim(),
-                                                                                  Object.class);
-        return new JuelExpression(valueExpression,
+        return new JuelExpression(createValueExpression(expression.trim()),
                                   expression);
     }
 
+    protected ValueExpression createValueExpression(String expression) {
+        if (expressionCache == null) {
+            return expressionFactory.createValueExpression(parsingElContext,
+                                                           expression,
+                                                           Object.class);
+        }
+
+        ValueExpression valueExpression = expressionCache.get(expression);
+        if (valueExpression == null) {
+            valueExpression = expressionFactory.createValueExpression(parsingElContext,
+                                                                      expression,
+                                                                      Object.class);
+            expressionCache.put(expression,
+                                valueExpression);
+        }
+        return valueExpression;
+    }
+
+    protected Map<String, ValueExpression> createExpressionCache(final int limit) {
+        if (limit <= 0) {
+            return null;
+        }
+        return Collections.synchronizedMap(new LinkedHashMap<String, ValueExpression>(16, 0.75f, true) {
+            // true will keep the 'access-order', which is needed to have a real LRU cache
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<String, ValueExpression> eldest) {
+                return size() > limit;
+            }
+        });
+    }
+
     public void setExpressionFactory(ExpressionFactory expressionFactory) {
         this.expressionFactory = expressionFactory;
+        clearExpressionCache();
+    }
+
+    public int getExpressionCacheLimit() {
+        return expressionCacheLimit;
+    }
+
+    public void setExpressionCacheLimit(int expressionCacheLimit) {
+        this.expressionCacheLimit = expressionCacheLimit;
+        this.expressionCache = createExpressionCache(expressionCacheLimit);
+    }
+
+    public int getExpressionCacheSize() {
+        return expressionCache != null ? expressionCache.size() : 0;
+    }
+
+    public void clearExpressionCache() {
+        if (expressionCache != null) {
+            expressionCache.clear();
+        }
     }
 
     public ELContext getElContext(VariableScope variableScope) {
@@ -109,19 +181,47 @@ public class ExpressionManager {
     }
 
     protected ELResolver createElResolver(VariableScope variableScope) {
+        // Only the variable scope resolver is specific to this context, the rest of the chain is shared
         CompositeELResolver elResolver = new CompositeELResolver();
         elResolver.add(new VariableScopeElResolver(variableScope));
-        if (beans != null) {
-            // ACT-1102: Also expose all beans in configuration when using
-            // standalone activiti, not
-            // in spring-context
-            elResolver.add(new ReadOnlyMapELResolver(beans));
+        elResolver.add(getSharedElResolver());
+        return elResolver;
+    }
+
+    protected ELResolver getSharedElResolver() {
+        ELResolver elResolver = sharedElResolver;
+        if (elResolver == null) {
+            elResolver = createSharedElResolver();
+            sharedElResolver = elResolver;
+        }
+        return elResolver;
+    }
+
+    protected ELResolver createSharedElResolver() {
+        if (beans == null) {
+            return getBaseElResolver();
         }
-        addBaseResolvers(elResolver);
+
+        CompositeELResolver elResolver = new CompositeELResolver();
+        // ACT-1102: Also expose all beans in configuration when using
+        // standalone activiti, not
+        // in spring-context
+        elResolver.add(new ReadOnlyMapELResolver(beans));
+        elResolver.add(getBaseElResolver());
         return elResolver;
     }
 
-    private void addBaseResolvers(CompositeELResolver elResolver) {
+    protected ELResolver getBaseElResolver() {
+        ELResolver elResolver = baseElResolver;
+        if (elResolver == null) {
+            elResolver = createBaseElResolver();
+            baseElResolver = elResolver;
+        }
+        return elResolver;
+    }
+
+    protected ELResolver createBaseElResolver() {
+        CompositeELResolver elResolver = new CompositeELResolver();
         elResolver.add(new ArrayELResolver());
         elResolver.add(new ListELResolver());
         elResolver.add(new MapELResolver());
@@ -130,6 +230,7 @@ public class ExpressionManager {
                                                          "getFieldValue",
                                                          "setFieldValue")); // TODO: needs verification
         elResolver.add(new BeanELResolver());
+        return elResolver;
     }
 
     public Map<Object, Object> getBeans() {
@@ -138,12 +239,13 @@ public class ExpressionManager {
 
     public void setBeans(Map<Object, Object> beans) {
         this.beans = beans;
+        this.sharedElResolver = null;
     }
 
     public ELContext getElContext(Map<String, Object> availableVariables) {
         CompositeELResolver elResolver = new CompositeELResolver();
         elResolver.add(new ReadOnlyMapELResolver(new HashMap<>(availableVariables)));
-        addBaseResolvers(elResolver);
+        elResolver.add(getBaseElResolver());
         return new ActivitiElContext(elResolver);
     }
 }
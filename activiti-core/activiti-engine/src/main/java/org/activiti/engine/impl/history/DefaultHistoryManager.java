@@ -240,20 +240,26 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public HistoricActivityInstanceEntity findActivityInstance(ExecutionEntity execution, boolean createOnNotFound, boolean endTimeMustBeNull) {
-    String activityId = null;
-    if (execution.getCurrentFlowElement() instanceof FlowNode) {
-      activityId = execution.getCurrentFlowElement().getId();
-    } else if (execution.getCurrentFlowElement() instanceof SequenceFlow
-        && execution.getCurrentActivitiListener() == null) { // while executing sequence flow listeners, we don't want historic activities
-      activityId = ( (SequenceFlow) (execution.getCurrentFlowElement())).getSourceFlowElement().getId();
-    } 
-    
+    String activityId = getHistoricActivityId(execution);
     if (activityId != null) {
       return findActivityInstance(execution, activityId, createOnNotFound, endTimeMustBeNull);
     }
     
     return null;
   }
+
+  /**
+   * @return the id of the activity the historic activity instance of the given execution is about, or null if none
+   */
+  protected String getHistoricActivityId(ExecutionEntity execution) {
+    if (execution.getCurrentFlowElement() instanceof FlowNode) {
+      return execution.getCurrentFlowElement().getId();
+    } else if (execution.getCurrentFlowElement() instanceof SequenceFlow
+        && execution.getCurrentActivitiListener() == null) { // while executing sequence flow listeners, we don't want historic activities
+      return ( (SequenceFlow) (execution.getCurrentFlowElement())).getSourceFlowElement().getId();
+    }
+    return null;
+  }
     
     
   public HistoricActivityInstanceEntity findActivityInstance(ExecutionEntity execution, String activityId, boolean createOnNotFound, boolean endTimeMustBeNull) {
@@ -342,10 +348,14 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
       historicActivityInstance.setTenantId(execution.getTenantId());
     }
     
-    getHistoricActivityInstanceEntityManager().insert(historicActivityInstance);
+    insertHistoricActivityInstance(historicActivityInstance);
     return historicActivityInstance;
   }
 
+  protected void insertHistoricActivityInstance(HistoricActivityInstanceEntity historicActivityInstance) {
+    getHistoricActivityInstanceEntityManager().insert(historicActivityInstance);
+  }
+
   /*
    * (non-Javadoc)
    * 
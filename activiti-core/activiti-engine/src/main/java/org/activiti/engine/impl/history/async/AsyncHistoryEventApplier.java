@@ -0,0 +1,200 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.history.async;
+
+import static org.activiti.engine.impl.history.async.AsyncHistoryEvents.getBytes;
+import static org.activiti.engine.impl.history.async.AsyncHistoryEvents.getDate;
+import static org.activiti.engine.impl.history.async.AsyncHistoryEvents.getDouble;
+import static org.activiti.engine.impl.history.async.AsyncHistoryEvents.getLong;
+import static org.activiti.engine.impl.history.async.AsyncHistoryEvents.getString;
+
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.activiti.engine.impl.variable.VariableType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Applies the history events written by the {@link AsyncHistoryManager} to the history tables.
+ * The events must be applied in the order they were written, as an update relies on the insert done by an earlier event.
+ */
+public class AsyncHistoryEventApplier {
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncHistoryEventApplier.class);
+
+  public void apply(CommandContext commandContext, JsonNode event) {
+    String type = getString(event, AsyncHistoryEvents.FIELD_TYPE);
+    if (AsyncHistoryEvents.TYPE_ACTIVITY_INSTANCE.equals(type)) {
+      applyActivityInstance(commandContext, event);
+    } else if (AsyncHistoryEvents.TYPE_ACTIVITY_INSTANCE_UPDATE.equals(type)) {
+      applyActivityInstanceUpdate(commandContext, event);
+    } else if (AsyncHistoryEvents.TYPE_VARIABLE_UPDATE.equals(type)) {
+      applyVariableUpdate(commandContext, event);
+    } else if (AsyncHistoryEvents.TYPE_VARIABLE_DETAIL.equals(type)) {
+      applyVariableDetail(commandContext, event);
+    } else {
+      throw new ActivitiException("Unknown history event type " + type);
+    }
+  }
+
+  protected void applyActivityInstance(CommandContext commandContext, JsonNode event) {
+    String processInstanceId = getString(event, AsyncHistoryEvents.FIELD_PROCESS_INSTANCE_ID);
+    if (isHistoricProcessInstanceDeleted(commandContext, processInstanceId)) {
+      return;
+    }
+
+    HistoricActivityInstanceEntity historicActivityInstance = commandContext.getHistoricActivityInstanceEntityManager().create();
+    historicActivityInstance.setId(getString(event, AsyncHistoryEvents.FIELD_ID));
+    historicActivityInstance.setProcessDefinitionId(getString(event, AsyncHistoryEvents.FIELD_PROCESS_DEFINITION_ID));
+    historicActivityInstance.setProcessInstanceId(processInstanceId);
+    historicActivityInstance.setExecutionId(getString(event, AsyncHistoryEvents.FIELD_EXECUTION_ID));
+    historicActivityInstance.setActivityId(getString(event, AsyncHistoryEvents.FIELD_ACTIVITY_ID));
+    historicActivityInstance.setActivityName(getString(event, AsyncHistoryEvents.FIELD_ACTIVITY_NAME));
+    historicActivityInstance.setActivityType(getString(event, AsyncHistoryEvents.FIELD_ACTIVITY_TYPE));
+    historicActivityInstance.setAssignee(getString(event, AsyncHistoryEvents.FIELD_ASSIGNEE));
+    historicActivityInstance.setTaskId(getString(event, AsyncHistoryEvents.FIELD_TASK_ID));
+    historicActivityInstance.setCalledProcessInstanceId(getString(event, AsyncHistoryEvents.FIELD_CALLED_PROCESS_INSTANCE_ID));
+    historicActivityInstance.setStartTime(getDate(event, AsyncHistoryEvents.FIELD_START_TIME));
+    historicActivityInstance.setEndTime(getDate(event, AsyncHistoryEvents.FIELD_END_TIME));
+    historicActivityInstance.setDurationInMillis(getLong(event, AsyncHistoryEvents.FIELD_DURATION));
+    historicActivityInstance.setDeleteReason(getString(event, AsyncHistoryEvents.FIELD_DELETE_REASON));
+    historicActivityInstance.setTenantId(getString(event, AsyncHistoryEvents.FIELD_TENANT_ID));
+    commandContext.getHistoricActivityInstanceEntityManager().insert(historicActivityInstance);
+  }
+
+  protected void applyActivityInstanceUpdate(CommandContext commandContext, JsonNode event) {
+    HistoricActivityInstanceEntity historicActivityInstance = findUnfinishedActivityInstance(commandContext, event);
+    if (historicActivityInstance == null) {
+      logger.debug("No unfinished historic activity instance found for history event {}", event);
+      return;
+    }
+
+    if (event.has(AsyncHistoryEvents.FIELD_TASK_ID)) {
+      historicActivityInstance.setTaskId(getString(event, AsyncHistoryEvents.FIELD_TASK_ID));
+    }
+    if (event.has(AsyncHistoryEvents.FIELD_ASSIGNEE)) {
+      historicActivityInstance.setAssignee(getString(event, AsyncHistoryEvents.FIELD_ASSIGNEE));
+    }
+    if (event.has(AsyncHistoryEvents.FIELD_CALLED_PROCESS_INSTANCE_ID)) {
+      historicActivityInstance.setCalledProcessInstanceId(getString(event, AsyncHistoryEvents.FIELD_CALLED_PROCESS_INSTANCE_ID));
+    }
+
+    Date endTime = getDate(event, AsyncHistoryEvents.FIELD_END_TIME);
+    if (endTime != null) {
+      historicActivityInstance.setDeleteReason(getString(event, AsyncHistoryEvents.FIELD_DELETE_REASON));
+      historicActivityInstance.setEndTime(endTime);
+      historicActivityInstance.setDurationInMillis(endTime.getTime() - historicActivityInstance.getStartTime().getTime());
+
+      ActivitiEventDispatcher eventDispatcher = commandContext.getProcessEngineConfiguration().getEventDispatcher();
+      if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+        eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance));
+      }
+    }
+  }
+
+  protected void applyVariableUpdate(CommandContext commandContext, JsonNode event) {
+    HistoricVariableInstanceEntity historicVariableInstance = commandContext.getHistoricVariableInstanceEntityManager()
+        .findHistoricVariableInstanceByVariableInstanceId(getString(event, AsyncHistoryEvents.FIELD_ID));
+    if (historicVariableInstance == null) {
+      logger.debug("Historic variable instance of history event {} was deleted in the meantime", event);
+      return;
+    }
+
+    historicVariableInstance.setTextValue(getString(event, AsyncHistoryEvents.FIELD_TEXT_VALUE));
+    historicVariableInstance.setTextValue2(getString(event, AsyncHistoryEvents.FIELD_TEXT_VALUE2));
+    historicVariableInstance.setDoubleValue(getDouble(event, AsyncHistoryEvents.FIELD_DOUBLE_VALUE));
+    historicVariableInstance.setLongValue(getLong(event, AsyncHistoryEvents.FIELD_LONG_VALUE));
+    historicVariableInstance.setVariableType(getVariableType(commandContext, event));
+    if (event.has(AsyncHistoryEvents.FIELD_BYTES)) {
+      historicVariableInstance.setBytes(getBytes(event, AsyncHistoryEvents.FIELD_BYTES));
+    }
+    historicVariableInstance.setLastUpdatedTime(getDate(event, AsyncHistoryEvents.FIELD_TIME));
+  }
+
+  protected void applyVariableDetail(CommandContext commandContext, JsonNode event) {
+    String processInstanceId = getString(event, AsyncHistoryEvents.FIELD_PROCESS_INSTANCE_ID);
+    if (isHistoricProcessInstanceDeleted(commandContext, processInstanceId)) {
+      return;
+    }
+
+    HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = commandContext.getHistoricDetailEntityManager().createHistoricDetailVariableInstanceUpdate();
+    historicVariableUpdate.setProcessInstanceId(processInstanceId);
+    historicVariableUpdate.setExecutionId(getString(event, AsyncHistoryEvents.FIELD_EXECUTION_ID));
+    historicVariableUpdate.setTaskId(getString(event, AsyncHistoryEvents.FIELD_TASK_ID));
+    historicVariableUpdate.setTime(getDate(event, AsyncHistoryEvents.FIELD_TIME));
+    historicVariableUpdate.setRevision(getLong(event, AsyncHistoryEvents.FIELD_REVISION).intValue());
+    historicVariableUpdate.setName(getString(event, AsyncHistoryEvents.FIELD_NAME));
+    historicVariableUpdate.setVariableType(getVariableType(commandContext, event));
+    historicVariableUpdate.setTextValue(getString(event, AsyncHistoryEvents.FIELD_TEXT_VALUE));
+    historicVariableUpdate.setTextValue2(getString(event, AsyncHistoryEvents.FIELD_TEXT_VALUE2));
+    historicVariableUpdate.setDoubleValue(getDouble(event, AsyncHistoryEvents.FIELD_DOUBLE_VALUE));
+    historicVariableUpdate.setLongValue(getLong(event, AsyncHistoryEvents.FIELD_LONG_VALUE));
+    if (event.has(AsyncHistoryEvents.FIELD_BYTES)) {
+      historicVariableUpdate.setBytes(getBytes(event, AsyncHistoryEvents.FIELD_BYTES));
+    }
+
+    if (event.has(AsyncHistoryEvents.FIELD_ACTIVITY_INSTANCE_ID)) {
+      historicVariableUpdate.setActivityInstanceId(getString(event, AsyncHistoryEvents.FIELD_ACTIVITY_INSTANCE_ID));
+    } else if (event.has(AsyncHistoryEvents.FIELD_EXECUTION_IDS)) {
+      HistoricActivityInstanceEntity historicActivityInstance = findUnfinishedActivityInstance(commandContext, event);
+      if (historicActivityInstance != null) {
+        historicVariableUpdate.setActivityInstanceId(historicActivityInstance.getId());
+      }
+    }
+
+    commandContext.getHistoricDetailEntityManager().insert(historicVariableUpdate);
+  }
+
+  /**
+   * Same lookup as the {@link org.activiti.engine.impl.history.DefaultHistoryManager}: the unfinished historic activity instance of the
+   * activity in the execution, or else in its parent executions. The instances inserted by the events applied before are in the entity cache.
+   */
+  protected HistoricActivityInstanceEntity findUnfinishedActivityInstance(CommandContext commandContext, JsonNode event) {
+    String activityId = getString(event, AsyncHistoryEvents.FIELD_ACTIVITY_ID);
+    for (JsonNode executionId : event.path(AsyncHistoryEvents.FIELD_EXECUTION_IDS)) {
+      List<HistoricActivityInstanceEntity> historicActivityInstances = commandContext.getHistoricActivityInstanceEntityManager()
+          .findUnfinishedHistoricActivityInstancesByExecutionAndActivityId(executionId.asText(), activityId);
+      if (!historicActivityInstances.isEmpty()) {
+        return historicActivityInstances.get(0);
+      }
+    }
+    return null;
+  }
+
+  protected VariableType getVariableType(CommandContext commandContext, JsonNode event) {
+    return commandContext.getProcessEngineConfiguration().getVariableTypes().getVariableType(getString(event, AsyncHistoryEvents.FIELD_VARIABLE_TYPE));
+  }
+
+  /**
+   * The history of a process instance can be deleted before all of its history events are applied.
+   */
+  protected boolean isHistoricProcessInstanceDeleted(CommandContext commandContext, String processInstanceId) {
+    if (processInstanceId != null && commandContext.getHistoricProcessInstanceEntityManager().findById(processInstanceId) == null) {
+      logger.debug("Ignoring history event of deleted historic process instance {}", processInstanceId);
+      return true;
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.history.async;
+
+import java.io.IOException;
+import java.util.Date;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The types and fields of the history events written by the {@link AsyncHistoryManager}, with helpers to read and write them.
+ * <p>
+ * A field that is present but null in an update event sets the property to null, a field that is absent leaves the property as it is.
+ */
+public class AsyncHistoryEvents {
+
+  /** Insert of a historic activity instance started in the transaction. */
+  public static final String TYPE_ACTIVITY_INSTANCE = "activity-instance";
+
+  /** Update of the unfinished historic activity instance of an execution (or one of its parents) and activity, started by an earlier transaction. */
+  public static final String TYPE_ACTIVITY_INSTANCE_UPDATE = "activity-instance-update";
+
+  /** New value of a historic variable instance, inserted by an earlier transaction. */
+  public static final String TYPE_VARIABLE_UPDATE = "variable-update";
+
+  /** Insert of a historic variable update detail. */
+  public static final String TYPE_VARIABLE_DETAIL = "variable-detail";
+
+  public static final String FIELD_TYPE = "type";
+  public static final String FIELD_ID = "id";
+  public static final String FIELD_PROCESS_DEFINITION_ID = "processDefinitionId";
+  public static final String FIELD_PROCESS_INSTANCE_ID = "processInstanceId";
+  public static final String FIELD_EXECUTION_ID = "executionId";
+  public static final String FIELD_EXECUTION_IDS = "executionIds";
+  public static final String FIELD_TASK_ID = "taskId";
+  public static final String FIELD_ACTIVITY_ID = "activityId";
+  public static final String FIELD_ACTIVITY_NAME = "activityName";
+  public static final String FIELD_ACTIVITY_TYPE = "activityType";
+  public static final String FIELD_ACTIVITY_INSTANCE_ID = "activityInstanceId";
+  public static final String FIELD_ASSIGNEE = "assignee";
+  public static final String FIELD_CALLED_PROCESS_INSTANCE_ID = "calledProcessInstanceId";
+  public static final String FIELD_START_TIME = "startTime";
+  public static final String FIELD_END_TIME = "endTime";
+  public static final String FIELD_DURATION = "duration";
+  public static final String FIELD_DELETE_REASON = "deleteReason";
+  public static final String FIELD_TENANT_ID = "tenantId";
+  public static final String FIELD_NAME = "name";
+  public static final String FIELD_REVISION = "revision";
+  public static final String FIELD_TIME = "time";
+  public static final String FIELD_VARIABLE_TYPE = "variableType";
+  public static final String FIELD_TEXT_VALUE = "textValue";
+  public static final String FIELD_TEXT_VALUE2 = "textValue2";
+  public static final String FIELD_LONG_VALUE = "longValue";
+  public static final String FIELD_DOUBLE_VALUE = "doubleValue";
+  public static final String FIELD_BYTES = "bytes";
+
+  public static void writeActivityInstance(ObjectNode event, HistoricActivityInstanceEntity historicActivityInstance) {
+    event.put(FIELD_ID, historicActivityInstance.getId());
+    event.put(FIELD_PROCESS_DEFINITION_ID, historicActivityInstance.getProcessDefinitionId());
+    event.put(FIELD_PROCESS_INSTANCE_ID, historicActivityInstance.getProcessInstanceId());
+    event.put(FIELD_EXECUTION_ID, historicActivityInstance.getExecutionId());
+    event.put(FIELD_ACTIVITY_ID, historicActivityInstance.getActivityId());
+    event.put(FIELD_ACTIVITY_NAME, historicActivityInstance.getActivityName());
+    event.put(FIELD_ACTIVITY_TYPE, historicActivityInstance.getActivityType());
+    event.put(FIELD_ASSIGNEE, historicActivityInstance.getAssignee());
+    event.put(FIELD_TASK_ID, historicActivityInstance.getTaskId());
+    event.put(FIELD_CALLED_PROCESS_INSTANCE_ID, historicActivityInstance.getCalledProcessInstanceId());
+    putDate(event, FIELD_START_TIME, historicActivityInstance.getStartTime());
+    putDate(event, FIELD_END_TIME, historicActivityInstance.getEndTime());
+    event.put(FIELD_DURATION, historicActivityInstance.getDurationInMillis());
+    event.put(FIELD_DELETE_REASON, historicActivityInstance.getDeleteReason());
+    event.put(FIELD_TENANT_ID, historicActivityInstance.getTenantId());
+  }
+
+  public static void putDate(ObjectNode event, String field, Date value) {
+    if (value != null) {
+      event.put(field, value.getTime());
+    } else {
+      event.putNull(field);
+    }
+  }
+
+  public static String getString(JsonNode event, String field) {
+    JsonNode value = event.get(field);
+    return value != null && !value.isNull() ? value.asText() : null;
+  }
+
+  public static Date getDate(JsonNode event, String field) {
+    JsonNode value = event.get(field);
+    return value != null && !value.isNull() ? new Date(value.asLong()) : null;
+  }
+
+  public static Long getLong(JsonNode event, String field) {
+    JsonNode value = event.get(field);
+    return value != null && !value.isNull() ? value.asLong() : null;
+  }
+
+  public static Double getDouble(JsonNode event, String field) {
+    JsonNode value = event.get(field);
+    return value != null && !value.isNull() ? value.asDouble() : null;
+  }
+
+  public static byte[] getBytes(JsonNode event, String field) {
+    JsonNode value = event.get(field);
+    if (value == null || value.isNull()) {
+      return null;
+    }
+    try {
+      return value.binaryValue();
+    } catch (IOException e) {
+      throw new ActivitiException("Could not read the bytes of history event field " + field, e);
+    }
+  }
+
+}
@@ -0,0 +1,261 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.history.async;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.cmd.ApplyAsyncHistoryCmd;
+import org.activiti.engine.impl.cmd.DeleteProcessedEventLogEntriesCmd;
+import org.activiti.engine.impl.cmd.MarkAsyncHistoryFailedCmd;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies the history written by the {@link AsyncHistoryManager} to the history tables, in batches of
+ * {@link #getBatchSize()} entries per transaction, on a single background thread.
+ * <p>
+ * When a batch fails, its entries are applied one by one. An entry that fails on its own is locked, so it no longer
+ * blocks the entries after it, and applied again once its lock is older than {@link #getLockTimeInMillis()}. After
+ * {@link #getMaxAttempts()} failed attempts it is marked as processed. It is then kept in the event log table for
+ * {@link #getFailedEntryRetentionInMillis()}, and deleted by a cleanup that runs every
+ * {@link #getCleanupIntervalInMillis()}.
+ */
+public class AsyncHistoryExecutor implements Runnable {
+
+  private static Logger log = LoggerFactory.getLogger(AsyncHistoryExecutor.class);
+
+  protected CommandExecutor commandExecutor;
+  protected AsyncHistoryEventApplier eventApplier = new AsyncHistoryEventApplier();
+
+  protected int batchSize = 100;
+  protected int waitTimeInMillis = 1000;
+  protected String lockOwner = UUID.randomUUID().toString();
+  protected long lockTimeInMillis = 5L * 60 * 1000;
+  protected int maxAttempts = 5;
+  protected long failedEntryRetentionInMillis = 7L * 24 * 60 * 60 * 1000;
+  protected long cleanupIntervalInMillis = 60L * 60 * 1000;
+  protected long nextCleanupTime;
+
+  protected Thread thread;
+  protected volatile boolean isInterrupted;
+  protected final Object MONITOR = new Object();
+  protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
+
+  public synchronized void start() {
+    if (thread != null) {
+      return;
+    }
+    log.info("Starting up the async history executor [{}].", getClass().getName());
+    isInterrupted = false;
+    thread = new Thread(this, "activiti-async-history");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public synchronized void shutdown() {
+    if (thread == null) {
+      return;
+    }
+    log.info("Shutting down the async history executor [{}].", getClass().getName());
+    synchronized (MONITOR) {
+      isInterrupted = true;
+      if (isWaiting.compareAndSet(true, false)) {
+        MONITOR.notifyAll();
+      }
+    }
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      log.warn("Interrupted while waiting for the async history executor to stop", e);
+      Thread.currentThread().interrupt();
+    }
+    thread = null;
+  }
+
+  public void run() {
+    while (!isInterrupted) {
+      try {
+        applyAll();
+      } catch (Throwable e) {
+        log.error("exception while applying async history", e);
+      }
+
+      if (System.currentTimeMillis() >= nextCleanupTime) {
+        nextCleanupTime = System.currentTimeMillis() + cleanupIntervalInMillis;
+        try {
+          cleanUpFailedEntries();
+        } catch (Throwable e) {
+          log.error("exception while deleting failed async history entries", e);
+        }
+      }
+
+      try {
+        synchronized (MONITOR) {
+          if (!isInterrupted) {
+            isWaiting.set(true);
+            MONITOR.wait(waitTimeInMillis);
+          }
+        }
+      } catch (InterruptedException e) {
+        log.debug("async history executor wait interrupted");
+      } finally {
+        isWaiting.set(false);
+      }
+    }
+  }
+
+  /**
+   * Applies the pending history until there is none left.
+   *
+   * @return the number of entries applied
+   */
+  public int applyAll() {
+    int appliedEntries = 0;
+    int batchEntries;
+    do {
+      batchEntries = applyBatch();
+      appliedEntries += batchEntries;
+    } while (batchEntries == batchSize && !isInterrupted);
+    return appliedEntries;
+  }
+
+  /**
+   * Deletes the entries that could not be applied, once they are older than {@link #getFailedEntryRetentionInMillis()}.
+   *
+   * @return the number of entries deleted
+   */
+  public int cleanUpFailedEntries() {
+    return commandExecutor.execute(new DeleteProcessedEventLogEntriesCmd(AsyncHistorySession.EVENT_LOG_ENTRY_TYPE, failedEntryRetentionInMillis));
+  }
+
+  protected int applyBatch() {
+    try {
+      return commandExecutor.execute(new ApplyAsyncHistoryCmd(batchSize, lockTimeInMillis, eventApplier));
+
+    } catch (ActivitiOptimisticLockingException e) {
+      log.debug("Async history entries were applied by another executor", e);
+      return 0;
+
+    } catch (RuntimeException e) {
+      log.warn("Could not apply a batch of async history entries, applying them one by one", e);
+      int appliedEntries = 0;
+      for (int i = 0; i < batchSize; i++) {
+        if (applySingleEntry() == 0) {
+          break;
+        }
+        appliedEntries++;
+      }
+      return appliedEntries;
+    }
+  }
+
+  /**
+   * @return 1 if an entry was applied or failed, 0 if there was none left
+   */
+  protected int applySingleEntry() {
+    ApplyAsyncHistoryCmd applyAsyncHistoryCmd = new ApplyAsyncHistoryCmd(1, lockTimeInMillis, eventApplier);
+    try {
+      return commandExecutor.execute(applyAsyncHistoryCmd);
+
+    } catch (ActivitiOptimisticLockingException e) {
+      log.debug("Async history entry was applied by another executor", e);
+      return 0;
+
+    } catch (RuntimeException e) {
+      EventLogEntry failedEntry = applyAsyncHistoryCmd.getCurrentEventLogEntry();
+      if (failedEntry == null) {
+        throw e;
+      }
+      log.error("Could not apply async history entry " + failedEntry.getLogNumber(), e);
+      commandExecutor.execute(new MarkAsyncHistoryFailedCmd(failedEntry, lockOwner, lockTimeInMillis, maxAttempts));
+      return 1;
+    }
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public void setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public AsyncHistoryEventApplier getEventApplier() {
+    return eventApplier;
+  }
+
+  public void setEventApplier(AsyncHistoryEventApplier eventApplier) {
+    this.eventApplier = eventApplier;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getWaitTimeInMillis() {
+    return waitTimeInMillis;
+  }
+
+  public void setWaitTimeInMillis(int waitTimeInMillis) {
+    this.waitTimeInMillis = waitTimeInMillis;
+  }
+
+  public String getLockOwner() {
+    return lockOwner;
+  }
+
+  public void setLockOwner(String lockOwner) {
+    this.lockOwner = lockOwner;
+  }
+
+  public long getLockTimeInMillis() {
+    return lockTimeInMillis;
+  }
+
+  public void setLockTimeInMillis(long lockTimeInMillis) {
+    this.lockTimeInMillis = lockTimeInMillis;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public long getFailedEntryRetentionInMillis() {
+    return failedEntryRetentionInMillis;
+  }
+
+  public void setFailedEntryRetentionInMillis(long failedEntryRetentionInMillis) {
+    this.failedEntryRetentionInMillis = failedEntryRetentionInMillis;
+  }
+
+  public long getCleanupIntervalInMillis() {
+    return cleanupIntervalInMillis;
+  }
+
+  public void setCleanupIntervalInMillis(long cleanupIntervalInMillis) {
+    this.cleanupIntervalInMillis = cleanupIntervalInMillis;
+  }
+
+}
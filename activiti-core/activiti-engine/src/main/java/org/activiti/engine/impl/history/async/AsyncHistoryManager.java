@@ -0,0 +1,232 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.history.async;
+
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.history.DefaultHistoryManager;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * History manager that defers the writes of the highest volume history, the historic activity instances and the variable
+ * history, to the {@link AsyncHistoryExecutor}. The process instance, task and identity link history is still written
+ * in the transaction of the runtime change, as the engine reads it back itself.
+ * <p>
+ * The history of a transaction is written as a single event log entry (see {@link AsyncHistorySession}) instead of one
+ * insert or update per activity and variable, and the lookups of historic activity instances started by earlier
+ * transactions are no longer done on the database: their updates are written as events and are resolved when applied.
+ */
+public class AsyncHistoryManager extends DefaultHistoryManager {
+
+  public AsyncHistoryManager(ProcessEngineConfigurationImpl processEngineConfiguration, HistoryLevel historyLevel) {
+    super(processEngineConfiguration, historyLevel);
+  }
+
+  @Override
+  protected void insertHistoricActivityInstance(HistoricActivityInstanceEntity historicActivityInstance) {
+    AsyncHistorySession.getOrCreateSession(getCommandContext()).addActivityInstance(historicActivityInstance);
+  }
+
+  @Override
+  protected HistoricActivityInstanceEntity getHistoricActivityInstanceFromCache(String executionId, String activityId, boolean endTimeMustBeNull) {
+    HistoricActivityInstanceEntity historicActivityInstance = super.getHistoricActivityInstanceFromCache(executionId, activityId, endTimeMustBeNull);
+    if (historicActivityInstance != null) {
+      return historicActivityInstance;
+    }
+
+    AsyncHistorySession asyncHistorySession = AsyncHistorySession.getSession(getCommandContext());
+    if (asyncHistorySession != null && activityId != null) {
+      for (HistoricActivityInstanceEntity pendingHistoricActivityInstance : asyncHistorySession.getActivityInstances()) {
+        if (activityId.equals(pendingHistoricActivityInstance.getActivityId())
+            && (!endTimeMustBeNull || pendingHistoricActivityInstance.getEndTime() == null)
+            && executionId.equals(pendingHistoricActivityInstance.getExecutionId())) {
+          return pendingHistoricActivityInstance;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Only finds the historic activity instances started in the current transaction, the others are resolved by the
+   * {@link AsyncHistoryEventApplier}.
+   */
+  @Override
+  public HistoricActivityInstanceEntity findActivityInstance(ExecutionEntity execution, String activityId, boolean createOnNotFound, boolean endTimeMustBeNull) {
+    if (activityId == null) {
+      return null;
+    }
+
+    ExecutionEntity currentExecution = execution;
+    while (currentExecution != null) {
+      HistoricActivityInstanceEntity historicActivityInstance = getHistoricActivityInstanceFromCache(currentExecution.getId(), activityId, endTimeMustBeNull);
+      if (historicActivityInstance != null) {
+        return historicActivityInstance;
+      }
+      currentExecution = currentExecution.getParentId() != null ? currentExecution.getParent() : null;
+    }
+
+    if (createOnNotFound && (execution.getCurrentFlowElement() == null || execution.getCurrentFlowElement() instanceof FlowNode)) {
+      return createHistoricActivityInstanceEntity(execution);
+    }
+    return null;
+  }
+
+  @Override
+  public void recordActivityEnd(ExecutionEntity executionEntity, String deleteReason) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+      if (findActivityInstance(executionEntity, false, true) != null) {
+        super.recordActivityEnd(executionEntity, deleteReason);
+      } else {
+        ObjectNode event = addActivityInstanceUpdateEvent(executionEntity);
+        if (event != null) {
+          AsyncHistoryEvents.putDate(event, AsyncHistoryEvents.FIELD_END_TIME, getClock().getCurrentTime());
+          event.put(AsyncHistoryEvents.FIELD_DELETE_REASON, deleteReason);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void recordSubProcessInstanceStart(ExecutionEntity parentExecution, ExecutionEntity subProcessInstance, FlowElement initialElement) {
+    super.recordSubProcessInstanceStart(parentExecution, subProcessInstance, initialElement);
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY) && findActivityInstance(parentExecution, false, true) == null) {
+      ObjectNode event = addActivityInstanceUpdateEvent(parentExecution);
+      if (event != null) {
+        event.put(AsyncHistoryEvents.FIELD_CALLED_PROCESS_INSTANCE_ID, subProcessInstance.getProcessInstanceId());
+      }
+    }
+  }
+
+  @Override
+  public void recordTaskAssignment(TaskEntity task) {
+    ExecutionEntity executionEntity = task.getExecution();
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY) && executionEntity != null) {
+      if (findActivityInstance(executionEntity, false, true) != null) {
+        super.recordTaskAssignment(task);
+      } else {
+        ObjectNode event = addActivityInstanceUpdateEvent(executionEntity);
+        if (event != null) {
+          event.put(AsyncHistoryEvents.FIELD_ASSIGNEE, task.getAssignee());
+        }
+      }
+    }
+  }
+
+  @Override
+  public void recordTaskId(TaskEntity task) {
+    ExecutionEntity executionEntity = task.getExecution();
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY) && executionEntity != null) {
+      if (findActivityInstance(executionEntity, false, true) != null) {
+        super.recordTaskId(task);
+      } else {
+        ObjectNode event = addActivityInstanceUpdateEvent(executionEntity);
+        if (event != null) {
+          event.put(AsyncHistoryEvents.FIELD_TASK_ID, task.getId());
+        }
+      }
+    }
+  }
+
+  @Override
+  public void recordHistoricDetailVariableCreate(VariableInstanceEntity variable, ExecutionEntity sourceActivityExecution, boolean useActivityId) {
+    if (isHistoryLevelAtLeast(HistoryLevel.FULL)) {
+      ObjectNode event = AsyncHistorySession.getOrCreateSession(getCommandContext()).addEvent(AsyncHistoryEvents.TYPE_VARIABLE_DETAIL);
+      event.put(AsyncHistoryEvents.FIELD_PROCESS_INSTANCE_ID, variable.getProcessInstanceId());
+      event.put(AsyncHistoryEvents.FIELD_EXECUTION_ID, variable.getExecutionId());
+      event.put(AsyncHistoryEvents.FIELD_TASK_ID, variable.getTaskId());
+      event.put(AsyncHistoryEvents.FIELD_REVISION, variable.getRevision());
+      event.put(AsyncHistoryEvents.FIELD_NAME, variable.getName());
+      writeVariableValue(event, variable);
+      if (variable.getBytes() != null) {
+        event.put(AsyncHistoryEvents.FIELD_BYTES, variable.getBytes());
+      }
+
+      if (useActivityId && sourceActivityExecution != null) {
+        HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(sourceActivityExecution, false, false);
+        if (historicActivityInstance != null) {
+          event.put(AsyncHistoryEvents.FIELD_ACTIVITY_INSTANCE_ID, historicActivityInstance.getId());
+        } else {
+          String activityId = getHistoricActivityId(sourceActivityExecution);
+          if (activityId != null) {
+            event.put(AsyncHistoryEvents.FIELD_ACTIVITY_ID, activityId);
+            writeExecutionIds(event, sourceActivityExecution);
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void recordVariableUpdate(VariableInstanceEntity variable) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+      HistoricVariableInstanceEntity historicProcessVariable = getEntityCache().findInCache(HistoricVariableInstanceEntity.class, variable.getId());
+      if (historicProcessVariable != null) {
+        getHistoricVariableInstanceEntityManager().copyVariableValue(historicProcessVariable, variable);
+      } else {
+        ObjectNode event = AsyncHistorySession.getOrCreateSession(getCommandContext()).addEvent(AsyncHistoryEvents.TYPE_VARIABLE_UPDATE);
+        event.put(AsyncHistoryEvents.FIELD_ID, variable.getId());
+        writeVariableValue(event, variable);
+        if (variable.getByteArrayRef() != null) {
+          event.put(AsyncHistoryEvents.FIELD_BYTES, variable.getBytes());
+        }
+      }
+    }
+  }
+
+  protected void writeVariableValue(ObjectNode event, VariableInstanceEntity variable) {
+    event.put(AsyncHistoryEvents.FIELD_VARIABLE_TYPE, variable.getType().getTypeName());
+    event.put(AsyncHistoryEvents.FIELD_TEXT_VALUE, variable.getTextValue());
+    event.put(AsyncHistoryEvents.FIELD_TEXT_VALUE2, variable.getTextValue2());
+    event.put(AsyncHistoryEvents.FIELD_DOUBLE_VALUE, variable.getDoubleValue());
+    event.put(AsyncHistoryEvents.FIELD_LONG_VALUE, variable.getLongValue());
+    AsyncHistoryEvents.putDate(event, AsyncHistoryEvents.FIELD_TIME, getClock().getCurrentTime());
+  }
+
+  /**
+   * @return a new update event for the unfinished historic activity instance of the given execution, or null when the execution has none
+   */
+  protected ObjectNode addActivityInstanceUpdateEvent(ExecutionEntity execution) {
+    String activityId = getHistoricActivityId(execution);
+    if (activityId == null) {
+      return null;
+    }
+
+    ObjectNode event = AsyncHistorySession.getOrCreateSession(getCommandContext()).addEvent(AsyncHistoryEvents.TYPE_ACTIVITY_INSTANCE_UPDATE);
+    event.put(AsyncHistoryEvents.FIELD_ACTIVITY_ID, activityId);
+    writeExecutionIds(event, execution);
+    return event;
+  }
+
+  /**
+   * Writes the ids of the execution and its parents, in which the historic activity instance is looked for.
+   */
+  protected void writeExecutionIds(ObjectNode event, ExecutionEntity execution) {
+    ArrayNode executionIds = event.putArray(AsyncHistoryEvents.FIELD_EXECUTION_IDS);
+    ExecutionEntity currentExecution = execution;
+    while (currentExecution != null) {
+      executionIds.add(currentExecution.getId());
+      currentExecution = currentExecution.getParentId() != null ? currentExecution.getParent() : null;
+    }
+  }
+
+}
@@ -0,0 +1,135 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.history.async;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Collects the history of one {@link CommandContext} when async history is enabled, and writes it as a single
+ * event log entry of type {@link #EVENT_LOG_ENTRY_TYPE} when the command context is closing, so it is part of
+ * the same transaction as the runtime changes. The {@link AsyncHistoryExecutor} applies these entries to the history tables later on.
+ * <p>
+ * The historic activity instances started in the command context are kept as entities, so the changes done to them afterwards
+ * end up in their insert. The changes to the history written by earlier transactions are kept as events, in the order they happened.
+ * <p>
+ * The data of the entry is a json object with the {@link #FIELD_EVENTS} and the number of {@link #FIELD_ATTEMPTS} that
+ * failed to apply them.
+ */
+public class AsyncHistorySession implements CommandContextCloseListener {
+
+  public static final String EVENT_LOG_ENTRY_TYPE = "ASYNC_HISTORY";
+  public static final String FIELD_ATTEMPTS = "attempts";
+  public static final String FIELD_EVENTS = "events";
+
+  protected static final String ATTRIBUTE_NAME = AsyncHistorySession.class.getName();
+
+  protected ObjectMapper objectMapper;
+  protected ArrayNode events;
+  protected Map<HistoricActivityInstanceEntity, ObjectNode> activityInstances = new LinkedHashMap<HistoricActivityInstanceEntity, ObjectNode>();
+
+  public AsyncHistorySession(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.events = objectMapper.createArrayNode();
+  }
+
+  /**
+   * @return the session of the given command context, or null when no history was recorded in it yet
+   */
+  public static AsyncHistorySession getSession(CommandContext commandContext) {
+    return commandContext.getGenericAttribute(ATTRIBUTE_NAME);
+  }
+
+  public static AsyncHistorySession getOrCreateSession(CommandContext commandContext) {
+    AsyncHistorySession asyncHistorySession = getSession(commandContext);
+    if (asyncHistorySession == null) {
+      asyncHistorySession = new AsyncHistorySession(commandContext.getProcessEngineConfiguration().getObjectMapper());
+      commandContext.addAttribute(ATTRIBUTE_NAME, asyncHistorySession);
+      commandContext.addCloseListener(asyncHistorySession);
+    }
+    return asyncHistorySession;
+  }
+
+  /**
+   * @return a new event of the given type, to be filled in by the caller
+   */
+  public ObjectNode addEvent(String type) {
+    ObjectNode event = events.addObject();
+    event.put(AsyncHistoryEvents.FIELD_TYPE, type);
+    return event;
+  }
+
+  public void addActivityInstance(HistoricActivityInstanceEntity historicActivityInstance) {
+    activityInstances.put(historicActivityInstance, addEvent(AsyncHistoryEvents.TYPE_ACTIVITY_INSTANCE));
+  }
+
+  public List<HistoricActivityInstanceEntity> getActivityInstances() {
+    return new ArrayList<HistoricActivityInstanceEntity>(activityInstances.keySet());
+  }
+
+  public boolean isEmpty() {
+    return events.size() == 0;
+  }
+
+  @Override
+  public void closing(CommandContext commandContext) {
+    if (commandContext.getException() != null || isEmpty()) {
+      return; // The transaction is rolled back, and the history with it
+    }
+
+    for (Map.Entry<HistoricActivityInstanceEntity, ObjectNode> activityInstance : activityInstances.entrySet()) {
+      AsyncHistoryEvents.writeActivityInstance(activityInstance.getValue(), activityInstance.getKey());
+    }
+
+    EventLogEntryEntity eventLogEntry = commandContext.getEventLogEntryEntityManager().create();
+    eventLogEntry.setType(EVENT_LOG_ENTRY_TYPE);
+    eventLogEntry.setTimeStamp(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+    ObjectNode data = objectMapper.createObjectNode();
+    data.put(FIELD_ATTEMPTS, 0);
+    data.set(FIELD_EVENTS, events);
+    try {
+      eventLogEntry.setData(objectMapper.writeValueAsBytes(data));
+    } catch (Exception e) {
+      throw new ActivitiException("Could not serialize the history events", e);
+    }
+    commandContext.getEventLogEntryEntityManager().insert(eventLogEntry, false);
+  }
+
+  @Override
+  public void afterSessionsFlush(CommandContext commandContext) {
+
+  }
+
+  @Override
+  public void closed(CommandContext commandContext) {
+
+  }
+
+  @Override
+  public void closeFailure(CommandContext commandContext) {
+
+  }
+
+}
@@ -48,6 +48,7 @@ import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntityMan
 import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntityManager;
 import org.activiti.engine.impl.persistence.entity.IdentityLinkEntityManager;
 import org.activiti.engine.impl.persistence.entity.JobEntityManager;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntityManager;
 import org.activiti.engine.impl.persistence.entity.ModelEntityManager;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntityManager;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntityManager;
@@ -388,6 +389,10 @@ public class CommandContext {
         return processEngineConfiguration.getJobEntityManager();
     }
 
+    public JobPartitionEntityManager getJobPartitionEntityManager() {
+        return processEngineConfiguration.getJobPartitionEntityManager();
+    }
+
     public TimerJobEntityManager getTimerJobEntityManager() {
         return processEngineConfiguration.getTimerJobEntityManager();
     }
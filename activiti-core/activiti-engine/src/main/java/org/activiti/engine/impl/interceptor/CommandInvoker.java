@@ -12,8 +12,10 @@
  */
 package org.activiti.engine.impl.interceptor;
 
+import org.activiti.bpmn.model.FlowElement;
 import org.activiti.engine.impl.agenda.AbstractOperation;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.metrics.MetricsRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +72,7 @@ public class CommandInvoker extends AbstractCommandInterceptor {
           logger.debug("Executing operation {} ", operation.getClass());
         }
 
+        recordOperation(operation);
         runnable.run();
 
       }
@@ -79,6 +82,14 @@ public class CommandInvoker extends AbstractCommandInterceptor {
     }
   }
 
+  protected void recordOperation(AbstractOperation operation) {
+    MetricsRecorder metricsRecorder = operation.getCommandContext().getProcessEngineConfiguration().getMetricsRecorder();
+    if (metricsRecorder != null) {
+      FlowElement flowElement = operation.getExecution() != null ? operation.getExecution().getCurrentFlowElement() : null;
+      metricsRecorder.recordAgendaOperation(operation.getClass(), flowElement != null ? flowElement.getClass().getSimpleName() : null);
+    }
+  }
+
   @Override
   public CommandInterceptor getNext() {
     return null;
@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.Date;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes one batch of the historic process instances that ended before a given date, and schedules a new job for the
+ * next batch as long as full batches are deleted. The number of historic process instances deleted so far is kept in
+ * the job handler configuration, so the progress can be followed through the job query and the log.
+ */
+public class DeleteHistoricProcessInstancesJobHandler implements JobHandler {
+
+  private static Logger log = LoggerFactory.getLogger(DeleteHistoricProcessInstancesJobHandler.class);
+
+  public static final String TYPE = "delete-historic-process-instances";
+
+  public static final String JOB_HANDLER_CFG_ENDED_BEFORE = "endedBefore";
+  public static final String JOB_HANDLER_CFG_BATCH_SIZE = "batchSize";
+  public static final String JOB_HANDLER_CFG_DELETED = "deleted";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject cfgJson = new JSONObject(configuration);
+    Date endedBefore = new Date(cfgJson.getLong(JOB_HANDLER_CFG_ENDED_BEFORE));
+    int batchSize = cfgJson.getInt(JOB_HANDLER_CFG_BATCH_SIZE);
+
+    int deletedInBatch = commandContext.getHistoricProcessInstanceEntityManager().deleteFinishedHistoricProcessInstancesEndedBefore(endedBefore, batchSize);
+    long deleted = cfgJson.optLong(JOB_HANDLER_CFG_DELETED) + deletedInBatch;
+
+    if (deletedInBatch == batchSize) {
+      log.info("Deleted {} historic process instances ended before {}, continuing with the next batch", deleted, endedBefore);
+      scheduleJob(commandContext, endedBefore, batchSize, deleted);
+    } else {
+      log.info("Deleted {} historic process instances ended before {}, done", deleted, endedBefore);
+    }
+  }
+
+  public static String createJobHandlerConfiguration(Date endedBefore, int batchSize, long deleted) {
+    JSONObject json = new JSONObject();
+    json.put(JOB_HANDLER_CFG_ENDED_BEFORE, endedBefore.getTime());
+    json.put(JOB_HANDLER_CFG_BATCH_SIZE, batchSize);
+    json.put(JOB_HANDLER_CFG_DELETED, deleted);
+    return json.toString();
+  }
+
+  public static JobEntity scheduleJob(CommandContext commandContext, Date endedBefore, int batchSize, long deleted) {
+    JobEntity job = commandContext.getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setRevision(1);
+    job.setRetries(commandContext.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    job.setExclusive(false);
+    job.setJobHandlerType(TYPE);
+    job.setJobHandlerConfiguration(createJobHandlerConfiguration(endedBefore, batchSize, deleted));
+    commandContext.getJobManager().scheduleAsyncJob(job);
+    return job;
+  }
+
+}
@@ -0,0 +1,109 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the subscriptions of a received signal into batches. Every execution of this job reads the ids of the next
+ * batch of subscriptions, schedules a {@link TriggerSignalEventBatchJobHandler} job for them and schedules a new job of
+ * its own for the batch after that, so the batches are triggered in parallel by the async executor while the
+ * subscriptions are still being split.
+ * <p>
+ * Only the subscriptions created at or before the time the signal was received are taken into account, so an
+ * execution that subscribes again after being triggered does not receive the same signal twice. The number of
+ * batches and subscriptions scheduled so far is kept in the job handler configuration.
+ */
+public class ScheduleSignalEventBatchesJobHandler implements JobHandler {
+
+  private static Logger log = LoggerFactory.getLogger(ScheduleSignalEventBatchesJobHandler.class);
+
+  public static final String TYPE = "schedule-signal-event-batches";
+
+  public static final String JOB_HANDLER_CFG_SIGNAL_NAME = "signalName";
+  public static final String JOB_HANDLER_CFG_TENANT_ID = "tenantId";
+  public static final String JOB_HANDLER_CFG_RECEIVED_AT = "receivedAt";
+  public static final String JOB_HANDLER_CFG_BATCH_SIZE = "batchSize";
+  public static final String JOB_HANDLER_CFG_ID_AFTER = "idAfter";
+  public static final String JOB_HANDLER_CFG_BATCHES = "batches";
+  public static final String JOB_HANDLER_CFG_SUBSCRIPTIONS = "subscriptions";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject cfgJson = new JSONObject(configuration);
+    String signalName = cfgJson.getString(JOB_HANDLER_CFG_SIGNAL_NAME);
+    String tenantId = cfgJson.has(JOB_HANDLER_CFG_TENANT_ID) ? cfgJson.getString(JOB_HANDLER_CFG_TENANT_ID) : null;
+    Date receivedAt = new Date(cfgJson.getLong(JOB_HANDLER_CFG_RECEIVED_AT));
+    int batchSize = cfgJson.getInt(JOB_HANDLER_CFG_BATCH_SIZE);
+    String idAfter = cfgJson.has(JOB_HANDLER_CFG_ID_AFTER) ? cfgJson.getString(JOB_HANDLER_CFG_ID_AFTER) : null;
+    long batches = cfgJson.optLong(JOB_HANDLER_CFG_BATCHES);
+    long subscriptions = cfgJson.optLong(JOB_HANDLER_CFG_SUBSCRIPTIONS);
+
+    List<SignalEventSubscriptionEntity> batch = commandContext.getEventSubscriptionEntityManager()
+        .findSignalEventSubscriptionsByEventNameAfterId(signalName, tenantId, receivedAt, idAfter, null, batchSize);
+
+    if (!batch.isEmpty()) {
+      String lastId = batch.get(batch.size() - 1).getId();
+      TriggerSignalEventBatchJobHandler.scheduleJob(commandContext, signalName, tenantId, receivedAt, idAfter, lastId);
+      batches++;
+      subscriptions += batch.size();
+
+      if (batch.size() == batchSize) {
+        log.info("Scheduled {} batches with {} subscriptions of signal '{}', continuing with the next batch", batches, subscriptions, signalName);
+        scheduleJob(commandContext, signalName, tenantId, receivedAt, batchSize, lastId, batches, subscriptions);
+        return;
+      }
+    }
+    log.info("Scheduled {} batches with {} subscriptions of signal '{}', done", batches, subscriptions, signalName);
+  }
+
+  public static String createJobHandlerConfiguration(String signalName, String tenantId, Date receivedAt, int batchSize, String idAfter, long batches, long subscriptions) {
+    JSONObject json = new JSONObject();
+    json.put(JOB_HANDLER_CFG_SIGNAL_NAME, signalName);
+    json.put(JOB_HANDLER_CFG_TENANT_ID, tenantId);
+    json.put(JOB_HANDLER_CFG_RECEIVED_AT, receivedAt.getTime());
+    json.put(JOB_HANDLER_CFG_BATCH_SIZE, batchSize);
+    json.put(JOB_HANDLER_CFG_ID_AFTER, idAfter);
+    json.put(JOB_HANDLER_CFG_BATCHES, batches);
+    json.put(JOB_HANDLER_CFG_SUBSCRIPTIONS, subscriptions);
+    return json.toString();
+  }
+
+  public static JobEntity scheduleJob(CommandContext commandContext, String signalName, String tenantId, Date receivedAt, int batchSize, String idAfter, long batches, long subscriptions) {
+    JobEntity job = commandContext.getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setRevision(1);
+    job.setRetries(commandContext.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    job.setExclusive(false);
+    job.setJobHandlerType(TYPE);
+    job.setJobHandlerConfiguration(createJobHandlerConfiguration(signalName, tenantId, receivedAt, batchSize, idAfter, batches, subscriptions));
+    if (tenantId != null) {
+      job.setTenantId(tenantId);
+    }
+    commandContext.getJobManager().scheduleAsyncJob(job);
+    return job;
+  }
+
+}
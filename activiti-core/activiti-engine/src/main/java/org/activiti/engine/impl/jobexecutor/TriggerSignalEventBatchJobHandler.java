@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+
+/**
+ * Triggers one batch of the subscriptions of a received signal, being the subscriptions with an id after idAfter and
+ * up to lastId, in one transaction. The batches are scheduled by the {@link ScheduleSignalEventBatchesJobHandler}.
+ */
+public class TriggerSignalEventBatchJobHandler implements JobHandler {
+
+  public static final String TYPE = "trigger-signal-event-batch";
+
+  public static final String JOB_HANDLER_CFG_SIGNAL_NAME = "signalName";
+  public static final String JOB_HANDLER_CFG_TENANT_ID = "tenantId";
+  public static final String JOB_HANDLER_CFG_RECEIVED_AT = "receivedAt";
+  public static final String JOB_HANDLER_CFG_ID_AFTER = "idAfter";
+  public static final String JOB_HANDLER_CFG_LAST_ID = "lastId";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject cfgJson = new JSONObject(configuration);
+    String signalName = cfgJson.getString(JOB_HANDLER_CFG_SIGNAL_NAME);
+    String tenantId = cfgJson.has(JOB_HANDLER_CFG_TENANT_ID) ? cfgJson.getString(JOB_HANDLER_CFG_TENANT_ID) : null;
+    Date receivedAt = new Date(cfgJson.getLong(JOB_HANDLER_CFG_RECEIVED_AT));
+    String idAfter = cfgJson.has(JOB_HANDLER_CFG_ID_AFTER) ? cfgJson.getString(JOB_HANDLER_CFG_ID_AFTER) : null;
+    String lastId = cfgJson.getString(JOB_HANDLER_CFG_LAST_ID);
+
+    EventSubscriptionEntityManager eventSubscriptionEntityManager = commandContext.getEventSubscriptionEntityManager();
+    List<SignalEventSubscriptionEntity> signalEvents = eventSubscriptionEntityManager
+        .findSignalEventSubscriptionsByEventNameAfterId(signalName, tenantId, receivedAt, idAfter, lastId, Integer.MAX_VALUE);
+
+    for (SignalEventSubscriptionEntity signalEventSubscriptionEntity : signalEvents) {
+      // Same as for a signal received synchronously, only globally scoped signals are thrown
+      if (signalEventSubscriptionEntity.isGlobalScoped()) {
+        eventSubscriptionEntityManager.eventReceived(signalEventSubscriptionEntity, null, false);
+      }
+    }
+  }
+
+  public static String createJobHandlerConfiguration(String signalName, String tenantId, Date receivedAt, String idAfter, String lastId) {
+    JSONObject json = new JSONObject();
+    json.put(JOB_HANDLER_CFG_SIGNAL_NAME, signalName);
+    json.put(JOB_HANDLER_CFG_TENANT_ID, tenantId);
+    json.put(JOB_HANDLER_CFG_RECEIVED_AT, receivedAt.getTime());
+    json.put(JOB_HANDLER_CFG_ID_AFTER, idAfter);
+    json.put(JOB_HANDLER_CFG_LAST_ID, lastId);
+    return json.toString();
+  }
+
+  public static JobEntity scheduleJob(CommandContext commandContext, String signalName, String tenantId, Date receivedAt, String idAfter, String lastId) {
+    JobEntity job = commandContext.getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setRevision(1);
+    job.setRetries(commandContext.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    job.setExclusive(false);
+    job.setJobHandlerType(TYPE);
+    job.setJobHandlerConfiguration(createJobHandlerConfiguration(signalName, tenantId, receivedAt, idAfter, lastId));
+    if (tenantId != null) {
+      job.setTenantId(tenantId);
+    }
+    commandContext.getJobManager().scheduleAsyncJob(job);
+    return job;
+  }
+
+}
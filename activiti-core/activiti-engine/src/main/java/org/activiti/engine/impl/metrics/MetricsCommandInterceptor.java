@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import org.activiti.engine.impl.interceptor.AbstractCommandInterceptor;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+
+/**
+ * Records the execution time of every command with the {@link MetricsRecorder}. Added as first interceptor, so the
+ * time includes committing the transaction.
+ */
+public class MetricsCommandInterceptor extends AbstractCommandInterceptor {
+
+  protected final MetricsRecorder metricsRecorder;
+
+  public MetricsCommandInterceptor(MetricsRecorder metricsRecorder) {
+    this.metricsRecorder = metricsRecorder;
+  }
+
+  public <T> T execute(CommandConfig config, Command<T> command) {
+    long start = System.nanoTime();
+    try {
+      T result = next.execute(config, command);
+      metricsRecorder.recordCommandExecution(command.getClass(), System.nanoTime() - start, null);
+      return result;
+    } catch (RuntimeException e) {
+      metricsRecorder.recordCommandExecution(command.getClass(), System.nanoTime() - start, e);
+      throw e;
+    } catch (Error e) {
+      metricsRecorder.recordCommandExecution(command.getClass(), System.nanoTime() - start, e);
+      throw e;
+    }
+  }
+
+}
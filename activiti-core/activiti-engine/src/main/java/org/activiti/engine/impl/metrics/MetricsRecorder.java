@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+/**
+ * Receives the measurements of the process engine when set as metricsRecorder on the process engine configuration,
+ * to publish them to a metrics library. All methods are called on the thread doing the work, so implementations
+ * must be thread safe and fast. Durations are in nanoseconds.
+ */
+public interface MetricsRecorder {
+
+  /**
+   * Called when a command executed through the command executor is done, including nested commands.
+   *
+   * @param exception the exception thrown by the command, or null when it succeeded
+   */
+  void recordCommandExecution(Class<?> commandClass, long durationInNanos, Throwable exception);
+
+  /**
+   * Called for every MyBatis statement executed by the engine. The statement is the id of the mapped statement,
+   * without namespace, like 'selectJobsToExecute'. When updates and deletes are batched, their duration is the time
+   * to add them to the batch.
+   */
+  void recordStatementExecution(String statement, long durationInNanos);
+
+  /**
+   * Called for every operation executed from the agenda.
+   *
+   * @param flowElementType the simple class name of the flow element the execution of the operation is at, like 'UserTask',
+   *          or null when there is no such flow element
+   */
+  void recordAgendaOperation(Class<?> operationClass, String flowElementType);
+
+  /**
+   * Called after every query of the async job acquisition thread for due async jobs.
+   */
+  void recordAsyncJobAcquisition(int acquiredJobs, long durationInNanos);
+
+  /**
+   * Called when the async job acquisition failed because another async executor locked one of the jobs first.
+   */
+  void recordAsyncJobAcquisitionCollision();
+
+  /**
+   * Called when the async executor is done executing a job.
+   *
+   * @param exception the exception thrown by the job, or null when it succeeded
+   */
+  void recordAsyncJobExecution(String jobHandlerType, long durationInNanos, Throwable exception);
+
+}
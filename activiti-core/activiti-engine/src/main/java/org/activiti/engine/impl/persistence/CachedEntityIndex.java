@@ -0,0 +1,23 @@
+package org.activiti.engine.impl.persistence;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.impl.persistence.cache.EntityCache;
+import org.activiti.engine.impl.persistence.entity.AbstractEntity;
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * Defines a secondary index of the {@link EntityCache}: the cached entities of a type are grouped by the key returned here
+ * (for example the parent id of an execution), so they can be found without checking all cached entities of that type.
+ * 
+ * Instances are used as identifier of the index, so the same instance must be used for all lookups on the same index.
+ * The entity must call {@link AbstractEntity#indexedPropertyChanged()} when the property the key is derived from changes.
+ */
+@Internal
+public interface CachedEntityIndex<EntityImpl extends Entity> {
+
+  /**
+   * Returns the key under which the entity is indexed, or null when the entity should not be indexed.
+   */
+  String getKey(EntityImpl entity);
+
+}
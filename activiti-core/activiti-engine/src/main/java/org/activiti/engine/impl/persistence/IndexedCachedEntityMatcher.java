@@ -0,0 +1,22 @@
+package org.activiti.engine.impl.persistence;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * A {@link CachedEntityMatcher} that only retains entities with a given key for a {@link CachedEntityIndex}.
+ * Only the cached entities with that key need to be checked, instead of all cached entities of the type.
+ * 
+ * Note that the matcher is still called for these entities, so it can check additional conditions.
+ */
+@Internal
+public interface IndexedCachedEntityMatcher<EntityImpl extends Entity> extends CachedEntityMatcher<EntityImpl> {
+
+  CachedEntityIndex<? super EntityImpl> getIndex();
+
+  /**
+   * Returns the key the retained entities have for the {@link #getIndex()}, given the parameter of the query.
+   */
+  String getIndexKey(Object param);
+
+}
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.cache;
 
+import org.activiti.engine.impl.persistence.entity.ChangeTrackingEntity;
 import org.activiti.engine.impl.persistence.entity.Entity;
 
 /**
@@ -31,10 +32,34 @@ public class CachedEntity {
    */
   protected Object originalPersistentState;
 
+  /**
+   * True when the entity records its own changes (see {@link ChangeTrackingEntity}),
+   * in which case no 'persistent state' is stored.
+   */
+  protected boolean changeTracked;
+
+  /**
+   * The entity cache that has this instance in its secondary indexes, if any.
+   */
+  protected EntityCacheImpl indexingEntityCache;
+
   public CachedEntity(Entity entity, boolean storeState) {
+    this(entity, storeState, false);
+  }
+
+  /**
+   * @param trackChanges when true and the entity is a {@link ChangeTrackingEntity}, the changes recorded by the entity
+   *                     are used to determine if it was updated, instead of a copy of its 'persistent state'.
+   */
+  public CachedEntity(Entity entity, boolean storeState, boolean trackChanges) {
     this.entity = entity;
     if (storeState) {
-      this.originalPersistentState = entity.getPersistentState();
+      if (trackChanges && entity instanceof ChangeTrackingEntity) {
+        ((ChangeTrackingEntity) entity).startChangeTracking();
+        this.changeTracked = true;
+      } else {
+        this.originalPersistentState = entity.getPersistentState();
+      }
     }
   }
   
@@ -54,7 +79,24 @@ public class CachedEntity {
     this.originalPersistentState = originalPersistentState;
   }
   
+  /**
+   * Called by the entity when a property that is used as key of a secondary index has changed.
+   */
+  public void indexedPropertyChanged() {
+    if (indexingEntityCache != null) {
+      indexingEntityCache.reindex(this);
+    }
+  }
+
+  public boolean isChangeTracked() {
+    return changeTracked;
+  }
+
   public boolean hasChanged() {
+    if (changeTracked) {
+      ChangeTrackingEntity changeTrackingEntity = (ChangeTrackingEntity) entity;
+      return (changeTrackingEntity.getChangedProperties() & changeTrackingEntity.getPersistentStateProperties()) != 0L;
+    }
     return entity.getPersistentState() != null && !entity.getPersistentState().equals(originalPersistentState);
   }
 
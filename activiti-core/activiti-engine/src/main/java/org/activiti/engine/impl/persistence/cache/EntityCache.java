@@ -18,6 +18,7 @@ import java.util.Map;
 
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.Session;
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.entity.Entity;
 
 /**
@@ -61,6 +62,13 @@ public interface EntityCache extends Session {
    * is returned, which gives access to the persistent state at the moment of putting it in the cache.  
    */
   <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass);
+
+  /**
+   * Returns the {@link CachedEntity} instances for the given type of which the {@link Entity}
+   * has the given key for the given {@link CachedEntityIndex}, without checking the other instances of that type.
+   * Returns null if no instances of the given type exist, like {@link #findInCacheAsCachedObjects(Class)}.
+   */
+  <T extends Entity> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass, CachedEntityIndex<? super T> index, String key);
   
   /**
    * Removes the {@link Entity} of the given type with the given id from the cache. 
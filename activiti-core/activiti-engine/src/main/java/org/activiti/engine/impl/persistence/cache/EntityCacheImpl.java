@@ -19,6 +19,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
+import org.activiti.engine.impl.persistence.entity.AbstractEntity;
+import org.activiti.engine.impl.persistence.entity.ChangeTrackingEntity;
 import org.activiti.engine.impl.persistence.entity.Entity;
 
 /**
@@ -27,6 +30,25 @@ import org.activiti.engine.impl.persistence.entity.Entity;
 public class EntityCacheImpl implements EntityCache {
   
   protected Map<Class<?>, Map<String, CachedEntity>> cachedObjects = new HashMap<Class<?>, Map<String,CachedEntity>>();
+
+  /**
+   * The secondary indexes per entity class. An index is created the first time it is used for a class,
+   * and from then on kept up to date when entities of that class are added, removed or changed.
+   */
+  protected Map<Class<?>, List<CachedEntityIndexData>> indexes = new HashMap<Class<?>, List<CachedEntityIndexData>>();
+
+  /**
+   * When true, the entities implementing {@link ChangeTrackingEntity} record their own changes,
+   * and no copy of their persistent state is taken when they are loaded.
+   */
+  protected boolean changeTrackingEnabled;
+
+  public EntityCacheImpl() {
+  }
+
+  public EntityCacheImpl(boolean changeTrackingEnabled) {
+    this.changeTrackingEnabled = changeTrackingEnabled;
+  }
   
   @Override
   public CachedEntity put(Entity entity, boolean storeState) {
@@ -35,8 +57,16 @@ public class EntityCacheImpl implements EntityCache {
       classCache = new HashMap<String, CachedEntity>();
       cachedObjects.put(entity.getClass(), classCache);
     }
-    CachedEntity cachedObject = new CachedEntity(entity, storeState);
-    classCache.put(entity.getId(), cachedObject);
+    CachedEntity cachedObject = new CachedEntity(entity, storeState, changeTrackingEnabled);
+    CachedEntity previousCachedObject = classCache.put(entity.getId(), cachedObject);
+
+    List<CachedEntityIndexData> classIndexes = indexes.get(entity.getClass());
+    if (classIndexes != null) {
+      if (previousCachedObject != null) {
+        removeFromIndexes(previousCachedObject, classIndexes);
+      }
+      addToIndexes(cachedObject, classIndexes);
+    }
     return cachedObject;
   }
   
@@ -76,7 +106,12 @@ public class EntityCacheImpl implements EntityCache {
     if (classCache == null) {
       return;
     }
-    classCache.remove(entityId);
+    CachedEntity cachedObject = classCache.remove(entityId);
+
+    List<CachedEntityIndexData> classIndexes = indexes.get(entityClass);
+    if (cachedObject != null && classIndexes != null) {
+      removeFromIndexes(cachedObject, classIndexes);
+    }
   }
   
   @Override
@@ -88,6 +123,95 @@ public class EntityCacheImpl implements EntityCache {
     return null;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends Entity> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass, CachedEntityIndex<? super T> index, String key) {
+    Map<String, CachedEntity> classCache = cachedObjects.get(entityClass);
+    if (classCache == null) {
+      return null;
+    }
+    if (key == null) {
+      return Collections.emptyList();
+    }
+
+    // Only subclasses of AbstractEntity notify the cache when their indexed properties change
+    if (!AbstractEntity.class.isAssignableFrom(entityClass)) {
+      List<CachedEntity> result = new ArrayList<CachedEntity>();
+      for (CachedEntity cachedObject : classCache.values()) {
+        if (key.equals(((CachedEntityIndex<Entity>) index).getKey(cachedObject.getEntity()))) {
+          result.add(cachedObject);
+        }
+      }
+      return result;
+    }
+
+    return getIndex(entityClass, (CachedEntityIndex<Entity>) index, classCache).find(key);
+  }
+
+  protected CachedEntityIndexData getIndex(Class<?> entityClass, CachedEntityIndex<Entity> index, Map<String, CachedEntity> classCache) {
+    List<CachedEntityIndexData> classIndexes = indexes.get(entityClass);
+    if (classIndexes == null) {
+      classIndexes = new ArrayList<CachedEntityIndexData>(2);
+      indexes.put(entityClass, classIndexes);
+    }
+    for (CachedEntityIndexData indexData : classIndexes) {
+      if (indexData.getIndex() == index) {
+        return indexData;
+      }
+    }
+
+    CachedEntityIndexData indexData = new CachedEntityIndexData(index);
+    for (CachedEntity cachedObject : classCache.values()) {
+      indexData.add(cachedObject);
+      attach(cachedObject);
+    }
+    classIndexes.add(indexData);
+    return indexData;
+  }
+
+  protected void addToIndexes(CachedEntity cachedObject, List<CachedEntityIndexData> classIndexes) {
+    for (CachedEntityIndexData indexData : classIndexes) {
+      indexData.add(cachedObject);
+    }
+    attach(cachedObject);
+  }
+
+  protected void removeFromIndexes(CachedEntity cachedObject, List<CachedEntityIndexData> classIndexes) {
+    for (CachedEntityIndexData indexData : classIndexes) {
+      indexData.remove(cachedObject);
+    }
+    detach(cachedObject);
+  }
+
+  /**
+   * Called when a property of the entity from which an index key is derived has changed.
+   */
+  protected void reindex(CachedEntity cachedObject) {
+    List<CachedEntityIndexData> classIndexes = indexes.get(cachedObject.getEntity().getClass());
+    if (classIndexes != null) {
+      for (CachedEntityIndexData indexData : classIndexes) {
+        indexData.update(cachedObject);
+      }
+    }
+  }
+
+  protected void attach(CachedEntity cachedObject) {
+    cachedObject.indexingEntityCache = this;
+    if (cachedObject.getEntity() instanceof AbstractEntity) {
+      ((AbstractEntity) cachedObject.getEntity()).setIndexedCachedEntity(cachedObject);
+    }
+  }
+
+  protected void detach(CachedEntity cachedObject) {
+    cachedObject.indexingEntityCache = null;
+    if (cachedObject.getEntity() instanceof AbstractEntity) {
+      AbstractEntity entity = (AbstractEntity) cachedObject.getEntity();
+      if (entity.getIndexedCachedEntity() == cachedObject) {
+        entity.setIndexedCachedEntity(null);
+      }
+    }
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> List<T> findInCache(Class<T> entityClass) {
@@ -111,15 +235,97 @@ public class EntityCacheImpl implements EntityCache {
   public Map<Class<?>, Map<String, CachedEntity>> getAllCachedEntities() {
     return cachedObjects;
   }
+
+  public boolean isChangeTrackingEnabled() {
+    return changeTrackingEnabled;
+  }
   
   @Override
   public void close() {
-    
+    // Entities can outlive the cache, they should not keep a reference to it
+    for (Class<?> indexedClass : indexes.keySet()) {
+      Map<String, CachedEntity> classCache = cachedObjects.get(indexedClass);
+      if (classCache != null) {
+        for (CachedEntity cachedObject : classCache.values()) {
+          detach(cachedObject);
+        }
+      }
+    }
+    indexes.clear();
   }
   
   @Override
   public void flush() {
     
   }
-  
+
+  /**
+   * The cached entities of one class, grouped by the key of one {@link CachedEntityIndex}.
+   */
+  protected static class CachedEntityIndexData {
+
+    protected final CachedEntityIndex<Entity> index;
+    protected final Map<String, Map<String, CachedEntity>> cachedObjectsByKey = new HashMap<String, Map<String, CachedEntity>>();
+    protected final Map<CachedEntity, String> keys = new HashMap<CachedEntity, String>();
+
+    public CachedEntityIndexData(CachedEntityIndex<Entity> index) {
+      this.index = index;
+    }
+
+    public CachedEntityIndex<Entity> getIndex() {
+      return index;
+    }
+
+    public Collection<CachedEntity> find(String key) {
+      Map<String, CachedEntity> cachedObjectsForKey = cachedObjectsByKey.get(key);
+      if (cachedObjectsForKey == null) {
+        return Collections.emptyList();
+      }
+      // A copy, as the caller might change the cache while iterating
+      return new ArrayList<CachedEntity>(cachedObjectsForKey.values());
+    }
+
+    public void add(CachedEntity cachedObject) {
+      String key = index.getKey(cachedObject.getEntity());
+      keys.put(cachedObject, key);
+      if (key != null) {
+        Map<String, CachedEntity> cachedObjectsForKey = cachedObjectsByKey.get(key);
+        if (cachedObjectsForKey == null) {
+          cachedObjectsForKey = new HashMap<String, CachedEntity>(4);
+          cachedObjectsByKey.put(key, cachedObjectsForKey);
+        }
+        cachedObjectsForKey.put(cachedObject.getEntity().getId(), cachedObject);
+      }
+    }
+
+    public void remove(CachedEntity cachedObject) {
+      if (!keys.containsKey(cachedObject)) {
+        return;
+      }
+      String key = keys.remove(cachedObject);
+      if (key != null) {
+        Map<String, CachedEntity> cachedObjectsForKey = cachedObjectsByKey.get(key);
+        if (cachedObjectsForKey != null && cachedObjectsForKey.get(cachedObject.getEntity().getId()) == cachedObject) {
+          cachedObjectsForKey.remove(cachedObject.getEntity().getId());
+          if (cachedObjectsForKey.isEmpty()) {
+            cachedObjectsByKey.remove(key);
+          }
+        }
+      }
+    }
+
+    public void update(CachedEntity cachedObject) {
+      if (!keys.containsKey(cachedObject)) {
+        return;
+      }
+      String oldKey = keys.get(cachedObject);
+      String newKey = index.getKey(cachedObject.getEntity());
+      if (oldKey == null ? newKey != null : !oldKey.equals(newKey)) {
+        remove(cachedObject);
+        add(cachedObject);
+      }
+    }
+
+  }
+
 }
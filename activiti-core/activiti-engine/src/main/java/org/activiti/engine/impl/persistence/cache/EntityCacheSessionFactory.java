@@ -0,0 +1,37 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.cache;
+
+import org.activiti.engine.impl.cfg.PerformanceSettings;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.Session;
+import org.activiti.engine.impl.interceptor.SessionFactory;
+
+/**
+ * Opens an {@link EntityCacheImpl} per command context, with entity change tracking when it is enabled in the
+ * {@link PerformanceSettings}.
+ */
+public class EntityCacheSessionFactory implements SessionFactory {
+
+  @Override
+  public Class<?> getSessionType() {
+    return EntityCache.class;
+  }
+
+  @Override
+  public Session openSession(CommandContext commandContext) {
+    PerformanceSettings performanceSettings = commandContext.getProcessEngineConfiguration().getPerformanceSettings();
+    return new EntityCacheImpl(performanceSettings.isEnableEntityChangeTracking());
+  }
+
+}
@@ -0,0 +1,198 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deployment cache for highly concurrent access: reads never take a lock.
+ * <p>
+ * Contrary to the {@link DefaultDeploymentCache}, a read does not reorder a shared structure: it only
+ * records the access time on the entry itself. The least recently used entries are evicted when an
+ * entry is added and either the maximum number of entries or the maximum total weight (as calculated
+ * by a {@link DeploymentCacheWeigher}) is exceeded. Additions are expected to be rare compared to reads,
+ * hence the eviction (a scan of the entries) happens under a lock.
+ * <p>
+ * The entry that was added last is never evicted, so that it can be retrieved right after it was added.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+  protected final ConcurrentMap<String, CacheEntry<T>> cache = new ConcurrentHashMap<String, CacheEntry<T>>();
+
+  protected final int limit;
+  protected final long maxWeight;
+  protected final DeploymentCacheWeigher<T> weigher;
+
+  protected final Object evictionLock = new Object();
+  protected final AtomicLong weight = new AtomicLong();
+
+  protected final LongAdder hitCount = new LongAdder();
+  protected final LongAdder missCount = new LongAdder();
+  protected final LongAdder evictionCount = new LongAdder();
+
+  /** Cache with no limit */
+  public ConcurrentDeploymentCache() {
+    this(-1, -1, null);
+  }
+
+  /**
+   * Cache which has a hard limit: no more elements will be cached than the limit.
+   */
+  public ConcurrentDeploymentCache(int limit) {
+    this(limit, -1, null);
+  }
+
+  /**
+   * Cache bounded by the number of elements (if the limit is positive) and by the total weight
+   * of the elements (if the maximum weight is positive and a weigher is given).
+   */
+  public ConcurrentDeploymentCache(int limit, long maxWeight, DeploymentCacheWeigher<T> weigher) {
+    this.limit = limit;
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  @Override
+  public T get(String id) {
+    CacheEntry<T> entry = cache.get(id);
+    if (entry == null) {
+      missCount.increment();
+      return null;
+    }
+    hitCount.increment();
+    entry.lastAccess = System.nanoTime();
+    return entry.value;
+  }
+
+  @Override
+  public boolean contains(String id) {
+    return cache.containsKey(id);
+  }
+
+  @Override
+  public void add(String id, T object) {
+    CacheEntry<T> entry = new CacheEntry<T>(object, weigh(id, object));
+    CacheEntry<T> previous = cache.put(id, entry);
+    weight.addAndGet(entry.weight - (previous != null ? previous.weight : 0));
+    if (isEvictionNeeded()) {
+      evict(id);
+    }
+  }
+
+  @Override
+  public void remove(String id) {
+    CacheEntry<T> entry = cache.remove(id);
+    if (entry != null) {
+      weight.addAndGet(-entry.weight);
+    }
+  }
+
+  @Override
+  public void clear() {
+    synchronized (evictionLock) {
+      for (String id : cache.keySet()) {
+        remove(id);
+      }
+    }
+  }
+
+  protected int weigh(String id, T object) {
+    if (weigher == null) {
+      return 1;
+    }
+    return weigher.weigh(id, object);
+  }
+
+  protected boolean isEvictionNeeded() {
+    return (limit > 0 && cache.size() > limit)
+        || (maxWeight > 0 && weigher != null && weight.get() > maxWeight);
+  }
+
+  protected void evict(String addedId) {
+    synchronized (evictionLock) {
+      while (isEvictionNeeded() && cache.size() > 1) {
+        Map.Entry<String, CacheEntry<T>> eldest = null;
+        for (Map.Entry<String, CacheEntry<T>> candidate : cache.entrySet()) {
+          if (!candidate.getKey().equals(addedId)
+              && (eldest == null || candidate.getValue().lastAccess - eldest.getValue().lastAccess < 0)) {
+            eldest = candidate;
+          }
+        }
+        if (eldest == null) {
+          return;
+        }
+        if (cache.remove(eldest.getKey(), eldest.getValue())) {
+          weight.addAndGet(-eldest.getValue().weight);
+          evictionCount.increment();
+          if (logger.isTraceEnabled()) {
+            logger.trace("Cache limit is reached, {} is evicted", eldest.getKey());
+          }
+        }
+      }
+    }
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * @return the total weight of the cached elements, which equals the {@link #size()} when no weigher is used.
+   */
+  public long getWeight() {
+    return weight.get();
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  protected static class CacheEntry<T> {
+
+    protected final T value;
+    protected final int weight;
+    protected volatile long lastAccess;
+
+    public CacheEntry(T value, int weight) {
+      this.value = value;
+      this.weight = weight;
+      this.lastAccess = System.nanoTime();
+    }
+  }
+
+}
@@ -33,6 +33,11 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     this.processDefinition = processDefinition;
     this.bpmnModel = bpmnModel;
     this.process = process;
+
+    // The cached process is no longer changed, its type lookups are done on every execution
+    if (process != null) {
+      process.buildFlowElementIndex();
+    }
   }
 
   public ProcessDefinition getProcessDefinition() {
@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.Process;
+
+/**
+ * Weighs a {@link ProcessDefinitionCacheEntry} by the number of flow elements (including the ones
+ * nested in sub processes) of its {@link BpmnModel}.
+ */
+public class ProcessDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<ProcessDefinitionCacheEntry> {
+
+  @Override
+  public int weigh(String id, ProcessDefinitionCacheEntry cacheEntry) {
+    BpmnModel bpmnModel = cacheEntry.getBpmnModel();
+    if (bpmnModel == null) {
+      return 1;
+    }
+
+    int weight = 0;
+    for (Process process : bpmnModel.getProcesses()) {
+      weight += process.findFlowElementsOfType(FlowElement.class, true).size();
+    }
+    return Math.max(weight, 1);
+  }
+
+}
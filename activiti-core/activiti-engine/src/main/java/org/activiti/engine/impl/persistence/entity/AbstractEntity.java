@@ -13,6 +13,8 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import org.activiti.engine.impl.db.HasRevision;
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
+import org.activiti.engine.impl.persistence.cache.CachedEntity;
 
 /**
  * Abstract superclass for the common properties of all {@link Entity} implementations.
@@ -27,7 +29,18 @@ public abstract class AbstractEntity implements Entity, HasRevision {
   protected boolean isInserted;
   protected boolean isUpdated;
   protected boolean isDeleted;
-  
+
+  /**
+   * The entry of this entity in the entity cache, only set when the cache has secondary indexes for the type of this entity.
+   */
+  protected transient CachedEntity indexedCachedEntity;
+
+  /**
+   * The persistent properties changed since {@link #startChangeTracking()}, one bit per property.
+   * Only maintained by the entities implementing {@link ChangeTrackingEntity}.
+   */
+  protected transient long changedProperties;
+
   @Override
   public String getId() {
     return id;
@@ -73,5 +86,51 @@ public abstract class AbstractEntity implements Entity, HasRevision {
   public void setDeleted(boolean isDeleted) {
     this.isDeleted = isDeleted;
   }
-  
+
+  public CachedEntity getIndexedCachedEntity() {
+    return indexedCachedEntity;
+  }
+
+  public void setIndexedCachedEntity(CachedEntity indexedCachedEntity) {
+    this.indexedCachedEntity = indexedCachedEntity;
+  }
+
+  /**
+   * Must be called when a property from which a {@link CachedEntityIndex} key is derived has changed,
+   * so the entity cache can move the entity to its new key.
+   */
+  public void indexedPropertyChanged() {
+    if (indexedCachedEntity != null) {
+      indexedCachedEntity.indexedPropertyChanged();
+    }
+  }
+
+  public void startChangeTracking() {
+    changedProperties = 0L;
+  }
+
+  public long getChangedProperties() {
+    return changedProperties;
+  }
+
+  public boolean isPropertyChanged(long property) {
+    return (getChangedProperties() & property) != 0L;
+  }
+
+  protected void propertyChanged(long property) {
+    changedProperties |= property;
+  }
+
+  protected void propertyChanged(long property, boolean changed) {
+    if (changed) {
+      changedProperties |= property;
+    }
+  }
+
+  protected void propertyChanged(long property, Object oldValue, Object newValue) {
+    if (oldValue == null ? newValue != null : !oldValue.equals(newValue)) {
+      changedProperties |= property;
+    }
+  }
+
 }
@@ -29,10 +29,26 @@ import org.apache.commons.lang3.StringUtils;
  *
 
  */
-public abstract class AbstractJobEntityImpl extends AbstractEntity implements AbstractJobEntity, BulkDeleteable, Serializable {
+public abstract class AbstractJobEntityImpl extends AbstractEntity implements AbstractJobEntity, BulkDeleteable, Serializable, ChangeTrackingEntity {
 
   private static final long serialVersionUID = 1L;
 
+  // changed properties, see ChangeTrackingEntity
+
+  public static final long PROPERTY_RETRIES = 1L;
+  public static final long PROPERTY_DUEDATE = 1L << 1;
+  public static final long PROPERTY_EXCEPTION_MESSAGE = 1L << 2;
+  public static final long PROPERTY_EXCEPTION_BYTE_ARRAY_ID = 1L << 3;
+  /** Only for the jobs that can be locked */
+  public static final long PROPERTY_LOCK_OWNER = 1L << 4;
+  /** Only for the jobs that can be locked */
+  public static final long PROPERTY_LOCK_EXPIRATION_TIME = 1L << 5;
+
+  protected static final long PERSISTENT_STATE_PROPERTIES = (PROPERTY_LOCK_EXPIRATION_TIME << 1) - 1;
+
+  /** The id of the exception byte array when the change tracking started, as the byte array is changed through its {@link ByteArrayRef} */
+  protected transient String trackedExceptionByteArrayId;
+
   protected Date duedate;
 
   protected String executionId;
@@ -69,12 +85,32 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
     return persistentState;
   }
 
+  @Override
+  public void startChangeTracking() {
+    super.startChangeTracking();
+    trackedExceptionByteArrayId = exceptionByteArrayRef != null ? exceptionByteArrayRef.getId() : null;
+  }
+
+  @Override
+  public long getChangedProperties() {
+    String exceptionByteArrayId = exceptionByteArrayRef != null ? exceptionByteArrayRef.getId() : null;
+    if (exceptionByteArrayId == null ? trackedExceptionByteArrayId != null : !exceptionByteArrayId.equals(trackedExceptionByteArrayId)) {
+      return changedProperties | PROPERTY_EXCEPTION_BYTE_ARRAY_ID;
+    }
+    return changedProperties;
+  }
+
+  public long getPersistentStateProperties() {
+    return PERSISTENT_STATE_PROPERTIES;
+  }
+
   // getters and setters ////////////////////////////////////////////////////////
 
   public void setExecution(ExecutionEntity execution) {
     executionId = execution.getId();
     processInstanceId = execution.getProcessInstanceId();
     processDefinitionId = execution.getProcessDefinitionId();
+    indexedPropertyChanged();
   }
 
   public Date getDuedate() {
@@ -82,6 +118,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
   }
 
   public void setDuedate(Date duedate) {
+    propertyChanged(PROPERTY_DUEDATE, this.duedate, duedate);
     this.duedate = duedate;
   }
 
@@ -91,6 +128,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
 
   public void setExecutionId(String executionId) {
     this.executionId = executionId;
+    indexedPropertyChanged();
   }
 
   public int getRetries() {
@@ -98,6 +136,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
   }
 
   public void setRetries(int retries) {
+    propertyChanged(PROPERTY_RETRIES, this.retries != retries);
     this.retries = retries;
   }
 
@@ -210,7 +249,9 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
   }
 
   public void setExceptionMessage(String exceptionMessage) {
-    this.exceptionMessage = StringUtils.abbreviate(exceptionMessage, MAX_EXCEPTION_MESSAGE_LENGTH);
+    String abbreviatedExceptionMessage = StringUtils.abbreviate(exceptionMessage, MAX_EXCEPTION_MESSAGE_LENGTH);
+    propertyChanged(PROPERTY_EXCEPTION_MESSAGE, this.exceptionMessage, abbreviatedExceptionMessage);
+    this.exceptionMessage = abbreviatedExceptionMessage;
   }
 
   public ByteArrayRef getExceptionByteArrayRef() {
@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * An {@link Entity} whose setters record which of its persistent properties have changed, one bit per property.
+ * <p>
+ * When entity change tracking is enabled, the entity cache uses these bits to decide if a loaded entity must be
+ * updated, instead of comparing a snapshot of the persistent state with the current one. The update then only
+ * sets the columns of the changed properties, when the entity has an 'updateChanged' statement in its mapping.
+ */
+@Internal
+public interface ChangeTrackingEntity extends Entity {
+
+  /**
+   * Forgets the changes done so far. Called when the entity is loaded, so the setters called while mapping
+   * the database row to the entity are not seen as changes.
+   */
+  void startChangeTracking();
+
+  /**
+   * @return the persistent properties changed since {@link #startChangeTracking()}, one bit per property;
+   *         0 when the entity has not changed.
+   */
+  long getChangedProperties();
+
+  /**
+   * @return the properties of the {@link #getPersistentState() persistent state}: only a change to one of these
+   *         properties makes the entity updated. The other changed properties are written when the entity is updated anyway.
+   */
+  long getPersistentStateProperties();
+
+}
@@ -12,6 +12,8 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
@@ -31,4 +33,18 @@ public interface EventLogEntryEntityManager extends EntityManager<EventLogEntryE
 
   void deleteEventLogEntry(long logNr);
 
+  List<EventLogEntry> findUnprocessedEventLogEntriesByType(String type, int maxResults);
+
+  void markEventLogEntryProcessed(long logNr);
+
+  List<EventLogEntry> findUnlockedEventLogEntriesByType(String type, Date lockedBefore, int maxResults);
+
+  int lockEventLogEntry(long logNr, String lockOwner, Date lockTime, Date lockedBefore);
+
+  int updateLockedEventLogEntry(long logNr, String lockOwner, byte[] data, boolean processed);
+
+  int deleteEventLogEntries(Collection<Long> logNrs);
+
+  int deleteProcessedEventLogEntriesByType(String type, Date createdBefore);
+
 }
\ No newline at end of file
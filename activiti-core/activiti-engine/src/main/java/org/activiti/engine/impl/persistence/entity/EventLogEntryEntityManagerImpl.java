@@ -13,6 +13,8 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.event.EventLogEntry;
@@ -57,6 +59,41 @@ public class EventLogEntryEntityManagerImpl extends AbstractEntityManager<EventL
     eventLogEntryDataManager.deleteEventLogEntry(logNr);
   }
 
+  @Override
+  public List<EventLogEntry> findUnprocessedEventLogEntriesByType(String type, int maxResults) {
+    return eventLogEntryDataManager.findUnprocessedEventLogEntriesByType(type, maxResults);
+  }
+
+  @Override
+  public void markEventLogEntryProcessed(long logNr) {
+    eventLogEntryDataManager.markEventLogEntryProcessed(logNr);
+  }
+
+  @Override
+  public List<EventLogEntry> findUnlockedEventLogEntriesByType(String type, Date lockedBefore, int maxResults) {
+    return eventLogEntryDataManager.findUnlockedEventLogEntriesByType(type, lockedBefore, maxResults);
+  }
+
+  @Override
+  public int lockEventLogEntry(long logNr, String lockOwner, Date lockTime, Date lockedBefore) {
+    return eventLogEntryDataManager.lockEventLogEntry(logNr, lockOwner, lockTime, lockedBefore);
+  }
+
+  @Override
+  public int updateLockedEventLogEntry(long logNr, String lockOwner, byte[] data, boolean processed) {
+    return eventLogEntryDataManager.updateLockedEventLogEntry(logNr, lockOwner, data, processed);
+  }
+
+  @Override
+  public int deleteEventLogEntries(Collection<Long> logNrs) {
+    return eventLogEntryDataManager.deleteEventLogEntries(logNrs);
+  }
+
+  @Override
+  public int deleteProcessedEventLogEntriesByType(String type, Date createdBefore) {
+    return eventLogEntryDataManager.deleteProcessedEventLogEntriesByType(type, createdBefore);
+  }
+
   public EventLogEntryDataManager getEventLogEntryDataManager() {
     return eventLogEntryDataManager;
   }
@@ -68,6 +68,7 @@ public abstract class EventSubscriptionEntityImpl extends AbstractEntity impleme
 
   public void setEventName(String eventName) {
     this.eventName = eventName;
+    indexedPropertyChanged();
   }
 
   public String getExecutionId() {
@@ -76,6 +77,7 @@ public abstract class EventSubscriptionEntityImpl extends AbstractEntity impleme
 
   public void setExecutionId(String executionId) {
     this.executionId = executionId;
+    indexedPropertyChanged();
   }
   
   public ExecutionEntity getExecution() {
@@ -90,6 +92,7 @@ public abstract class EventSubscriptionEntityImpl extends AbstractEntity impleme
     if (execution != null) {
       this.executionId = execution.getId();
       this.processInstanceId = execution.getProcessInstanceId();
+      indexedPropertyChanged();
     }
   }
 
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.bpmn.model.Signal;
@@ -80,6 +81,12 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
   /* Find (signal) */
   
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventName(String eventName, String tenantId);
+
+  /**
+   * Finds the signal event subscriptions created at or before the given date, ordered by id, with an id after
+   * idAfter (when not null) and up to lastId (when not null), returning at most maxResults of them.
+   */
+  List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAfterId(String eventName, String tenantId, Date createdBefore, String idAfter, String lastId, int maxResults);
   
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName);
   
@@ -14,6 +14,7 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.bpmn.model.Signal;
@@ -191,6 +192,11 @@ public class EventSubscriptionEntityManagerImpl extends AbstractEntityManager<Ev
     return eventSubscriptionDataManager.findSignalEventSubscriptionsByEventName(eventName, tenantId);
   }
 
+  @Override
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAfterId(String eventName, String tenantId, Date createdBefore, String idAfter, String lastId, int maxResults) {
+    return eventSubscriptionDataManager.findSignalEventSubscriptionsByEventNameAfterId(eventName, tenantId, createdBefore, idAfter, lastId, maxResults);
+  }
+
   @Override
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName) {
     return eventSubscriptionDataManager.findSignalEventSubscriptionsByProcessInstanceAndEventName(processInstanceId, eventName);
@@ -31,10 +31,42 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
 import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 
-public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity {
+public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity, ChangeTrackingEntity {
 
   private static final long serialVersionUID = 1L;
 
+  // changed properties, see ChangeTrackingEntity /////////////////////////////
+
+  public static final long PROPERTY_PROCESS_DEFINITION_ID = 1L;
+  public static final long PROPERTY_BUSINESS_KEY = 1L << 1;
+  public static final long PROPERTY_ACTIVITY_ID = 1L << 2;
+  public static final long PROPERTY_IS_ACTIVE = 1L << 3;
+  public static final long PROPERTY_IS_CONCURRENT = 1L << 4;
+  public static final long PROPERTY_IS_SCOPE = 1L << 5;
+  public static final long PROPERTY_IS_EVENT_SCOPE = 1L << 6;
+  public static final long PROPERTY_PARENT_ID = 1L << 7;
+  public static final long PROPERTY_NAME = 1L << 8;
+  public static final long PROPERTY_LOCK_TIME = 1L << 9;
+  public static final long PROPERTY_SUPER_EXECUTION_ID = 1L << 10;
+  public static final long PROPERTY_ROOT_PROCESS_INSTANCE_ID = 1L << 11;
+  public static final long PROPERTY_FORCED_UPDATE = 1L << 12;
+  public static final long PROPERTY_SUSPENSION_STATE = 1L << 13;
+  public static final long PROPERTY_START_TIME = 1L << 14;
+  public static final long PROPERTY_START_USER_ID = 1L << 15;
+  public static final long PROPERTY_EVENT_SUBSCRIPTION_COUNT = 1L << 16;
+  public static final long PROPERTY_TASK_COUNT = 1L << 17;
+  public static final long PROPERTY_JOB_COUNT = 1L << 18;
+  public static final long PROPERTY_TIMER_JOB_COUNT = 1L << 19;
+  public static final long PROPERTY_SUSPENDED_JOB_COUNT = 1L << 20;
+  public static final long PROPERTY_DEAD_LETTER_JOB_COUNT = 1L << 21;
+  public static final long PROPERTY_VARIABLE_COUNT = 1L << 22;
+  public static final long PROPERTY_IDENTITY_LINK_COUNT = 1L << 23;
+  public static final long PROPERTY_IS_MULTI_INSTANCE_ROOT = 1L << 24;
+  public static final long PROPERTY_IS_COUNT_ENABLED = 1L << 25;
+  public static final long PROPERTY_APP_VERSION = 1L << 26;
+
+  protected static final long PERSISTENT_STATE_PROPERTIES = PROPERTY_IS_MULTI_INSTANCE_ROOT - 1;
+
   // current position /////////////////////////////////////////////////////////
 
   protected FlowElement currentFlowElement;
@@ -250,6 +282,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
    return persistentState;
  }
 
+  public long getPersistentStateProperties() {
+    return PERSISTENT_STATE_PROPERTIES;
+  }
+
   // The current flow element, will be filled during operation execution
 
   public FlowElement getCurrentFlowElement() {
@@ -266,8 +302,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   public void setCurrentFlowElement(FlowElement currentFlowElement) {
     this.currentFlowElement = currentFlowElement;
     if (currentFlowElement != null) {
+      propertyChanged(PROPERTY_ACTIVITY_ID, this.activityId, currentFlowElement.getId());
       this.activityId = currentFlowElement.getId();
     } else {
+      propertyChanged(PROPERTY_ACTIVITY_ID, this.activityId, null);
       this.activityId = null;
     }
   }
@@ -308,6 +346,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setBusinessKey(String businessKey) {
+    propertyChanged(PROPERTY_BUSINESS_KEY, this.businessKey, businessKey);
     this.businessKey = businessKey;
   }
 
@@ -318,6 +357,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   // process definition ///////////////////////////////////////////////////////
 
   public void setProcessDefinitionId(String processDefinitionId) {
+    propertyChanged(PROPERTY_PROCESS_DEFINITION_ID, this.processDefinitionId, processDefinitionId);
     this.processDefinitionId = processDefinitionId;
   }
 
@@ -375,6 +415,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     this.processInstance = (ExecutionEntityImpl) processInstance;
     if (processInstance != null) {
       this.processInstanceId = this.processInstance.getId();
+      indexedPropertyChanged();
     }
   }
 
@@ -400,10 +441,13 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     this.parent = (ExecutionEntityImpl) parent;
 
     if (parent != null) {
+      propertyChanged(PROPERTY_PARENT_ID, this.parentId, parent.getId());
       this.parentId = parent.getId();
     } else {
+      propertyChanged(PROPERTY_PARENT_ID, this.parentId, null);
       this.parentId = null;
     }
+    indexedPropertyChanged();
   }
 
   // parent process instance id      /////////////////////////////////////////
@@ -434,9 +478,11 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
 
     if (superExecution != null) {
+      propertyChanged(PROPERTY_SUPER_EXECUTION_ID, this.superExecutionId, superExecution.getId());
       this.superExecutionId = ((ExecutionEntityImpl) superExecution).getId();
       this.parentProcessInstanceId = superExecution.getProcessInstanceId();
     } else {
+      propertyChanged(PROPERTY_SUPER_EXECUTION_ID, this.superExecutionId, null);
       this.superExecutionId = null;
       this.parentProcessInstanceId = null;
     }
@@ -478,8 +524,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     this.rootProcessInstance = (ExecutionEntityImpl) rootProcessInstance;
 
     if (rootProcessInstance != null) {
+      propertyChanged(PROPERTY_ROOT_PROCESS_INSTANCE_ID, this.rootProcessInstanceId, rootProcessInstance.getId());
       this.rootProcessInstanceId = rootProcessInstance.getId();
     } else {
+      propertyChanged(PROPERTY_ROOT_PROCESS_INSTANCE_ID, this.rootProcessInstanceId, null);
       this.rootProcessInstanceId = null;
     }
   }
@@ -489,6 +537,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setRootProcessInstanceId(String rootProcessInstanceId) {
+    propertyChanged(PROPERTY_ROOT_PROCESS_INSTANCE_ID, this.rootProcessInstanceId, rootProcessInstanceId);
     this.rootProcessInstanceId = rootProcessInstanceId;
   }
 
@@ -499,10 +548,12 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setScope(boolean isScope) {
+    propertyChanged(PROPERTY_IS_SCOPE, this.isScope != isScope);
     this.isScope = isScope;
   }
 
   public void forceUpdate() {
+    propertyChanged(PROPERTY_FORCED_UPDATE);
     this.forcedUpdate = true;
   }
 
@@ -660,6 +711,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
   public void setProcessInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
+    indexedPropertyChanged();
   }
 
   public String getParentId() {
@@ -667,7 +719,9 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setParentId(String parentId) {
+    propertyChanged(PROPERTY_PARENT_ID, this.parentId, parentId);
     this.parentId = parentId;
+    indexedPropertyChanged();
   }
 
   public String getActivityId() {
@@ -679,6 +733,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setConcurrent(boolean isConcurrent) {
+    propertyChanged(PROPERTY_IS_CONCURRENT, this.isConcurrent != isConcurrent);
     this.isConcurrent = isConcurrent;
   }
 
@@ -687,10 +742,12 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setActive(boolean isActive) {
+    propertyChanged(PROPERTY_IS_ACTIVE, this.isActive != isActive);
     this.isActive = isActive;
   }
 
   public void inactivate() {
+    propertyChanged(PROPERTY_IS_ACTIVE, this.isActive);
     this.isActive = false;
   }
 
@@ -723,6 +780,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setSuspensionState(int suspensionState) {
+    propertyChanged(PROPERTY_SUSPENSION_STATE, this.suspensionState != suspensionState);
     this.suspensionState = suspensionState;
   }
 
@@ -735,6 +793,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setEventScope(boolean isEventScope) {
+    propertyChanged(PROPERTY_IS_EVENT_SCOPE, this.isEventScope != isEventScope);
     this.isEventScope = isEventScope;
   }
 
@@ -745,6 +804,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
   @Override
   public void setMultiInstanceRoot(boolean isMultiInstanceRoot) {
+    propertyChanged(PROPERTY_IS_MULTI_INSTANCE_ROOT, this.isMultiInstanceRoot != isMultiInstanceRoot);
     this.isMultiInstanceRoot = isMultiInstanceRoot;
   }
 
@@ -755,6 +815,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
   @Override
   public void setCountEnabled(boolean isCountEnabled) {
+    propertyChanged(PROPERTY_IS_COUNT_ENABLED, this.isCountEnabled != isCountEnabled);
     this.isCountEnabled = isCountEnabled;
   }
 
@@ -772,6 +833,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setName(String name) {
+    propertyChanged(PROPERTY_NAME, this.name, name);
     this.name = name;
   }
 
@@ -816,6 +878,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setLockTime(Date lockTime) {
+    propertyChanged(PROPERTY_LOCK_TIME, this.lockTime, lockTime);
     this.lockTime = lockTime;
   }
 
@@ -859,6 +922,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setStartUserId(String startUserId) {
+    propertyChanged(PROPERTY_START_USER_ID, this.startUserId, startUserId);
     this.startUserId = startUserId;
   }
 
@@ -867,6 +931,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setStartTime(Date startTime) {
+    propertyChanged(PROPERTY_START_TIME, this.startTime, startTime);
     this.startTime = startTime;
   }
 
@@ -875,6 +940,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setEventSubscriptionCount(int eventSubscriptionCount) {
+    propertyChanged(PROPERTY_EVENT_SUBSCRIPTION_COUNT, this.eventSubscriptionCount != eventSubscriptionCount);
     this.eventSubscriptionCount = eventSubscriptionCount;
   }
 
@@ -883,6 +949,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setTaskCount(int taskCount) {
+    propertyChanged(PROPERTY_TASK_COUNT, this.taskCount != taskCount);
     this.taskCount = taskCount;
   }
 
@@ -891,6 +958,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setJobCount(int jobCount) {
+    propertyChanged(PROPERTY_JOB_COUNT, this.jobCount != jobCount);
     this.jobCount = jobCount;
   }
 
@@ -899,6 +967,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setTimerJobCount(int timerJobCount) {
+    propertyChanged(PROPERTY_TIMER_JOB_COUNT, this.timerJobCount != timerJobCount);
     this.timerJobCount = timerJobCount;
   }
 
@@ -907,6 +976,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setSuspendedJobCount(int suspendedJobCount) {
+    propertyChanged(PROPERTY_SUSPENDED_JOB_COUNT, this.suspendedJobCount != suspendedJobCount);
     this.suspendedJobCount = suspendedJobCount;
   }
 
@@ -915,6 +985,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setDeadLetterJobCount(int deadLetterJobCount) {
+    propertyChanged(PROPERTY_DEAD_LETTER_JOB_COUNT, this.deadLetterJobCount != deadLetterJobCount);
     this.deadLetterJobCount = deadLetterJobCount;
   }
 
@@ -923,6 +994,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setVariableCount(int variableCount) {
+    propertyChanged(PROPERTY_VARIABLE_COUNT, this.variableCount != variableCount);
     this.variableCount = variableCount;
   }
 
@@ -931,11 +1003,13 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setIdentityLinkCount(int identityLinkCount) {
+    propertyChanged(PROPERTY_IDENTITY_LINK_COUNT, this.identityLinkCount != identityLinkCount);
     this.identityLinkCount = identityLinkCount;
   }
 
     @Override
     public void setAppVersion(Integer appVersion) {
+        propertyChanged(PROPERTY_APP_VERSION, this.appVersion, appVersion);
         this.appVersion = appVersion;
     }
 
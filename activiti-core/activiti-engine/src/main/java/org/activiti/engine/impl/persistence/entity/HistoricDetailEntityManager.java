@@ -25,6 +25,8 @@ public interface HistoricDetailEntityManager extends EntityManager<HistoricDetai
 
   HistoricDetailVariableInstanceUpdateEntity copyAndInsertHistoricDetailVariableInstanceUpdateEntity(VariableInstanceEntity variableInstance);
 
+  HistoricDetailVariableInstanceUpdateEntity createHistoricDetailVariableInstanceUpdate();
+
   long findHistoricDetailCountByQueryCriteria(HistoricDetailQueryImpl historicVariableUpdateQuery);
 
   List<HistoricDetail> findHistoricDetailsByQueryCriteria(HistoricDetailQueryImpl historicVariableUpdateQuery, Page page);
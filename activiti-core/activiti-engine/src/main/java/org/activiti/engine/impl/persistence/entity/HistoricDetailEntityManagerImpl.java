@@ -38,6 +38,11 @@ public class HistoricDetailEntityManagerImpl extends AbstractEntityManager<Histo
     return historicDetailDataManager;
   }
   
+  @Override
+  public HistoricDetailVariableInstanceUpdateEntity createHistoricDetailVariableInstanceUpdate() {
+    return historicDetailDataManager.createHistoricDetailVariableInstanceUpdate();
+  }
+
   @Override
   public HistoricDetailVariableInstanceUpdateEntity copyAndInsertHistoricDetailVariableInstanceUpdateEntity(VariableInstanceEntity variableInstance) {
     HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = historicDetailDataManager.createHistoricDetailVariableInstanceUpdate();
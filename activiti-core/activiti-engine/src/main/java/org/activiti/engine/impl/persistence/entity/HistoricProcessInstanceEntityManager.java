@@ -12,8 +12,10 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.history.HistoricProcessInstance;
@@ -31,6 +33,8 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
 
   List<HistoricProcessInstance> findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
+  void forEachHistoricProcessInstanceByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery, Consumer<? super HistoricProcessInstance> consumer);
+
   List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
   List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
@@ -39,4 +43,11 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
   
   void deleteHistoricProcessInstanceByProcessDefinitionId(String processDefinitionId);
 
+  /**
+   * Deletes at most batchSize finished historic process instances that ended before the given date, with all their history.
+   *
+   * @return the number of deleted historic process instances
+   */
+  int deleteFinishedHistoricProcessInstancesEndedBefore(Date endedBefore, int batchSize);
+
 }
\ No newline at end of file
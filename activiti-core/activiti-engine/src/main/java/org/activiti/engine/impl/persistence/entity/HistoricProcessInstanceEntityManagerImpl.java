@@ -14,8 +14,10 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
@@ -79,6 +81,19 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
     }
   }
 
+  @Override
+  public int deleteFinishedHistoricProcessInstancesEndedBefore(Date endedBefore, int batchSize) {
+    if (!getHistoryManager().isHistoryEnabled()) {
+      return 0;
+    }
+
+    List<String> historicProcessInstanceIds = historicProcessInstanceDataManager.findFinishedHistoricProcessInstanceIdsEndedBefore(endedBefore, batchSize);
+    if (!historicProcessInstanceIds.isEmpty()) {
+      historicProcessInstanceDataManager.bulkDeleteHistoricProcessInstances(historicProcessInstanceIds);
+    }
+    return historicProcessInstanceIds.size();
+  }
+
   @Override
   public long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     if (getHistoryManager().isHistoryEnabled()) {
@@ -96,6 +111,13 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
     return Collections.EMPTY_LIST;
   }
 
+  @Override
+  public void forEachHistoricProcessInstanceByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery, Consumer<? super HistoricProcessInstance> consumer) {
+    if (getHistoryManager().isHistoryEnabled()) {
+      historicProcessInstanceDataManager.forEachHistoricProcessInstanceByQueryCriteria(historicProcessInstanceQuery, consumer);
+    }
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
@@ -32,4 +32,12 @@ public interface JobEntity extends AbstractJobEntity {
   Date getLockExpirationTime();
 
   void setLockExpirationTime(Date claimedUntil);
+
+  /**
+   * The partition of the job, derived from its process instance when the job is inserted.
+   * Used by the async executor when acquiring jobs per partition.
+   */
+  Integer getPartition();
+
+  void setPartition(Integer partition);
 }
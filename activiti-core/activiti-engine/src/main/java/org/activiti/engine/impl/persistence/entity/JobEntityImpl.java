@@ -27,6 +27,7 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
 
   protected String lockOwner;
   protected Date lockExpirationTime;
+  protected Integer partition;
 
   @SuppressWarnings("unchecked")
   public Object getPersistentState() {
@@ -49,6 +50,7 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
   }
 
   public void setLockOwner(String claimedBy) {
+    propertyChanged(PROPERTY_LOCK_OWNER, this.lockOwner, claimedBy);
     this.lockOwner = claimedBy;
   }
 
@@ -57,9 +59,18 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
   }
 
   public void setLockExpirationTime(Date claimedUntil) {
+    propertyChanged(PROPERTY_LOCK_EXPIRATION_TIME, this.lockExpirationTime, claimedUntil);
     this.lockExpirationTime = claimedUntil;
   }
 
+  public Integer getPartition() {
+    return partition;
+  }
+
+  public void setPartition(Integer partition) {
+    this.partition = partition;
+  }
+
   @Override
   public String toString() {
     return "JobEntity [id=" + id + "]";
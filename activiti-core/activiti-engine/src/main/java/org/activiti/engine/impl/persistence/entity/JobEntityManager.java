@@ -12,8 +12,11 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.JobQueryImpl;
 import org.activiti.engine.impl.Page;
@@ -41,9 +44,27 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    * For example used by the default {@link AcquireJobsCmd} command used by 
    * the default {@link AcquireTimerJobsRunnable} implementation to get async jobs 
    * that can be executed.
+   * 
+   * The returned instances are not added to the entity cache: they are meant
+   * to be locked through {@link #lockJobs(List, String, Date)}.
    */
   List<JobEntity> findJobsToExecute(Page page);
 
+  /**
+   * Same as {@link #findJobsToExecute(Page)}, but only returns the jobs in the given partitions.
+   * The jobs without a partition are returned together with partition 0.
+   */
+  List<JobEntity> findJobsToExecute(Collection<Integer> partitions, Page page);
+
+  /**
+   * Locks the given {@link JobEntity} instances for the given lock owner using one bulk update statement.
+   * 
+   * Throws an {@link ActivitiOptimisticLockingException} when not all jobs could be locked,
+   * for example because another executor acquired one of them concurrently. 
+   * On success, the lock owner, lock expiration time and revision of the passed instances are updated.
+   */
+  void lockJobs(List<JobEntity> jobs, String lockOwner, Date lockExpirationTime);
+
   /**
    * Returns all {@link JobEntity} instances related to on {@link ExecutionEntity}. 
    */
@@ -13,8 +13,12 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.JobQueryImpl;
@@ -79,13 +83,55 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
 
         super.insert(jobEntity,
                      fireCreateEvent);
+
+        // All jobs of a process instance go to the same partition, so they are acquired by the same async executor
+        jobEntity.setPartition(calculatePartition(jobEntity));
         return true;
     }
 
+    protected int calculatePartition(JobEntity jobEntity) {
+        String partitionKey = jobEntity.getProcessInstanceId() != null ? jobEntity.getProcessInstanceId() : jobEntity.getId();
+        return Math.floorMod(partitionKey.hashCode(),
+                             getProcessEngineConfiguration().getAsyncExecutorNumberOfPartitions());
+    }
+
     public List<JobEntity> findJobsToExecute(Page page) {
         return jobDataManager.findJobsToExecute(page);
     }
 
+    @Override
+    public List<JobEntity> findJobsToExecute(Collection<Integer> partitions,
+                                             Page page) {
+        if (partitions.isEmpty()) {
+            return new ArrayList<JobEntity>();
+        }
+        return jobDataManager.findJobsToExecute(partitions,
+                                                page);
+    }
+
+    @Override
+    public void lockJobs(List<JobEntity> jobs,
+                         String lockOwner,
+                         Date lockExpirationTime) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        int updatedRecords = jobDataManager.bulkUpdateJobLock(jobs,
+                                                              lockOwner,
+                                                              lockExpirationTime);
+        if (updatedRecords != jobs.size()) {
+            throw new ActivitiOptimisticLockingException("Could only lock " + updatedRecords + " of " + jobs.size()
+                                                                 + " jobs: they were updated by another transaction concurrently");
+        }
+
+        for (JobEntity job : jobs) {
+            job.setLockOwner(lockOwner);
+            job.setLockExpirationTime(lockExpirationTime);
+            job.setRevision(job.getRevisionNext());
+        }
+    }
+
     @Override
     public List<JobEntity> findJobsByExecutionId(String executionId) {
         return jobDataManager.findJobsByExecutionId(executionId);
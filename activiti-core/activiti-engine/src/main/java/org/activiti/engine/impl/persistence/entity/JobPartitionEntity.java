@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.Date;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.impl.db.HasRevision;
+
+/**
+ * The ownership of one job partition by an async executor, identified by its lock owner.
+ * The owner keeps the partition as long as it renews the lease before it expires.
+ */
+@Internal
+public interface JobPartitionEntity extends Entity, HasRevision {
+
+  int getPartition();
+
+  void setPartition(int partition);
+
+  String getOwner();
+
+  void setOwner(String owner);
+
+  Date getLeaseExpirationTime();
+
+  void setLeaseExpirationTime(Date leaseExpirationTime);
+
+}
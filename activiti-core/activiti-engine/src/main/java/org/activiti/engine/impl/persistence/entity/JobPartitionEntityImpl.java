@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+
+public class JobPartitionEntityImpl extends AbstractEntity implements JobPartitionEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected int partition;
+  protected String owner;
+  protected Date leaseExpirationTime;
+
+  public JobPartitionEntityImpl() {
+  }
+
+  public int getPartition() {
+    return partition;
+  }
+
+  public void setPartition(int partition) {
+    this.partition = partition;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public void setOwner(String owner) {
+    this.owner = owner;
+  }
+
+  public Date getLeaseExpirationTime() {
+    return leaseExpirationTime;
+  }
+
+  public void setLeaseExpirationTime(Date leaseExpirationTime) {
+    this.leaseExpirationTime = leaseExpirationTime;
+  }
+
+  public String getId() {
+    return String.valueOf(partition);
+  }
+
+  public void setId(String id) {
+    throw new ActivitiException("only provided id generation allowed for job partitions");
+  }
+
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("owner", owner);
+    persistentState.put("leaseExpirationTime", leaseExpirationTime);
+    return persistentState;
+  }
+
+  // common methods //////////////////////////////////////////////////////////
+
+  @Override
+  public String toString() {
+    return "JobPartitionEntity[partition=" + partition + ", owner=" + owner + "]";
+  }
+
+}
@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.entity.data.DataManager;
+import org.activiti.engine.impl.persistence.entity.data.JobPartitionDataManager;
+
+public class JobPartitionEntityManagerImpl extends AbstractEntityManager<JobPartitionEntity> implements JobPartitionEntityManager {
+
+  protected JobPartitionDataManager jobPartitionDataManager;
+
+  public JobPartitionEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, JobPartitionDataManager jobPartitionDataManager) {
+    super(processEngineConfiguration);
+    this.jobPartitionDataManager = jobPartitionDataManager;
+  }
+
+  @Override
+  protected DataManager<JobPartitionEntity> getDataManager() {
+    return jobPartitionDataManager;
+  }
+
+  @Override
+  public List<JobPartitionEntity> findAll() {
+    return jobPartitionDataManager.findAll();
+  }
+
+  public JobPartitionDataManager getJobPartitionDataManager() {
+    return jobPartitionDataManager;
+  }
+
+  public void setJobPartitionDataManager(JobPartitionDataManager jobPartitionDataManager) {
+    this.jobPartitionDataManager = jobPartitionDataManager;
+  }
+
+}
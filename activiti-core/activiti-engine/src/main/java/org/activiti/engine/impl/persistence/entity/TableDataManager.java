@@ -17,6 +17,7 @@ import java.util.Map;
 
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.TablePageQueryImpl;
+import org.activiti.engine.management.ProcessDefinitionStatistics;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.management.TablePage;
 
@@ -36,4 +37,10 @@ public interface TableDataManager {
 
   TableMetaData getTableMetaData(String tableName);
 
+  /**
+   * Counts the running and completed process instances, the open tasks and the jobs per process definition id,
+   * with one grouped query per table. Process definitions without any of these are not included.
+   */
+  Map<String, ProcessDefinitionStatistics> getProcessDefinitionStatistics();
+
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.history.HistoricActivityInstance;
@@ -34,6 +36,7 @@ import org.activiti.engine.impl.TablePageQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.persistence.AbstractManager;
+import org.activiti.engine.management.ProcessDefinitionStatistics;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.management.TablePage;
 import org.activiti.engine.repository.Deployment;
@@ -105,6 +108,7 @@ public class TableDataManagerImpl extends AbstractManager implements TableDataMa
     entityToTableNameMap.put(ResourceEntity.class, "ACT_GE_BYTEARRAY");
     
     entityToTableNameMap.put(EventLogEntryEntity.class, "ACT_EVT_LOG");
+    entityToTableNameMap.put(JobPartitionEntity.class, "ACT_RU_JOB_PARTITION");
 
     // and now the map for the API types (does not cover all cases)
     apiTypeToTableNameMap.put(Task.class, "ACT_RU_TASK");
@@ -218,6 +222,34 @@ public class TableDataManagerImpl extends AbstractManager implements TableDataMa
     return tablePage;
   }
 
+  @Override
+  public Map<String, ProcessDefinitionStatistics> getProcessDefinitionStatistics() {
+    Map<String, ProcessDefinitionStatistics> statistics = new TreeMap<String, ProcessDefinitionStatistics>();
+    addProcessDefinitionCounts(statistics, "selectRunningProcessInstanceCountsByProcessDefinition", ProcessDefinitionStatistics::setRunningProcessInstanceCount);
+    if (getProcessEngineConfiguration().isDbHistoryUsed()) {
+      addProcessDefinitionCounts(statistics, "selectCompletedProcessInstanceCountsByProcessDefinition", ProcessDefinitionStatistics::setCompletedProcessInstanceCount);
+    }
+    addProcessDefinitionCounts(statistics, "selectTaskCountsByProcessDefinition", ProcessDefinitionStatistics::setOpenTaskCount);
+    addProcessDefinitionCounts(statistics, "selectJobCountsByProcessDefinition", ProcessDefinitionStatistics::setJobCount);
+    addProcessDefinitionCounts(statistics, "selectTimerJobCountsByProcessDefinition", ProcessDefinitionStatistics::setTimerJobCount);
+    addProcessDefinitionCounts(statistics, "selectDeadLetterJobCountsByProcessDefinition", ProcessDefinitionStatistics::setDeadLetterJobCount);
+    return statistics;
+  }
+
+  protected void addProcessDefinitionCounts(Map<String, ProcessDefinitionStatistics> statistics, String statement,
+      ObjLongConsumer<ProcessDefinitionStatistics> setter) {
+    List<Map<String, Object>> counts = getDbSqlSession().getSqlSession().selectList(statement);
+    for (Map<String, Object> count : counts) {
+      String processDefinitionId = (String) count.get("processDefinitionId");
+      ProcessDefinitionStatistics processDefinitionStatistics = statistics.get(processDefinitionId);
+      if (processDefinitionStatistics == null) {
+        processDefinitionStatistics = new ProcessDefinitionStatistics(processDefinitionId);
+        statistics.put(processDefinitionId, processDefinitionStatistics);
+      }
+      setter.accept(processDefinitionStatistics, ((Number) count.get("count")).longValue());
+    }
+  }
+
   @Override
   public String getTableName(Class<?> entityClass, boolean withPrefix) {
     String databaseTablePrefix = getDbSqlSession().getDbSqlSessionFactory().getDatabaseTablePrefix();
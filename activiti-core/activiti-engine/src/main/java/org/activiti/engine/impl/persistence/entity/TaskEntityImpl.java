@@ -40,11 +40,33 @@ import org.activiti.engine.task.IdentityLinkType;
 
 
  */
-public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Serializable, BulkDeleteable {
+public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Serializable, BulkDeleteable, ChangeTrackingEntity {
 
   public static final String DELETE_REASON_COMPLETED = "completed";
   public static final String DELETE_REASON_DELETED = "deleted";
 
+  // changed properties, see ChangeTrackingEntity
+
+  public static final long PROPERTY_ASSIGNEE = 1L;
+  public static final long PROPERTY_OWNER = 1L << 1;
+  public static final long PROPERTY_NAME = 1L << 2;
+  public static final long PROPERTY_PRIORITY = 1L << 3;
+  public static final long PROPERTY_BUSINESS_KEY = 1L << 4;
+  public static final long PROPERTY_EXECUTION_ID = 1L << 5;
+  public static final long PROPERTY_PROCESS_DEFINITION_ID = 1L << 6;
+  public static final long PROPERTY_CREATE_TIME = 1L << 7;
+  public static final long PROPERTY_DESCRIPTION = 1L << 8;
+  public static final long PROPERTY_DUE_DATE = 1L << 9;
+  public static final long PROPERTY_PARENT_TASK_ID = 1L << 10;
+  public static final long PROPERTY_DELEGATION_STATE = 1L << 11;
+  public static final long PROPERTY_SUSPENSION_STATE = 1L << 12;
+  public static final long PROPERTY_FORCED_UPDATE = 1L << 13;
+  public static final long PROPERTY_CLAIM_TIME = 1L << 14;
+  public static final long PROPERTY_CATEGORY = 1L << 15;
+  public static final long PROPERTY_FORM_KEY = 1L << 16;
+
+  protected static final long PERSISTENT_STATE_PROPERTIES = PROPERTY_CATEGORY - 1;
+
   private static final long serialVersionUID = 1L;
 
   protected String owner;
@@ -144,11 +166,16 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
     return persistentState;
   }
 
+  public long getPersistentStateProperties() {
+    return PERSISTENT_STATE_PROPERTIES;
+  }
+
   public int getRevisionNext() {
     return revision + 1;
   }
 
   public void forceUpdate() {
+    propertyChanged(PROPERTY_FORCED_UPDATE);
     this.forcedUpdate = true;
   }
 
@@ -292,40 +319,49 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setName(String taskName) {
+    propertyChanged(PROPERTY_NAME, this.name, taskName);
     this.name = taskName;
   }
 
   public void setDescription(String description) {
+    propertyChanged(PROPERTY_DESCRIPTION, this.description, description);
     this.description = description;
   }
 
   public void setAssignee(String assignee) {
     this.originalAssignee = this.assignee;
+    propertyChanged(PROPERTY_ASSIGNEE, this.assignee, assignee);
     this.assignee = assignee;
     assigneeUpdatedCount++;
   }
   
   public void setOwner(String owner) {
+    propertyChanged(PROPERTY_OWNER, this.owner, owner);
     this.owner = owner;
   }
 
   public void setDueDate(Date dueDate) {
+    propertyChanged(PROPERTY_DUE_DATE, this.dueDate, dueDate);
     this.dueDate = dueDate;
   }
 
   public void setPriority(int priority) {
+    propertyChanged(PROPERTY_PRIORITY, this.priority != priority);
     this.priority = priority;
   }
 
   public void setCategory(String category) {
+    propertyChanged(PROPERTY_CATEGORY, this.category, category);
     this.category = category;
   }
 
   public void setParentTaskId(String parentTaskId) {
+    propertyChanged(PROPERTY_PARENT_TASK_ID, this.parentTaskId, parentTaskId);
     this.parentTaskId = parentTaskId;
   }
 
   public void setBusinessKey(String businessKey) {
+    propertyChanged(PROPERTY_BUSINESS_KEY, this.businessKey, businessKey);
     this.businessKey = businessKey;
   }
 
@@ -334,6 +370,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setFormKey(String formKey) {
+    propertyChanged(PROPERTY_FORM_KEY, this.formKey, formKey);
     this.formKey = formKey;
   }
 
@@ -420,6 +457,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setCreateTime(Date createTime) {
+    propertyChanged(PROPERTY_CREATE_TIME, this.createTime, createTime);
     this.createTime = createTime;
   }
 
@@ -436,6 +474,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setProcessDefinitionId(String processDefinitionId) {
+    propertyChanged(PROPERTY_PROCESS_DEFINITION_ID, this.processDefinitionId, processDefinitionId);
     this.processDefinitionId = processDefinitionId;
   }
 
@@ -477,7 +516,9 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setExecutionId(String executionId) {
+    propertyChanged(PROPERTY_EXECUTION_ID, this.executionId, executionId);
     this.executionId = executionId;
+    indexedPropertyChanged();
   }
 
   public ExecutionEntity getProcessInstance() {
@@ -508,6 +549,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setDelegationState(DelegationState delegationState) {
+    propertyChanged(PROPERTY_DELEGATION_STATE, this.delegationState, delegationState);
     this.delegationState = delegationState;
   }
 
@@ -516,7 +558,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setDelegationStateString(String delegationStateString) {
-    this.delegationState = (delegationStateString != null ? DelegationState.valueOf(DelegationState.class, delegationStateString) : null);
+    setDelegationState(delegationStateString != null ? DelegationState.valueOf(DelegationState.class, delegationStateString) : null);
   }
 
   public boolean isDeleted() {
@@ -555,6 +597,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setSuspensionState(int suspensionState) {
+    propertyChanged(PROPERTY_SUSPENSION_STATE, this.suspensionState != suspensionState);
     this.suspensionState = suspensionState;
   }
 
@@ -614,6 +657,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setClaimTime(Date claimTime) {
+    propertyChanged(PROPERTY_CLAIM_TIME, this.claimTime, claimTime);
     this.claimTime = claimTime;
   }
 
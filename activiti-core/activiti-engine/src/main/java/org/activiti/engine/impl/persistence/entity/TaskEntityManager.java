@@ -14,6 +14,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.TaskQueryImpl;
@@ -35,6 +36,8 @@ public interface TaskEntityManager extends EntityManager<TaskEntity> {
 
   List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery);
 
+  void forEachTaskByQueryCriteria(TaskQueryImpl taskQuery, Consumer<? super Task> consumer);
+
   List<Task> findTasksAndVariablesByQueryCriteria(TaskQueryImpl taskQuery);
 
   long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery);
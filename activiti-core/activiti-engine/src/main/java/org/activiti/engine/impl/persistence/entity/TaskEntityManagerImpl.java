@@ -15,6 +15,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.delegate.TaskListener;
@@ -260,6 +261,11 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
     return taskDataManager.findTasksByQueryCriteria(taskQuery);
   }
 
+  @Override
+  public void forEachTaskByQueryCriteria(TaskQueryImpl taskQuery, Consumer<? super Task> consumer) {
+    taskDataManager.forEachTaskByQueryCriteria(taskQuery, consumer);
+  }
+
   @Override
   public List<Task> findTasksAndVariablesByQueryCriteria(TaskQueryImpl taskQuery) {
     return taskDataManager.findTasksAndVariablesByQueryCriteria(taskQuery);
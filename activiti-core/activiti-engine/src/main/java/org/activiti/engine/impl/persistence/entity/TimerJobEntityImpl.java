@@ -44,6 +44,7 @@ public class TimerJobEntityImpl extends AbstractJobEntityImpl implements TimerJo
   }
 
   public void setLockOwner(String claimedBy) {
+    propertyChanged(PROPERTY_LOCK_OWNER, this.lockOwner, claimedBy);
     this.lockOwner = claimedBy;
   }
 
@@ -52,6 +53,7 @@ public class TimerJobEntityImpl extends AbstractJobEntityImpl implements TimerJo
   }
 
   public void setLockExpirationTime(Date claimedUntil) {
+    propertyChanged(PROPERTY_LOCK_EXPIRATION_TIME, this.lockExpirationTime, claimedUntil);
     this.lockExpirationTime = claimedUntil;
   }
 
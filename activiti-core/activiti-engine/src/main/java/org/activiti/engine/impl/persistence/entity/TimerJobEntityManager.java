@@ -12,8 +12,10 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
+import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.JobQueryImpl;
@@ -39,9 +41,21 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
   /**
    * Returns the {@link TimerJobEntity} instances that are elegible to execute,
    * meaning the due date of the timer has been passed.
+   * 
+   * The returned instances are not added to the entity cache: they are meant
+   * to be locked through {@link #lockTimerJobs(List, String, Date)}.
    */
   List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+  /**
+   * Locks the given {@link TimerJobEntity} instances for the given lock owner using one bulk update statement.
+   * 
+   * Throws an {@link ActivitiOptimisticLockingException} when not all timer jobs could be locked,
+   * for example because another executor acquired one of them concurrently. 
+   * On success, the lock owner, lock expiration time and revision of the passed instances are updated.
+   */
+  void lockTimerJobs(List<TimerJobEntity> jobs, String lockOwner, Date lockExpirationTime);
+
   /**
    * Returns the {@link TimerJobEntity} for a given process definition.
    * 
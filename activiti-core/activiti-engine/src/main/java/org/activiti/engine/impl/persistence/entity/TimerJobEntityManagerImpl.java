@@ -17,6 +17,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
+import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
@@ -69,6 +70,29 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return jobDataManager.findTimerJobsToExecute(page);
     }
 
+    @Override
+    public void lockTimerJobs(List<TimerJobEntity> jobs,
+                              String lockOwner,
+                              Date lockExpirationTime) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        int updatedRecords = jobDataManager.bulkUpdateTimerJobLock(jobs,
+                                                                   lockOwner,
+                                                                   lockExpirationTime);
+        if (updatedRecords != jobs.size()) {
+            throw new ActivitiOptimisticLockingException("Could only lock " + updatedRecords + " of " + jobs.size()
+                                                                 + " timer jobs: they were updated by another transaction concurrently");
+        }
+
+        for (TimerJobEntity job : jobs) {
+            job.setLockOwner(lockOwner);
+            job.setLockExpirationTime(lockExpirationTime);
+            job.setRevision(job.getRevisionNext());
+        }
+    }
+
     @Override
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType,
                                                                      String processDefinitionId) {
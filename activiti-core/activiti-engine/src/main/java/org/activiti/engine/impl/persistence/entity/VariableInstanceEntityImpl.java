@@ -26,10 +26,23 @@ import org.apache.commons.lang3.StringUtils;
 
 
  */
-public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, BulkDeleteable, Serializable {
+public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, BulkDeleteable, Serializable, ChangeTrackingEntity {
 
   private static final long serialVersionUID = 1L;
 
+  // changed properties, see ChangeTrackingEntity
+
+  public static final long PROPERTY_LONG_VALUE = 1L;
+  public static final long PROPERTY_DOUBLE_VALUE = 1L << 1;
+  public static final long PROPERTY_TEXT_VALUE = 1L << 2;
+  public static final long PROPERTY_TEXT_VALUE2 = 1L << 3;
+  public static final long PROPERTY_BYTE_ARRAY_VALUE_ID = 1L << 4;
+  public static final long PROPERTY_FORCED_UPDATE = 1L << 5;
+  public static final long PROPERTY_EXECUTION_ID = 1L << 6;
+  public static final long PROPERTY_TYPE = 1L << 7;
+
+  protected static final long PERSISTENT_STATE_PROPERTIES = PROPERTY_EXECUTION_ID - 1;
+
   protected String name;
   protected VariableType type;
   protected String typeName;
@@ -48,6 +61,9 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   protected boolean forcedUpdate;
   protected boolean deleted;
 
+  /** The id of the byte array value when the change tracking started, as the byte array is changed through its {@link ByteArrayRef} */
+  protected transient String trackedByteArrayValueId;
+
   public VariableInstanceEntityImpl() {
     
   }
@@ -75,13 +91,35 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     return persistentState;
   }
   
+  @Override
+  public void startChangeTracking() {
+    super.startChangeTracking();
+    trackedByteArrayValueId = byteArrayRef != null ? byteArrayRef.getId() : null;
+  }
+
+  @Override
+  public long getChangedProperties() {
+    String byteArrayValueId = byteArrayRef != null ? byteArrayRef.getId() : null;
+    if (byteArrayValueId == null ? trackedByteArrayValueId != null : !byteArrayValueId.equals(trackedByteArrayValueId)) {
+      return changedProperties | PROPERTY_BYTE_ARRAY_VALUE_ID;
+    }
+    return changedProperties;
+  }
+
+  public long getPersistentStateProperties() {
+    return PERSISTENT_STATE_PROPERTIES;
+  }
+
   public void setExecution(ExecutionEntity execution) {
+    propertyChanged(PROPERTY_EXECUTION_ID, this.executionId, execution.getId());
     this.executionId = execution.getId();
     this.processInstanceId = execution.getProcessInstanceId();
+    indexedPropertyChanged();
     forceUpdate();
   }
 
   public void forceUpdate() {
+    propertyChanged(PROPERTY_FORCED_UPDATE);
     forcedUpdate = true;
   }
 
@@ -90,7 +128,9 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setExecutionId(String executionId) {
+    propertyChanged(PROPERTY_EXECUTION_ID, this.executionId, executionId);
     this.executionId = executionId;
+    indexedPropertyChanged();
   }
 
   // byte array value ///////////////////////////////////////////////////////////
@@ -160,6 +200,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setType(VariableType type) {
+    propertyChanged(PROPERTY_TYPE, this.type, type);
     this.type = type;
   }
 
@@ -184,6 +225,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setLongValue(Long longValue) {
+    propertyChanged(PROPERTY_LONG_VALUE, this.longValue, longValue);
     this.longValue = longValue;
   }
 
@@ -192,6 +234,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setDoubleValue(Double doubleValue) {
+    propertyChanged(PROPERTY_DOUBLE_VALUE, this.doubleValue, doubleValue);
     this.doubleValue = doubleValue;
   }
 
@@ -200,6 +243,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setTextValue(String textValue) {
+    propertyChanged(PROPERTY_TEXT_VALUE, this.textValue, textValue);
     this.textValue = textValue;
   }
 
@@ -208,6 +252,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setTextValue2(String textValue2) {
+    propertyChanged(PROPERTY_TEXT_VALUE2, this.textValue2, textValue2);
     this.textValue2 = textValue2;
   }
 
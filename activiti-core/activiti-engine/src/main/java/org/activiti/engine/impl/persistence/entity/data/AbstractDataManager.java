@@ -22,6 +22,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.persistence.AbstractManager;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.SingleCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
@@ -136,7 +137,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
 
         // Cache entities
         if (cachedObjects != null && cachedEntityMatcher != null) {
-          for (CachedEntity cachedObject : cachedObjects) {
+          for (CachedEntity cachedObject : findCandidatesInCache(getManagedEntityClass(), cachedObjects, cachedEntityMatcher, parameter)) {
             EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
             if (cachedEntityMatcher.isRetained(result, cachedObjects, cachedEntity, parameter)) {
               entityMap.put(cachedEntity.getId(), cachedEntity); // will overwite db version with newer version
@@ -148,7 +149,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
           for (Class<? extends EntityImpl> entitySubClass : getManagedEntitySubClasses()) {
             Collection<CachedEntity> subclassCachedObjects = getEntityCache().findInCacheAsCachedObjects(entitySubClass);
             if (subclassCachedObjects != null) {
-              for (CachedEntity subclassCachedObject : subclassCachedObjects) {
+              for (CachedEntity subclassCachedObject : findCandidatesInCache(entitySubClass, subclassCachedObjects, cachedEntityMatcher, parameter)) {
                 EntityImpl cachedSubclassEntity = (EntityImpl) subclassCachedObject.getEntity();
                 if (cachedEntityMatcher.isRetained(result, cachedObjects, cachedSubclassEntity, parameter)) {
                   entityMap.put(cachedSubclassEntity.getId(), cachedSubclassEntity); // will overwite db version with newer version
@@ -184,7 +185,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
     
     List<EntityImpl> result = new ArrayList<EntityImpl>(cachedObjects.size());
     if (cachedObjects != null && entityMatcher != null) {
-      for (CachedEntity cachedObject : cachedObjects) {
+      for (CachedEntity cachedObject : findCandidatesInCache(getManagedEntityClass(), cachedObjects, entityMatcher, parameter)) {
         EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
         if (entityMatcher.isRetained(null, cachedObjects, cachedEntity, parameter) && !dbSqlSession.isEntityToBeDeleted(cachedEntity)) {
           result.add(cachedEntity);
@@ -196,7 +197,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
       for (Class<? extends EntityImpl> entitySubClass : getManagedEntitySubClasses()) {
         Collection<CachedEntity> subclassCachedObjects = getEntityCache().findInCacheAsCachedObjects(entitySubClass);
         if (subclassCachedObjects != null) {
-          for (CachedEntity subclassCachedObject : subclassCachedObjects) {
+          for (CachedEntity subclassCachedObject : findCandidatesInCache(entitySubClass, subclassCachedObjects, entityMatcher, parameter)) {
             EntityImpl cachedSubclassEntity = (EntityImpl) subclassCachedObject.getEntity();
             if (entityMatcher.isRetained(null, cachedObjects, cachedSubclassEntity, parameter) && !dbSqlSession.isEntityToBeDeleted(cachedSubclassEntity)) {
               result.add(cachedSubclassEntity);
@@ -209,5 +210,22 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
     return result;
   }
 
+  /**
+   * Returns the cached entities of the given class that need to be checked by the {@link CachedEntityMatcher}:
+   * when it is an {@link IndexedCachedEntityMatcher}, only those with the right key are looked up in the index
+   * of the entity cache, otherwise all cached entities of the class are returned.
+   */
+  protected Collection<CachedEntity> findCandidatesInCache(Class<? extends EntityImpl> entityClass, Collection<CachedEntity> cachedObjects,
+      CachedEntityMatcher<EntityImpl> cachedEntityMatcher, Object parameter) {
+    if (cachedEntityMatcher instanceof IndexedCachedEntityMatcher) {
+      IndexedCachedEntityMatcher<EntityImpl> indexedCachedEntityMatcher = (IndexedCachedEntityMatcher<EntityImpl>) cachedEntityMatcher;
+      Collection<CachedEntity> candidates = getEntityCache().findInCacheAsCachedObjects(entityClass, 
+          indexedCachedEntityMatcher.getIndex(), indexedCachedEntityMatcher.getIndexKey(parameter));
+      if (candidates != null) {
+        return candidates;
+      }
+    }
+    return cachedObjects;
+  }
 
 }
@@ -12,6 +12,8 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.event.EventLogEntry;
@@ -30,4 +32,45 @@ public interface EventLogEntryDataManager extends DataManager<EventLogEntryEntit
 
   void deleteEventLogEntry(long logNr);
 
+  /**
+   * @return the entries of the given type that are not processed yet, ordered by log number
+   */
+  List<EventLogEntry> findUnprocessedEventLogEntriesByType(String type, int maxResults);
+
+  void markEventLogEntryProcessed(long logNr);
+
+  /**
+   * @return the entries of the given type that are not processed yet, and not locked or locked before the given time, ordered by log number
+   */
+  List<EventLogEntry> findUnlockedEventLogEntriesByType(String type, Date lockedBefore, int maxResults);
+
+  /**
+   * Locks the given entry right away, unless it was locked by someone else at or after the given time in the meantime.
+   *
+   * @return 1 if the entry is locked, 0 otherwise
+   */
+  int lockEventLogEntry(long logNr, String lockOwner, Date lockTime, Date lockedBefore);
+
+  /**
+   * Replaces the data of the given entry and sets whether it is processed right away, unless it is locked by someone
+   * else by now. The lock is kept.
+   *
+   * @return 1 if the entry is updated, 0 otherwise
+   */
+  int updateLockedEventLogEntry(long logNr, String lockOwner, byte[] data, boolean processed);
+
+  /**
+   * Deletes the given entries right away, instead of when the session is flushed.
+   *
+   * @return the number of deleted entries
+   */
+  int deleteEventLogEntries(Collection<Long> logNrs);
+
+  /**
+   * Deletes the processed entries of the given type that were written before the given time, right away.
+   *
+   * @return the number of deleted entries
+   */
+  int deleteProcessedEventLogEntriesByType(String type, Date createdBefore);
+
 }
@@ -12,8 +12,10 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
@@ -34,11 +36,25 @@ public interface HistoricProcessInstanceDataManager extends DataManager<Historic
   long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
   List<HistoricProcessInstance> findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
+
+  /**
+   * Same as {@link #findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl)}, but passes the historic process
+   * instances to the consumer one by one as they are read. The historic process instances are not put in the entity cache.
+   */
+  void forEachHistoricProcessInstanceByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery, Consumer<? super HistoricProcessInstance> consumer);
   
   List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
   List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   long findHistoricProcessInstanceCountByNativeQuery(Map<String, Object> parameterMap);
+
+  List<String> findFinishedHistoricProcessInstanceIdsEndedBefore(Date endedBefore, int maxResults);
+
+  /**
+   * Deletes the given historic process instances and all their history with one delete statement per table.
+   * The statements are executed directly, not when the session is flushed, and bypass the entity cache.
+   */
+  void bulkDeleteHistoricProcessInstances(List<String> historicProcessInstanceIds);
   
 }
@@ -12,6 +12,8 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.JobQueryImpl;
@@ -26,6 +28,10 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   List<JobEntity> findJobsToExecute(Page page);
 
+  List<JobEntity> findJobsToExecute(Collection<Integer> partitions, Page page);
+
+  int bulkUpdateJobLock(List<JobEntity> jobs, String lockOwner, Date lockExpirationTime);
+
   List<JobEntity> findJobsByExecutionId(final String executionId);
 
   List<JobEntity> findJobsByProcessDefinitionId(final String processDefinitionId);
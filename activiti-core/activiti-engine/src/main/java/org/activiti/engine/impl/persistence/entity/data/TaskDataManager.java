@@ -14,6 +14,7 @@ package org.activiti.engine.impl.persistence.entity.data;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.persistence.entity.TaskEntity;
@@ -29,6 +30,12 @@ public interface TaskDataManager extends DataManager<TaskEntity> {
   List<TaskEntity> findTasksByProcessInstanceId(String processInstanceId);
 
   List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery);
+
+  /**
+   * Same as {@link #findTasksByQueryCriteria(TaskQueryImpl)}, but passes the tasks to the consumer one by one as they are read.
+   * The tasks are not put in the entity cache.
+   */
+  void forEachTaskByQueryCriteria(TaskQueryImpl taskQuery, Consumer<? super Task> consumer);
   
   List<Task> findTasksAndVariablesByQueryCriteria(TaskQueryImpl taskQuery);
 
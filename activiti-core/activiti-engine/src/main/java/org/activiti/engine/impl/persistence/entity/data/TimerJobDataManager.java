@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.Page;
@@ -27,6 +28,8 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
   
   List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+  int bulkUpdateTimerJobLock(List<TimerJobEntity> jobs, String lockOwner, Date lockExpirationTime);
+
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId);
   
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyNoTenantId(String jobHandlerType, String processDefinitionKey);
@@ -12,12 +12,15 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.event.EventLogEntry;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
 import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
@@ -45,17 +48,20 @@ public class MybatisEventLogEntryDataManager extends AbstractDataManager<EventLo
   @Override
   @SuppressWarnings("unchecked")
   public List<EventLogEntry> findAllEventLogEntries() {
-    return getDbSqlSession().selectList("selectAllEventLogEntries");
+    Map<String, Object> params = new HashMap<String, Object>(1);
+    params.put("internalTypes", getProcessEngineConfiguration().getInternalEventLogEntryTypes());
+    return getDbSqlSession().selectList("selectAllEventLogEntries", params);
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public List<EventLogEntry> findEventLogEntries(long startLogNr, long pageSize) {
-    Map<String, Object> params = new HashMap<String, Object>(2);
+    Map<String, Object> params = new HashMap<String, Object>(3);
     params.put("startLogNr", startLogNr);
     if (pageSize > 0) {
       params.put("endLogNr", startLogNr + pageSize + 1);
     }
+    params.put("internalTypes", getProcessEngineConfiguration().getInternalEventLogEntryTypes());
     return getDbSqlSession().selectList("selectEventLogEntries", params);
   }
 
@@ -64,6 +70,7 @@ public class MybatisEventLogEntryDataManager extends AbstractDataManager<EventLo
   public List<EventLogEntry> findEventLogEntriesByProcessInstanceId(String processInstanceId) {
     Map<String, Object> params = new HashMap<String, Object>(2);
     params.put("processInstanceId", processInstanceId);
+    params.put("internalTypes", getProcessEngineConfiguration().getInternalEventLogEntryTypes());
     return getDbSqlSession().selectList("selectEventLogEntriesByProcessInstanceId", params);
   }
 
@@ -72,5 +79,73 @@ public class MybatisEventLogEntryDataManager extends AbstractDataManager<EventLo
     getDbSqlSession().getSqlSession().delete("deleteEventLogEntry", logNr);
   }
 
-  
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<EventLogEntry> findUnprocessedEventLogEntriesByType(String type, int maxResults) {
+    return getDbSqlSession().selectList("selectUnprocessedEventLogEntriesByType", new LogNumberOrderedQueryParameter(type, maxResults), false);
+  }
+
+  @Override
+  public void markEventLogEntryProcessed(long logNr) {
+    getDbSqlSession().update("updateEventLogEntryProcessed", logNr);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<EventLogEntry> findUnlockedEventLogEntriesByType(String type, Date lockedBefore, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("type", type);
+    params.put("lockedBefore", lockedBefore);
+    return getDbSqlSession().selectList("selectUnlockedEventLogEntriesByType", new LogNumberOrderedQueryParameter(params, maxResults), false);
+  }
+
+  @Override
+  public int lockEventLogEntry(long logNr, String lockOwner, Date lockTime, Date lockedBefore) {
+    Map<String, Object> params = new HashMap<String, Object>(4);
+    params.put("logNr", logNr);
+    params.put("lockOwner", lockOwner);
+    params.put("lockTime", lockTime);
+    params.put("lockedBefore", lockedBefore);
+    return getDbSqlSession().getSqlSession().update("updateEventLogEntryLock", params);
+  }
+
+  @Override
+  public int updateLockedEventLogEntry(long logNr, String lockOwner, byte[] data, boolean processed) {
+    Map<String, Object> params = new HashMap<String, Object>(4);
+    params.put("logNr", logNr);
+    params.put("lockOwner", lockOwner);
+    params.put("data", data);
+    params.put("isProcessed", processed ? 1 : 0);
+    return getDbSqlSession().getSqlSession().update("updateLockedEventLogEntry", params);
+  }
+
+  @Override
+  public int deleteEventLogEntries(Collection<Long> logNrs) {
+    return getDbSqlSession().getSqlSession().delete("deleteEventLogEntries", logNrs);
+  }
+
+  @Override
+  public int deleteProcessedEventLogEntriesByType(String type, Date createdBefore) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("type", type);
+    params.put("createdBefore", createdBefore);
+    return getDbSqlSession().getSqlSession().delete("deleteProcessedEventLogEntriesByType", params);
+  }
+
+  /**
+   * The event log has no ID_ column to order the pages by.
+   */
+  public static class LogNumberOrderedQueryParameter extends ListQueryParameterObject {
+
+    public LogNumberOrderedQueryParameter(Object parameter, int maxResults) {
+      super(parameter, 0, maxResults);
+    }
+
+    @Override
+    public String getOrderBy() {
+      return "RES.LOG_NR_ asc";
+    }
+  }
+
+
 }
@@ -13,6 +13,7 @@
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,7 @@ import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.impl.EventSubscriptionQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.CompensateEventSubscriptionEntity;
 import org.activiti.engine.impl.persistence.entity.CompensateEventSubscriptionEntityImpl;
@@ -149,6 +151,23 @@ public class MybatisEventSubscriptionDataManager extends AbstractDataManager<Eve
     return toSignalEventSubscriptionEntityList(result);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAfterId(String eventName, String tenantId, Date createdBefore, String idAfter, String lastId, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("eventName", eventName);
+    params.put("createdBefore", createdBefore);
+    params.put("idAfter", idAfter);
+    params.put("lastId", lastId);
+    if (tenantId != null && !tenantId.equals(ProcessEngineConfiguration.NO_TENANT_ID)) {
+      params.put("tenantId", tenantId);
+    }
+
+    ListQueryParameterObject parameter = new ListQueryParameterObject(params, 0, maxResults);
+    List<EventSubscriptionEntity> result = getDbSqlSession().selectList("selectSignalEventSubscriptionsByEventNameAfterId", parameter);
+    return toSignalEventSubscriptionEntityList(result);
+  }
+
   @Override
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(final String processInstanceId, final String eventName) {
     final String query = "selectSignalEventSubscriptionsByProcessInstanceAndEventName";
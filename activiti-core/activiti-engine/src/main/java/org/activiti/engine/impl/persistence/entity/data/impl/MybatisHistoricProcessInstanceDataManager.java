@@ -13,8 +13,10 @@
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
@@ -30,6 +32,26 @@ import org.activiti.engine.impl.persistence.entity.data.HistoricProcessInstanceD
  */
 public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManager<HistoricProcessInstanceEntity> implements HistoricProcessInstanceDataManager {
 
+  protected static final int MAX_IDS_PER_STATEMENT = 1000; // Oracle limit for an in list
+
+  /**
+   * Delete statements of {@link #bulkDeleteHistoricProcessInstances(List)}, in execution order: the byte arrays are
+   * found through the rows referring to them, and the task related rows through the historic task instances.
+   */
+  protected static final String[] BULK_DELETE_STATEMENTS = {
+      "bulkDeleteByteArraysOfHistoricVariableInstancesByProcessInstanceIds",
+      "bulkDeleteByteArraysOfHistoricDetailsByProcessInstanceIds",
+      "bulkDeleteByteArraysOfAttachmentsByProcessInstanceIds",
+      "bulkDeleteHistoricDetailsByProcessInstanceIds",
+      "bulkDeleteHistoricVariableInstancesByProcessInstanceIds",
+      "bulkDeleteCommentsByProcessInstanceIds",
+      "bulkDeleteAttachmentsByProcessInstanceIds",
+      "bulkDeleteHistoricIdentityLinksByProcessInstanceIds",
+      "bulkDeleteHistoricActivityInstancesByProcessInstanceIds",
+      "bulkDeleteHistoricTaskInstancesByProcessInstanceIds",
+      "bulkDeleteHistoricProcessInstancesByIds"
+  };
+
   public MybatisHistoricProcessInstanceDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
     super(processEngineConfiguration);
   }
@@ -55,6 +77,22 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManag
     return getDbSqlSession().selectList("selectHistoricProcessInstanceIdsByProcessDefinitionId", processDefinitionId);
   }
   
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findFinishedHistoricProcessInstanceIdsEndedBefore(Date endedBefore, int maxResults) {
+    return getDbSqlSession().selectList("selectFinishedHistoricProcessInstanceIdsEndedBefore", endedBefore, 0, maxResults, false);
+  }
+
+  @Override
+  public void bulkDeleteHistoricProcessInstances(List<String> historicProcessInstanceIds) {
+    for (int fromIndex = 0; fromIndex < historicProcessInstanceIds.size(); fromIndex += MAX_IDS_PER_STATEMENT) {
+      List<String> ids = historicProcessInstanceIds.subList(fromIndex, Math.min(fromIndex + MAX_IDS_PER_STATEMENT, historicProcessInstanceIds.size()));
+      for (String statement : BULK_DELETE_STATEMENTS) {
+        getDbSqlSession().getSqlSession().delete(getDbSqlSession().getDbSqlSessionFactory().mapStatement(statement), ids);
+      }
+    }
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstanceEntity> findHistoricProcessInstancesBySuperProcessInstanceId(String superProcessInstanceId) {
@@ -71,6 +109,11 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManag
   public List<HistoricProcessInstance> findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     return getDbSqlSession().selectList("selectHistoricProcessInstancesByQueryCriteria", historicProcessInstanceQuery);
   }
+
+  @Override
+  public void forEachHistoricProcessInstanceByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery, Consumer<? super HistoricProcessInstance> consumer) {
+    getDbSqlSession().selectForEach("selectHistoricProcessInstancesByQueryCriteriaForEach", historicProcessInstanceQuery, consumer);
+  }
   
   @Override
   @SuppressWarnings("unchecked")
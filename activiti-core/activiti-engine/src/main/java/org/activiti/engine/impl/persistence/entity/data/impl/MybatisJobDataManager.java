@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -53,7 +54,33 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
   @Override
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsToExecute(Page page) {
-    return getDbSqlSession().selectList("selectJobsToExecute", null, page);
+    return selectJobsToExecute(null, page);
+  }
+
+  @Override
+  public List<JobEntity> findJobsToExecute(Collection<Integer> partitions, Page page) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("partitions", partitions);
+    params.put("includeUnpartitioned", partitions.contains(0));
+    return selectJobsToExecute(params, page);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<JobEntity> selectJobsToExecute(Object parameter, Page page) {
+    if (getProcessEngineConfiguration().isAsyncExecutorSkipLockedAcquisition()) {
+      // limited while reading, see selectJobsToExecuteSkipLocked in Job.xml
+      return getDbSqlSession().selectListWithRowBounds("selectJobsToExecuteSkipLocked", parameter, page, false);
+    }
+    return getDbSqlSession().selectList("selectJobsToExecute", parameter, page, false);
+  }
+
+  @Override
+  public int bulkUpdateJobLock(List<JobEntity> jobs, String lockOwner, Date lockExpirationTime) {
+    Map<String, Object> params = new HashMap<String, Object>(3);
+    params.put("jobs", jobs);
+    params.put("lockOwner", lockOwner);
+    params.put("lockExpirationTime", lockExpirationTime);
+    return getDbSqlSession().update("bulkUpdateJobLock", params);
   }
 
   @Override
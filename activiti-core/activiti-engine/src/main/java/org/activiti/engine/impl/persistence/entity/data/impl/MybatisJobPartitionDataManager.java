@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity.data.impl;
+
+import java.util.List;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntity;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
+import org.activiti.engine.impl.persistence.entity.data.JobPartitionDataManager;
+
+public class MybatisJobPartitionDataManager extends AbstractDataManager<JobPartitionEntity> implements JobPartitionDataManager {
+
+  public MybatisJobPartitionDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super(processEngineConfiguration);
+  }
+
+  @Override
+  public Class<? extends JobPartitionEntity> getManagedEntityClass() {
+    return JobPartitionEntityImpl.class;
+  }
+
+  @Override
+  public JobPartitionEntity create() {
+    return new JobPartitionEntityImpl();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<JobPartitionEntity> findAll() {
+    return getDbSqlSession().selectList("selectJobPartitions");
+  }
+
+}
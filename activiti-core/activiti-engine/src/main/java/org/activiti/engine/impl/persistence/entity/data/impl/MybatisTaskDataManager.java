@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -65,6 +66,11 @@ public class MybatisTaskDataManager extends AbstractDataManager<TaskEntity> impl
     final String query = "selectTaskByQueryCriteria";
     return getDbSqlSession().selectList(query, taskQuery);
   }
+
+  @Override
+  public void forEachTaskByQueryCriteria(TaskQueryImpl taskQuery, Consumer<? super Task> consumer) {
+    getDbSqlSession().selectForEach("selectTaskByQueryCriteriaForEach", taskQuery, consumer);
+  }
   
   @Override
   @SuppressWarnings("unchecked")
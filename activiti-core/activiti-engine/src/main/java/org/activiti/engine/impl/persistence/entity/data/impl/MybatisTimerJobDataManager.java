@@ -66,7 +66,20 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
   @SuppressWarnings("unchecked")
   public List<TimerJobEntity> findTimerJobsToExecute(Page page) {
     Date now = getClock().getCurrentTime();
-    return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
+    if (getProcessEngineConfiguration().isAsyncExecutorSkipLockedAcquisition()) {
+      // limited while reading, see selectJobsToExecuteSkipLocked in Job.xml
+      return getDbSqlSession().selectListWithRowBounds("selectTimerJobsToExecuteSkipLocked", now, page, false);
+    }
+    return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page, false);
+  }
+
+  @Override
+  public int bulkUpdateTimerJobLock(List<TimerJobEntity> jobs, String lockOwner, Date lockExpirationTime) {
+    Map<String, Object> params = new HashMap<String, Object>(3);
+    params.put("jobs", jobs);
+    params.put("lockOwner", lockOwner);
+    params.put("lockExpirationTime", lockExpirationTime);
+    return getDbSqlSession().update("bulkUpdateTimerJobLock", params);
   }
   
   @Override
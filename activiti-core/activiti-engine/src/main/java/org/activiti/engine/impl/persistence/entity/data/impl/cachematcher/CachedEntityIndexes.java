@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
+
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
+import org.activiti.engine.impl.persistence.entity.AbstractJobEntity;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * The {@link CachedEntityIndex}es used by the cache matchers.
+ */
+public class CachedEntityIndexes {
+
+  public static final CachedEntityIndex<ExecutionEntity> EXECUTION_PARENT_ID = ExecutionEntity::getParentId;
+
+  public static final CachedEntityIndex<ExecutionEntity> EXECUTION_PROCESS_INSTANCE_ID = ExecutionEntity::getProcessInstanceId;
+
+  public static final CachedEntityIndex<EventSubscriptionEntity> EVENT_SUBSCRIPTION_EXECUTION_ID = EventSubscriptionEntity::getExecutionId;
+
+  public static final CachedEntityIndex<EventSubscriptionEntity> EVENT_SUBSCRIPTION_EVENT_NAME = EventSubscriptionEntity::getEventName;
+
+  public static final CachedEntityIndex<AbstractJobEntity> JOB_EXECUTION_ID = AbstractJobEntity::getExecutionId;
+
+  public static final CachedEntityIndex<TaskEntity> TASK_EXECUTION_ID = TaskEntity::getExecutionId;
+
+  public static final CachedEntityIndex<VariableInstanceEntity> VARIABLE_EXECUTION_ID = VariableInstanceEntity::getExecutionId;
+
+  private CachedEntityIndexes() {
+  }
+
+}
@@ -12,18 +12,29 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntity;
 
 /**
 
  */
-public class DeadLetterJobsByExecutionIdMatcher extends CachedEntityMatcherAdapter<DeadLetterJobEntity> {
+public class DeadLetterJobsByExecutionIdMatcher extends CachedEntityMatcherAdapter<DeadLetterJobEntity> implements IndexedCachedEntityMatcher<DeadLetterJobEntity> {
   
   @Override
   public boolean isRetained(DeadLetterJobEntity jobEntity, Object param) {
     return jobEntity.getExecutionId() != null && jobEntity.getExecutionId().equals(param); // param = executionId
   }
-  
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super DeadLetterJobEntity> getIndex() {
+    return CachedEntityIndexes.JOB_EXECUTION_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
@@ -14,13 +14,15 @@ package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
 import java.util.Map;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 
 /**
 
  */
-public class EventSubscriptionsByExecutionAndTypeMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> {
+public class EventSubscriptionsByExecutionAndTypeMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> implements IndexedCachedEntityMatcher<EventSubscriptionEntity> {
  
   @Override
   public boolean isRetained(EventSubscriptionEntity eventSubscriptionEntity, Object parameter) {
@@ -31,5 +33,16 @@ public class EventSubscriptionsByExecutionAndTypeMatcher extends CachedEntityMat
     return eventSubscriptionEntity.getEventType() != null && eventSubscriptionEntity.getEventType().equals(type)
         && eventSubscriptionEntity.getExecutionId() != null && eventSubscriptionEntity.getExecutionId().equals(executionId);
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super EventSubscriptionEntity> getIndex() {
+    return CachedEntityIndexes.EVENT_SUBSCRIPTION_EXECUTION_ID;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String getIndexKey(Object param) {
+    return ((Map<String, String>) param).get("executionId");
+  }
+
+}
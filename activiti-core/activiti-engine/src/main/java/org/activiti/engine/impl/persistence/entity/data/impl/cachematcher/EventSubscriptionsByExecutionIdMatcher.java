@@ -12,17 +12,29 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 
 /**
 
  */
-public class EventSubscriptionsByExecutionIdMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> {
+public class EventSubscriptionsByExecutionIdMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> implements IndexedCachedEntityMatcher<EventSubscriptionEntity> {
   
   @Override
   public boolean isRetained(EventSubscriptionEntity eventSubscriptionEntity, Object parameter) {
     return eventSubscriptionEntity.getExecutionId() != null && eventSubscriptionEntity.getExecutionId().equals((String) parameter);
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super EventSubscriptionEntity> getIndex() {
+    return CachedEntityIndexes.EVENT_SUBSCRIPTION_EXECUTION_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
@@ -15,13 +15,15 @@ package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 import java.util.Map;
 
 import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 
 /**
 
  */
-public class EventSubscriptionsByNameMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> {
+public class EventSubscriptionsByNameMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> implements IndexedCachedEntityMatcher<EventSubscriptionEntity> {
   
   @Override
   @SuppressWarnings("unchecked")
@@ -43,4 +45,15 @@ public class EventSubscriptionsByNameMatcher extends CachedEntityMatcherAdapter<
     return false;
   }
 
-}
\ No newline at end of file
+  @Override
+  public CachedEntityIndex<? super EventSubscriptionEntity> getIndex() {
+    return CachedEntityIndexes.EVENT_SUBSCRIPTION_EVENT_NAME;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String getIndexKey(Object param) {
+    return ((Map<String, String>) param).get("eventName");
+  }
+
+}
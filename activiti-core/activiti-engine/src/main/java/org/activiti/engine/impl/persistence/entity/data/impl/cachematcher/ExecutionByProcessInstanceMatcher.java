@@ -12,17 +12,29 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class ExecutionByProcessInstanceMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionByProcessInstanceMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
   
   @Override
   public boolean isRetained(ExecutionEntity entity, Object parameter) {
     return entity.getProcessInstanceId() != null && entity.getProcessInstanceId().equals((String) parameter);
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super ExecutionEntity> getIndex() {
+    return CachedEntityIndexes.EXECUTION_PROCESS_INSTANCE_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
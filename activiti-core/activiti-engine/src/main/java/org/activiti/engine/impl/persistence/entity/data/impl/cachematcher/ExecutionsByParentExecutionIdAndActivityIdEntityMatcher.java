@@ -15,13 +15,15 @@ package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 import java.util.Collection;
 import java.util.Map;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
   
   @Override
   public boolean isRetained(ExecutionEntity executionEntity, Object parameter) {
@@ -32,5 +34,16 @@ public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends Cac
     return executionEntity.getParentId() != null && executionEntity.getParentId().equals(parentExecutionId)
         && executionEntity.getActivityId() != null && activityIds.contains(executionEntity.getActivityId());
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super ExecutionEntity> getIndex() {
+    return CachedEntityIndexes.EXECUTION_PARENT_ID;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String getIndexKey(Object param) {
+    return (String) ((Map<String, Object>) param).get("parentExecutionId");
+  }
+
+}
@@ -12,13 +12,15 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
   
   @Override
   public boolean isRetained(ExecutionEntity entity, Object parameter) {
@@ -26,4 +28,14 @@ public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatc
     return entity.getParentId() != null && entity.getParentId().equals((String) parameter);
   }
 
-}
\ No newline at end of file
+  @Override
+  public CachedEntityIndex<? super ExecutionEntity> getIndex() {
+    return CachedEntityIndexes.EXECUTION_PARENT_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
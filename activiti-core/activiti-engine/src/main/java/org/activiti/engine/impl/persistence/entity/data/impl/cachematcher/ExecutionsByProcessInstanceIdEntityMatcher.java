@@ -12,13 +12,15 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class ExecutionsByProcessInstanceIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionsByProcessInstanceIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
   
   @Override
   public boolean isRetained(ExecutionEntity entity, Object parameter) {
@@ -28,4 +30,14 @@ public class ExecutionsByProcessInstanceIdEntityMatcher extends CachedEntityMatc
           && entity.getParentId() != null;
   }
 
-}
\ No newline at end of file
+  @Override
+  public CachedEntityIndex<? super ExecutionEntity> getIndex() {
+    return CachedEntityIndexes.EXECUTION_PROCESS_INSTANCE_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
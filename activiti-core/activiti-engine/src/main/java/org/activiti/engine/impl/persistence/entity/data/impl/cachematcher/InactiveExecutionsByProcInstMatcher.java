@@ -14,13 +14,15 @@ package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
 import java.util.Map;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class InactiveExecutionsByProcInstMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class InactiveExecutionsByProcInstMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
   
   @Override
   public boolean isRetained(ExecutionEntity executionEntity, Object parameter) {
@@ -31,5 +33,16 @@ public class InactiveExecutionsByProcInstMatcher extends CachedEntityMatcherAdap
         && executionEntity.getProcessInstanceId().equals(processInstanceId) 
         && !executionEntity.isActive();
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super ExecutionEntity> getIndex() {
+    return CachedEntityIndexes.EXECUTION_PROCESS_INSTANCE_ID;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String getIndexKey(Object param) {
+    return (String) ((Map<String, Object>) param).get("processInstanceId");
+  }
+
+}
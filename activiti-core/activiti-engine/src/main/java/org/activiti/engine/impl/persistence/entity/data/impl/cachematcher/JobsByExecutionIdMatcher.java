@@ -12,17 +12,29 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
 
 /**
 
  */
-public class JobsByExecutionIdMatcher extends CachedEntityMatcherAdapter<JobEntity> {
+public class JobsByExecutionIdMatcher extends CachedEntityMatcherAdapter<JobEntity> implements IndexedCachedEntityMatcher<JobEntity> {
  
   @Override
   public boolean isRetained(JobEntity jobEntity, Object parameter) {
     return jobEntity.getExecutionId() != null && jobEntity.getExecutionId().equals((String) parameter);
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super JobEntity> getIndex() {
+    return CachedEntityIndexes.JOB_EXECUTION_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
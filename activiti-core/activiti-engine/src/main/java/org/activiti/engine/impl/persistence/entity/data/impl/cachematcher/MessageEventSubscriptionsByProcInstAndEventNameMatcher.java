@@ -14,14 +14,16 @@ package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
 import java.util.Map;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.activiti.engine.impl.persistence.entity.MessageEventSubscriptionEntity;
 
 /**
 
  */
-public class MessageEventSubscriptionsByProcInstAndEventNameMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> {
+public class MessageEventSubscriptionsByProcInstAndEventNameMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> implements IndexedCachedEntityMatcher<EventSubscriptionEntity> {
   
   @Override
   public boolean isRetained(EventSubscriptionEntity eventSubscriptionEntity, Object param) {
@@ -33,5 +35,16 @@ public class MessageEventSubscriptionsByProcInstAndEventNameMatcher extends Cach
         && eventSubscriptionEntity.getEventName() != null && eventSubscriptionEntity.getEventName().equals(eventName)
         && eventSubscriptionEntity.getProcessInstanceId() != null && eventSubscriptionEntity.getProcessInstanceId().equals(processInstanceId);
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super EventSubscriptionEntity> getIndex() {
+    return CachedEntityIndexes.EVENT_SUBSCRIPTION_EVENT_NAME;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String getIndexKey(Object param) {
+    return ((Map<String, String>) param).get("eventName");
+  }
+
+}
@@ -12,19 +12,30 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntity;
 import org.activiti.engine.impl.persistence.entity.SuspendedJobEntity;
 
 /**
 
  */
-public class SuspendedJobsByExecutionIdMatcher extends CachedEntityMatcherAdapter<SuspendedJobEntity> {
+public class SuspendedJobsByExecutionIdMatcher extends CachedEntityMatcherAdapter<SuspendedJobEntity> implements IndexedCachedEntityMatcher<SuspendedJobEntity> {
   
   @Override
   public boolean isRetained(SuspendedJobEntity jobEntity, Object param) {
     return jobEntity.getExecutionId() != null && jobEntity.getExecutionId().equals(param);
   }
-  
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super SuspendedJobEntity> getIndex() {
+    return CachedEntityIndexes.JOB_EXECUTION_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
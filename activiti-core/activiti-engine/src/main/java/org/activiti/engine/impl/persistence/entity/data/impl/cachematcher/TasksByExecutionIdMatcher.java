@@ -12,17 +12,29 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.TaskEntity;
 
 /**
 
  */
-public class TasksByExecutionIdMatcher extends CachedEntityMatcherAdapter<TaskEntity> {
+public class TasksByExecutionIdMatcher extends CachedEntityMatcherAdapter<TaskEntity> implements IndexedCachedEntityMatcher<TaskEntity> {
  
   @Override
   public boolean isRetained(TaskEntity taskEntity, Object parameter) {
     return taskEntity.getExecutionId() != null && parameter.equals(taskEntity.getExecutionId());
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super TaskEntity> getIndex() {
+    return CachedEntityIndexes.TASK_EXECUTION_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
@@ -12,18 +12,30 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 
 /**
 
  */
-public class VariableByExecutionIdMatcher extends CachedEntityMatcherAdapter<VariableInstanceEntity> {
+public class VariableByExecutionIdMatcher extends CachedEntityMatcherAdapter<VariableInstanceEntity> implements IndexedCachedEntityMatcher<VariableInstanceEntity> {
  
   @Override
   public boolean isRetained(VariableInstanceEntity variableInstanceEntity, Object parameter) {
     return variableInstanceEntity.getExecutionId() != null 
         && variableInstanceEntity.getExecutionId().equals((String) parameter);
   }
-  
-}
\ No newline at end of file
+
+  @Override
+  public CachedEntityIndex<? super VariableInstanceEntity> getIndex() {
+    return CachedEntityIndexes.VARIABLE_EXECUTION_ID;
+  }
+
+  @Override
+  public String getIndexKey(Object param) {
+    return (String) param;
+  }
+
+}
@@ -21,4 +21,6 @@ import org.activiti.engine.impl.persistence.entity.integration.IntegrationContex
 
 public interface IntegrationContextDataManager extends DataManager<IntegrationContextEntity> {
 
+    void deleteByExecutionId(String executionId);
+
 }
@@ -37,4 +37,11 @@ public class MybatisIntegrationContextDataManager extends AbstractDataManager<In
         return IntegrationContextEntityImpl.class;
     }
 
+    @Override
+    public void deleteByExecutionId(String executionId) {
+        getDbSqlSession().delete("deleteIntegrationContextsByExecutionId",
+                                 executionId,
+                                 IntegrationContextEntityImpl.class);
+    }
+
 }
@@ -20,4 +20,6 @@ import org.activiti.engine.impl.persistence.entity.EntityManager;
 
 public interface IntegrationContextManager extends EntityManager<IntegrationContextEntity> {
 
+    void deleteByExecutionId(String executionId);
+
 }
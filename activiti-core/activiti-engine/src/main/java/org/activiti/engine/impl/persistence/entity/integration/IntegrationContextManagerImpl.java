@@ -35,4 +35,9 @@ public class IntegrationContextManagerImpl extends AbstractEntityManager<Integra
         return dataManager;
     }
 
+    @Override
+    public void deleteByExecutionId(String executionId) {
+        dataManager.deleteByExecutionId(executionId);
+    }
+
 }
@@ -12,11 +12,16 @@
  */
 package org.activiti.engine.impl.scripting;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -35,6 +40,7 @@ public class ScriptingEngines {
 
   public static final String DEFAULT_SCRIPTING_LANGUAGE = "juel";
   public static final String GROOVY_SCRIPTING_LANGUAGE = "groovy";
+  public static final int DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT = 1000;
 
   private final ScriptEngineManager scriptEngineManager;
   protected ScriptBindingsFactory scriptBindingsFactory;
@@ -42,6 +48,16 @@ public class ScriptingEngines {
   protected boolean cacheScriptingEngines = true;
   protected Map<String, ScriptEngine> cachedEngines;
 
+  /**
+   * Scripts compiled by engines implementing {@link Compilable}, keyed by language and script text.
+   * Only used for cached engines (see {@link #isCacheScriptingEngines()}), as those are the ones declaring multi-threaded access.
+   * A limit of 0 or less disables the cache.
+   */
+  protected int compiledScriptCacheLimit = DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT;
+  protected Map<String, CompiledScript> compiledScripts;
+  protected final AtomicLong compiledScriptCacheHits = new AtomicLong();
+  protected final AtomicLong compiledScriptCacheMisses = new AtomicLong();
+
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
     this(new ScriptEngineManager());
     this.scriptBindingsFactory = scriptBindingsFactory;
@@ -50,6 +66,7 @@ public class ScriptingEngines {
   public ScriptingEngines(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
     cachedEngines = new HashMap<String, ScriptEngine>();
+    compiledScripts = createCompiledScriptCache(compiledScriptCacheLimit);
   }
 
   public ScriptingEngines addScriptEngineFactory(ScriptEngineFactory scriptEngineFactory) {
@@ -81,15 +98,109 @@ public class ScriptingEngines {
     return cacheScriptingEngines;
   }
 
+  public void setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+    this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+    this.compiledScripts = createCompiledScriptCache(compiledScriptCacheLimit);
+  }
+
+  public int getCompiledScriptCacheLimit() {
+    return compiledScriptCacheLimit;
+  }
+
+  public long getCompiledScriptCacheHits() {
+    return compiledScriptCacheHits.get();
+  }
+
+  public long getCompiledScriptCacheMisses() {
+    return compiledScriptCacheMisses.get();
+  }
+
+  public int getCompiledScriptCacheSize() {
+    return compiledScripts != null ? compiledScripts.size() : 0;
+  }
+
+  public void clearCompiledScriptCache() {
+    if (compiledScripts != null) {
+      compiledScripts.clear();
+    }
+  }
+
   protected Object evaluate(String script, String language, Bindings bindings) {
     ScriptEngine scriptEngine = getEngineByName(language);
     try {
+      CompiledScript compiledScript = getCompiledScript(script, language, scriptEngine);
+      if (compiledScript != null) {
+        try {
+          return compiledScript.eval(bindings);
+        } catch (ScriptException e) {
+          throw wrapCompiledScriptException(scriptEngine, e);
+        }
+      }
       return scriptEngine.eval(script, bindings);
     } catch (ScriptException e) {
       throw new ActivitiException("problem evaluating script: " + e.getMessage(), e);
     }
   }
 
+  /**
+   * Groovy wraps the exception of a script evaluated from source in one more {@link ScriptException} than
+   * the exception of a compiled script. Doing the same keeps the error messages (which end up as
+   * exception message of failed jobs) independent of whether the script was compiled.
+   */
+  protected ScriptException wrapCompiledScriptException(ScriptEngine scriptEngine, ScriptException e) {
+    if ("groovy".equalsIgnoreCase(scriptEngine.getFactory().getLanguageName())) {
+      return new ScriptException(e);
+    }
+    return e;
+  }
+
+  /**
+   * Returns the compiled version of the script, compiling and caching it on first use,
+   * or null when the script can't be compiled upfront (or caching is disabled).
+   */
+  protected CompiledScript getCompiledScript(String script, String language, ScriptEngine scriptEngine) throws ScriptException {
+    if (compiledScripts == null || !isCompiledScriptCacheable(language, scriptEngine)) {
+      return null;
+    }
+
+    String cacheKey = language + ":" + script;
+    CompiledScript compiledScript = compiledScripts.get(cacheKey);
+    if (compiledScript != null) {
+      compiledScriptCacheHits.incrementAndGet();
+      return compiledScript;
+    }
+
+    compiledScriptCacheMisses.incrementAndGet();
+    compiledScript = ((Compilable) scriptEngine).compile(script);
+    compiledScripts.put(cacheKey, compiledScript);
+    return compiledScript;
+  }
+
+  /**
+   * JUEL resolves the variables of an expression while parsing it, so a compiled JUEL script can't be
+   * reused with other bindings (parsed JUEL expressions are cached by the expression factory already).
+   */
+  protected boolean isCompiledScriptCacheable(String language, ScriptEngine scriptEngine) {
+    return scriptEngine instanceof Compilable
+        && !(scriptEngine instanceof JuelScriptEngine)
+        && cachedEngines.get(language) == scriptEngine;
+  }
+
+  protected Map<String, CompiledScript> createCompiledScriptCache(final int limit) {
+    if (limit <= 0) {
+      return null;
+    }
+    return Collections.synchronizedMap(new LinkedHashMap<String, CompiledScript>(limit + 1, 0.75f, true) {
+          // +1 is needed, because the entry is inserted first, before it is removed
+          // true will keep the 'access-order', which is needed to have a real LRU cache
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+        return size() > limit;
+      }
+    });
+  }
+
   protected ScriptEngine getEngineByName(String language) {
     ScriptEngine scriptEngine = null;
 
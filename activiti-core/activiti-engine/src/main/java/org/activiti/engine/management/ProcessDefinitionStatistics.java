@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.management;
+
+import java.io.Serializable;
+
+/**
+ * The number of process instances, tasks and jobs of one process definition.
+ */
+public class ProcessDefinitionStatistics implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String processDefinitionId;
+
+  protected long runningProcessInstanceCount;
+
+  /**
+   * Always 0 when the history is not stored in the database.
+   */
+  protected long completedProcessInstanceCount;
+
+  protected long openTaskCount;
+
+  protected long jobCount;
+
+  protected long timerJobCount;
+
+  protected long deadLetterJobCount;
+
+  public ProcessDefinitionStatistics(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public long getRunningProcessInstanceCount() {
+    return runningProcessInstanceCount;
+  }
+
+  public void setRunningProcessInstanceCount(long runningProcessInstanceCount) {
+    this.runningProcessInstanceCount = runningProcessInstanceCount;
+  }
+
+  public long getCompletedProcessInstanceCount() {
+    return completedProcessInstanceCount;
+  }
+
+  public void setCompletedProcessInstanceCount(long completedProcessInstanceCount) {
+    this.completedProcessInstanceCount = completedProcessInstanceCount;
+  }
+
+  public long getOpenTaskCount() {
+    return openTaskCount;
+  }
+
+  public void setOpenTaskCount(long openTaskCount) {
+    this.openTaskCount = openTaskCount;
+  }
+
+  public long getJobCount() {
+    return jobCount;
+  }
+
+  public void setJobCount(long jobCount) {
+    this.jobCount = jobCount;
+  }
+
+  public long getTimerJobCount() {
+    return timerJobCount;
+  }
+
+  public void setTimerJobCount(long timerJobCount) {
+    this.timerJobCount = timerJobCount;
+  }
+
+  public long getDeadLetterJobCount() {
+    return deadLetterJobCount;
+  }
+
+  public void setDeadLetterJobCount(long deadLetterJobCount) {
+    this.deadLetterJobCount = deadLetterJobCount;
+  }
+}
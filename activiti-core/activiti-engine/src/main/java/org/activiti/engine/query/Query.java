@@ -14,6 +14,7 @@
 package org.activiti.engine.query;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.api.internal.Internal;
@@ -58,4 +59,14 @@ public interface Query<T extends Query<?, ?>, U> {
 
   /** Executes the query and get a list of entities as the result. */
   List<U> listPage(int firstResult, int maxResults);
+
+  /**
+   * Executes the query and passes the entities to the given consumer one by one, in a single transaction. The task and historic
+   * process instance queries read the entities with a database cursor as the consumer asks for them, so the memory used doesn't
+   * grow with the number of results, which makes this suited for exports and other scans over many entities. The other queries
+   * pass the results of {@link #list()}.
+   * <p>
+   * The entities are not kept in the entity cache, so changes done to them by the consumer are not saved.
+   */
+  void forEach(Consumer<? super U> consumer);
 }
@@ -287,6 +287,13 @@ public interface ProcessInstanceQuery extends Query<ProcessInstanceQuery, Proces
    * Only select process instances that failed due to an exception happening during a job execution.
    */
   ProcessInstanceQuery withJobException();
+
+  /**
+   * Only select process instances with an id that comes after the given process instance id when ordered by id, for keyset pagination:
+   * ordered by {@link #orderByProcessInstanceId()}, the next page starts after the last process instance of the previous one, without
+   * skipping the process instances before it. Applies to the whole query, also when called between {@link #or()} and {@link #endOr()}.
+   */
+  ProcessInstanceQuery processInstanceIdAfter(String processInstanceId);
   
   /**
    * Begin an OR statement. Make sure you invoke the endOr method at the end of your OR statement.
@@ -26,6 +26,13 @@ public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task> {
   /** Only select tasks which don't have an assignee. */
   TaskQuery taskUnassigned();
 
+  /**
+   * Only select tasks with an id that comes after the given task id when ordered by id, for keyset pagination: ordered by
+   * {@link #orderByTaskId()}, the next page starts after the last task of the previous one, without skipping the tasks before it.
+   * Applies to the whole query, also when called between {@link #or()} and {@link #endOr()}.
+   */
+  TaskQuery taskIdAfter(String taskId);
+
   /** Only select tasks with the given {@link DelegationState}. */
   TaskQuery taskDelegationState(DelegationState delegationState);
 
@@ -3,6 +3,7 @@ drop index ACT_IDX_TASK_CREATE on ACT_RU_TASK;
 drop index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE;
+drop index ACT_IDX_JOB_PARTITION on ACT_RU_JOB;
 drop index ACT_IDX_INFO_PROCDEF on ACT_PROCDEF_INFO;
 
 alter table ACT_GE_BYTEARRAY 
@@ -138,4 +139,5 @@ drop table if exists ACT_RU_DEADLETTER_JOB;
 drop table if exists ACT_RU_EVENT_SUBSCR;
 drop table if exists ACT_EVT_LOG;
 drop table if exists ACT_PROCDEF_INFO;
-drop table if exists ACT_RU_INTEGRATION;
\ No newline at end of file
+drop table if exists ACT_RU_INTEGRATION;
+drop table if exists ACT_RU_JOB_PARTITION;
\ No newline at end of file
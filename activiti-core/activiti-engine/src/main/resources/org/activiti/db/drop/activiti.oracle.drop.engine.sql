@@ -35,6 +35,7 @@ drop index ACT_IDX_TASK_CREATE;
 drop index ACT_IDX_IDENT_LNK_USER;
 drop index ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_IDX_VARIABLE_TASK_ID;
+drop index ACT_IDX_JOB_PARTITION;
 
 alter table ACT_GE_BYTEARRAY 
     drop CONSTRAINT ACT_FK_BYTEARR_DEPL;
@@ -179,4 +180,5 @@ drop table ACT_RU_EVENT_SUBSCR;
 drop sequence act_evt_log_seq;
 drop table ACT_EVT_LOG;
 drop table ACT_PROCDEF_INFO;
-drop table ACT_RU_INTEGRATION;
\ No newline at end of file
+drop table ACT_RU_INTEGRATION;
+drop table ACT_RU_JOB_PARTITION;
\ No newline at end of file
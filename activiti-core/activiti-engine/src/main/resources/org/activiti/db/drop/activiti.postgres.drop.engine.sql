@@ -14,4 +14,5 @@ drop table if exists ACT_RU_VARIABLE cascade;
 drop table if exists ACT_RU_EVENT_SUBSCR cascade;
 drop table if exists ACT_EVT_LOG cascade;
 drop table if exists ACT_PROCDEF_INFO cascade;
-drop table if exists ACT_RU_INTEGRATION cascade;
\ No newline at end of file
+drop table if exists ACT_RU_INTEGRATION cascade;
+drop table if exists ACT_RU_JOB_PARTITION cascade;
\ No newline at end of file
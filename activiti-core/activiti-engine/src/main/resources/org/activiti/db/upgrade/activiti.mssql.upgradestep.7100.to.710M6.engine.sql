@@ -5,3 +5,14 @@ alter table ACT_RU_TASK add column APP_VERSION_ int;
 alter table ACT_RU_EXECUTION add column APP_VERSION_ int;
 
 alter table ACT_RU_TASK add column BUSINESS_KEY_ nvarchar(255);
+
+alter table ACT_RU_JOB add column PARTITION_ int;
+create index ACT_IDX_JOB_PARTITION on ACT_RU_JOB(PARTITION_, LOCK_EXP_TIME_);
+
+create table ACT_RU_JOB_PARTITION (
+    PARTITION_ int not null,
+    REV_ int,
+    OWNER_ nvarchar(255),
+    LEASE_EXP_TIME_ datetime,
+    primary key (PARTITION_)
+);
@@ -5,3 +5,14 @@ alter table ACT_RU_TASK add column APP_VERSION_ integer;
 alter table ACT_RU_EXECUTION add column APP_VERSION_ integer;
 
 alter table ACT_RU_TASK add column BUSINESS_KEY_ varchar(255);
+
+alter table ACT_RU_JOB add column PARTITION_ integer;
+create index ACT_IDX_JOB_PARTITION on ACT_RU_JOB(PARTITION_, LOCK_EXP_TIME_);
+
+create table ACT_RU_JOB_PARTITION (
+    PARTITION_ integer not null,
+    REV_ integer,
+    OWNER_ varchar(255),
+    LEASE_EXP_TIME_ timestamp(3) NULL,
+    primary key (PARTITION_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
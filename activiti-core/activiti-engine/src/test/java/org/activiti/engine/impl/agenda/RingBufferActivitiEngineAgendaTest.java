@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.agenda;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class RingBufferActivitiEngineAgendaTest extends ResourceActivitiTestCase {
+
+  public RingBufferActivitiEngineAgendaTest() {
+    super("org/activiti/engine/impl/agenda/RingBufferActivitiEngineAgendaTest.activiti.cfg.xml");
+  }
+
+  public void testOperationsAreReturnedInPlanningOrder() {
+    managementService.executeCommand(new Command<Void>() {
+      @Override
+      public Void execute(CommandContext commandContext) {
+        assertTrue(commandContext.getAgenda() instanceof RingBufferActivitiEngineAgenda);
+
+        RingBufferActivitiEngineAgenda agenda = new RingBufferActivitiEngineAgenda(commandContext, 2, 1);
+        final List<Integer> executed = new ArrayList<Integer>();
+        int planned = 0;
+        for (int round = 1; round < 10; round++) {
+          // Interleave planning and polling, so the buffer wraps around and grows
+          for (int i = 0; i < round; i++) {
+            final int number = planned++;
+            agenda.planOperation(new Runnable() {
+              @Override
+              public void run() {
+                executed.add(number);
+              }
+            });
+          }
+          agenda.getNextOperation().run();
+        }
+        while (!agenda.isEmpty()) {
+          agenda.getNextOperation().run();
+        }
+        assertNull(agenda.getNextOperation());
+
+        assertEquals(planned, executed.size());
+        List<Integer> sorted = new ArrayList<Integer>(executed);
+        Collections.sort(sorted);
+        assertEquals(sorted, executed);
+        return null;
+      }
+    });
+  }
+
+  public void testExecutedOperationsAreReused() {
+    managementService.executeCommand(new Command<Void>() {
+      @Override
+      public Void execute(CommandContext commandContext) {
+        RingBufferActivitiEngineAgenda agenda = new RingBufferActivitiEngineAgenda(commandContext, 2, 1);
+
+        ContinueProcessOperation continueProcessOperation = agenda.obtainContinueProcessOperation(null, false, false);
+        agenda.release((RingBufferActivitiEngineAgenda.PooledContinueProcessOperation) continueProcessOperation);
+        ContinueProcessOperation reusedOperation = agenda.obtainContinueProcessOperation(null, true, true);
+        assertSame(continueProcessOperation, reusedOperation);
+        assertTrue(reusedOperation.forceSynchronousOperation);
+        assertTrue(reusedOperation.inCompensation);
+        assertNotSame(reusedOperation, agenda.obtainContinueProcessOperation(null, false, false));
+
+        TakeOutgoingSequenceFlowsOperation takeOutgoingSequenceFlowsOperation = agenda.obtainTakeOutgoingSequenceFlowsOperation(null, true);
+        agenda.release((RingBufferActivitiEngineAgenda.PooledTakeOutgoingSequenceFlowsOperation) takeOutgoingSequenceFlowsOperation);
+        assertSame(takeOutgoingSequenceFlowsOperation, agenda.obtainTakeOutgoingSequenceFlowsOperation(null, false));
+        assertFalse(takeOutgoingSequenceFlowsOperation.evaluateConditions);
+        return null;
+      }
+    });
+  }
+
+  @Deployment
+  public void testStraightThroughLoop() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("straightThroughLoop",
+        Collections.<String, Object>singletonMap("count", 0)).getId();
+
+    assertEquals(50L, runtimeService.getVariable(processInstanceId, "count"));
+    Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals("afterLoop", task.getTaskDefinitionKey());
+
+    taskService.complete(task.getId());
+    assertProcessEnded(processInstanceId);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testOneTaskProcess() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.cache;
+
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachedEntityTest {
+
+    @Test
+    public void trackedEntityShouldNotBeChangedByTheSettersCalledBeforeItIsCached() {
+        //given
+        ExecutionEntityImpl execution = new ExecutionEntityImpl();
+        execution.setParentId("1");
+        execution.setName("name");
+
+        //when
+        CachedEntity cachedEntity = new CachedEntity(execution, true, true);
+
+        //then
+        assertThat(cachedEntity.isChangeTracked()).isTrue();
+        assertThat(cachedEntity.getOriginalPersistentState()).isNull();
+        assertThat(cachedEntity.hasChanged()).isFalse();
+    }
+
+    @Test
+    public void trackedEntityShouldBeChangedWhenAPersistentPropertyIsSet() {
+        //given
+        ExecutionEntityImpl execution = new ExecutionEntityImpl();
+        execution.setName("name");
+        CachedEntity cachedEntity = new CachedEntity(execution, true, true);
+
+        //when
+        execution.setName("other name");
+
+        //then
+        assertThat(cachedEntity.hasChanged()).isTrue();
+        assertThat(execution.getChangedProperties()).isEqualTo(ExecutionEntityImpl.PROPERTY_NAME);
+    }
+
+    @Test
+    public void trackedEntityShouldNotBeChangedWhenAPropertyIsSetToItsCurrentValue() {
+        //given
+        TaskEntityImpl task = new TaskEntityImpl();
+        task.setAssignee("kermit");
+        task.setPriority(50);
+        CachedEntity cachedEntity = new CachedEntity(task, true, true);
+
+        //when
+        task.setAssignee("kermit");
+        task.setPriority(50);
+        task.setCategory("not persistent state");
+
+        //then
+        assertThat(cachedEntity.hasChanged()).isFalse();
+    }
+
+    @Test
+    public void trackedVariableShouldBeChangedWhenItsByteArrayChanges() {
+        //given
+        TestVariableInstanceEntity variable = new TestVariableInstanceEntity();
+        variable.setByteArrayRef(new ByteArrayRef("1"));
+        CachedEntity cachedEntity = new CachedEntity(variable, true, true);
+        assertThat(cachedEntity.hasChanged()).isFalse();
+
+        //when
+        variable.setByteArrayRef(new ByteArrayRef("2"));
+
+        //then
+        assertThat(cachedEntity.hasChanged()).isTrue();
+        assertThat(variable.getChangedProperties()).isEqualTo(VariableInstanceEntityImpl.PROPERTY_BYTE_ARRAY_VALUE_ID);
+    }
+
+    @Test
+    public void entityShouldBeComparedWithItsPersistentStateWhenChangesAreNotTracked() {
+        //given
+        ExecutionEntityImpl execution = new ExecutionEntityImpl();
+        execution.setName("name");
+        CachedEntity cachedEntity = new CachedEntity(execution, true, false);
+
+        //when
+        execution.setName("other name");
+
+        //then
+        assertThat(cachedEntity.isChangeTracked()).isFalse();
+        assertThat(cachedEntity.getOriginalPersistentState()).isNotNull();
+        assertThat(cachedEntity.hasChanged()).isTrue();
+    }
+
+    private static class TestVariableInstanceEntity extends VariableInstanceEntityImpl {
+
+        private static final long serialVersionUID = 1L;
+
+        void setByteArrayRef(ByteArrayRef byteArrayRef) {
+            this.byteArrayRef = byteArrayRef;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.activiti.engine.impl.persistence.CachedEntityIndex;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.junit.Test;
+
+import static org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.CachedEntityIndexes.EXECUTION_PARENT_ID;
+import static org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.CachedEntityIndexes.EXECUTION_PROCESS_INSTANCE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityCacheImplTest {
+
+    private EntityCacheImpl entityCache = new EntityCacheImpl();
+
+    @Test
+    public void findInCacheAsCachedObjectsShouldReturnOnlyEntitiesWithKey() {
+        //given
+        putExecution("1", null, "1");
+        putExecution("2", "1", "1");
+        putExecution("3", "1", "1");
+        putExecution("4", "2", "1");
+
+        //then
+        assertThat(findIds(EXECUTION_PARENT_ID, "1")).containsExactlyInAnyOrder("2", "3");
+        assertThat(findIds(EXECUTION_PARENT_ID, "2")).containsExactly("4");
+        assertThat(findIds(EXECUTION_PARENT_ID, "4")).isEmpty();
+        assertThat(findIds(EXECUTION_PROCESS_INSTANCE_ID, "1")).containsExactlyInAnyOrder("1", "2", "3", "4");
+    }
+
+    @Test
+    public void findInCacheAsCachedObjectsShouldReturnNullWhenNoEntitiesOfClassAreCached() {
+        assertThat(entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, EXECUTION_PARENT_ID, "1")).isNull();
+    }
+
+    @Test
+    public void indexShouldIncludeEntitiesAddedAfterItsCreation() {
+        //given
+        putExecution("1", null, "1");
+        assertThat(findIds(EXECUTION_PARENT_ID, "1")).isEmpty();
+
+        //when
+        putExecution("2", "1", "1");
+
+        //then
+        assertThat(findIds(EXECUTION_PARENT_ID, "1")).containsExactly("2");
+    }
+
+    @Test
+    public void indexShouldFollowChangedProperties() {
+        //given
+        putExecution("1", null, "1");
+        ExecutionEntityImpl child = putExecution("2", "1", null);
+        assertThat(findIds(EXECUTION_PARENT_ID, "1")).containsExactly("2");
+        assertThat(findIds(EXECUTION_PROCESS_INSTANCE_ID, "1")).containsExactly("1");
+
+        //when
+        child.setParentId("3");
+        child.setProcessInstanceId("1");
+
+        //then
+        assertThat(findIds(EXECUTION_PARENT_ID, "1")).isEmpty();
+        assertThat(findIds(EXECUTION_PARENT_ID, "3")).containsExactly("2");
+        assertThat(findIds(EXECUTION_PROCESS_INSTANCE_ID, "1")).containsExactlyInAnyOrder("1", "2");
+    }
+
+    @Test
+    public void indexShouldNotContainRemovedEntities() {
+        //given
+        ExecutionEntityImpl child = putExecution("2", "1", "1");
+        assertThat(findIds(EXECUTION_PARENT_ID, "1")).containsExactly("2");
+
+        //when
+        entityCache.cacheRemove(ExecutionEntityImpl.class, "2");
+
+        //then
+        assertThat(findIds(EXECUTION_PARENT_ID, "1")).isEmpty();
+        assertThat(child.getIndexedCachedEntity()).isNull();
+    }
+
+    @Test
+    public void closeShouldDetachEntitiesFromCache() {
+        //given
+        ExecutionEntityImpl child = putExecution("2", "1", "1");
+        findIds(EXECUTION_PARENT_ID, "1");
+        assertThat(child.getIndexedCachedEntity()).isNotNull();
+
+        //when
+        entityCache.close();
+
+        //then
+        assertThat(child.getIndexedCachedEntity()).isNull();
+    }
+
+    private ExecutionEntityImpl putExecution(String id, String parentId, String processInstanceId) {
+        ExecutionEntityImpl execution = new ExecutionEntityImpl();
+        execution.setId(id);
+        execution.setParentId(parentId);
+        execution.setProcessInstanceId(processInstanceId);
+        entityCache.put(execution, true);
+        return execution;
+    }
+
+    private List<String> findIds(CachedEntityIndex<? super ExecutionEntityImpl> index, String key) {
+        Collection<CachedEntity> cachedObjects = entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, index, key);
+        List<String> ids = new ArrayList<>();
+        for (CachedEntity cachedObject : cachedObjects) {
+            ids.add(cachedObject.getEntity().getId());
+        }
+        return ids;
+    }
+}
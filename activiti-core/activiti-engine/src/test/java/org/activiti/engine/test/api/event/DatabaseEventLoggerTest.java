@@ -1,6 +1,9 @@
 package org.activiti.engine.test.api.event;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -8,9 +11,16 @@ import java.util.Map;
 
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.cmd.DeleteEventLogEntriesCmd;
+import org.activiti.engine.impl.cmd.DeleteProcessedEventLogEntriesCmd;
+import org.activiti.engine.impl.cmd.LockEventLogEntriesCmd;
+import org.activiti.engine.impl.cmd.UpdateLockedEventLogEntryCmd;
 import org.activiti.engine.impl.event.logger.EventLogger;
 import org.activiti.engine.impl.event.logger.handler.Fields;
 import org.activiti.engine.impl.identity.Authentication;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.impl.util.CollectionUtil;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -549,4 +559,113 @@ public class DatabaseEventLoggerTest extends PluggableActivitiTestCase {
 
   }
 
+  public void testLockEventLogEntries() {
+    final Date now = processEngineConfiguration.getClock().getCurrentTime();
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (int i = 0; i < 3; i++) {
+          EventLogEntryEntity eventLogEntry = commandContext.getEventLogEntryEntityManager().create();
+          eventLogEntry.setType("LOCK_TEST");
+          eventLogEntry.setTimeStamp(now);
+          commandContext.getEventLogEntryEntityManager().insert(eventLogEntry, false);
+        }
+        return null;
+      }
+    });
+
+    List<EventLogEntry> firstLock = managementService.executeCommand(new LockEventLogEntriesCmd("LOCK_TEST", "first", 60000L, 2));
+    assertEquals(2, firstLock.size());
+    assertTrue(firstLock.get(0).getLogNumber() < firstLock.get(1).getLogNumber());
+
+    // The entries locked by the first owner are skipped until their lock expires
+    List<EventLogEntry> secondLock = managementService.executeCommand(new LockEventLogEntriesCmd("LOCK_TEST", "second", 60000L, 10));
+    assertEquals(1, secondLock.size());
+    assertTrue(secondLock.get(0).getLogNumber() > firstLock.get(1).getLogNumber());
+
+    processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + 61000L));
+    try {
+      List<EventLogEntry> expiredLock = managementService.executeCommand(new LockEventLogEntriesCmd("LOCK_TEST", "second", 60000L, 10));
+      assertEquals(3, expiredLock.size());
+
+      List<Long> logNrs = new ArrayList<Long>();
+      for (EventLogEntry eventLogEntry : expiredLock) {
+        logNrs.add(eventLogEntry.getLogNumber());
+      }
+      assertEquals(Integer.valueOf(3), managementService.executeCommand(new DeleteEventLogEntriesCmd(logNrs)));
+      assertEquals(0, managementService.getEventLogEntries(null, null).size());
+    } finally {
+      processEngineConfiguration.getClock().reset();
+    }
+  }
+
+  public void testLockEventLogEntriesInOrder() {
+    final Date now = processEngineConfiguration.getClock().getCurrentTime();
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (int i = 0; i < 3; i++) {
+          EventLogEntryEntity eventLogEntry = commandContext.getEventLogEntryEntityManager().create();
+          eventLogEntry.setType("ORDER_TEST");
+          eventLogEntry.setTimeStamp(now);
+          commandContext.getEventLogEntryEntityManager().insert(eventLogEntry, false);
+        }
+        return null;
+      }
+    });
+
+    List<EventLogEntry> firstLock = managementService.executeCommand(new LockEventLogEntriesCmd("ORDER_TEST", "first", 60000L, 1, true));
+    assertEquals(1, firstLock.size());
+
+    // The entries after one that is still locked are not locked, whoever locked it
+    assertEquals(0, managementService.executeCommand(new LockEventLogEntriesCmd("ORDER_TEST", "second", 60000L, 10, true)).size());
+    assertEquals(0, managementService.executeCommand(new LockEventLogEntriesCmd("ORDER_TEST", "first", 60000L, 10, true)).size());
+
+    managementService.executeCommand(new DeleteEventLogEntriesCmd(Collections.singletonList(firstLock.get(0).getLogNumber())));
+    List<EventLogEntry> secondLock = managementService.executeCommand(new LockEventLogEntriesCmd("ORDER_TEST", "second", 60000L, 10, true));
+    assertEquals(2, secondLock.size());
+    assertTrue(secondLock.get(0).getLogNumber() > firstLock.get(0).getLogNumber());
+
+    List<Long> logNrs = new ArrayList<Long>();
+    for (EventLogEntry eventLogEntry : secondLock) {
+      logNrs.add(eventLogEntry.getLogNumber());
+    }
+    managementService.executeCommand(new DeleteEventLogEntriesCmd(logNrs));
+  }
+
+  public void testUpdateLockedEventLogEntry() {
+    final Date now = processEngineConfiguration.getClock().getCurrentTime();
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        EventLogEntryEntity eventLogEntry = commandContext.getEventLogEntryEntityManager().create();
+        eventLogEntry.setType("UPDATE_TEST");
+        eventLogEntry.setTimeStamp(now);
+        eventLogEntry.setData("first".getBytes());
+        commandContext.getEventLogEntryEntityManager().insert(eventLogEntry, false);
+        return null;
+      }
+    });
+
+    long logNr = managementService.executeCommand(new LockEventLogEntriesCmd("UPDATE_TEST", "first", 60000L, 10)).get(0).getLogNumber();
+    assertEquals(Integer.valueOf(0), managementService.executeCommand(new UpdateLockedEventLogEntryCmd(logNr, "second", "second".getBytes(), false)));
+    assertEquals(Integer.valueOf(1), managementService.executeCommand(new UpdateLockedEventLogEntryCmd(logNr, "first", "retry".getBytes(), false)));
+    assertEquals(0, managementService.executeCommand(new LockEventLogEntriesCmd("UPDATE_TEST", "second", 60000L, 10)).size());
+
+    processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + 61000L));
+    try {
+      // The entry is locked again with the new data once its lock expired
+      List<EventLogEntry> retryLock = managementService.executeCommand(new LockEventLogEntriesCmd("UPDATE_TEST", "second", 60000L, 10));
+      assertEquals(1, retryLock.size());
+      assertEquals("retry", new String(retryLock.get(0).getData()));
+
+      // A processed entry is no longer locked, and deleted once it is older than the retention time
+      assertEquals(Integer.valueOf(1), managementService.executeCommand(new UpdateLockedEventLogEntryCmd(logNr, "second", "failed".getBytes(), true)));
+      assertEquals(Integer.valueOf(0), managementService.executeCommand(new DeleteProcessedEventLogEntriesCmd("UPDATE_TEST", 120000L)));
+
+      processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + 200000L));
+      assertEquals(0, managementService.executeCommand(new LockEventLogEntriesCmd("UPDATE_TEST", "second", 60000L, 10)).size());
+      assertEquals(Integer.valueOf(1), managementService.executeCommand(new DeleteProcessedEventLogEntriesCmd("UPDATE_TEST", 120000L)));
+    } finally {
+      processEngineConfiguration.getClock().reset();
+    }
+  }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.activiti.engine.test.api.history;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.activiti.engine.history.HistoricProcessInstance;
@@ -83,4 +85,40 @@ public class HistoricProcessInstanceQueryTest extends PluggableActivitiTestCase
       assertEquals("Historic Process Description 'en'", process.getDescription());
     }
   }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testForEach() {
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      for (int i = 0; i < 5; i++) {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.<String, Object>singletonMap("index", i)).getId();
+        if (i % 2 == 0) {
+          taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+        }
+      }
+
+      List<String> forEachProcessInstanceIds = new ArrayList<String>();
+      historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceId().desc().forEach(processInstance -> forEachProcessInstanceIds.add(processInstance.getId()));
+      List<String> listProcessInstanceIds = new ArrayList<String>();
+      for (HistoricProcessInstance processInstance : historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceId().desc().list()) {
+        listProcessInstanceIds.add(processInstance.getId());
+      }
+      assertEquals(5, forEachProcessInstanceIds.size());
+      assertEquals(listProcessInstanceIds, forEachProcessInstanceIds);
+
+      List<HistoricProcessInstance> finishedProcessInstances = new ArrayList<HistoricProcessInstance>();
+      historyService.createHistoricProcessInstanceQuery().finished().processDefinitionKey("oneTaskProcess").forEach(finishedProcessInstances::add);
+      assertEquals(3, finishedProcessInstances.size());
+      for (HistoricProcessInstance processInstance : finishedProcessInstances) {
+        assertNotNull(processInstance.getEndTime());
+        assertEquals("oneTaskProcess", processInstance.getProcessDefinitionKey());
+      }
+
+      List<HistoricProcessInstance> processInstancesWithVariables = new ArrayList<HistoricProcessInstance>();
+      historyService.createHistoricProcessInstanceQuery().includeProcessVariables().forEach(processInstancesWithVariables::add);
+      assertEquals(5, processInstancesWithVariables.size());
+      for (HistoricProcessInstance processInstance : processInstancesWithVariables) {
+        assertTrue(processInstance.getProcessVariables().containsKey("index"));
+      }
+    }
+  }
 }
@@ -854,4 +854,74 @@ public class HistoryServiceTest extends PluggableActivitiTestCase {
     assertEquals(1, historyService.createHistoricProcessInstanceQuery().or().processDefinitionCategory(processDefinitionCategory).processDefinitionId("invalid").endOr().count());
   }
 
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesEndedBefore() {
+    long byteArrayCount = managementService.getTableCount().get("ACT_GE_BYTEARRAY");
+    startAndFinishProcessInstancesWithHistory(3);
+    String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+    assertEquals(4, historyService.createHistoricProcessInstanceQuery().count());
+
+    assertEquals(0, historyService.deleteHistoricProcessInstancesEndedBefore(new Date(0), 2));
+    assertEquals(4, historyService.createHistoricProcessInstanceQuery().count());
+
+    assertEquals(3, historyService.deleteHistoricProcessInstancesEndedBefore(new Date(System.currentTimeMillis() + 60000), 2));
+    assertHistoryOfFinishedProcessInstancesDeleted(runningProcessInstanceId, byteArrayCount);
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesEndedBeforeAsync() {
+    long byteArrayCount = managementService.getTableCount().get("ACT_GE_BYTEARRAY");
+    startAndFinishProcessInstancesWithHistory(3);
+    String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    assertNotNull(historyService.deleteHistoricProcessInstancesEndedBeforeAsync(new Date(System.currentTimeMillis() + 60000), 2));
+    waitForJobExecutorToProcessAllJobs(10000L, 200L);
+
+    assertEquals(0, managementService.createJobQuery().count());
+    assertHistoryOfFinishedProcessInstancesDeleted(runningProcessInstanceId, byteArrayCount);
+  }
+
+  public void testDeleteHistoricProcessInstancesEndedBeforeInvalidArguments() {
+    try {
+      historyService.deleteHistoricProcessInstancesEndedBefore(null, 10);
+      fail("ActivitiIllegalArgumentException expected");
+    } catch (ActivitiIllegalArgumentException e) {
+      assertTextPresent("endedBefore is null", e.getMessage());
+    }
+
+    try {
+      historyService.deleteHistoricProcessInstancesEndedBeforeAsync(new Date(), 0);
+      fail("ActivitiIllegalArgumentException expected");
+    } catch (ActivitiIllegalArgumentException e) {
+      assertTextPresent("batchSize must be at least 1", e.getMessage());
+    }
+  }
+
+  protected void startAndFinishProcessInstancesWithHistory(int numberOfProcessInstances) {
+    for (int i = 0; i < numberOfProcessInstances; i++) {
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("stringVar", "value" + i);
+      variables.put("bytesVar", "bytes".getBytes());
+      String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables).getId();
+
+      Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+      taskService.addCandidateUser(task.getId(), "kermit");
+      taskService.addComment(task.getId(), processInstanceId, "comment " + i);
+      taskService.setVariableLocal(task.getId(), "taskVar", i);
+      taskService.complete(task.getId());
+    }
+  }
+
+  protected void assertHistoryOfFinishedProcessInstancesDeleted(String runningProcessInstanceId, long byteArrayCount) {
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(runningProcessInstanceId, historyService.createHistoricProcessInstanceQuery().singleResult().getId());
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricDetailQuery().count());
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, managementService.getTableCount().get("ACT_HI_COMMENT").longValue());
+    assertEquals(historyService.getHistoricIdentityLinksForProcessInstance(runningProcessInstanceId).size(), managementService.getTableCount().get("ACT_HI_IDENTITYLINK").longValue());
+    assertEquals(byteArrayCount, managementService.getTableCount().get("ACT_GE_BYTEARRAY").longValue());
+  }
+
 }
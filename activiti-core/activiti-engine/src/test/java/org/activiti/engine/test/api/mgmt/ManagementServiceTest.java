@@ -14,19 +14,23 @@
 package org.activiti.engine.test.api.mgmt;
 
 import java.util.Date;
+import java.util.Map;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.ActivitiObjectNotFoundException;
 import org.activiti.engine.JobNotFoundException;
 import org.activiti.engine.impl.ProcessEngineImpl;
+import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.management.ProcessDefinitionStatistics;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
 import org.activiti.engine.test.Deployment;
 
 /**
@@ -242,4 +246,37 @@ public class ManagementServiceTest extends PluggableActivitiTestCase {
     String table = managementService.getTableName(EventSubscriptionEntity.class);
     assertEquals("ACT_RU_EVENT_SUBSCR", table);
   }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/mgmt/timerOnTask.bpmn20.xml" })
+  public void testGetProcessDefinitionStatistics() {
+    processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME));
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().processDefinitionKey("timerOnTask").singleResult().getId();
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("timerOnTask");
+    }
+    Task task = taskService.createTaskQuery().listPage(0, 1).get(0);
+    taskService.complete(task.getId());
+
+    Map<String, ProcessDefinitionStatistics> statistics = managementService.getProcessDefinitionStatistics();
+    assertEquals(1, statistics.size());
+    ProcessDefinitionStatistics processDefinitionStatistics = statistics.get(processDefinitionId);
+    assertEquals(processDefinitionId, processDefinitionStatistics.getProcessDefinitionId());
+    assertEquals(2, processDefinitionStatistics.getRunningProcessInstanceCount());
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      assertEquals(1, processDefinitionStatistics.getCompletedProcessInstanceCount());
+    }
+    assertEquals(2, processDefinitionStatistics.getOpenTaskCount());
+    assertEquals(0, processDefinitionStatistics.getJobCount());
+    assertEquals(2, processDefinitionStatistics.getTimerJobCount());
+    assertEquals(0, processDefinitionStatistics.getDeadLetterJobCount());
+
+    // The statistics are cached for a short time
+    runtimeService.startProcessInstanceByKey("timerOnTask");
+    assertEquals(2, managementService.getProcessDefinitionStatistics().get(processDefinitionId).getRunningProcessInstanceCount());
+
+    processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME + processEngineConfiguration.getProcessDefinitionStatisticsCacheTimeInMillis()));
+    assertEquals(3, managementService.getProcessDefinitionStatistics().get(processDefinitionId).getRunningProcessInstanceCount());
+  }
+
+  private static final long SOME_TIME = 928374923546L;
 }
@@ -161,6 +161,29 @@ public class ProcessInstanceQueryTest extends PluggableActivitiTestCase {
     }
   }
   
+  public void testQueryByProcessInstanceIdAfter() {
+    List<String> pagedProcessInstanceIds = new ArrayList<String>();
+    List<ProcessInstance> page = runtimeService.createProcessInstanceQuery().orderByProcessInstanceId().asc().listPage(0, 2);
+    while (!page.isEmpty()) {
+      for (ProcessInstance processInstance : page) {
+        pagedProcessInstanceIds.add(processInstance.getId());
+      }
+      String lastProcessInstanceId = page.get(page.size() - 1).getId();
+      page = runtimeService.createProcessInstanceQuery().processInstanceIdAfter(lastProcessInstanceId).orderByProcessInstanceId().asc().listPage(0, 2);
+    }
+
+    List<String> orderedProcessInstanceIds = new ArrayList<String>();
+    for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery().orderByProcessInstanceId().asc().list()) {
+      orderedProcessInstanceIds.add(processInstance.getId());
+    }
+    assertEquals(PROCESS_DEPLOY_COUNT, pagedProcessInstanceIds.size());
+    assertEquals(orderedProcessInstanceIds, pagedProcessInstanceIds);
+    assertEquals(PROCESS_DEPLOY_COUNT - 1, runtimeService.createProcessInstanceQuery().processInstanceIdAfter(orderedProcessInstanceIds.get(0)).count());
+
+    // the execution query shares the criteria, without the process instance id after
+    assertEquals(runtimeService.createExecutionQuery().count(), runtimeService.createExecutionQuery().list().size());
+  }
+
   public void testQueryByProcessDefinitionCategory() {
     assertEquals(PROCESS_DEFINITION_KEY_DEPLOY_COUNT, runtimeService.createProcessInstanceQuery().processDefinitionCategory(PROCESS_DEFINITION_CATEGORY).count());
     assertEquals(PROCESS_DEFINITION_KEY_2_DEPLOY_COUNT, runtimeService.createProcessInstanceQuery().processDefinitionCategory(PROCESS_DEFINITION_CATEGORY_2).count());
@@ -96,6 +96,53 @@ public class TaskQueryTest extends PluggableActivitiTestCase {
     }
   }
 
+  public void testForEach() {
+    List<String> forEachTaskIds = new ArrayList<String>();
+    taskService.createTaskQuery().orderByTaskName().asc().orderByTaskId().asc().forEach(task -> forEachTaskIds.add(task.getId()));
+    List<String> listTaskIds = new ArrayList<String>();
+    for (Task task : taskService.createTaskQuery().orderByTaskName().asc().orderByTaskId().asc().list()) {
+      listTaskIds.add(task.getId());
+    }
+    assertEquals(12, forEachTaskIds.size());
+    assertEquals(listTaskIds, forEachTaskIds);
+
+    List<Task> tasks = new ArrayList<Task>();
+    taskService.createTaskQuery().taskCandidateGroup("accountancy").forEach(tasks::add);
+    assertEquals(3, tasks.size());
+    for (Task task : tasks) {
+      assertTrue(task.getName().startsWith("accountancyTask") || task.getName().equals("managementAndAccountancyTask"));
+    }
+
+    try {
+      taskService.createTaskQuery().forEach(null);
+      fail("ActivitiIllegalArgumentException expected");
+    } catch (ActivitiIllegalArgumentException e) {
+      assertTextPresent("consumer is null", e.getMessage());
+    }
+  }
+
+  public void testQueryByTaskIdAfter() {
+    List<String> pagedTaskIds = new ArrayList<String>();
+    List<Task> page = taskService.createTaskQuery().orderByTaskId().asc().listPage(0, 5);
+    while (!page.isEmpty()) {
+      for (Task task : page) {
+        pagedTaskIds.add(task.getId());
+      }
+      String lastTaskId = page.get(page.size() - 1).getId();
+      page = taskService.createTaskQuery().taskIdAfter(lastTaskId).orderByTaskId().asc().listPage(0, 5);
+    }
+
+    List<String> orderedTaskIds = new ArrayList<String>();
+    for (Task task : taskService.createTaskQuery().orderByTaskId().asc().list()) {
+      orderedTaskIds.add(task.getId());
+    }
+    assertEquals(12, pagedTaskIds.size());
+    assertEquals(orderedTaskIds, pagedTaskIds);
+
+    assertEquals(11, taskService.createTaskQuery().taskIdAfter(orderedTaskIds.get(0)).count());
+    assertEquals(0, taskService.createTaskQuery().taskIdAfter(orderedTaskIds.get(11)).count());
+  }
+
   public void testQueryByTaskId() {
     TaskQuery query = taskService.createTaskQuery().taskId(taskIds.get(0));
     assertNotNull(query.singleResult());
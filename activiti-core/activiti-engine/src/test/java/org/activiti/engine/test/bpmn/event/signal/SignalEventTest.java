@@ -21,8 +21,11 @@ import java.util.Map;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.EventSubscriptionQueryImpl;
+import org.activiti.engine.impl.jobexecutor.ScheduleSignalEventBatchesJobHandler;
+import org.activiti.engine.impl.jobexecutor.TriggerSignalEventBatchJobHandler;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.impl.util.CollectionUtil;
+import org.activiti.engine.impl.util.json.JSONObject;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -123,6 +126,54 @@ public class SignalEventTest extends PluggableActivitiTestCase {
 
   }
 
+  @Deployment(resources = { "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.catchAlertSignal.bpmn20.xml" })
+  public void testSignalCatchIntermediateInBatches() {
+    Date receivedAt = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(receivedAt);
+    try {
+      for (int i = 0; i < 5; i++) {
+        runtimeService.startProcessInstanceByKey("catchSignal");
+      }
+
+      Job schedulerJob = runtimeService.signalEventReceivedInBatches("alert", 2);
+      assertEquals(5, createEventSubscriptionQuery().count());
+      assertEquals(1, managementService.createJobQuery().count());
+      assertEquals(schedulerJob.getId(), managementService.createJobQuery().singleResult().getId());
+
+      // subscribed after the signal was received, so it is not triggered
+      processEngineConfiguration.getClock().setCurrentTime(new Date(receivedAt.getTime() + 1000));
+      String lateProcessInstanceId = runtimeService.startProcessInstanceByKey("catchSignal").getId();
+
+      int schedulerJobs = 0;
+      int batchJobs = 0;
+      String lastSchedulerConfiguration = null;
+      List<Job> jobs = managementService.createJobQuery().list();
+      while (!jobs.isEmpty()) {
+        for (Job job : jobs) {
+          if (ScheduleSignalEventBatchesJobHandler.TYPE.equals(job.getJobHandlerType())) {
+            schedulerJobs++;
+            lastSchedulerConfiguration = job.getJobHandlerConfiguration();
+          } else if (TriggerSignalEventBatchJobHandler.TYPE.equals(job.getJobHandlerType())) {
+            batchJobs++;
+          }
+          managementService.executeJob(job.getId());
+        }
+        jobs = managementService.createJobQuery().list();
+      }
+
+      assertEquals(3, schedulerJobs);
+      assertEquals(3, batchJobs);
+      JSONObject progress = new JSONObject(lastSchedulerConfiguration);
+      assertEquals(2, progress.getLong(ScheduleSignalEventBatchesJobHandler.JOB_HANDLER_CFG_BATCHES));
+      assertEquals(4, progress.getLong(ScheduleSignalEventBatchesJobHandler.JOB_HANDLER_CFG_SUBSCRIPTIONS));
+      assertEquals(1, createEventSubscriptionQuery().count());
+      assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+      assertEquals(lateProcessInstanceId, runtimeService.createProcessInstanceQuery().singleResult().getId());
+    } finally {
+      processEngineConfiguration.getClock().reset();
+    }
+  }
+
   @Deployment(resources = { "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.catchMultipleSignals.bpmn20.xml",
       "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.throwAlertSignal.bpmn20.xml", "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.throwAbortSignal.bpmn20.xml" })
   public void testSignalCatchDifferentSignals() {
@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.bpmn.gateway;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.delegate.JavaDelegate;
+
+/**
+ * Doubles the input variable, or multiplies it by the injected factor. When a barrier is set, waits until all branches have reached it, which only
+ * succeeds when the branches are executed concurrently.
+ */
+public class ParallelBranchDelegate implements JavaDelegate {
+
+  public static CyclicBarrier barrier;
+  public static Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+  protected Expression factor;
+
+  @Override
+  public void execute(DelegateExecution execution) {
+    threadNames.add(Thread.currentThread().getName());
+    if (barrier != null) {
+      try {
+        barrier.await(10, TimeUnit.SECONDS);
+      } catch (Exception e) {
+        throw new ActivitiException("Branches were not executed concurrently", e);
+      }
+    }
+    Integer input = execution.getVariable("input", Integer.class);
+    int multiplier = factor != null ? ((Number) factor.getValue(execution)).intValue() : 2;
+    execution.setVariable(execution.getCurrentActivityId() + "Result", input * multiplier);
+  }
+
+}
@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.bpmn.gateway;
+
+import java.util.Collections;
+import java.util.concurrent.CyclicBarrier;
+
+import org.activiti.engine.impl.bpmn.helper.ParallelBranchExecutor;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class ParallelBranchExecutionTest extends PluggableActivitiTestCase {
+
+  protected ParallelBranchExecutor originalParallelBranchExecutor;
+  protected ParallelBranchExecutor parallelBranchExecutor;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    // Not relying on the default pool size, which gives no parallelism on single core machines
+    parallelBranchExecutor = new ParallelBranchExecutor(3);
+    originalParallelBranchExecutor = processEngineConfiguration.getParallelBranchExecutor();
+    processEngineConfiguration.setParallelBranchExecutor(parallelBranchExecutor);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setParallelBranchExecutor(originalParallelBranchExecutor);
+    parallelBranchExecutor.shutdown();
+    ParallelBranchDelegate.barrier = null;
+    ParallelBranchDelegate.threadNames.clear();
+    super.tearDown();
+  }
+
+  @Deployment
+  public void testParallelBranchExecution() {
+    ParallelBranchDelegate.barrier = new CyclicBarrier(3);
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("parallelBranchExecution",
+        Collections.<String, Object>singletonMap("input", 21)).getId();
+
+    assertFalse(ParallelBranchDelegate.threadNames.contains(Thread.currentThread().getName()));
+    assertEquals(42, runtimeService.getVariable(processInstanceId, "branch1Result"));
+    assertEquals(42, runtimeService.getVariable(processInstanceId, "branch2Result"));
+    assertEquals(42, runtimeService.getVariable(processInstanceId, "branch3Result"));
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals("afterJoin", task.getTaskDefinitionKey());
+    taskService.complete(task.getId());
+    assertProcessEnded(processInstanceId);
+  }
+
+  @Deployment
+  public void testFieldInjectionIsNotExecutedInParallel() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("fieldInjectionInParallelBranch",
+        Collections.<String, Object>singletonMap("input", 21)).getId();
+
+    // The injected expressions need the command context, which the threads of the pool don't have
+    assertEquals(Collections.singleton(Thread.currentThread().getName()), ParallelBranchDelegate.threadNames);
+    assertEquals(63, runtimeService.getVariable(processInstanceId, "branch1Result"));
+    assertEquals(63, runtimeService.getVariable(processInstanceId, "branch2Result"));
+  }
+
+  @Deployment
+  public void testWithoutParallelBranchExecution() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("withoutParallelBranchExecution",
+        Collections.<String, Object>singletonMap("input", 21)).getId();
+
+    assertEquals(Collections.singleton(Thread.currentThread().getName()), ParallelBranchDelegate.threadNames);
+    assertEquals(42, runtimeService.getVariable(processInstanceId, "branch1Result"));
+    assertEquals(42, runtimeService.getVariable(processInstanceId, "branch2Result"));
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals("afterJoin", task.getTaskDefinitionKey());
+  }
+
+  @Deployment
+  public void testBpmnErrorInParallelBranch() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("bpmnErrorInParallelBranch",
+        Collections.<String, Object>singletonMap("input", 21)).getId();
+
+    assertEquals(42, runtimeService.getVariable(processInstanceId, "branch1Result"));
+    Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals("errorHandled", task.getTaskDefinitionKey());
+  }
+
+}
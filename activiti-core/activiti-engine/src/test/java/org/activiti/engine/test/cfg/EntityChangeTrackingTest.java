@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.cfg;
+
+import java.util.Collections;
+
+import org.activiti.engine.impl.db.DbSqlSessionFactory;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.SuspendedJobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs processes with entity change tracking enabled, in which case the executions, tasks, variables
+ * and jobs that were loaded are updated with the statements that only set the changed columns.
+ */
+public class EntityChangeTrackingTest extends PluggableActivitiTestCase {
+
+  protected boolean oldEnableEntityChangeTracking;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    oldEnableEntityChangeTracking = processEngineConfiguration.getPerformanceSettings().isEnableEntityChangeTracking();
+    processEngineConfiguration.setEnableEntityChangeTracking(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setEnableEntityChangeTracking(oldEnableEntityChangeTracking);
+    super.tearDown();
+  }
+
+  public void testPartialUpdateStatements() {
+    DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+    assertEquals("updateChangedExecution", dbSqlSessionFactory.getPartialUpdateStatement(new ExecutionEntityImpl()));
+    assertEquals("updateChangedTask", dbSqlSessionFactory.getPartialUpdateStatement(new TaskEntityImpl()));
+    assertEquals("updateChangedVariableInstance", dbSqlSessionFactory.getPartialUpdateStatement(new VariableInstanceEntityImpl()));
+    assertEquals("updateChangedJob", dbSqlSessionFactory.getPartialUpdateStatement(new JobEntityImpl()));
+    assertEquals("updateChangedTimerJob", dbSqlSessionFactory.getPartialUpdateStatement(new TimerJobEntityImpl()));
+    assertNull(dbSqlSessionFactory.getPartialUpdateStatement(new SuspendedJobEntityImpl()));
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testTaskAndVariableUpdates() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.<String, Object>singletonMap("var", "a"));
+    final Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+
+    taskService.setAssignee(task.getId(), "kermit");
+    taskService.setPriority(task.getId(), 10);
+    runtimeService.setVariable(processInstance.getId(), "var", "b");
+    runtimeService.setVariable(processInstance.getId(), "var", 123L);
+
+    // The category is not part of the persistent state, but is written with the other changes
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        TaskEntity taskEntity = commandContext.getTaskEntityManager().findById(task.getId());
+        taskEntity.setCategory("category");
+        taskEntity.setDescription("description");
+        return null;
+      }
+    });
+
+    Task updatedTask = taskService.createTaskQuery().taskId(task.getId()).singleResult();
+    assertEquals("kermit", updatedTask.getAssignee());
+    assertEquals(10, updatedTask.getPriority());
+    assertEquals("category", updatedTask.getCategory());
+    assertEquals("description", updatedTask.getDescription());
+    assertEquals("my task", updatedTask.getName());
+    assertEquals(123L, runtimeService.getVariable(processInstance.getId(), "var"));
+
+    taskService.complete(task.getId());
+    assertProcessEnded(processInstance.getId());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/mgmt/timerOnTask.bpmn20.xml")
+  public void testJobUpdates() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("timerOnTask");
+    Job timerJob = managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).singleResult();
+
+    managementService.setTimerJobRetries(timerJob.getId(), 5);
+
+    Job updatedTimerJob = managementService.createTimerJobQuery().jobId(timerJob.getId()).singleResult();
+    assertEquals(5, updatedTimerJob.getRetries());
+    assertEquals(timerJob.getDuedate(), updatedTimerJob.getDuedate());
+
+    runtimeService.suspendProcessInstanceById(processInstance.getId());
+    runtimeService.activateProcessInstanceById(processInstance.getId());
+    assertFalse(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).singleResult().isSuspended());
+  }
+
+}
@@ -0,0 +1,81 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.db;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs with JDBC batching enabled for the updates and deletes done when flushing.
+ */
+public class BatchUpdatesAndDeletesTest extends ResourceActivitiTestCase {
+
+  public BatchUpdatesAndDeletesTest() {
+    super("org/activiti/engine/test/db/BatchUpdatesAndDeletesTest.activiti.cfg.xml");
+  }
+
+  public void testBatchingIsEnabled() {
+    assertTrue(processEngineConfiguration.isBatchUpdatesAndDeletesEnabled());
+    assertTrue(processEngineConfiguration.getDbSqlSessionFactory().isBatchUpdatesAndDeletesEnabled());
+  }
+
+  @Deployment
+  public void testMultiInstanceUserTasks() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("batchUpdatesAndDeletes",
+        Collections.<String, Object>singletonMap("nrOfReviewers", 10)).getId();
+
+    List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstanceId).list();
+    assertEquals(10, tasks.size());
+
+    for (Task task : tasks) {
+      task.setDescription("Reviewed");
+      taskService.saveTask(task);
+      taskService.complete(task.getId());
+    }
+
+    Task afterReviewTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals("afterMiTasks", afterReviewTask.getTaskDefinitionKey());
+    assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(processInstanceId).onlyChildExecutions().count());
+
+    taskService.complete(afterReviewTask.getId());
+    assertProcessEnded(processInstanceId);
+    assertEquals(11, historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).count());
+  }
+
+  public void testOptimisticLockingThrownOnBatchedUpdate() {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    String taskId = task.getId();
+
+    Task task1 = taskService.createTaskQuery().taskId(taskId).singleResult();
+    Task task2 = taskService.createTaskQuery().taskId(taskId).singleResult();
+
+    task1.setDescription("first modification");
+    taskService.saveTask(task1);
+
+    task2.setDescription("second modification");
+    try {
+      taskService.saveTask(task2);
+      fail("should get an exception here as the task was modified by someone else.");
+    } catch (ActivitiOptimisticLockingException expected) {
+      // exception was thrown as expected
+    }
+
+    taskService.deleteTask(taskId, true);
+  }
+}
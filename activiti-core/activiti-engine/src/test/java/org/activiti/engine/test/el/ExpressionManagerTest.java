@@ -16,6 +16,8 @@ package org.activiti.engine.test.el;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.identity.Authentication;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -31,6 +33,38 @@ public class ExpressionManagerTest extends PluggableActivitiTestCase {
     super.setUp();
   }
 
+  public void testParsedExpressionsAreCached() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    assertEquals(0, expressionManager.getExpressionCacheSize());
+
+    Expression first = expressionManager.createExpression("${a + b}");
+    Expression second = expressionManager.createExpression(" ${a + b} ");
+    expressionManager.createExpression("${a - b}");
+    assertEquals(2, expressionManager.getExpressionCacheSize());
+
+    // The original text is kept, even when the parsed expression is shared
+    assertEquals("${a + b}", first.getExpressionText());
+    assertEquals(" ${a + b} ", second.getExpressionText());
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("a", 40);
+    variables.put("b", 2);
+    assertEquals(42L, first.getValue(expressionManager, processEngineConfiguration.getDelegateInterceptor(), variables));
+  }
+
+  public void testExpressionCacheIsBounded() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    expressionManager.setExpressionCacheLimit(2);
+    for (int i = 0; i < 5; i++) {
+      expressionManager.createExpression("${a + " + i + "}");
+    }
+    assertEquals(2, expressionManager.getExpressionCacheSize());
+
+    expressionManager.setExpressionCacheLimit(0);
+    expressionManager.createExpression("${a}");
+    assertEquals(0, expressionManager.getExpressionCacheSize());
+  }
+
   @Deployment
   public void testMethodExpressions() {
     // Process contains 2 service tasks. one containing a method with no
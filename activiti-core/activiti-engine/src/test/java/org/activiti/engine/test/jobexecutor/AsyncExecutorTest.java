@@ -14,6 +14,8 @@ package org.activiti.engine.test.jobexecutor;
 
 import java.util.Date;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.activiti.engine.ActivitiException;
@@ -259,6 +261,53 @@ public class AsyncExecutorTest {
     }
   }
 
+  @Test
+  public void testAsyncExecutionWithConcurrencyLimit() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+
+      // Jobs are executed on virtual threads, or on a thread per job when the JVM doesn't support them,
+      // but never more than one at the same time
+      ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+      processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
+      processEngineConfiguration.setDatabaseSchemaUpdate("true");
+      processEngineConfiguration.setAsyncExecutorActivate(true);
+
+      ThreadPerTaskAsyncExecutor asyncExecutor = new ThreadPerTaskAsyncExecutor();
+      asyncExecutor.setUseVirtualThreads(true);
+      asyncExecutor.setMaxConcurrentJobs(1);
+      asyncExecutor.setMaxAsyncJobsDuePerAcquisition(3);
+      asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50);
+      asyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+      asyncExecutor.setDefaultQueueSizeFullWaitTimeInMillis(50);
+      processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+
+      processEngine = processEngineConfiguration.buildProcessEngine();
+      setClockToCurrentTime(processEngine);
+      deploy(processEngine, "AsyncExecutorTest.testAsyncServiceTaskExecution.bpmn20.xml");
+      Assert.assertTrue(asyncExecutor.isVirtualThreadExecution());
+
+      for (int i = 0; i < 3; i++) {
+        processEngine.getRuntimeService().startProcessInstanceByKey("asyncServiceTask");
+      }
+      waitForAllJobsBeingExecuted(processEngine);
+
+      // Verify if all is as expected
+      Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+      Assert.assertEquals(3, processEngine.getTaskService().createTaskQuery().taskName("Task after service task").count());
+      Assert.assertEquals(1, asyncExecutor.getMaxObservedConcurrentJobs().get());
+
+    } finally {
+
+      // Clean up
+      cleanup(processEngine);
+
+    }
+
+  }
+
   // Helpers ////////////////////////////////////////////////////////
 
   private ProcessEngine createProcessEngine(boolean enableAsyncExecutor) {
@@ -353,4 +402,37 @@ public class AsyncExecutorTest {
 
   }
 
+  static class ThreadPerTaskAsyncExecutor extends DefaultAsyncJobExecutor {
+
+    private AtomicInteger concurrentJobs = new AtomicInteger(0);
+    private AtomicInteger maxObservedConcurrentJobs = new AtomicInteger(0);
+
+    @Override
+    protected ExecutorService createVirtualThreadExecutorService() {
+      ExecutorService executorService = super.createVirtualThreadExecutorService();
+      return executorService != null ? executorService : Executors.newCachedThreadPool();
+    }
+
+    @Override
+    protected Runnable createRunnableForJob(Job job) {
+      final Runnable runnable = super.createRunnableForJob(job);
+      return new Runnable() {
+        public void run() {
+          int current = concurrentJobs.incrementAndGet();
+          maxObservedConcurrentJobs.accumulateAndGet(current, Math::max);
+          try {
+            runnable.run();
+          } finally {
+            concurrentJobs.decrementAndGet();
+          }
+        }
+      };
+    }
+
+    public AtomicInteger getMaxObservedConcurrentJobs() {
+      return maxObservedConcurrentJobs;
+    }
+
+  }
+
 }
@@ -12,16 +12,30 @@
  */
 package org.activiti.engine.test.jobexecutor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.asyncexecutor.AcquiredJobEntities;
 import org.activiti.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
 import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
 import org.activiti.engine.impl.cmd.ExecuteAsyncJobCmd;
+import org.activiti.engine.impl.cmd.RebalanceJobPartitionsCmd;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.JobPartitionEntity;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.runtime.Job;
 
@@ -93,4 +107,290 @@ public class JobExecutorCmdHappyTest extends JobExecutorTestCase {
     assertEquals("i'm coding a test", tweetHandler.getMessages().get(0));
     assertEquals(1, tweetHandler.getMessages().size());
   }
-}
\ No newline at end of file
+
+  public void testAcquireJobsWithSkipLockedAcquisition() {
+    processEngineConfiguration.setAsyncExecutorSkipLockedAcquisition(true);
+    try {
+      AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+      CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+      String jobId = commandExecutor.execute(new Command<String>() {
+
+        public String execute(CommandContext commandContext) {
+          JobEntity message = createTweetMessage("i'm coding a test");
+          commandContext.getJobManager().scheduleAsyncJob(message);
+          return message.getId();
+        }
+      });
+
+      // databases without SKIP LOCKED support fall back to the regular acquisition query
+      AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+      assertEquals(1, acquiredJobs.size());
+      assertEquals(jobId, acquiredJobs.getJobs().iterator().next().getId());
+
+      acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+      assertEquals(0, acquiredJobs.size());
+
+      managementService.executeJob(jobId);
+      assertEquals(1, tweetHandler.getMessages().size());
+    } finally {
+      processEngineConfiguration.setAsyncExecutorSkipLockedAcquisition(false);
+    }
+  }
+
+  public void testConcurrentSkipLockedAcquisitionsGetDisjointJobs() throws Exception {
+    // H2 has no SKIP LOCKED: the fallback query would wait for the page locked by the first acquisition
+    String databaseType = processEngineConfiguration.getDatabaseType();
+    if (!"postgres".equals(databaseType) && !"mysql".equals(databaseType) && !"oracle".equals(databaseType)) {
+      return;
+    }
+
+    final AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    final CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+    final Set<String> jobIds = new HashSet<String>();
+    for (int i = 0; i < 4; i++) {
+      jobIds.add(commandExecutor.execute(new Command<String>() {
+
+        public String execute(CommandContext commandContext) {
+          JobEntity message = createTweetMessage("i'm coding a test");
+          commandContext.getJobManager().scheduleAsyncJob(message);
+          return message.getId();
+        }
+      }));
+    }
+
+    processEngineConfiguration.setAsyncExecutorSkipLockedAcquisition(true);
+    int maxAsyncJobsDuePerAcquisition = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+    asyncExecutor.setMaxAsyncJobsDuePerAcquisition(2);
+    try {
+      final CountDownLatch pageLocked = new CountDownLatch(1);
+      final CountDownLatch secondAcquisitionDone = new CountDownLatch(1);
+      final List<AcquiredJobEntities> firstAcquisition = Collections.synchronizedList(new ArrayList<AcquiredJobEntities>());
+      Thread firstAcquirer = new Thread(new Runnable() {
+
+        public void run() {
+          firstAcquisition.add(commandExecutor.execute(new Command<AcquiredJobEntities>() {
+
+            public AcquiredJobEntities execute(CommandContext commandContext) {
+              AcquiredJobEntities acquiredJobs = new AcquireJobsCmd(asyncExecutor).execute(commandContext);
+              // the page stays locked until this transaction commits
+              pageLocked.countDown();
+              try {
+                secondAcquisitionDone.await(10, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return acquiredJobs;
+            }
+          }));
+        }
+      });
+      firstAcquirer.start();
+
+      AcquiredJobEntities secondAcquisition;
+      try {
+        assertTrue(pageLocked.await(10, TimeUnit.SECONDS));
+        secondAcquisition = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+      } finally {
+        secondAcquisitionDone.countDown();
+        firstAcquirer.join(10000);
+      }
+
+      assertEquals(1, firstAcquisition.size());
+      assertEquals(2, firstAcquisition.get(0).size());
+      assertEquals(2, secondAcquisition.size());
+
+      Set<String> acquiredJobIds = new HashSet<String>();
+      for (JobEntity acquiredJob : firstAcquisition.get(0).getJobs()) {
+        acquiredJobIds.add(acquiredJob.getId());
+      }
+      for (JobEntity acquiredJob : secondAcquisition.getJobs()) {
+        acquiredJobIds.add(acquiredJob.getId());
+      }
+      assertEquals(jobIds, acquiredJobIds);
+    } finally {
+      asyncExecutor.setMaxAsyncJobsDuePerAcquisition(maxAsyncJobsDuePerAcquisition);
+      processEngineConfiguration.setAsyncExecutorSkipLockedAcquisition(false);
+    }
+
+    for (String jobId : jobIds) {
+      managementService.executeJob(jobId);
+    }
+    assertEquals(4, tweetHandler.getMessages().size());
+  }
+
+  public void testAcquireJobsLocksAllJobsWithOneStatement() {
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+    for (int i = 0; i < 3; i++) {
+      commandExecutor.execute(new Command<Void>() {
+
+        public Void execute(CommandContext commandContext) {
+          commandContext.getJobManager().scheduleAsyncJob(createTweetMessage("i'm coding a test"));
+          return null;
+        }
+      });
+    }
+
+    int maxAsyncJobsDuePerAcquisition = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+    asyncExecutor.setMaxAsyncJobsDuePerAcquisition(3);
+    AcquiredJobEntities acquiredJobs;
+    try {
+      acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+    } finally {
+      asyncExecutor.setMaxAsyncJobsDuePerAcquisition(maxAsyncJobsDuePerAcquisition);
+    }
+    assertEquals(3, acquiredJobs.size());
+
+    for (final JobEntity acquiredJob : acquiredJobs.getJobs()) {
+      assertEquals(asyncExecutor.getLockOwner(), acquiredJob.getLockOwner());
+      assertNotNull(acquiredJob.getLockExpirationTime());
+
+      JobEntity storedJob = commandExecutor.execute(new Command<JobEntity>() {
+
+        public JobEntity execute(CommandContext commandContext) {
+          return commandContext.getJobEntityManager().findById(acquiredJob.getId());
+        }
+      });
+      assertEquals(asyncExecutor.getLockOwner(), storedJob.getLockOwner());
+      assertEquals(acquiredJob.getRevision(), storedJob.getRevision());
+    }
+
+    for (JobEntity acquiredJob : acquiredJobs.getJobs()) {
+      managementService.executeJob(acquiredJob.getId());
+    }
+    assertEquals(3, tweetHandler.getMessages().size());
+  }
+
+  public void testLockJobsFailsWhenJobWasLockedConcurrently() {
+    final AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+    final String jobId = commandExecutor.execute(new Command<String>() {
+
+      public String execute(CommandContext commandContext) {
+        JobEntity message = createTweetMessage("i'm coding a test");
+        commandContext.getJobManager().scheduleAsyncJob(message);
+        return message.getId();
+      }
+    });
+
+    final List<JobEntity> staleJobs = commandExecutor.execute(new Command<List<JobEntity>>() {
+
+      public List<JobEntity> execute(CommandContext commandContext) {
+        return commandContext.getJobEntityManager().findJobsToExecute(new Page(0, 1));
+      }
+    });
+
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+    assertEquals(1, acquiredJobs.size());
+
+    try {
+      commandExecutor.execute(new Command<Void>() {
+
+        public Void execute(CommandContext commandContext) {
+          commandContext.getJobEntityManager().lockJobs(staleJobs, "otherLockOwner", new Date());
+          return null;
+        }
+      });
+      fail("Expected optimistic locking exception");
+    } catch (ActivitiOptimisticLockingException e) {
+      // expected
+    }
+
+    managementService.executeJob(jobId);
+    assertEquals(1, tweetHandler.getMessages().size());
+  }
+
+  public void testAcquireJobsOfOwnedPartitions() {
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+    final List<String> jobIds = new ArrayList<String>();
+    for (int i = 0; i < 4; i++) {
+      jobIds.add(commandExecutor.execute(new Command<String>() {
+
+        public String execute(CommandContext commandContext) {
+          JobEntity message = createTweetMessage("i'm coding a test");
+          commandContext.getJobManager().scheduleAsyncJob(message);
+          return message.getId();
+        }
+      }));
+    }
+
+    List<Integer> partitions = commandExecutor.execute(new Command<List<Integer>>() {
+
+      public List<Integer> execute(CommandContext commandContext) {
+        List<Integer> partitions = new ArrayList<Integer>();
+        for (String jobId : jobIds) {
+          partitions.add(commandContext.getJobEntityManager().findById(jobId).getPartition());
+        }
+        return partitions;
+      }
+    });
+
+    int partition = partitions.get(0);
+    List<Integer> otherPartitions = new ArrayList<Integer>();
+    for (int i = 0; i < processEngineConfiguration.getAsyncExecutorNumberOfPartitions(); i++) {
+      if (i != partition) {
+        otherPartitions.add(i);
+      }
+    }
+
+    int maxAsyncJobsDuePerAcquisition = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+    asyncExecutor.setMaxAsyncJobsDuePerAcquisition(4);
+    try {
+      AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, Collections.singletonList(partition)));
+      assertEquals(Collections.frequency(partitions, partition), acquiredJobs.size());
+      for (JobEntity acquiredJob : acquiredJobs.getJobs()) {
+        assertEquals(partition, acquiredJob.getPartition().intValue());
+      }
+
+      acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, otherPartitions));
+      assertEquals(4 - Collections.frequency(partitions, partition), acquiredJobs.size());
+
+      acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, Collections.<Integer>emptyList()));
+      assertEquals(0, acquiredJobs.size());
+    } finally {
+      asyncExecutor.setMaxAsyncJobsDuePerAcquisition(maxAsyncJobsDuePerAcquisition);
+    }
+
+    for (String jobId : jobIds) {
+      managementService.executeJob(jobId);
+    }
+    assertEquals(4, tweetHandler.getMessages().size());
+  }
+
+  public void testRebalanceJobPartitions() {
+    processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME));
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+    try {
+      assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), commandExecutor.execute(new RebalanceJobPartitionsCmd("a", 8, 60000)));
+
+      // b takes over one partition of a, after which a releases its surplus for b to claim
+      assertEquals(Arrays.asList(7), commandExecutor.execute(new RebalanceJobPartitionsCmd("b", 8, 60000)));
+      assertEquals(Arrays.asList(0, 1, 2, 3), commandExecutor.execute(new RebalanceJobPartitionsCmd("a", 8, 60000)));
+      assertEquals(Arrays.asList(4, 5, 6, 7), commandExecutor.execute(new RebalanceJobPartitionsCmd("b", 8, 60000)));
+
+      // b renews its lease, a does not
+      processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME + 50 * SECOND));
+      assertEquals(Arrays.asList(4, 5, 6, 7), commandExecutor.execute(new RebalanceJobPartitionsCmd("b", 8, 60000)));
+      processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME + 70 * SECOND));
+      assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), commandExecutor.execute(new RebalanceJobPartitionsCmd("b", 8, 60000)));
+
+    } finally {
+      commandExecutor.execute(new Command<Void>() {
+
+        public Void execute(CommandContext commandContext) {
+          for (JobPartitionEntity partition : commandContext.getJobPartitionEntityManager().findAll()) {
+            commandContext.getJobPartitionEntityManager().delete(partition);
+          }
+          return null;
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.activiti.engine.impl.agenda.ContinueProcessOperation;
+import org.activiti.engine.impl.cmd.CompleteTaskCmd;
+import org.activiti.engine.impl.cmd.StartProcessInstanceCmd;
+import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.activiti.engine.impl.metrics.MetricsRecorder;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs with a {@link MetricsRecorder} that keeps everything it receives.
+ */
+public class MetricsRecorderTest extends ResourceActivitiTestCase {
+
+  public MetricsRecorderTest() {
+    super("org/activiti/engine/test/metrics/MetricsRecorderTest.activiti.cfg.xml");
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    getMetricsRecorder().clear();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testRecordsCommandsStatementsAndAgendaOperations() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    RecordingMetricsRecorder metricsRecorder = getMetricsRecorder();
+    assertTrue(metricsRecorder.commands.contains(StartProcessInstanceCmd.class.getSimpleName() + ":null"));
+    assertTrue(metricsRecorder.statements.contains("selectLatestProcessDefinitionByKey"));
+    assertTrue(metricsRecorder.agendaOperations.contains(ContinueProcessOperation.class.getSimpleName() + ":StartEvent"));
+    assertTrue(metricsRecorder.agendaOperations.contains(ContinueProcessOperation.class.getSimpleName() + ":UserTask"));
+
+    try {
+      taskService.complete("unexisting");
+      fail();
+    } catch (ActivitiObjectNotFoundException e) {
+      // expected
+    }
+    assertTrue(metricsRecorder.commands.contains(CompleteTaskCmd.class.getSimpleName() + ":" + ActivitiObjectNotFoundException.class.getSimpleName()));
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/async/AsyncTaskTest.testAsyncScript.bpmn20.xml")
+  public void testRecordsAsyncJobAcquisitionAndExecution() {
+    runtimeService.startProcessInstanceByKey("asyncScript");
+    waitForJobExecutorToProcessAllJobs(5000L, 100L);
+
+    RecordingMetricsRecorder metricsRecorder = getMetricsRecorder();
+    assertTrue(metricsRecorder.acquisitions > 0);
+    assertEquals(1, metricsRecorder.jobExecutions.size());
+    assertEquals(AsyncContinuationJobHandler.TYPE + ":null", metricsRecorder.jobExecutions.get(0));
+  }
+
+  protected RecordingMetricsRecorder getMetricsRecorder() {
+    return (RecordingMetricsRecorder) processEngineConfiguration.getMetricsRecorder();
+  }
+
+  public static class RecordingMetricsRecorder implements MetricsRecorder {
+
+    protected List<String> commands = new CopyOnWriteArrayList<String>();
+    protected List<String> statements = new CopyOnWriteArrayList<String>();
+    protected List<String> agendaOperations = new CopyOnWriteArrayList<String>();
+    protected volatile int acquisitions;
+    protected List<String> jobExecutions = new CopyOnWriteArrayList<String>();
+
+    public void recordCommandExecution(Class<?> commandClass, long durationInNanos, Throwable exception) {
+      commands.add(commandClass.getSimpleName() + ":" + (exception != null ? exception.getClass().getSimpleName() : null));
+    }
+
+    public void recordStatementExecution(String statement, long durationInNanos) {
+      statements.add(statement);
+    }
+
+    public void recordAgendaOperation(Class<?> operationClass, String flowElementType) {
+      agendaOperations.add(operationClass.getSimpleName() + ":" + flowElementType);
+    }
+
+    public void recordAsyncJobAcquisition(int acquiredJobs, long durationInNanos) {
+      acquisitions++;
+    }
+
+    public void recordAsyncJobAcquisitionCollision() {
+    }
+
+    public void recordAsyncJobExecution(String jobHandlerType, long durationInNanos, Throwable exception) {
+      jobExecutions.add(jobHandlerType + ":" + (exception != null ? exception.getClass().getSimpleName() : null));
+    }
+
+    protected void clear() {
+      commands.clear();
+      statements.clear();
+      agendaOperations.clear();
+      acquisitions = 0;
+      jobExecutions.clear();
+    }
+  }
+}
@@ -16,6 +16,7 @@ package org.activiti.examples.groovy;
 import java.util.Date;
 import java.util.List;
 
+import org.activiti.engine.impl.scripting.ScriptingEngines;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.impl.util.CollectionUtil;
 import org.activiti.engine.runtime.Job;
@@ -41,6 +42,33 @@ public class GroovyScriptTest extends PluggableActivitiTestCase {
                      result.intValue());
     }
 
+    @Deployment(resources = "org/activiti/examples/groovy/GroovyScriptTest.testScriptExecution.bpmn20.xml")
+    public void testCompiledScriptIsReused() {
+        ScriptingEngines scriptingEngines = processEngineConfiguration.getScriptingEngines();
+        scriptingEngines.clearCompiledScriptCache();
+        long hits = scriptingEngines.getCompiledScriptCacheHits();
+        long misses = scriptingEngines.getCompiledScriptCacheMisses();
+
+        for (int i = 1; i <= 3; i++) {
+            int[] inputArray = new int[]{i, i, i};
+            ProcessInstance pi = runtimeService.startProcessInstanceByKey("scriptExecution",
+                                                                          CollectionUtil.singletonMap("inputArray",
+                                                                                                      inputArray));
+            Integer result = (Integer) runtimeService.getVariable(pi.getId(),
+                                                                  "sum");
+            assertEquals(3 * i,
+                         result.intValue());
+        }
+
+        // Compiled on the first execution, reused afterwards
+        assertEquals(1,
+                     scriptingEngines.getCompiledScriptCacheMisses() - misses);
+        assertEquals(2,
+                     scriptingEngines.getCompiledScriptCacheHits() - hits);
+        assertEquals(1,
+                     scriptingEngines.getCompiledScriptCacheSize());
+    }
+
     @Deployment
     public void testSetVariableThroughExecutionInScript() {
         ProcessInstance pi = runtimeService.startProcessInstanceByKey("setScriptVariableThroughExecution");
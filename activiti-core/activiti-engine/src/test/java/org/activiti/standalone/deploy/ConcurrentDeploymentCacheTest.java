@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.deploy;
+
+import java.text.MessageFormat;
+
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.repository.Deployment;
+import org.activiti.engine.repository.ProcessDefinition;
+
+public class ConcurrentDeploymentCacheTest extends ResourceActivitiTestCase {
+
+  public ConcurrentDeploymentCacheTest() {
+    super("org/activiti/standalone/deploy/concurrent.deployment.cache.test.activiti.cfg.xml");
+  }
+
+  public void testWeightLimit() {
+    // The test process has 5 flow elements and the maximum weight is set to 12 in the configuration above,
+    // so only 2 process definitions fit, although the limit on the number of process definitions is 3
+    ConcurrentDeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = (ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) processEngineConfiguration.getProcessDefinitionCache();
+    assertEquals(0, processDefinitionCache.size());
+
+    String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/activiti/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+    for (int i = 1; i <= 5; i++) {
+      repositoryService.createDeployment().addString("Process " + i + ".bpmn20.xml", MessageFormat.format(processDefinitionTemplate, i)).deploy();
+      assertEquals(Math.min(i, 2), processDefinitionCache.size());
+      assertEquals(Math.min(i, 2) * 5, processDefinitionCache.getWeight());
+    }
+    assertEquals(3, processDefinitionCache.getEvictionCount());
+
+    // Evicted process definitions are transparently put in the cache again
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("myProcess1").singleResult();
+    long missCount = processDefinitionCache.getMissCount();
+    runtimeService.startProcessInstanceById(processDefinition.getId());
+    assertTrue(processDefinitionCache.getMissCount() > missCount);
+    assertTrue(processDefinitionCache.contains(processDefinition.getId()));
+
+    long hitCount = processDefinitionCache.getHitCount();
+    runtimeService.startProcessInstanceById(processDefinition.getId());
+    assertTrue(processDefinitionCache.getHitCount() > hitCount);
+
+    // Cleanup
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+    assertEquals(0, processDefinitionCache.size());
+    assertEquals(0, processDefinitionCache.getWeight());
+  }
+
+  public void testLeastRecentlyUsedIsEvicted() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(2);
+    cache.add("a", "A");
+    cache.add("b", "B");
+    assertEquals("A", cache.get("a"));
+
+    cache.add("c", "C");
+    assertEquals(2, cache.size());
+    assertTrue(cache.contains("a"));
+    assertFalse(cache.contains("b"));
+    assertTrue(cache.contains("c"));
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  public void testEntryHeavierThanMaxWeightIsKeptUntilNextAddition() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(-1, 10, new DeploymentCacheWeigher<String>() {
+      @Override
+      public int weigh(String id, String object) {
+        return object.length();
+      }
+    });
+    cache.add("small", "abc");
+    cache.add("big", "abcdefghijklmnop");
+    assertEquals(1, cache.size());
+    assertEquals("abcdefghijklmnop", cache.get("big"));
+
+    cache.add("small", "abc");
+    assertEquals(1, cache.size());
+    assertEquals(3, cache.getWeight());
+    assertNull(cache.get("big"));
+    assertEquals(1, cache.getMissCount());
+  }
+
+}
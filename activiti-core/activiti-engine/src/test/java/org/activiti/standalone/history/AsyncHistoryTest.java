@@ -0,0 +1,175 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.history;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.history.HistoricVariableInstance;
+import org.activiti.engine.impl.history.async.AsyncHistoryEventApplier;
+import org.activiti.engine.impl.history.async.AsyncHistoryExecutor;
+import org.activiti.engine.impl.history.async.AsyncHistorySession;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class AsyncHistoryTest extends ResourceActivitiTestCase {
+
+  public AsyncHistoryTest() {
+    super("org/activiti/standalone/history/asynchistory.activiti.cfg.xml");
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testActivityAndVariableHistoryIsAppliedLater() {
+    AsyncHistoryExecutor asyncHistoryExecutor = processEngineConfiguration.getAsyncHistoryExecutor();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.<String, Object>singletonMap("number", "one"));
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count());
+
+    assertEquals(1, asyncHistoryExecutor.applyAll());
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(1, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).unfinished().count());
+    assertEquals("one", historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getValue());
+    assertEquals(1, historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count());
+
+    runtimeService.setVariable(processInstance.getId(), "number", "two");
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.setAssignee(task.getId(), "kermit");
+    assertEquals("one", historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getValue());
+
+    assertEquals(2, asyncHistoryExecutor.applyAll());
+    HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertEquals("two", historicVariable.getValue());
+    assertEquals(2, historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count());
+    HistoricActivityInstance historicTask = historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).activityId("theTask").singleResult();
+    assertEquals("kermit", historicTask.getAssignee());
+    assertEquals(task.getId(), historicTask.getTaskId());
+
+    taskService.complete(task.getId());
+    assertEquals(1, asyncHistoryExecutor.applyAll());
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).finished().count());
+    historicTask = historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).activityId("theTask").singleResult();
+    assertNotNull(historicTask.getEndTime());
+    assertNotNull(historicTask.getDurationInMillis());
+
+    assertEquals(0, managementService.getEventLogEntries(null, null).size());
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testHistoryOfDeletedProcessInstanceIsSkipped() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+
+    assertEquals(2, processEngineConfiguration.getAsyncHistoryExecutor().applyAll());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, managementService.getEventLogEntries(null, null).size());
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testFailedEntryIsAppliedAgainOnceItsLockExpires() {
+    AsyncHistoryExecutor asyncHistoryExecutor = processEngineConfiguration.getAsyncHistoryExecutor();
+    AsyncHistoryEventApplier eventApplier = asyncHistoryExecutor.getEventApplier();
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    asyncHistoryExecutor.setEventApplier(new FailingEventApplier());
+    try {
+      asyncHistoryExecutor.applyAll();
+    } finally {
+      asyncHistoryExecutor.setEventApplier(eventApplier);
+    }
+    assertEquals(1, findUnprocessedEntries().size());
+
+    // locked until the lock time has passed
+    assertEquals(0, asyncHistoryExecutor.applyAll());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count());
+
+    try {
+      processEngineConfiguration.getClock().setCurrentTime(new Date(System.currentTimeMillis() + asyncHistoryExecutor.getLockTimeInMillis() + 60000));
+      assertEquals(1, asyncHistoryExecutor.applyAll());
+    } finally {
+      processEngineConfiguration.getClock().reset();
+    }
+    assertEquals(2, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, findUnprocessedEntries().size());
+
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+    assertEquals(1, asyncHistoryExecutor.applyAll());
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testFailedEntriesAreHiddenAndDeletedAfterRetention() {
+    AsyncHistoryExecutor asyncHistoryExecutor = processEngineConfiguration.getAsyncHistoryExecutor();
+    AsyncHistoryEventApplier eventApplier = asyncHistoryExecutor.getEventApplier();
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    assertEquals(0, managementService.getEventLogEntries(null, null).size());
+    assertEquals(0, managementService.getEventLogEntries(0L, 10L).size());
+
+    asyncHistoryExecutor.setEventApplier(new FailingEventApplier());
+    try {
+      for (int i = 0; i < asyncHistoryExecutor.getMaxAttempts(); i++) {
+        processEngineConfiguration.getClock().setCurrentTime(new Date(System.currentTimeMillis() + i * (asyncHistoryExecutor.getLockTimeInMillis() + 60000)));
+        assertEquals(1, findUnprocessedEntries().size());
+        asyncHistoryExecutor.applyAll();
+      }
+    } finally {
+      asyncHistoryExecutor.setEventApplier(eventApplier);
+      processEngineConfiguration.getClock().reset();
+    }
+    assertEquals(0, findUnprocessedEntries().size());
+    assertEquals(0, managementService.getEventLogEntries(null, null).size());
+    assertEquals(0, asyncHistoryExecutor.applyAll());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count());
+
+    assertEquals(0, asyncHistoryExecutor.cleanUpFailedEntries());
+    try {
+      processEngineConfiguration.getClock().setCurrentTime(new Date(System.currentTimeMillis() + asyncHistoryExecutor.getFailedEntryRetentionInMillis() + 60000));
+      assertEquals(1, asyncHistoryExecutor.cleanUpFailedEntries());
+    } finally {
+      processEngineConfiguration.getClock().reset();
+    }
+
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+    assertEquals(1, asyncHistoryExecutor.applyAll());
+  }
+
+  protected List<EventLogEntry> findUnprocessedEntries() {
+    return managementService.executeCommand(new Command<List<EventLogEntry>>() {
+      public List<EventLogEntry> execute(CommandContext commandContext) {
+        return commandContext.getEventLogEntryEntityManager().findUnprocessedEventLogEntriesByType(AsyncHistorySession.EVENT_LOG_ENTRY_TYPE, 10);
+      }
+    });
+  }
+
+  protected static class FailingEventApplier extends AsyncHistoryEventApplier {
+
+    @Override
+    public void apply(CommandContext commandContext, JsonNode event) {
+      throw new ActivitiException("history tables not available");
+    }
+  }
+
+}
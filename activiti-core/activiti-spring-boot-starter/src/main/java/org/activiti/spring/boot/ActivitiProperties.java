@@ -46,6 +46,9 @@ public class ActivitiProperties {
   private String deploymentMode = "default";
   private boolean serializePOJOsInVariablesToJson = true;
   private String javaClassFieldForJackson = JsonTypeInfo.Id.CLASS.getDefaultPropertyName();
+  private boolean concurrentProcessDefinitionCache = false;
+  private int processDefinitionCacheLimit = -1;
+  private long processDefinitionCacheMaxWeight = -1;
 
   public boolean isAsyncExecutorActivate() {
     return asyncExecutorActivate;
@@ -232,4 +235,28 @@ public class ActivitiProperties {
     public void setJavaClassFieldForJackson(String javaClassFieldForJackson) {
         this.javaClassFieldForJackson = javaClassFieldForJackson;
     }
+
+    public boolean isConcurrentProcessDefinitionCache() {
+        return concurrentProcessDefinitionCache;
+    }
+
+    public void setConcurrentProcessDefinitionCache(boolean concurrentProcessDefinitionCache) {
+        this.concurrentProcessDefinitionCache = concurrentProcessDefinitionCache;
+    }
+
+    public int getProcessDefinitionCacheLimit() {
+        return processDefinitionCacheLimit;
+    }
+
+    public void setProcessDefinitionCacheLimit(int processDefinitionCacheLimit) {
+        this.processDefinitionCacheLimit = processDefinitionCacheLimit;
+    }
+
+    public long getProcessDefinitionCacheMaxWeight() {
+        return processDefinitionCacheMaxWeight;
+    }
+
+    public void setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+        this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+    }
 }
@@ -139,6 +139,47 @@ public class AsyncExecutorProperties {
      * Set this to true when using the message queue based job executor. Default is false.
      */
     private boolean messageQueueMode = false;
+
+    /**
+     * Set this to true to acquire jobs with 'SELECT ... FOR UPDATE SKIP LOCKED', so multiple nodes
+     * never compete for the same jobs. Only used on PostgreSQL, MySQL 8+ and Oracle. Default is false.
+     */
+    private boolean skipLockedAcquisition = false;
+
+    /**
+     * Set this to true to spread the async jobs over partitions by process instance, and let every node
+     * only acquire the jobs of the partitions it owns. Default is false.
+     */
+    private boolean partitionedAcquisition = false;
+
+    /**
+     * The number of partitions used by the partitioned acquisition. Must be the same on all nodes. Default value = 16.
+     */
+    private int numberOfPartitions = 16;
+
+    /**
+     * The time a node keeps its partitions without renewing them. Default value = 1 minute.
+     */
+    private int partitionLeaseTimeInMillis = 60 * 1000;
+
+    /**
+     * The interval in which a node renews and rebalances its partitions. Default value = 10 seconds.
+     */
+    private int partitionRebalanceIntervalInMillis = 10 * 1000;
+
+    /**
+     * Set this to true to execute every job on its own virtual thread instead of on the
+     * task executor, when running on Java 21 or later. The pool and queue sizes are then
+     * not used; the number of jobs executed at the same time is limited by maxConcurrentJobs.
+     * Default is false.
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * The maximum number of jobs that are executed at the same time on virtual threads.
+     * When reached, acquired jobs are handed back until a job is done. Default value = 100.
+     */
+    private int maxConcurrentJobs = 100;
     
     public int getCorePoolSize() {
         return corePoolSize;
@@ -188,6 +229,46 @@ public class AsyncExecutorProperties {
         this.messageQueueMode = isMessageQueueMode;
     }
     
+    public boolean isSkipLockedAcquisition() {
+        return skipLockedAcquisition;
+    }
+
+    public void setSkipLockedAcquisition(boolean skipLockedAcquisition) {
+        this.skipLockedAcquisition = skipLockedAcquisition;
+    }
+
+    public boolean isPartitionedAcquisition() {
+        return partitionedAcquisition;
+    }
+
+    public void setPartitionedAcquisition(boolean partitionedAcquisition) {
+        this.partitionedAcquisition = partitionedAcquisition;
+    }
+
+    public int getNumberOfPartitions() {
+        return numberOfPartitions;
+    }
+
+    public void setNumberOfPartitions(int numberOfPartitions) {
+        this.numberOfPartitions = numberOfPartitions;
+    }
+
+    public int getPartitionLeaseTimeInMillis() {
+        return partitionLeaseTimeInMillis;
+    }
+
+    public void setPartitionLeaseTimeInMillis(int partitionLeaseTimeInMillis) {
+        this.partitionLeaseTimeInMillis = partitionLeaseTimeInMillis;
+    }
+
+    public int getPartitionRebalanceIntervalInMillis() {
+        return partitionRebalanceIntervalInMillis;
+    }
+
+    public void setPartitionRebalanceIntervalInMillis(int partitionRebalanceIntervalInMillis) {
+        this.partitionRebalanceIntervalInMillis = partitionRebalanceIntervalInMillis;
+    }
+    
     public int getMaxTimerJobsPerAcquisition() {
         return maxTimerJobsPerAcquisition;
     }
@@ -275,4 +356,20 @@ public class AsyncExecutorProperties {
     public void setNumberOfRetries(int numberOfRetries) {
         this.numberOfRetries = numberOfRetries;
     }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
 }
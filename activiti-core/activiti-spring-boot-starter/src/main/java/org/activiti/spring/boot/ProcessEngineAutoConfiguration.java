@@ -118,6 +118,9 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
         conf.setCopyVariablesToLocalForTasks(activitiProperties.isCopyVariablesToLocalForTasks());
         conf.setSerializePOJOsInVariablesToJson(activitiProperties.isSerializePOJOsInVariablesToJson());
         conf.setJavaClassFieldForJackson(activitiProperties.getJavaClassFieldForJackson());
+        conf.setEnableConcurrentProcessDefinitionCache(activitiProperties.isConcurrentProcessDefinitionCache());
+        conf.setProcessDefinitionCacheLimit(activitiProperties.getProcessDefinitionCacheLimit());
+        conf.setProcessDefinitionCacheMaxWeight(activitiProperties.getProcessDefinitionCacheMaxWeight());
 
         if (activitiProperties.getCustomMybatisMappers() != null) {
             conf.setCustomMybatisMappers(getCustomMybatisMapperClasses(activitiProperties.getCustomMybatisMappers()));
@@ -248,6 +251,11 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
 
             configuration.setAsyncExecutorMaxAsyncJobsDuePerAcquisition(properties.getMaxAsyncJobsDuePerAcquisition());
             configuration.setAsyncExecutorMaxTimerJobsPerAcquisition(properties.getMaxTimerJobsPerAcquisition());
+            configuration.setAsyncExecutorSkipLockedAcquisition(properties.isSkipLockedAcquisition());
+            configuration.setAsyncExecutorPartitionedAcquisition(properties.isPartitionedAcquisition());
+            configuration.setAsyncExecutorNumberOfPartitions(properties.getNumberOfPartitions());
+            configuration.setAsyncExecutorPartitionLeaseTimeInMillis(properties.getPartitionLeaseTimeInMillis());
+            configuration.setAsyncExecutorPartitionRebalanceIntervalInMillis(properties.getPartitionRebalanceIntervalInMillis());
             configuration.setAsyncExecutorMaxPoolSize(properties.getMaxPoolSize());
 
             configuration.setAsyncExecutorResetExpiredJobsInterval(properties.getResetExpiredJobsInterval());
@@ -257,6 +265,8 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
             configuration.setAsyncExecutorThreadKeepAliveTime(properties.getKeepAliveTime());
             configuration.setAsyncExecutorTimerLockTimeInMillis(properties.getTimerLockTimeInMillis());
             configuration.setAsyncExecutorThreadPoolQueueSize(properties.getQueueSize());
+            configuration.setAsyncExecutorUseVirtualThreads(properties.isVirtualThreads());
+            configuration.setAsyncExecutorMaxConcurrentJobs(properties.getMaxConcurrentJobs());
 
             configuration.setAsyncFailedJobWaitTime(properties.getRetryWaitTimeInMillis());
         };
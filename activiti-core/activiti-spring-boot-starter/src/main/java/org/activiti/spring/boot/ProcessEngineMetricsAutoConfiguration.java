@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.spring.boot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.activiti.spring.boot.actuate.metrics.MicrometerMetricsRecorder;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the metrics of the process engine to the Micrometer registry, when there is one.
+ * Can be switched off with spring.activiti.metrics.enabled=false.
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "spring.activiti.metrics", name = "enabled", matchIfMissing = true)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+public class ProcessEngineMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MicrometerMetricsRecorder micrometerMetricsRecorder(MeterRegistry meterRegistry) {
+        return new MicrometerMetricsRecorder(meterRegistry);
+    }
+
+    @Bean
+    public ProcessEngineConfigurationConfigurer metricsRecorderConfigurer(MicrometerMetricsRecorder metricsRecorder) {
+        return (configuration) -> {
+            configuration.setMetricsRecorder(metricsRecorder);
+            if (configuration.getAsyncExecutor() != null) {
+                metricsRecorder.bindAsyncExecutor(configuration.getAsyncExecutor());
+            }
+        };
+    }
+}
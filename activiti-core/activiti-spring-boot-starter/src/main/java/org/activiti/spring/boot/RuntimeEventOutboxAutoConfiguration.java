@@ -0,0 +1,69 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.spring.boot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.engine.ManagementService;
+import org.activiti.spring.outbox.RuntimeEventOutbox;
+import org.activiti.spring.outbox.RuntimeEventOutboxListenerPostProcessor;
+import org.activiti.spring.outbox.RuntimeEventRelay;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Delivers the runtime events to the process, task and variable event listeners after the transaction they happened
+ * in committed, through an outbox in the event log table. Switched on with spring.activiti.runtime-event-outbox.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.activiti.runtime-event-outbox", name = "enabled")
+@EnableConfigurationProperties(RuntimeEventOutboxProperties.class)
+@AutoConfigureAfter(JacksonAutoConfiguration.class)
+public class RuntimeEventOutboxAutoConfiguration {
+
+    @Bean
+    public static RuntimeEventOutboxListenerPostProcessor runtimeEventOutboxListenerPostProcessor() {
+        return new RuntimeEventOutboxListenerPostProcessor();
+    }
+
+    @Bean
+    public ProcessEngineConfigurationConfigurer runtimeEventOutboxConfigurer() {
+        // the outbox entries are not part of the event log the management service exposes
+        return configuration -> configuration.getInternalEventLogEntryTypes().add(RuntimeEventOutbox.EVENT_LOG_ENTRY_TYPE);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RuntimeEventOutbox runtimeEventOutbox(ObjectMapper objectMapper) {
+        return new RuntimeEventOutbox(objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RuntimeEventRelay runtimeEventRelay(ManagementService managementService,
+                                               RuntimeEventOutbox runtimeEventOutbox,
+                                               RuntimeEventOutboxProperties properties) {
+        RuntimeEventRelay runtimeEventRelay = new RuntimeEventRelay(managementService,
+                                                                    runtimeEventOutbox);
+        runtimeEventRelay.setBatchSize(properties.getBatchSize());
+        runtimeEventRelay.setWaitTimeInMillis(properties.getWaitTimeInMillis());
+        runtimeEventRelay.setLockTimeInMillis(properties.getLockTimeInMillis());
+        runtimeEventRelay.setMaxAttempts(properties.getMaxAttempts());
+        runtimeEventRelay.setFailedEntryRetentionInMillis(properties.getFailedEntryRetentionInMillis());
+        return runtimeEventRelay;
+    }
+}
@@ -0,0 +1,92 @@
+package org.activiti.spring.boot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "spring.activiti.runtime-event-outbox")
+public class RuntimeEventOutboxProperties {
+
+    /**
+     * Whether the runtime events are kept in the event log table within the transaction and delivered to the
+     * process, task and variable event listeners after the transaction committed, instead of during the
+     * transaction. Default value = false.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The number of outbox entries delivered per batch. Every entry holds the events of one transaction.
+     * Default value = 100.
+     */
+    private int batchSize = 100;
+
+    /**
+     * The time (in milliseconds) the relay waits before looking for new outbox entries when there were none left.
+     * Default value = 1000.
+     */
+    private long waitTimeInMillis = 1000L;
+
+    /**
+     * The time (in milliseconds) after which outbox entries that were locked but not delivered by a relay are
+     * delivered again. Default value = 5 minutes.
+     */
+    private long lockTimeInMillis = 300000L;
+
+    /**
+     * The number of times the delivery of an outbox entry is attempted before the entry is marked as processed and
+     * given up on. Default value = 5.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * The time (in milliseconds) the outbox entries that were given up on are kept in the event log table.
+     * Default value = 7 days.
+     */
+    private long failedEntryRetentionInMillis = 7L * 24 * 60 * 60 * 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getWaitTimeInMillis() {
+        return waitTimeInMillis;
+    }
+
+    public void setWaitTimeInMillis(long waitTimeInMillis) {
+        this.waitTimeInMillis = waitTimeInMillis;
+    }
+
+    public long getLockTimeInMillis() {
+        return lockTimeInMillis;
+    }
+
+    public void setLockTimeInMillis(long lockTimeInMillis) {
+        this.lockTimeInMillis = lockTimeInMillis;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getFailedEntryRetentionInMillis() {
+        return failedEntryRetentionInMillis;
+    }
+
+    public void setFailedEntryRetentionInMillis(long failedEntryRetentionInMillis) {
+        this.failedEntryRetentionInMillis = failedEntryRetentionInMillis;
+    }
+}
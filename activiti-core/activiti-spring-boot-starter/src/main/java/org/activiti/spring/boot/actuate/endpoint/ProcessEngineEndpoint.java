@@ -23,6 +23,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.management.ProcessDefinitionStatistics;
 import org.activiti.engine.repository.ProcessDefinition;
 
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
@@ -61,20 +62,21 @@ public class ProcessEngineEndpoint {
         metrics.put("deployedProcessDefinitions",
                     processDefinitionKeys);
 
-        // Process instances
+        // Process instances, counted for all process definitions at once
+        Map<String, ProcessDefinitionStatistics> statistics = processEngine.getManagementService().getProcessDefinitionStatistics();
         Map<String, Object> processInstanceCountMap = new HashMap<String, Object>();
         metrics.put("runningProcessInstanceCount",
                     processInstanceCountMap);
-        for (ProcessDefinition processDefinition : processDefinitions) {
-            processInstanceCountMap.put(processDefinition.getKey() + " (v" + processDefinition.getVersion() + ")",
-                                        processEngine.getRuntimeService().createProcessInstanceQuery().processDefinitionId(processDefinition.getId()).count());
-        }
         Map<String, Object> completedProcessInstanceCountMap = new HashMap<String, Object>();
         metrics.put("completedProcessInstanceCount",
                     completedProcessInstanceCountMap);
         for (ProcessDefinition processDefinition : processDefinitions) {
-            completedProcessInstanceCountMap.put(processDefinition.getKey() + " (v" + processDefinition.getVersion() + ")",
-                                                 processEngine.getHistoryService().createHistoricProcessInstanceQuery().finished().processDefinitionId(processDefinition.getId()).count());
+            String processDefinitionName = processDefinition.getKey() + " (v" + processDefinition.getVersion() + ")";
+            ProcessDefinitionStatistics processDefinitionStatistics = statistics.get(processDefinition.getId());
+            processInstanceCountMap.put(processDefinitionName,
+                                        processDefinitionStatistics != null ? processDefinitionStatistics.getRunningProcessInstanceCount() : 0L);
+            completedProcessInstanceCountMap.put(processDefinitionName,
+                                                 processDefinitionStatistics != null ? processDefinitionStatistics.getCompletedProcessInstanceCount() : 0L);
         }
 
         // Open tasks
@@ -0,0 +1,166 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.spring.boot.actuate.metrics;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.activiti.engine.impl.metrics.MetricsRecorder;
+import org.activiti.spring.SpringAsyncExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Publishes the measurements of the process engine as Micrometer meters:
+ * <ul>
+ * <li>activiti.command: execution time per command class and exception, with a percentile histogram</li>
+ * <li>activiti.sql.statement: execution time per MyBatis statement</li>
+ * <li>activiti.agenda.operations: executed agenda operations per operation class and flow element type</li>
+ * <li>activiti.async.executor.acquisition and activiti.async.executor.acquired.jobs: duration and result of every
+ * acquisition of due async jobs</li>
+ * <li>activiti.async.executor.acquisition.collisions: acquisitions that failed because another async executor locked
+ * a job first</li>
+ * <li>activiti.async.executor.job.execution: execution time per job handler type and exception, with a percentile
+ * histogram</li>
+ * <li>activiti.async.executor.queue.size: jobs waiting for a thread of the async executor</li>
+ * </ul>
+ * The meters are cached, so recording does not look them up in the registry again.
+ */
+public class MicrometerMetricsRecorder implements MetricsRecorder {
+
+    protected static final String NONE = "none";
+
+    protected final MeterRegistry meterRegistry;
+
+    protected final ConcurrentMap<String, Timer> commandTimers = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<String, Timer> statementTimers = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<String, Counter> agendaOperationCounters = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<String, Timer> jobExecutionTimers = new ConcurrentHashMap<>();
+
+    protected final Timer acquisitionTimer;
+    protected final DistributionSummary acquiredJobsSummary;
+    protected final Counter acquisitionCollisionCounter;
+
+    public MicrometerMetricsRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.acquisitionTimer = Timer.builder("activiti.async.executor.acquisition")
+                .description("Duration of the acquisition of due async jobs")
+                .register(meterRegistry);
+        this.acquiredJobsSummary = DistributionSummary.builder("activiti.async.executor.acquired.jobs")
+                .description("Number of async jobs acquired per acquisition")
+                .register(meterRegistry);
+        this.acquisitionCollisionCounter = Counter.builder("activiti.async.executor.acquisition.collisions")
+                .description("Acquisitions failed because another async executor locked a job first")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the queue size gauge of the given async executor.
+     */
+    public void bindAsyncExecutor(AsyncExecutor asyncExecutor) {
+        Gauge.builder("activiti.async.executor.queue.size", asyncExecutor, MicrometerMetricsRecorder::getQueueSize)
+                .description("Number of async jobs waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordCommandExecution(Class<?> commandClass, long durationInNanos, Throwable exception) {
+        String command = commandClass.getSimpleName();
+        String exceptionName = getExceptionName(exception);
+        commandTimers.computeIfAbsent(command + ":" + exceptionName, key -> Timer.builder("activiti.command")
+                .description("Execution time of the commands of the process engine")
+                .tag("command", command)
+                .tag("exception", exceptionName)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordStatementExecution(String statement, long durationInNanos) {
+        statementTimers.computeIfAbsent(statement, key -> Timer.builder("activiti.sql.statement")
+                .description("Execution time of the SQL statements of the process engine")
+                .tag("statement", statement)
+                .register(meterRegistry))
+                .record(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordAgendaOperation(Class<?> operationClass, String flowElementType) {
+        String operation = operationClass.getSimpleName();
+        String elementType = flowElementType != null ? flowElementType : NONE;
+        agendaOperationCounters.computeIfAbsent(operation + ":" + elementType, key -> Counter.builder("activiti.agenda.operations")
+                .description("Operations executed from the agenda")
+                .tag("operation", operation)
+                .tag("flow.element.type", elementType)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    @Override
+    public void recordAsyncJobAcquisition(int acquiredJobs, long durationInNanos) {
+        acquisitionTimer.record(durationInNanos, TimeUnit.NANOSECONDS);
+        acquiredJobsSummary.record(acquiredJobs);
+    }
+
+    @Override
+    public void recordAsyncJobAcquisitionCollision() {
+        acquisitionCollisionCounter.increment();
+    }
+
+    @Override
+    public void recordAsyncJobExecution(String jobHandlerType, long durationInNanos, Throwable exception) {
+        String handlerType = jobHandlerType != null ? jobHandlerType : NONE;
+        String exceptionName = getExceptionName(exception);
+        jobExecutionTimers.computeIfAbsent(handlerType + ":" + exceptionName, key -> Timer.builder("activiti.async.executor.job.execution")
+                .description("Execution time of the async jobs")
+                .tag("handler.type", handlerType)
+                .tag("exception", exceptionName)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    protected String getExceptionName(Throwable exception) {
+        return exception != null ? exception.getClass().getSimpleName() : NONE;
+    }
+
+    protected static double getQueueSize(AsyncExecutor asyncExecutor) {
+        if (asyncExecutor instanceof SpringAsyncExecutor) {
+            TaskExecutor taskExecutor = ((SpringAsyncExecutor) asyncExecutor).getTaskExecutor();
+            if (taskExecutor instanceof ThreadPoolTaskExecutor) {
+                try {
+                    return ((ThreadPoolTaskExecutor) taskExecutor).getThreadPoolExecutor().getQueue().size();
+                } catch (IllegalStateException e) {
+                    // not initialized yet
+                    return 0;
+                }
+            }
+        } else if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+            BlockingQueue<Runnable> threadPoolQueue = ((DefaultAsyncJobExecutor) asyncExecutor).getThreadPoolQueue();
+            if (threadPoolQueue != null) {
+                return threadPoolQueue.size();
+            }
+        }
+        return Double.NaN;
+    }
+}
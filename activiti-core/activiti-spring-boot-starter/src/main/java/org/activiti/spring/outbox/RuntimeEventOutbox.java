@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.outbox;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.activiti.api.model.shared.event.RuntimeEvent;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Keeps the runtime events of a transaction in the event log table, as entries of type {@link #EVENT_LOG_ENTRY_TYPE},
+ * instead of calling the listeners right away. The {@link RuntimeEventRelay} delivers them to the listeners after the
+ * transaction committed.
+ * <p>
+ * The events are stored as JSON, by their fields, together with the names of the listener beans they are for. So the
+ * entries can be delivered by any node running the same application. The values of fields declared as {@link Object},
+ * such as the variable values and the payload variables, are stored with their Java type, so the listeners get the
+ * same values as when the events are delivered in the transaction. An event that can't be stored that way, like one
+ * with a cyclic variable value, is delivered in the transaction instead.
+ * <p>
+ * An entry also counts its delivery attempts: when a listener fails, the entry is rewritten with only the deliveries
+ * that failed, so the listeners that accepted an event do not get it again.
+ */
+public class RuntimeEventOutbox {
+
+    private static Logger logger = LoggerFactory.getLogger(RuntimeEventOutbox.class);
+
+    public static final String EVENT_LOG_ENTRY_TYPE = "RUNTIME_EVENTS";
+
+    protected static final String FIELD_ATTEMPTS = "attempts";
+    protected static final String FIELD_EVENTS = "events";
+    protected static final String FIELD_TYPE = "type";
+    protected static final String FIELD_LISTENERS = "listeners";
+    protected static final String FIELD_EVENT = "event";
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, RegisteredListener> listeners = new ConcurrentHashMap<>();
+
+    public RuntimeEventOutbox(ObjectMapper objectMapper) {
+        // the events are read back into their implementation classes, most of which have no setters, and their values
+        // of type Object, such as a Date or a Long variable value, into the class they were written from
+        this.objectMapper = objectMapper.copy()
+                .setVisibility(PropertyAccessor.ALL, Visibility.NONE)
+                .setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .enableDefaultTyping(ObjectMapper.DefaultTyping.JAVA_LANG_OBJECT);
+    }
+
+    /**
+     * Registers the listener bean the events recorded for the given name are delivered to.
+     *
+     * @param onEventMethod the method that receives the events
+     */
+    public void registerListener(String name, Object listener, Method onEventMethod) {
+        listeners.put(name, new RegisteredListener(listener, onEventMethod));
+    }
+
+    /**
+     * Records the event for the given listener in the transaction of the current command context.
+     *
+     * @return false when there is no command context to record the event in, in which case the caller delivers it itself
+     */
+    public boolean add(String listenerName, RuntimeEvent<?, ?> event) {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext == null) {
+            return false;
+        }
+        return RuntimeEventOutboxSession.getOrCreateSession(commandContext, this).add(listenerName, event);
+    }
+
+    /**
+     * Converts the event to the JSON it is stored with, when it is recorded: the event holds the values of that moment.
+     *
+     * @return null when the event can't be converted, in which case it is delivered in the transaction
+     */
+    public JsonNode writeEvent(RuntimeEvent<?, ?> event) {
+        try {
+            return objectMapper.valueToTree(event);
+        } catch (RuntimeException e) {
+            logger.warn("Runtime event " + event.getId() + " of type " + event.getClass().getName()
+                                + " can't be stored in the outbox, it is delivered in the transaction", e);
+            return null;
+        }
+    }
+
+    public byte[] write(Collection<RuntimeEventOutboxSession.PendingEvent> pendingEvents) {
+        ObjectNode outboxEntry = objectMapper.createObjectNode();
+        outboxEntry.put(FIELD_ATTEMPTS, 0);
+        ArrayNode events = outboxEntry.putArray(FIELD_EVENTS);
+        for (RuntimeEventOutboxSession.PendingEvent pendingEvent : pendingEvents) {
+            ObjectNode event = events.addObject();
+            event.put(FIELD_TYPE, pendingEvent.getEvent().getClass().getName());
+            ArrayNode listenerNames = event.putArray(FIELD_LISTENERS);
+            pendingEvent.getListenerNames().forEach(listenerNames::add);
+            event.set(FIELD_EVENT, pendingEvent.getData());
+        }
+        return writeEntry(outboxEntry);
+    }
+
+    /**
+     * Delivers the events of the given entry to their listeners, in the order they happened. A failing listener, or an
+     * event that cannot be read, does not stop the delivery of the other events.
+     *
+     * @return null when every listener accepted its events, otherwise the entry data to deliver again, holding only
+     * the events and listeners that failed, with one more attempt counted
+     */
+    public byte[] deliver(EventLogEntry eventLogEntry) {
+        ObjectNode outboxEntry = readEntry(eventLogEntry.getData());
+        ArrayNode failedEvents = objectMapper.createArrayNode();
+        for (JsonNode event : outboxEntry.get(FIELD_EVENTS)) {
+            RuntimeEvent<?, ?> runtimeEvent;
+            try {
+                runtimeEvent = readEvent(event);
+            } catch (RuntimeException e) {
+                logger.error("Could not read a runtime event of outbox entry " + eventLogEntry.getLogNumber(), e);
+                failedEvents.add(event);
+                continue;
+            }
+            ArrayNode failedListenerNames = objectMapper.createArrayNode();
+            for (JsonNode listenerName : event.get(FIELD_LISTENERS)) {
+                RegisteredListener listener = listeners.get(listenerName.asText());
+                if (listener == null) {
+                    logger.warn("No listener '{}' for runtime event {} of outbox entry {}", listenerName.asText(), runtimeEvent.getId(), eventLogEntry.getLogNumber());
+                    continue;
+                }
+                try {
+                    listener.onEvent(runtimeEvent);
+                } catch (RuntimeException e) {
+                    logger.error("Listener '" + listenerName.asText() + "' failed on runtime event " + runtimeEvent.getId(), e);
+                    failedListenerNames.add(listenerName);
+                }
+            }
+            if (failedListenerNames.size() > 0) {
+                ObjectNode failedEvent = ((ObjectNode) event).deepCopy();
+                failedEvent.set(FIELD_LISTENERS, failedListenerNames);
+                failedEvents.add(failedEvent);
+            }
+        }
+
+        if (failedEvents.size() == 0) {
+            return null;
+        }
+        outboxEntry.put(FIELD_ATTEMPTS, outboxEntry.path(FIELD_ATTEMPTS).asInt() + 1);
+        outboxEntry.set(FIELD_EVENTS, failedEvents);
+        return writeEntry(outboxEntry);
+    }
+
+    /**
+     * @return the number of times delivering the given entry data failed
+     */
+    public int getAttempts(byte[] data) {
+        return readEntry(data).path(FIELD_ATTEMPTS).asInt();
+    }
+
+    protected ObjectNode readEntry(byte[] data) {
+        try {
+            return (ObjectNode) objectMapper.readTree(data);
+        } catch (Exception e) {
+            throw new ActivitiException("Could not read runtime event outbox entry", e);
+        }
+    }
+
+    protected byte[] writeEntry(ObjectNode outboxEntry) {
+        try {
+            return objectMapper.writeValueAsBytes(outboxEntry);
+        } catch (Exception e) {
+            throw new ActivitiException("Could not serialize the runtime events", e);
+        }
+    }
+
+    protected RuntimeEvent<?, ?> readEvent(JsonNode event) {
+        try {
+            Class<?> eventClass = ClassUtils.forName(event.get(FIELD_TYPE).asText(), getClass().getClassLoader());
+            return (RuntimeEvent<?, ?>) objectMapper.treeToValue(event.get(FIELD_EVENT), eventClass);
+        } catch (Exception e) {
+            throw new ActivitiException("Could not read runtime event of type " + event.get(FIELD_TYPE).asText(), e);
+        }
+    }
+
+    private static class RegisteredListener {
+
+        private final Object listener;
+        private final Method onEventMethod;
+
+        RegisteredListener(Object listener, Method onEventMethod) {
+            this.listener = listener;
+            this.onEventMethod = onEventMethod;
+        }
+
+        void onEvent(RuntimeEvent<?, ?> event) {
+            ReflectionUtils.invokeMethod(onEventMethod, listener, event);
+        }
+    }
+}
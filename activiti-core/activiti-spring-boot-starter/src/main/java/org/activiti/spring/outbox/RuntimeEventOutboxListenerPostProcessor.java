@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.outbox;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.activiti.api.model.shared.event.RuntimeEvent;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Proxies every runtime event listener bean, such as the process, task and variable event listeners, so the events
+ * they receive within a transaction go to the {@link RuntimeEventOutbox} instead. Events received outside of a
+ * transaction are passed on to the listener right away.
+ * <p>
+ * The listeners are proxied by their class, or by their interfaces when the class is final as for lambdas.
+ */
+public class RuntimeEventOutboxListenerPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean,
+                                                 String beanName) throws BeansException {
+        Method onEventMethod = findOnEventMethod(bean.getClass());
+        if (onEventMethod == null) {
+            return bean;
+        }
+
+        RuntimeEventOutbox outbox = beanFactory.getBean(RuntimeEventOutbox.class);
+        outbox.registerListener(beanName, bean, onEventMethod);
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(!Modifier.isFinal(bean.getClass().getModifiers()));
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            if (isOnEventMethod(invocation.getMethod())
+                    && outbox.add(beanName, (RuntimeEvent<?, ?>) invocation.getArguments()[0])) {
+                return null;
+            }
+            return invocation.proceed();
+        });
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * @return the onEvent method of the runtime event listener interface implemented by the given class, or null
+     */
+    protected Method findOnEventMethod(Class<?> beanClass) {
+        for (Class<?> listenerInterface : ClassUtils.getAllInterfacesForClassAsSet(beanClass)) {
+            for (Method method : listenerInterface.getMethods()) {
+                if (isOnEventMethod(method) && method.getParameterTypes()[0] == RuntimeEvent.class) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    protected boolean isOnEventMethod(Method method) {
+        return "onEvent".equals(method.getName())
+                && method.getParameterCount() == 1
+                && RuntimeEvent.class.isAssignableFrom(method.getParameterTypes()[0]);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.outbox;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.activiti.api.model.shared.event.RuntimeEvent;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+
+/**
+ * Collects the runtime events of one {@link CommandContext} and writes them as a single event log entry when the
+ * command context is closing, so they are committed or rolled back together with the changes they are about.
+ */
+public class RuntimeEventOutboxSession implements CommandContextCloseListener {
+
+    protected static final String ATTRIBUTE_NAME = RuntimeEventOutboxSession.class.getName();
+
+    private final RuntimeEventOutbox outbox;
+
+    private final Map<String, PendingEvent> pendingEvents = new LinkedHashMap<>();
+
+    private boolean closing;
+
+    public RuntimeEventOutboxSession(RuntimeEventOutbox outbox) {
+        this.outbox = outbox;
+    }
+
+    public static RuntimeEventOutboxSession getOrCreateSession(CommandContext commandContext,
+                                                               RuntimeEventOutbox outbox) {
+        RuntimeEventOutboxSession session = commandContext.getGenericAttribute(ATTRIBUTE_NAME);
+        if (session == null) {
+            session = new RuntimeEventOutboxSession(outbox);
+            commandContext.addAttribute(ATTRIBUTE_NAME, session);
+            commandContext.addCloseListener(session);
+        }
+        return session;
+    }
+
+    /**
+     * @return false when the events of this session are already written, or when the event can't be stored
+     */
+    public boolean add(String listenerName, RuntimeEvent<?, ?> event) {
+        if (closing) {
+            return false;
+        }
+        PendingEvent pendingEvent = pendingEvents.get(event.getId());
+        if (pendingEvent == null) {
+            JsonNode data = outbox.writeEvent(event);
+            if (data == null) {
+                return false;
+            }
+            pendingEvent = new PendingEvent(event, data);
+            pendingEvents.put(event.getId(), pendingEvent);
+        }
+        pendingEvent.getListenerNames().add(listenerName);
+        return true;
+    }
+
+    @Override
+    public void closing(CommandContext commandContext) {
+        closing = true;
+        if (commandContext.getException() != null || pendingEvents.isEmpty()) {
+            return; // The transaction is rolled back, and the events with it
+        }
+
+        EventLogEntryEntity eventLogEntry = commandContext.getEventLogEntryEntityManager().create();
+        eventLogEntry.setType(RuntimeEventOutbox.EVENT_LOG_ENTRY_TYPE);
+        eventLogEntry.setTimeStamp(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+        eventLogEntry.setData(outbox.write(pendingEvents.values()));
+        commandContext.getEventLogEntryEntityManager().insert(eventLogEntry, false);
+    }
+
+    @Override
+    public void afterSessionsFlush(CommandContext commandContext) {
+
+    }
+
+    @Override
+    public void closed(CommandContext commandContext) {
+
+    }
+
+    @Override
+    public void closeFailure(CommandContext commandContext) {
+
+    }
+
+    public static class PendingEvent {
+
+        private final RuntimeEvent<?, ?> event;
+        private final JsonNode data;
+        private final List<String> listenerNames = new ArrayList<>();
+
+        public PendingEvent(RuntimeEvent<?, ?> event,
+                            JsonNode data) {
+            this.event = event;
+            this.data = data;
+        }
+
+        public RuntimeEvent<?, ?> getEvent() {
+            return event;
+        }
+
+        public JsonNode getData() {
+            return data;
+        }
+
+        public List<String> getListenerNames() {
+            return listenerNames;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2018 Alfresco, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.cmd.DeleteEventLogEntriesCmd;
+import org.activiti.engine.impl.cmd.DeleteProcessedEventLogEntriesCmd;
+import org.activiti.engine.impl.cmd.LockEventLogEntriesCmd;
+import org.activiti.engine.impl.cmd.UpdateLockedEventLogEntryCmd;
+import org.activiti.spring.AbstractActivitiSmartLifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the runtime events kept by the {@link RuntimeEventOutbox} to their listeners on a single background thread,
+ * in batches of {@link #getBatchSize()} outbox entries.
+ * <p>
+ * A batch is locked in one transaction, delivered outside of any transaction and deleted in another one, so the
+ * listeners can use the engine services and a slow listener does not keep any database lock. Only the entries every
+ * listener accepted are deleted. When the relay stops before deleting a batch, its lock expires after
+ * {@link #getLockTimeInMillis()} and the batch is delivered again, possibly by another node: the events are delivered
+ * at least once.
+ * <p>
+ * When a listener fails, or an event cannot be read, the entry keeps only the failed deliveries and is delivered again
+ * once its lock expires. After {@link #getMaxAttempts()} failed attempts it is marked as processed, as is an entry that
+ * cannot be read at all. It is then kept in the event log table for {@link #getFailedEntryRetentionInMillis()}, and
+ * deleted by a cleanup that runs every {@link #getCleanupIntervalInMillis()}.
+ * <p>
+ * The entries are delivered in the order of their log numbers, on all the nodes together: an entry is only locked once
+ * the entries before it are delivered or given up on. So when an entry fails, the batch stops there, and the entries
+ * after it wait until it is delivered again or given up on. A failing listener thereby holds back all the events, for
+ * up to {@link #getMaxAttempts()} times {@link #getLockTimeInMillis()}. The log number is taken when the entry is
+ * inserted, as the transaction is flushed right before its commit, so only transactions that commit at about the same
+ * time can be delivered in the order they were flushed in rather than the order they committed in.
+ */
+public class RuntimeEventRelay extends AbstractActivitiSmartLifeCycle implements Runnable {
+
+    private static Logger logger = LoggerFactory.getLogger(RuntimeEventRelay.class);
+
+    private final ManagementService managementService;
+    private final RuntimeEventOutbox outbox;
+
+    private String lockOwner = UUID.randomUUID().toString();
+    private int batchSize = 100;
+    private long waitTimeInMillis = 1000L;
+    private long lockTimeInMillis = 300000L;
+    private int maxAttempts = 5;
+    private long failedEntryRetentionInMillis = 7L * 24 * 60 * 60 * 1000;
+    private long cleanupIntervalInMillis = 60L * 60 * 1000;
+    private long nextCleanupTime;
+
+    private Thread thread;
+    private volatile boolean isInterrupted;
+    private final Object MONITOR = new Object();
+    private final AtomicBoolean isWaiting = new AtomicBoolean(false);
+
+    public RuntimeEventRelay(ManagementService managementService,
+                             RuntimeEventOutbox outbox) {
+        this.managementService = managementService;
+        this.outbox = outbox;
+    }
+
+    @Override
+    public void doStart() {
+        isInterrupted = false;
+        thread = new Thread(this, "activiti-runtime-event-relay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void doStop() {
+        synchronized (MONITOR) {
+            isInterrupted = true;
+            if (isWaiting.compareAndSet(true, false)) {
+                MONITOR.notifyAll();
+            }
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while waiting for the runtime event relay to stop", e);
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        while (!isInterrupted) {
+            try {
+                relayAll();
+            } catch (Throwable e) {
+                logger.error("exception while relaying runtime events", e);
+            }
+
+            if (System.currentTimeMillis() >= nextCleanupTime) {
+                nextCleanupTime = System.currentTimeMillis() + cleanupIntervalInMillis;
+                try {
+                    cleanUpFailedEntries();
+                } catch (Throwable e) {
+                    logger.error("exception while deleting failed runtime event outbox entries", e);
+                }
+            }
+
+            try {
+                synchronized (MONITOR) {
+                    if (!isInterrupted) {
+                        isWaiting.set(true);
+                        MONITOR.wait(waitTimeInMillis);
+                    }
+                }
+            } catch (InterruptedException e) {
+                logger.debug("runtime event relay wait interrupted");
+            } finally {
+                isWaiting.set(false);
+            }
+        }
+    }
+
+    /**
+     * Delivers the pending runtime events until there are none left.
+     *
+     * @return the number of outbox entries delivered
+     */
+    public int relayAll() {
+        int relayedEntries = 0;
+        int batchEntries;
+        do {
+            batchEntries = relayBatch();
+            relayedEntries += batchEntries;
+        } while (batchEntries == batchSize && !isInterrupted);
+        return relayedEntries;
+    }
+
+    protected int relayBatch() {
+        List<EventLogEntry> eventLogEntries = managementService.executeCommand(
+                new LockEventLogEntriesCmd(RuntimeEventOutbox.EVENT_LOG_ENTRY_TYPE, lockOwner, lockTimeInMillis, batchSize, true));
+        if (eventLogEntries.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> deliveredLogNrs = new ArrayList<>(eventLogEntries.size());
+        int relayedEntries = 0;
+        for (EventLogEntry eventLogEntry : eventLogEntries) {
+            relayedEntries++;
+            byte[] failedDeliveries;
+            try {
+                failedDeliveries = outbox.deliver(eventLogEntry);
+            } catch (RuntimeException e) {
+                logger.error("Could not read runtime event outbox entry " + eventLogEntry.getLogNumber() + ", marking it as processed", e);
+                managementService.executeCommand(new UpdateLockedEventLogEntryCmd(eventLogEntry.getLogNumber(), lockOwner, eventLogEntry.getData(), true));
+                continue;
+            }
+            if (failedDeliveries == null) {
+                deliveredLogNrs.add(eventLogEntry.getLogNumber());
+            } else if (!retryLater(eventLogEntry.getLogNumber(), failedDeliveries)) {
+                // the entries after it stay locked, and are delivered again together with it
+                break;
+            }
+        }
+        managementService.executeCommand(new DeleteEventLogEntriesCmd(deliveredLogNrs));
+        return relayedEntries;
+    }
+
+    /**
+     * @return true if the entry is given up on, so the entries after it can be delivered
+     */
+    protected boolean retryLater(long logNr, byte[] failedDeliveries) {
+        int attempts = outbox.getAttempts(failedDeliveries);
+        boolean givenUp = attempts >= maxAttempts;
+        if (givenUp) {
+            logger.error("Giving up on runtime event outbox entry {} after {} attempts, marking it as processed", logNr, attempts);
+        } else {
+            logger.warn("Runtime event outbox entry {} failed {} time(s), it is delivered again once its lock expires", logNr, attempts);
+        }
+        managementService.executeCommand(new UpdateLockedEventLogEntryCmd(logNr, lockOwner, failedDeliveries, givenUp));
+        return givenUp;
+    }
+
+    /**
+     * Deletes the entries that were given up on, once they are older than {@link #getFailedEntryRetentionInMillis()}.
+     *
+     * @return the number of entries deleted
+     */
+    public int cleanUpFailedEntries() {
+        return managementService.executeCommand(
+                new DeleteProcessedEventLogEntriesCmd(RuntimeEventOutbox.EVENT_LOG_ENTRY_TYPE, failedEntryRetentionInMillis));
+    }
+
+    public String getLockOwner() {
+        return lockOwner;
+    }
+
+    public void setLockOwner(String lockOwner) {
+        this.lockOwner = lockOwner;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getWaitTimeInMillis() {
+        return waitTimeInMillis;
+    }
+
+    public void setWaitTimeInMillis(long waitTimeInMillis) {
+        this.waitTimeInMillis = waitTimeInMillis;
+    }
+
+    public long getLockTimeInMillis() {
+        return lockTimeInMillis;
+    }
+
+    public void setLockTimeInMillis(long lockTimeInMillis) {
+        this.lockTimeInMillis = lockTimeInMillis;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getFailedEntryRetentionInMillis() {
+        return failedEntryRetentionInMillis;
+    }
+
+    public void setFailedEntryRetentionInMillis(long failedEntryRetentionInMillis) {
+        this.failedEntryRetentionInMillis = failedEntryRetentionInMillis;
+    }
+
+    public long getCleanupIntervalInMillis() {
+        return cleanupIntervalInMillis;
+    }
+
+    public void setCleanupIntervalInMillis(long cleanupIntervalInMillis) {
+        this.cleanupIntervalInMillis = cleanupIntervalInMillis;
+    }
+}
@@ -3,6 +3,7 @@ package org.activiti.spring.boot;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.activiti.spring.SpringAsyncExecutor;
+import org.activiti.spring.SpringProcessEngineConfiguration;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,9 @@ public class AsyncExecutorConfigurationTest {
 
     @Autowired
     private AsyncExecutorProperties properties;
+
+    @Autowired
+    private SpringProcessEngineConfiguration processEngineConfiguration;
     
     @Test
     public void shouldConfigureAsyncExecutorProperties() {
@@ -37,5 +41,12 @@ public class AsyncExecutorConfigurationTest {
         assertThat(asyncExecutor.getResetExpiredJobsPageSize()).isEqualTo(properties.getResetExpiredJobsPageSize());
         assertThat(asyncExecutor.getSecondsToWaitOnShutdown()).isEqualTo(properties.getSecondsToWaitOnShutdown());
         assertThat(asyncExecutor.getTimerLockTimeInMillis()).isEqualTo(properties.getTimerLockTimeInMillis());
+        assertThat(processEngineConfiguration.isAsyncExecutorSkipLockedAcquisition()).isEqualTo(properties.isSkipLockedAcquisition());
+        assertThat(processEngineConfiguration.isAsyncExecutorPartitionedAcquisition()).isEqualTo(properties.isPartitionedAcquisition());
+        assertThat(processEngineConfiguration.getAsyncExecutorNumberOfPartitions()).isEqualTo(properties.getNumberOfPartitions());
+        assertThat(processEngineConfiguration.getAsyncExecutorPartitionLeaseTimeInMillis()).isEqualTo(properties.getPartitionLeaseTimeInMillis());
+        assertThat(processEngineConfiguration.getAsyncExecutorPartitionRebalanceIntervalInMillis()).isEqualTo(properties.getPartitionRebalanceIntervalInMillis());
+        assertThat(asyncExecutor.isUseVirtualThreads()).isEqualTo(properties.isVirtualThreads());
+        assertThat(asyncExecutor.getMaxConcurrentJobs()).isEqualTo(properties.getMaxConcurrentJobs());
     }
 }
\ No newline at end of file
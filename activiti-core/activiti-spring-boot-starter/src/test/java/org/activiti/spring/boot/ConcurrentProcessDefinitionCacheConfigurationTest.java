@@ -0,0 +1,30 @@
+package org.activiti.spring.boot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.activiti.spring.SpringProcessEngineConfiguration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource("classpath:application-concurrent-cache.properties")
+public class ConcurrentProcessDefinitionCacheConfigurationTest {
+
+    @Autowired
+    private SpringProcessEngineConfiguration processEngineConfiguration;
+
+    @Test
+    public void shouldUseConcurrentProcessDefinitionCache() {
+        assertThat(processEngineConfiguration.getProcessDefinitionCache()).isInstanceOf(ConcurrentDeploymentCache.class);
+
+        ConcurrentDeploymentCache<?> processDefinitionCache = (ConcurrentDeploymentCache<?>) processEngineConfiguration.getProcessDefinitionCache();
+        assertThat(processDefinitionCache.getLimit()).isEqualTo(500);
+        assertThat(processDefinitionCache.getMaxWeight()).isEqualTo(50000);
+    }
+}
@@ -0,0 +1,38 @@
+package org.activiti.spring.boot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.activiti.engine.ManagementService;
+import org.activiti.spring.SpringProcessEngineConfiguration;
+import org.activiti.spring.boot.actuate.metrics.MicrometerMetricsRecorder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ProcessEngineMetricsConfigurationTest {
+
+    @Autowired
+    private SpringProcessEngineConfiguration processEngineConfiguration;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void shouldPublishProcessEngineMetrics() {
+        assertThat(processEngineConfiguration.getMetricsRecorder()).isInstanceOf(MicrometerMetricsRecorder.class);
+
+        managementService.getTableCount();
+
+        assertThat(meterRegistry.find("activiti.command").tag("command", "GetTableCountCmd").timer()).isNotNull();
+        assertThat(meterRegistry.find("activiti.sql.statement").timers()).isNotEmpty();
+        assertThat(meterRegistry.find("activiti.async.executor.queue.size").gauge()).isNotNull();
+    }
+}
@@ -0,0 +1,331 @@
+package org.activiti.spring.boot.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.activiti.api.model.shared.event.VariableCreatedEvent;
+import org.activiti.api.process.runtime.events.ProcessStartedEvent;
+import org.activiti.api.process.runtime.events.listener.ProcessRuntimeEventListener;
+import org.activiti.api.task.runtime.events.TaskCreatedEvent;
+import org.activiti.api.runtime.shared.events.VariableEventListener;
+import org.activiti.api.task.runtime.events.listener.TaskRuntimeEventListener;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.cmd.DeleteEventLogEntriesCmd;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.spring.outbox.RuntimeEventOutbox;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource("classpath:application-runtime-event-outbox.properties")
+public class RuntimeEventOutboxTest {
+
+    private static final List<ProcessStartedEvent> processStartedEvents = new CopyOnWriteArrayList<>();
+
+    private static final List<String> deliveringThreads = new CopyOnWriteArrayList<>();
+
+    private static final Map<String, AtomicInteger> failingListenerCalls = new ConcurrentHashMap<>();
+
+    private static final List<String> failingListenerDeliveries = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskCreatedEventRecorder taskCreatedEventRecorder;
+
+    @Autowired
+    private VariableCreatedEventRecorder variableCreatedEventRecorder;
+
+    @TestConfiguration
+    static class OutboxListenersConfiguration {
+
+        @Bean
+        public ProcessRuntimeEventListener<ProcessStartedEvent> outboxProcessStartedListener() {
+            return event -> {
+                // delivered after the commit, outside of the engine transaction
+                assertThat(Context.getCommandContext()).isNull();
+                deliveringThreads.add(Thread.currentThread().getName());
+                processStartedEvents.add(event);
+            };
+        }
+
+        @Bean
+        public ProcessRuntimeEventListener<ProcessStartedEvent> failingProcessStartedListener() {
+            return event -> {
+                String businessKey = event.getEntity().getBusinessKey();
+                int calls = failingListenerCalls.computeIfAbsent(businessKey, key -> new AtomicInteger()).incrementAndGet();
+                if ("give-up".equals(businessKey) || ("retry".equals(businessKey) && calls == 1)) {
+                    throw new IllegalStateException("failing on call " + calls);
+                }
+                failingListenerDeliveries.add(businessKey);
+            };
+        }
+
+        @Bean
+        public TaskCreatedEventRecorder taskCreatedEventRecorder() {
+            return new TaskCreatedEventRecorder();
+        }
+
+        @Bean
+        public VariableCreatedEventRecorder variableCreatedEventRecorder() {
+            return new VariableCreatedEventRecorder();
+        }
+    }
+
+    static class TaskCreatedEventRecorder implements TaskRuntimeEventListener<TaskCreatedEvent> {
+
+        private final List<TaskCreatedEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvent(TaskCreatedEvent event) {
+            events.add(event);
+        }
+
+        public List<TaskCreatedEvent> getEvents() {
+            return events;
+        }
+    }
+
+    static class VariableCreatedEventRecorder implements VariableEventListener<VariableCreatedEvent> {
+
+        private final Map<String, VariableCreatedEvent> events = new ConcurrentHashMap<>();
+
+        private final Map<String, Boolean> deliveredInTransaction = new ConcurrentHashMap<>();
+
+        @Override
+        public void onEvent(VariableCreatedEvent event) {
+            events.put(event.getEntity().getName(), event);
+            deliveredInTransaction.put(event.getEntity().getName(), Context.getCommandContext() != null);
+        }
+
+        public Map<String, VariableCreatedEvent> getEvents() {
+            return events;
+        }
+
+        public Map<String, Boolean> getDeliveredInTransaction() {
+            return deliveredInTransaction;
+        }
+    }
+
+    public static class Customer implements Serializable {
+
+        private String name;
+        private Date since;
+
+        public Customer() {
+        }
+
+        public Customer(String name,
+                        Date since) {
+            this.name = name;
+            this.since = since;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Date getSince() {
+            return since;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Customer customer = (Customer) o;
+            return Objects.equals(name, customer.name) &&
+                    Objects.equals(since, customer.since);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, since);
+        }
+    }
+
+    public static class SelfReferencingValue {
+
+        private String name;
+
+        // not exposed to the engine, which stores the variable by its getters, but read by the outbox
+        private SelfReferencingValue self = this;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        processStartedEvents.clear();
+        deliveringThreads.clear();
+        failingListenerCalls.clear();
+        failingListenerDeliveries.clear();
+        taskCreatedEventRecorder.getEvents().clear();
+        variableCreatedEventRecorder.getEvents().clear();
+        variableCreatedEventRecorder.getDeliveredInTransaction().clear();
+    }
+
+    @Test
+    public void shouldDeliverRuntimeEventsAfterCommit() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("SingleTaskProcess", "outbox");
+
+        await().untilAsserted(() -> {
+            assertThat(processStartedEvents)
+                    .extracting(event -> event.getEntity().getId())
+                    .contains(processInstance.getId());
+            assertThat(taskCreatedEventRecorder.getEvents())
+                    .extracting(event -> event.getEntity().getProcessInstanceId())
+                    .contains(processInstance.getId());
+        });
+
+        ProcessStartedEvent processStartedEvent = processStartedEvents.stream()
+                .filter(event -> processInstance.getId().equals(event.getEntity().getId()))
+                .findFirst()
+                .get();
+        assertThat(processStartedEvent.getId()).isNotNull();
+        assertThat(processStartedEvent.getEventType()).isEqualTo(ProcessStartedEvent.ProcessEvents.PROCESS_STARTED);
+        assertThat(processStartedEvent.getEntity().getBusinessKey()).isEqualTo("outbox");
+        assertThat(processStartedEvent.getEntity().getProcessDefinitionKey()).isEqualTo("SingleTaskProcess");
+        assertThat(deliveringThreads).containsOnly("activiti-runtime-event-relay");
+
+        await().untilAsserted(() -> assertThat(findOutboxEntries(false)).isEmpty());
+        assertThat(managementService.getEventLogEntries(null, null))
+                .noneMatch(eventLogEntry -> RuntimeEventOutbox.EVENT_LOG_ENTRY_TYPE.equals(eventLogEntry.getType()));
+
+        runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    }
+
+    @Test
+    public void shouldDeliverAgainOnlyToTheFailingListener() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("SingleTaskProcess", "retry");
+
+        await().untilAsserted(() -> {
+            assertThat(failingListenerCalls.get("retry")).hasValue(2);
+            assertThat(findOutboxEntries(false)).isEmpty();
+        });
+        assertThat(processStartedEvents)
+                .extracting(event -> event.getEntity().getId())
+                .containsOnlyOnce(processInstance.getId());
+        assertThat(findOutboxEntries(true)).isEmpty();
+
+        runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    }
+
+    @Test
+    public void shouldNotDeliverLaterEntriesBeforeAFailedOne() {
+        ProcessInstance failing = runtimeService.startProcessInstanceByKey("SingleTaskProcess", "retry");
+        await().untilAsserted(() -> assertThat(failingListenerCalls.get("retry")).hasValue(1));
+        // committed while the failed entry waits for its lock to expire
+        ProcessInstance later = runtimeService.startProcessInstanceByKey("SingleTaskProcess", "after-retry");
+
+        await().untilAsserted(() -> assertThat(failingListenerDeliveries).contains("retry", "after-retry"));
+        assertThat(failingListenerCalls.get("retry")).hasValue(2);
+        assertThat(failingListenerDeliveries).containsSubsequence("retry", "after-retry");
+
+        runtimeService.deleteProcessInstance(failing.getId(), "test");
+        runtimeService.deleteProcessInstance(later.getId(), "test");
+    }
+
+    @Test
+    public void shouldGiveUpAfterMaxAttempts() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("SingleTaskProcess", "give-up");
+
+        await().untilAsserted(() -> assertThat(findOutboxEntries(true)).hasSize(1));
+        assertThat(failingListenerCalls.get("give-up")).hasValue(2);
+        assertThat(findOutboxEntries(false)).isEmpty();
+
+        managementService.executeCommand(new DeleteEventLogEntriesCmd(findOutboxEntries(true)));
+        runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    }
+
+    @Test
+    public void shouldKeepTheTypesOfVariableValues() {
+        Date date = new Date(1500000000000L);
+        Customer customer = new Customer("outbox", date);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("date", date);
+        variables.put("count", 42L);
+        variables.put("customer", customer);
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("SingleTaskProcess", "variables", variables);
+
+        await().untilAsserted(() -> assertThat(variableCreatedEventRecorder.getEvents())
+                .containsKeys("date", "count", "customer"));
+        Map<String, VariableCreatedEvent> events = variableCreatedEventRecorder.getEvents();
+        assertThat(events.get("date").getEntity().<Object>getValue()).isInstanceOf(Date.class).isEqualTo(date);
+        assertThat(events.get("count").getEntity().<Object>getValue()).isInstanceOf(Long.class).isEqualTo(42L);
+        assertThat(events.get("customer").getEntity().<Object>getValue()).isInstanceOf(Customer.class).isEqualTo(customer);
+        assertThat(variableCreatedEventRecorder.getDeliveredInTransaction())
+                .containsEntry("date", false)
+                .containsEntry("count", false)
+                .containsEntry("customer", false);
+
+        runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    }
+
+    @Test
+    public void shouldDeliverEventsThatCannotBeStoredInTheTransaction() {
+        SelfReferencingValue value = new SelfReferencingValue();
+        value.setName("cyclic");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("cyclic", value);
+        variables.put("count", 42L);
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("SingleTaskProcess", "cyclic", variables);
+
+        assertThat(runtimeService.getVariable(processInstance.getId(), "cyclic")).isNotNull();
+        assertThat(variableCreatedEventRecorder.getDeliveredInTransaction()).containsEntry("cyclic", true);
+        assertThat(variableCreatedEventRecorder.getEvents().get("cyclic").getEntity().<Object>getValue()).isSameAs(value);
+        await().untilAsserted(() -> assertThat(variableCreatedEventRecorder.getDeliveredInTransaction())
+                .containsEntry("count", false));
+
+        runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    }
+
+    private List<Long> findOutboxEntries(boolean processed) {
+        return new JdbcTemplate(dataSource).queryForList("select LOG_NR_ from ACT_EVT_LOG where TYPE_ = ? and IS_PROCESSED_ = ?",
+                                                         Long.class,
+                                                         RuntimeEventOutbox.EVENT_LOG_ENTRY_TYPE,
+                                                         processed);
+    }
+}
@@ -17,8 +17,21 @@
 package org.activiti.spring.boot.process;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import org.activiti.api.process.model.IntegrationContext;
+import org.activiti.api.process.runtime.connector.AsyncConnector;
 import org.activiti.api.process.runtime.connector.Connector;
+import org.activiti.engine.delegate.ExecutionListener;
+import org.activiti.engine.impl.bpmn.parser.factory.DefaultActivityBehaviorFactory;
+import org.activiti.runtime.api.connector.DefaultServiceTaskBehavior;
+import org.activiti.runtime.api.connector.IntegrationContextBuilder;
+import org.activiti.runtime.api.impl.VariablesMappingProvider;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -27,6 +40,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 @Configuration
 public class ConnectorsConfiguration {
 
+    public static CompletableFuture<Void> asyncConnectorCompletion = new CompletableFuture<>();
+
+    public static IntegrationContext asyncConnectorIntegrationContext;
+
+    public static CountDownLatch asyncConnectorJoinLatch = new CountDownLatch(0);
+
     @Bean
     public Connector connectorWithoutDefinition(){
         return  integrationContext -> {
@@ -44,4 +63,50 @@ public class ConnectorsConfiguration {
         };
     }
 
+    @Bean
+    public AsyncConnector asyncConnector() {
+        return integrationContext -> {
+            asyncConnectorIntegrationContext = integrationContext;
+            return asyncConnectorCompletion.thenApply(completion -> {
+                Map<String, Object> inBoundVariables = integrationContext.getInBoundVariables();
+                integrationContext.addOutBoundVariable("age", (Integer) inBoundVariables.get("age") + 1);
+                return integrationContext;
+            });
+        };
+    }
+
+    /**
+     * Handles the async connector results on several threads whatever the number of processors, so the results of
+     * parallel branches can be handled at the same time.
+     */
+    @Bean(name = DefaultActivityBehaviorFactory.DEFAULT_SERVICE_TASK_BEAN_NAME)
+    public DefaultServiceTaskBehavior defaultServiceTaskBehavior(ApplicationContext applicationContext,
+                                                                 IntegrationContextBuilder integrationContextBuilder,
+                                                                 VariablesMappingProvider outboundVariablesProvider) {
+        return new DefaultServiceTaskBehavior(applicationContext,
+                                              integrationContextBuilder,
+                                              outboundVariablesProvider,
+                                              Executors.newFixedThreadPool(4,
+                                                                           new BasicThreadFactory.Builder()
+                                                                                   .namingPattern("test-async-connector-thread-%d")
+                                                                                   .daemon(true)
+                                                                                   .build()));
+    }
+
+    /**
+     * Holds the executions arriving at a joining gateway until they all did, so their transactions change the process
+     * instance concurrently.
+     */
+    @Bean
+    public ExecutionListener asyncConnectorJoinListener() {
+        return execution -> {
+            asyncConnectorJoinLatch.countDown();
+            try {
+                asyncConnectorJoinLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
 }
@@ -0,0 +1,184 @@
+package org.activiti.spring.boot.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.api.model.shared.model.VariableInstance;
+import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.api.process.model.builders.ProcessPayloadBuilder;
+import org.activiti.api.process.runtime.ProcessRuntime;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.delegate.BpmnError;
+import org.activiti.engine.impl.cmd.integration.RetrieveIntegrationContextsCmd;
+import org.activiti.engine.runtime.Execution;
+import org.activiti.engine.runtime.Job;
+import org.activiti.spring.boot.security.util.SecurityUtil;
+import org.activiti.spring.boot.test.util.ProcessCleanUpUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(
+        locations = {"classpath:application.properties"}
+)
+public class ProcessRuntimeAsyncConnectorIT {
+
+    @Autowired
+    private ProcessRuntime processRuntime;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Autowired
+    private SecurityUtil securityUtil;
+
+    @Autowired
+    private ProcessCleanUpUtil processCleanUpUtil;
+
+    @Before
+    public void setUp() {
+        securityUtil.logInAs("user");
+        ConnectorsConfiguration.asyncConnectorCompletion = new CompletableFuture<>();
+        ConnectorsConfiguration.asyncConnectorIntegrationContext = null;
+    }
+
+    @After
+    public void tearDown() {
+        processCleanUpUtil.cleanUpWithAdmin();
+    }
+
+    @Test
+    public void shouldWaitAtServiceTaskUntilAsyncConnectorCompletes() {
+        //when
+        ProcessInstance processInstance = processRuntime.start(ProcessPayloadBuilder.start()
+                                                                       .withProcessDefinitionKey("asyncConnectorProcess")
+                                                                       .withVariable("age",
+                                                                                     20)
+                                                                       .build());
+
+        //then the process waits at the service task while the connector is pending
+        String integrationContextId = ConnectorsConfiguration.asyncConnectorIntegrationContext.getId();
+        assertThat(integrationContextId).isNotNull();
+        assertThat(managementService.executeCommand(new RetrieveIntegrationContextsCmd(integrationContextId))).isNotNull();
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("serviceTask").count()).isEqualTo(1);
+
+        //when
+        ConnectorsConfiguration.asyncConnectorCompletion.complete(null);
+
+        //then the process continues with the outbound variables of the connector
+        await().untilAsserted(() -> assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("userTask").count()).isEqualTo(1));
+        assertThat(managementService.executeCommand(new RetrieveIntegrationContextsCmd(integrationContextId))).isNull();
+
+        List<VariableInstance> variables = processRuntime.variables(ProcessPayloadBuilder.variables().withProcessInstance(processInstance).build());
+        assertThat(variables)
+                .extracting(VariableInstance::getName,
+                            VariableInstance::getValue)
+                .containsOnly(tuple("age",
+                                    21));
+    }
+
+    @Test
+    public void shouldCreateDeadLetterJobWhenAsyncConnectorFails() {
+        //given
+        ProcessInstance processInstance = startAsyncConnectorProcess("asyncConnectorProcess");
+        String integrationContextId = ConnectorsConfiguration.asyncConnectorIntegrationContext.getId();
+
+        //when
+        ConnectorsConfiguration.asyncConnectorCompletion.completeExceptionally(new IllegalStateException("connector is down"));
+
+        //then the failure is recorded as a dead letter job and the process still waits at the service task
+        await().untilAsserted(() -> assertThat(managementService.createDeadLetterJobQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1));
+        Job deadLetterJob = managementService.createDeadLetterJobQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertThat(deadLetterJob.getExceptionMessage()).isEqualTo("connector is down");
+        assertThat(managementService.executeCommand(new RetrieveIntegrationContextsCmd(integrationContextId))).isNull();
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("serviceTask").count()).isEqualTo(1);
+
+        //when the job is retried
+        ConnectorsConfiguration.asyncConnectorCompletion = new CompletableFuture<>();
+        ConnectorsConfiguration.asyncConnectorIntegrationContext = null;
+        managementService.moveDeadLetterJobToExecutableJob(deadLetterJob.getId(),
+                                                          1);
+
+        //then the connector is applied again
+        await().untilAsserted(() -> assertThat(ConnectorsConfiguration.asyncConnectorIntegrationContext).isNotNull());
+        ConnectorsConfiguration.asyncConnectorCompletion.complete(null);
+        await().untilAsserted(() -> assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("userTask").count()).isEqualTo(1));
+    }
+
+    @Test
+    public void shouldPropagateBpmnErrorOfAsyncConnector() {
+        //given
+        ProcessInstance processInstance = startAsyncConnectorProcess("asyncConnectorErrorProcess");
+
+        //when
+        ConnectorsConfiguration.asyncConnectorCompletion.completeExceptionally(new BpmnError("connectorError"));
+
+        //then
+        await().untilAsserted(() -> assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("errorTask").count()).isEqualTo(1));
+        assertThat(managementService.createDeadLetterJobQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    }
+
+    @Test
+    public void shouldJoinParallelAsyncConnectorsCompletingTogether() {
+        //given two connectors on parallel branches whose triggers reach the joining gateway at the same time
+        ConnectorsConfiguration.asyncConnectorJoinLatch = new CountDownLatch(2);
+        ProcessInstance processInstance = startAsyncConnectorProcess("asyncConnectorParallelProcess");
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("serviceTaskA").count()).isEqualTo(1);
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("serviceTaskB").count()).isEqualTo(1);
+
+        //when
+        ConnectorsConfiguration.asyncConnectorCompletion.complete(null);
+
+        //then the trigger that loses the race is retried and the process continues past the join
+        await().untilAsserted(() -> assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("userTask").count()).isEqualTo(1));
+        assertThat(ConnectorsConfiguration.asyncConnectorJoinLatch.getCount()).isZero();
+        assertThat(managementService.createDeadLetterJobQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("serviceTaskA").count()).isZero();
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("serviceTaskB").count()).isZero();
+    }
+
+    @Test
+    public void shouldStopWaitingWhenTriggeredWithoutConnectorResult() {
+        //given
+        ProcessInstance processInstance = startAsyncConnectorProcess("asyncConnectorProcess");
+        String integrationContextId = ConnectorsConfiguration.asyncConnectorIntegrationContext.getId();
+        Execution execution = runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("serviceTask").singleResult();
+
+        //when
+        runtimeService.trigger(execution.getId());
+
+        //then
+        assertThat(managementService.executeCommand(new RetrieveIntegrationContextsCmd(integrationContextId))).isNull();
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("userTask").count()).isEqualTo(1);
+
+        //when the connector completes late, its result is ignored
+        ConnectorsConfiguration.asyncConnectorCompletion.complete(null);
+        await().pollDelay(500, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("userTask").count()).isEqualTo(1));
+        assertThat(runtimeService.getVariable(processInstance.getId(), "age")).isEqualTo(20);
+    }
+
+    private ProcessInstance startAsyncConnectorProcess(String processDefinitionKey) {
+        return processRuntime.start(ProcessPayloadBuilder.start()
+                                            .withProcessDefinitionKey(processDefinitionKey)
+                                            .withVariable("age",
+                                                          20)
+                                            .build());
+    }
+}
@@ -4,8 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.activiti.api.runtime.shared.query.Page;
 import org.activiti.api.runtime.shared.query.Pageable;
@@ -77,6 +80,35 @@ public class TaskRuntimeStandaloneTaskTest {
         assertThat(tasks.getContent()).hasSize(0);
     }
 
+    @Test
+    public void shouldPageTasksWithContinuationToken() {
+        //given
+        securityUtil.logInAs("user");
+        for (int i = 0; i < 5; i++) {
+            taskRuntime.create(TaskPayloadBuilder.create()
+                                       .withName("task " + i)
+                                       .withAssignee("user")
+                                       .build());
+        }
+
+        //when
+        Page<Task> page = taskRuntime.tasks(Pageable.of(0, 2));
+        List<String> pagedTaskIds = new ArrayList<>();
+        page.getContent().forEach(task -> pagedTaskIds.add(task.getId()));
+        while (page.getContinuationToken() != null) {
+            page = taskRuntime.tasks(Pageable.after(page.getContinuationToken(), 2).withoutTotalItems());
+            assertThat(page.getTotalItems()).isEqualTo(-1);
+            page.getContent().forEach(task -> pagedTaskIds.add(task.getId()));
+        }
+
+        //then
+        Page<Task> allTasks = taskRuntime.tasks(Pageable.of(0, 50));
+        assertThat(allTasks.getTotalItems()).isEqualTo(5);
+        assertThat(allTasks.getContinuationToken()).isNull();
+        List<String> allTaskIds = allTasks.getContent().stream().map(Task::getId).collect(Collectors.toList());
+        assertThat(pagedTaskIds).hasSize(5).containsExactlyElementsOf(allTaskIds);
+    }
+
     @Test
     public void shouldEmmitEventForStandAloneTaskDeletion() {
         //given
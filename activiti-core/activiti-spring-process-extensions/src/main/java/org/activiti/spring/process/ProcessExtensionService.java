@@ -16,6 +16,7 @@ package org.activiti.spring.process;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.activiti.engine.RepositoryService;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.spring.process.model.Extension;
@@ -30,6 +31,8 @@ public class ProcessExtensionService {
 
     private static final Extension EMPTY_EXTENSIONS = new Extension();
     private Map<String, Map<String, Extension>> processExtensionModelDeploymentMap = new HashMap<>();
+    // the extensions of a process definition never change, so they are resolved once per process definition id
+    private Map<String, Extension> processExtensionsByProcessDefinitionId = new ConcurrentHashMap<>();
 
     public ProcessExtensionService(DeploymentResourceLoader<ProcessExtensionModel> processExtensionLoader,
                                    ProcessExtensionResourceReader processExtensionReader) {
@@ -78,10 +81,14 @@ public class ProcessExtensionService {
     }
 
     public Extension getExtensionsForId(String processDefinitionId) {
-        ProcessDefinition processDefinition = repositoryService.getProcessDefinition(processDefinitionId);
-
-        Extension processExtension = getExtensionsFor(processDefinition);
-        return processExtension != null ? processExtension : EMPTY_EXTENSIONS;
+        // not computeIfAbsent: the nested command fetching the process definition may need the extensions again
+        Extension processExtension = processExtensionsByProcessDefinitionId.get(processDefinitionId);
+        if (processExtension == null) {
+            processExtension = getExtensionsFor(repositoryService.getProcessDefinition(processDefinitionId));
+            processExtensionsByProcessDefinitionId.put(processDefinitionId,
+                                                       processExtension);
+        }
+        return processExtension;
     }
 
     public void setRepositoryService(RepositoryService repositoryService) {
@@ -72,6 +72,10 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
 
   @Override
   public boolean executeAsyncJob(Job job) {
+    if (isVirtualThreadExecution()) {
+      return super.executeAsyncJob(job);
+    }
+
     try {
       taskExecutor.execute(new ExecuteAsyncRunnable((JobEntity) job, processEngineConfiguration));
       return true;
@@ -83,7 +87,10 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
   
   @Override
   protected void initAsyncJobExecutionThreadPool() {
-    // Do nothing, using the Spring taskExecutor 
+    // Using the Spring taskExecutor, unless jobs are executed on virtual threads
+    if (useVirtualThreads) {
+      initVirtualThreadExecutorService();
+    }
   }
   
 }
@@ -15,18 +15,11 @@ package org.activiti.spring;
 
 import java.util.Map;
 
-import javax.el.ArrayELResolver;
-import javax.el.BeanELResolver;
 import javax.el.CompositeELResolver;
 import javax.el.ELResolver;
-import javax.el.ListELResolver;
-import javax.el.MapELResolver;
 
-import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.el.ExpressionManager;
-import org.activiti.engine.impl.el.JsonNodeELResolver;
 import org.activiti.engine.impl.el.ReadOnlyMapELResolver;
-import org.activiti.engine.impl.el.VariableScopeElResolver;
 import org.springframework.context.ApplicationContext;
 
 /**
@@ -49,11 +42,13 @@ public class SpringExpressionManager extends ExpressionManager {
     this.applicationContext = applicationContext;
   }
 
+  /**
+   * Only the bean resolver differs from the standalone engine, the variable scope resolver is added per context by
+   * {@link ExpressionManager#createElResolver}.
+   */
   @Override
-  protected ELResolver createElResolver(VariableScope variableScope) {
+  protected ELResolver createSharedElResolver() {
     CompositeELResolver compositeElResolver = new CompositeELResolver();
-    compositeElResolver.add(new VariableScopeElResolver(variableScope));
-
     if (beans != null) {
       // Only expose limited set of beans in expressions
       compositeElResolver.add(new ReadOnlyMapELResolver(beans));
@@ -61,12 +56,7 @@ public class SpringExpressionManager extends ExpressionManager {
       // Expose full application-context in expressions
       compositeElResolver.add(new ApplicationContextElResolver(applicationContext));
     }
-
-    compositeElResolver.add(new ArrayELResolver());
-    compositeElResolver.add(new ListELResolver());
-    compositeElResolver.add(new MapELResolver());
-    compositeElResolver.add(new JsonNodeELResolver());
-    compositeElResolver.add(new BeanELResolver());
+    compositeElResolver.add(getBaseElResolver());
     return compositeElResolver;
   }
 